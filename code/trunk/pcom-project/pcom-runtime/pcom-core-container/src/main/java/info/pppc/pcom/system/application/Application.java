@@ -10,6 +10,7 @@ import info.pppc.base.system.ReferenceID;
 import info.pppc.base.system.SystemID;
 import info.pppc.base.system.operation.IMonitor;
 import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.operation.MultiOperation;
 import info.pppc.base.system.operation.NullMonitor;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.system.assembler.AssemblerProxy;
@@ -18,8 +19,8 @@ import info.pppc.pcom.system.assembler.AssemblyPointer;
 import info.pppc.pcom.system.assembler.AssemblyState;
 import info.pppc.pcom.system.container.InstanceCheckpoint;
 import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.io.CompactFormat;
 
-import java.util.Hashtable;
 import java.util.Vector;
 
 /**
@@ -53,6 +54,15 @@ public class Application implements IOperation {
 	 */
 	private final ObjectID identifier = ObjectID.create();
 	
+	/**
+	 * The name under which the checkpoints of the application are stored.
+	 * Since the identifier is created anew whenever an application is 
+	 * added, this is the name of the application if it has one. Thus, a
+	 * durable checkpoint store will find the checkpoints of an application
+	 * that has been added again with the same name.
+	 */
+	private final String checkpointName;
+	
 	/**
 	 * The monitor of the application's configuration thread. Whenever
 	 * the application thread has finished a stage, it notifies this
@@ -86,12 +96,6 @@ public class Application implements IOperation {
 	 */
 	private Vector bindings = new Vector(); 
 
-	/**
-	 * A hashtable that hashes binding names stated in contracts to
-	 * their corresponding instance checkpoints.
-	 */
-	private Hashtable checkpoints = new Hashtable();
-	
 	/**
 	 * The contract that determines the preference level that is
 	 * currently executed.
@@ -129,6 +133,7 @@ public class Application implements IOperation {
 		this.image = descriptor.getImage();
 		this.assemblerID = descriptor.getAssemblerID();
 		this.preferences = descriptor.getPreferences();
+		this.checkpointName = (name != null) ? name : identifier.toString();
 	}
 
 // internal methods
@@ -191,24 +196,29 @@ public class Application implements IOperation {
 				assemblerSetup.setElementID(ObjectID.create());
 				assemblerSetup.setName(name);
 				assemblerSetup.setSystemID(SystemID.SYSTEM);
+				assemblerSetup.setCompact(CompactFormat.isSupported(assemblerID.getSystem()));
 				for (int i = 0; i < bindings.size(); i++) {
 					ApplicationBinding binding = (ApplicationBinding)bindings.elementAt(i);
 					binding.prepare(assemblerSetup);
 				}
 				AssemblyPointer assemblerContext = assembler.setup(applicationID, assemblerSetup);
-				// initialize all existing component instances
+				// initialize all existing component instances concurrently
 				AssemblyPointer[] instances = assemblerContext.getInstances();  
+				Vector paused = new Vector();
+				Vector pointers = new Vector();
 				for (int i = 0; i < instances.length; i++) {
 					// retrieve matching context
 					AssemblyPointer successorContext = instances[i];
-					for (int j = 0; j < bindings.size(); j++) {
-						ApplicationBinding s = (ApplicationBinding)bindings.elementAt(j);
-						if (s.getName().equals(successorContext.getName())) {
-							s.pause(successorContext);
-							break;
-						}
+					ApplicationBinding s = getBinding(successorContext.getName());
+					if (s != null) {
+						paused.addElement(s);
+						pointers.addElement(successorContext);
 					}
 				}
+				int failures = performBindings(BindingTiming.OPERATION_PAUSE, paused, pointers, phase);
+				if (failures != 0) {
+					Logging.debug(getClass(), "Could not pause " + failures + " bindings of application " + identifier + ".");
+				}
 				// configure the application
 				try {
 					Logging.debug(getClass(), "Starting assembly process for application " + identifier + ".");
@@ -225,6 +235,7 @@ public class Application implements IOperation {
 						// resolve all context objects from assembler to determine nodes
 						Assembly[] assemblies = assembly.getInstances();
 						// remove all unused instances, before the new ones are started
+						Vector removed = new Vector();
 						bindings: for (int j = bindings.size() - 1; j >= 0 ; j--) {
 							ApplicationBinding binding = (ApplicationBinding)bindings.elementAt(j);
 							for (int i = 0; i < assemblies.length; i++) {
@@ -236,10 +247,13 @@ public class Application implements IOperation {
 							}
 							// remove this successor as it is not part of the new configuration
 							Logging.debug(getClass(), "Removing binding " + binding.getName() + ".");
-							binding.stop(true);
+							removed.addElement(binding);
 							bindings.removeElementAt(j);
 						}
-						// start the new configuration as defined by the assembler
+						performBindings(BindingTiming.OPERATION_STOP, removed, null, phase);
+						// start the new configuration as defined by the assembler concurrently
+						Vector started = new Vector();
+						Vector starts = new Vector();
 						for (int i = 0; i < assemblies.length; i++) {
 							Assembly a = assemblies[i];
 							Logging.debug(getClass(), "Starting binding " + a.getName() + ".");
@@ -248,7 +262,12 @@ public class Application implements IOperation {
 								binding = new ApplicationBinding(this, a.getName());
 								bindings.addElement(binding);
 							}
-							binding.start(a);
+							started.addElement(binding);
+							starts.addElement(a);
+						}
+						failures = performBindings(BindingTiming.OPERATION_START, started, starts, phase);
+						if (failures != 0) {
+							Logging.debug(getClass(), "Could not start " + failures + " bindings of application " + identifier + ".");
 						}
 						// check the bindings and determine whether configuration is complete
 						for (int i = 0; i < bindings.size(); i++) {
@@ -293,16 +312,76 @@ public class Application implements IOperation {
 	private void stop() {
 		Logging.debug(getClass(), "Stopping application " + identifier + ".");
 		incrementPhase(); // increment phase for next stop call
+		Vector removed = new Vector();
 		for (int i = bindings.size() - 1; i >= 0; i--) {
-			ApplicationBinding binding = (ApplicationBinding)bindings.elementAt(i);
-			binding.stop(true);
+			removed.addElement(bindings.elementAt(i));
 			bindings.removeElementAt(i);
 		}
+		performBindings(BindingTiming.OPERATION_STOP, removed, null, phase);
 		contract = null;
 		state = ApplicationDescriptor.STATE_APPLICATION_STOPPED;
 		manager.fireApplicationEvent(ApplicationManager.EVENT_APPLICATION_STOPPED, getDescriptor());
 	}
 
+	/**
+	 * Performs the specified operation on the specified bindings concurrently
+	 * and waits until all of them are finished. Since the application is locked
+	 * while the operations are performed, the bindings must not call any 
+	 * synchronized method of the application. For each binding, a binding event
+	 * that contains the time required by the operation is fired.
+	 * 
+	 * @param operation The operation to perform. This must be one of the 
+	 * 	operation constants defined by the binding timing.
+	 * @param targets The bindings that should perform the operation.
+	 * @param arguments The assembly pointers if the bindings are paused or
+	 * 	the assemblies if the bindings are started. The arguments are
+	 * 	ignored if the bindings are stopped.
+	 * @param phase The phase that is initiated by the operation.
+	 * @return The number of bindings for which the operation failed.
+	 */
+	private int performBindings(final int operation, Vector targets, Vector arguments, final int phase) {
+		final int[] failures = new int[1];
+		MultiOperation operations = new MultiOperation(InvocationBroker.getInstance());
+		for (int i = 0; i < targets.size(); i++) {
+			final ApplicationBinding binding = (ApplicationBinding)targets.elementAt(i);
+			final Object argument = (arguments == null) ? null : arguments.elementAt(i);
+			operations.addOperation(new IOperation() {
+				public void perform(IMonitor monitor) throws Exception {
+					BindingTiming timing = new BindingTiming(identifier, binding.getName(), operation);
+					timing.systemID = binding.getSystemID();
+					long start = System.currentTimeMillis();
+					switch (operation) {
+						case BindingTiming.OPERATION_START:
+							Assembly assembly = (Assembly)argument;
+							timing.systemID = assembly.getSystemID();
+							binding.start(assembly, phase);
+							timing.success = binding.isValid();
+							break;
+						case BindingTiming.OPERATION_PAUSE:
+							binding.pause((AssemblyPointer)argument, phase);
+							timing.success = binding.isBound();
+							break;
+						default:
+							binding.stop(true);
+							timing.success = true;
+					}
+					timing.time = System.currentTimeMillis() - start;
+					if (! timing.success) {
+						synchronized (failures) {
+							failures[0] += 1;
+						}
+					}
+					Logging.debug(getClass(), "Binding operation finished " + timing + ".");
+					manager.fireBindingEvent(timing);
+				}
+			});
+		}
+		operations.performSynchronous();
+		synchronized (failures) {
+			return failures[0];
+		}
+	}
+
 // methods used by bindings	
 	
 	/**
@@ -348,6 +427,17 @@ public class Application implements IOperation {
 		return identifier;
 	}
 	
+	/**
+	 * Returns the name under which the checkpoints of the application
+	 * are stored. The name does not change during the lifetime of the
+	 * application.
+	 * 
+	 * @return The name used to store the checkpoints of the application.
+	 */
+	protected String getCheckpointName() {
+		return checkpointName;
+	}
+	
 // methods used by the application manager
 	
 	/**
@@ -458,17 +548,7 @@ public class Application implements IOperation {
 					ApplicationBinding binding = (ApplicationBinding)bindings.elementAt(i);
 					InstanceCheckpoint checkpoint = binding.store();
 					if (checkpoint != null) {
-						if (checkpoint.isComplete()) {
-							checkpoints.put(binding.getName(), checkpoint);
-						} else {
-							InstanceCheckpoint old = (InstanceCheckpoint)checkpoints.get(binding.getName());
-							if (old != null) {
-								checkpoint.apply(old);
-							} else {
-								checkpoint.setComplete(true);
-								checkpoints.put(binding.getName(), checkpoint);
-							}
-						}
+						manager.getCheckpointStore().storeCheckpoint(checkpointName, binding.getName(), checkpoint);
 					}
 				}
 				
@@ -486,7 +566,7 @@ public class Application implements IOperation {
 				// step through each binding and load the latest checkpoint
 				for (int i = 0; i < bindings.size(); i++) {
 					ApplicationBinding binding = (ApplicationBinding)bindings.elementAt(i);
-					InstanceCheckpoint checkpoint = (InstanceCheckpoint)checkpoints.get(binding.getName());
+					InstanceCheckpoint checkpoint = manager.getCheckpointStore().loadCheckpoint(checkpointName, binding.getName());
 					if (checkpoint != null) {
 						binding.load(checkpoint);
 					}
@@ -537,17 +617,58 @@ public class Application implements IOperation {
 			if (state == ApplicationDescriptor.STATE_APPLICATION_STARTED && phase == this.phase) {
 				ApplicationBinding binding = getBinding(name);
 				if (binding != null) {
-					// update the binding and check whether recomputation is neccessary
-					binding.setProvision(provision);
-					if (! binding.isValid()) {
-						contract = null;
-						state = ApplicationDescriptor.STATE_APPLICATION_PAUSED;
-						manager.fireApplicationEvent
-							(ApplicationManager.EVENT_APPLICATION_PAUSED, getDescriptor());
-						monitor.notifyAll();
+					changeProvision(binding, provision, 0);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Updates the provision of the specified binding and pauses the application
+	 * if the binding is no longer valid. This method must be called while 
+	 * holding the monitor.
+	 * 
+	 * @param binding The binding whose provision has changed.
+	 * @param provision The new provision.
+	 * @param sequence The sequence number of the new provision.
+	 */
+	private void changeProvision(ApplicationBinding binding, Contract provision, int sequence) {
+		// update the binding and check whether recomputation is neccessary
+		binding.setProvision(provision, sequence);
+		if (! binding.isValid()) {
+			contract = null;
+			state = ApplicationDescriptor.STATE_APPLICATION_PAUSED;
+			manager.fireApplicationEvent
+				(ApplicationManager.EVENT_APPLICATION_PAUSED, getDescriptor());
+			monitor.notifyAll();
+		}
+	}
+
+	/**
+	 * This method is called by the manager to signal that there was an incoming
+	 * change instance request that contains the difference to the previous provision.
+	 * 
+	 * @param name The name of the successor.
+	 * @param phase The phase used to detect outdated messages.
+	 * @param base The sequence number of the previous provision.
+	 * @param delta The added and changed children of the provision.
+	 * @param removed The removed children of the provision.
+	 * @return True if the delta has been applied or ignored, false if the
+	 * 	binding does not hold the previous provision.
+	 */
+	protected boolean changeInstanceDelta(String name, int phase, int base, Contract delta, Vector removed) {
+		synchronized (monitor) {
+			if (state == ApplicationDescriptor.STATE_APPLICATION_STARTED && phase == this.phase) {
+				ApplicationBinding binding = getBinding(name);
+				if (binding != null) {
+					Contract previous = binding.getProvision();
+					if (previous == null || binding.getSequence() < 0 || binding.getSequence() != base) {
+						return false;
 					}
+					changeProvision(binding, previous.patch(delta, removed), base + 1);
 				}
 			}
+			return true;
 		}
 	}
 
@@ -62,6 +62,13 @@ public class ApplicationBinding implements IListener {
 	 */
 	private Contract provision;
 	
+	/**
+	 * The sequence number of the provision as stated in the last
+	 * update or -1 if the provision has not been received through
+	 * an update.
+	 */
+	private int sequence = -1;
+	
 	/**
 	 * The system id of the successor.
 	 */
@@ -105,13 +112,34 @@ public class ApplicationBinding implements IListener {
 		return name;
 	}
 	
+	/**
+	 * Returns the provision of the binding.
+	 * 
+	 * @return The provision of the binding or null if there is none.
+	 */
+	protected Contract getProvision() {
+		return provision;
+	}
+	
+	/**
+	 * Returns the sequence number of the provision of the binding.
+	 * 
+	 * @return The sequence number of the provision or -1 if the
+	 * 	provision has not been received through an update.
+	 */
+	protected int getSequence() {
+		return sequence;
+	}
+	
 	/**
 	 * Sets the provision of the binding to the specified value.
 	 * 
 	 * @param provision The provision of the binding.
+	 * @param sequence The sequence number of the provision.
 	 */
-	protected void setProvision(Contract provision) {
+	protected void setProvision(Contract provision, int sequence) {
 		this.provision = provision;
+		this.sequence = sequence;
 	}
 	
 	/**
@@ -128,11 +156,24 @@ public class ApplicationBinding implements IListener {
 	}
 	
 	/**
-	 * Configures the binding using the specified assembly.
+	 * Returns the system that hosts the instance bound to the binding or 
+	 * null if the binding is not bound.
+	 * 
+	 * @return The system id of the bound instance or null.
+	 */
+	protected SystemID getSystemID() {
+		return systemID;
+	}
+	
+	/**
+	 * Configures the binding using the specified assembly. Since bindings 
+	 * are started concurrently while the application is locked, the phase
+	 * must be passed by the caller.
 	 * 
 	 * @param assembly The assembly that describes the configuration.
+	 * @param phase The phase of the application that is initiated.
 	 */
-	protected void start(Assembly assembly) {
+	protected void start(Assembly assembly, int phase) {
 		// determine whether the assembly wants to reuse the current binding
 		boolean reusing = (assembly.getElementID() != null);
 		if (! reusing) {
@@ -153,7 +194,7 @@ public class ApplicationBinding implements IListener {
 			ContainerProxy container = new ContainerProxy();
 			container.setSourceID(new ReferenceID(SystemID.SYSTEM, IApplicationManager.APPLICATION_MANAGER_ID));
 			container.setTargetID(new ReferenceID(systemID, containerID));
-			InstanceState state = container.startInstance(setup, application.getPhase());
+			InstanceState state = container.startInstance(setup, phase);
 			// if new binding, update lease
 			if (state.isBound() && !reusing) {
 				LeaseRegistry registry = application.getManager().getLeaseRegistry();
@@ -166,32 +207,36 @@ public class ApplicationBinding implements IListener {
 			// if success, update provision
 			if (state.isSuccess()) {
 				provision = state.getProvision();
+				sequence = -1;
 			}
 		} catch (InvocationException e) {
 			Logging.debug(getClass(), "Could not configure binding " + name + ".");
 			stop(true);
 		}
 		// increase the phase since the binding's configuration is done
-		phase = application.getPhase();
+		this.phase = phase;
 	}
 	
 	/**
-	 * Pauses the binding using the specified pointer.
+	 * Pauses the binding using the specified pointer. Since bindings are
+	 * paused concurrently while the application is locked, the phase must
+	 * be passed by the caller.
 	 * 
 	 * @param pointer The pointer that denotes what needs to be configured.
+	 * @param phase The phase of the application that is initiated.
 	 */
-	protected void pause(AssemblyPointer pointer) {
+	protected void pause(AssemblyPointer pointer, int phase) {
 		try {
 			ContainerProxy container = new ContainerProxy();
 			container.setSourceID(new ReferenceID(SystemID.SYSTEM, IApplicationManager.APPLICATION_MANAGER_ID));
 			container.setTargetID(new ReferenceID(systemID, containerID));
-			container.pauseInstance(instanceID, pointer, application.getPhase());
+			container.pauseInstance(instanceID, pointer, phase);
 		} catch (InvocationException e) {
 			Logging.error(getClass(), "Pausing binding failed, stopping.", e);
 			stop(false);
 		}
 		// increase the phase since the binding's configuration is done
-		phase = application.getPhase();
+		this.phase = phase;
 	}
 	
 	/**
@@ -218,6 +263,7 @@ public class ApplicationBinding implements IListener {
 			}
 			containerID = null;
 			provision = null;
+			sequence = -1;
 			instanceID = null;
 			systemID = null;
 		}
@@ -281,7 +327,7 @@ public class ApplicationBinding implements IListener {
 	 * 
 	 * @return True if the binding is bound to some instance.
 	 */
-	private boolean isBound() {
+	protected boolean isBound() {
 		return lease != null;
 	}
 	
@@ -91,6 +91,14 @@ public class ApplicationManager implements IApplicationManager {
 	 */
 	public static final int EVENT_APPLICATION_STOPPED = 32;
 	
+	/**
+	 * The event constant that signals that a binding of an application has been
+	 * started, paused or stopped. The source object of the event will be the 
+	 * issuing application manager, the data object will be the binding timing
+	 * that describes the operation and the time required to perform it.
+	 */
+	public static final int EVENT_BINDING_TIMED = 64;
+	
 	/**
 	 * The single application manager instance on the specified device.
 	 */
@@ -126,6 +134,12 @@ public class ApplicationManager implements IApplicationManager {
 	 */
 	private LeaseRegistry leaseRegistry = LeaseRegistry.getInstance();
 	
+	/**
+	 * The checkpoint store that is used to store the checkpoints of the
+	 * bindings of the applications.
+	 */
+	private ICheckpointStore checkpointStore = new MemoryCheckpointStore();
+	
 	/**
 	 * Creates a new application manager that registers itself at the specified
 	 * invocation broker.
@@ -145,11 +159,11 @@ public class ApplicationManager implements IApplicationManager {
 				// remove remote application manager service
 				Logging.debug(getClass(), "Removing application manager due to shutdown.");
 				objectRegistry.removeObject(IApplicationManager.APPLICATION_MANAGER_ID);
-				// stop all applications that are still running
+				// stop all applications that are still running but keep their checkpoints
 				Vector applicationIDs = getApplications();
 				for (int i = 0; i < applicationIDs.size(); i++) {
 					ObjectID applicationID = (ObjectID)applicationIDs.elementAt(i);
-					removeApplication(applicationID);
+					removeApplication(applicationID, false);
 				}
 				// finalize instance and we're outa here
 				instance = null;
@@ -191,6 +205,16 @@ public class ApplicationManager implements IApplicationManager {
 		listeners.fireEvent(type, descriptor);
 	}
 	
+	/**
+	 * Fires a binding event with the specified timing to all registered
+	 * listeners.
+	 * 
+	 * @param timing The timing of the binding operation.
+	 */
+	protected void fireBindingEvent(BindingTiming timing) {
+		listeners.fireEvent(EVENT_BINDING_TIMED, timing);
+	}
+	
 	/**
 	 * Returns a reference to the lease registry that is used to manage
 	 * application leases.
@@ -201,6 +225,28 @@ public class ApplicationManager implements IApplicationManager {
 		return leaseRegistry;
 	}
 	
+	/**
+	 * Returns the checkpoint store that is used to store the checkpoints
+	 * of the bindings of the applications.
+	 * 
+	 * @return The checkpoint store used by the applications.
+	 */
+	public ICheckpointStore getCheckpointStore() {
+		return checkpointStore;
+	}
+	
+	/**
+	 * Sets the checkpoint store that is used to store the checkpoints of
+	 * the bindings of the applications. Checkpoints that have been stored
+	 * in the previous store will not be transfered to the new store.
+	 * 
+	 * @param checkpointStore The new checkpoint store, must not be null.
+	 */
+	public void setCheckpointStore(ICheckpointStore checkpointStore) {
+		if (checkpointStore == null) throw new NullPointerException("Checkpoint store is null.");
+		this.checkpointStore = checkpointStore;
+	}
+	
 	/**
 	 * Adds the specified listener to the set of application listeners that is
 	 * informed whenever the specified set of event types occur. Possible types
@@ -253,6 +299,29 @@ public class ApplicationManager implements IApplicationManager {
 		Application application = getApplication(predecessorID);
 		if (application != null) application.changeInstance(name, phase, provision);
 	}
+	
+	/**
+	 * This method is part of the predecessor interface. It is called by a successor
+	 * to signal that the instance has changed its contract. The change is described
+	 * as difference to the previous provision.
+	 * 
+	 * @param predecessorID The id of the predecessor.
+	 * @param name The name of the successor.
+	 * @param phase The phase used to detect outdated messages.
+	 * @param base The sequence number of the previous provision.
+	 * @param delta The added and changed children of the provision.
+	 * @param removed The removed children of the provision.
+	 * @return True if the delta has been applied or ignored, false if the
+	 * 	application does not hold the previous provision.
+	 */
+	public boolean changeInstanceDelta(ObjectID predecessorID, String name, int phase, int base, Contract delta, Vector removed) {
+		Application application = getApplication(predecessorID);
+		if (application != null) {
+			return application.changeInstanceDelta(name, phase, base, delta, removed);
+		} else {
+			return true;
+		}
+	}
 
 	/**
 	 * This method is part of the predecessor interface. It is called to signal that a
@@ -382,10 +451,28 @@ public class ApplicationManager implements IApplicationManager {
 	 * @param applicationID The application id of the application to remove.
 	 */
 	public void removeApplication(ObjectID applicationID) {
+		removeApplication(applicationID, true);
+	}
+	
+	/**
+	 * Removes the specified application from the repository. If the application
+	 * has not been stopped, the application will be stopped and removed. If the
+	 * discard flag is set, the checkpoints of the application will be removed
+	 * from the checkpoint store as well. Otherwise, they remain available to an
+	 * application with the same name that is added later on.
+	 * 
+	 * @param applicationID The application id of the application to remove.
+	 * @param discard True to remove the checkpoints of the application, false 
+	 * 	to keep them.
+	 */
+	private void removeApplication(ObjectID applicationID, boolean discard) {
 		exitApplication(applicationID);
 		Application application = getApplication(applicationID);
 		if (application != null) {
 			if (applications.removeElement(application)) {
+				if (discard) {
+					checkpointStore.removeCheckpoints(application.getCheckpointName());
+				}
 				fireApplicationEvent(EVENT_APPLICATION_REMOVED, application.getDescriptor());	
 			}
 		}
@@ -251,6 +251,62 @@ public class ApplicationManagerProxy extends info.pppc.base.system.Proxy impleme
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers an invocation for the interface method.
+	 *
+	 * @param predecessorID see info.pppc.pcom.system.container.IContainerDemander
+	 * @param name see info.pppc.pcom.system.container.IContainerDemander
+	 * @param phase see info.pppc.pcom.system.container.IContainerDemander
+	 * @param base see info.pppc.pcom.system.container.IContainerDemander
+	 * @param delta see info.pppc.pcom.system.container.IContainerDemander
+	 * @param removed see info.pppc.pcom.system.container.IContainerDemander
+	 * @return seeinfo.pppc.pcom.system.container.IContainerDemander
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.container.IContainerDemander
+	 * @see info.pppc.pcom.system.container.IContainerDemander
+	 */
+	public boolean changeInstanceDelta(info.pppc.base.system.ObjectID predecessorID, java.lang.String name, int phase, int base, info.pppc.pcom.system.contract.Contract delta, java.util.Vector removed) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[6];
+		__args[0] = predecessorID;
+		__args[1] = name;
+		__args[2] = new Integer(phase);
+		__args[3] = new Integer(base);
+		__args[4] = delta;
+		__args[5] = removed;
+		String __method = "boolean changeInstanceDelta(info.pppc.base.system.ObjectID, java.lang.String, int, int, info.pppc.pcom.system.contract.Contract, java.util.Vector)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeSynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return ((Boolean)__result.getValue()).booleanValue();
+	}
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param predecessorID see info.pppc.pcom.system.container.IContainerDemander
+	 * @param name see info.pppc.pcom.system.container.IContainerDemander
+	 * @param phase see info.pppc.pcom.system.container.IContainerDemander
+	 * @param base see info.pppc.pcom.system.container.IContainerDemander
+	 * @param delta see info.pppc.pcom.system.container.IContainerDemander
+	 * @param removed see info.pppc.pcom.system.container.IContainerDemander
+	 * @return A future result that delivers the return value and exceptions. * @see info.pppc.pcom.system.container.IContainerDemander
+	 */
+	public info.pppc.base.system.FutureResult changeInstanceDeltaDef(info.pppc.base.system.ObjectID predecessorID, java.lang.String name, int phase, int base, info.pppc.pcom.system.contract.Contract delta, java.util.Vector removed)  {
+		Object[] __args = new Object[6];
+		__args[0] = predecessorID;
+		__args[1] = name;
+		__args[2] = new Integer(phase);
+		__args[3] = new Integer(base);
+		__args[4] = delta;
+		__args[5] = removed;
+		String __method = "boolean changeInstanceDelta(info.pppc.base.system.ObjectID, java.lang.String, int, int, info.pppc.pcom.system.contract.Contract, java.util.Vector)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		return proxyInvokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
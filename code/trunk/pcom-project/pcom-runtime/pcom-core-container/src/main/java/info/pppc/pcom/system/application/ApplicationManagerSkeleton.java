@@ -42,6 +42,10 @@ public class ApplicationManagerSkeleton extends info.pppc.base.system.Skeleton
 				impl.changeInstance((info.pppc.base.system.ObjectID)args[0], (java.lang.String)args[1], ((Integer)args[2]).intValue(), (info.pppc.pcom.system.contract.Contract)args[3]);
 				return new info.pppc.base.system.Result(result, null);
 			}
+			else if (method.equals("boolean changeInstanceDelta(info.pppc.base.system.ObjectID, java.lang.String, int, int, info.pppc.pcom.system.contract.Contract, java.util.Vector)")) {
+				Object result = new Boolean(impl.changeInstanceDelta((info.pppc.base.system.ObjectID)args[0], (java.lang.String)args[1], ((Integer)args[2]).intValue(), ((Integer)args[3]).intValue(), (info.pppc.pcom.system.contract.Contract)args[4], (java.util.Vector)args[5]));
+				return new info.pppc.base.system.Result(result, null);
+			}
 			else if (method.equals("void startApplication(info.pppc.base.system.ObjectID)")) {
 				Object result = null;
 				impl.startApplication((info.pppc.base.system.ObjectID)args[0]);
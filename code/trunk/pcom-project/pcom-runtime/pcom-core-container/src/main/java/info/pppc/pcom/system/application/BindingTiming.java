@@ -0,0 +1,146 @@
+package info.pppc.pcom.system.application;
+
+import info.pppc.base.system.ObjectID;
+import info.pppc.base.system.SystemID;
+
+/**
+ * The binding timing describes the time that has been required to start,
+ * pause or stop a single binding of an application. The timings are passed
+ * as data object of binding events fired by the application manager. They
+ * can be used to determine the devices that slow down the configuration
+ * of an application.
+ *
+ * @author Mac
+ */
+public class BindingTiming {
+
+	/**
+	 * The operation constant that denotes that the binding has been
+	 * started.
+	 */
+	public static final int OPERATION_START = 1;
+
+	/**
+	 * The operation constant that denotes that the binding has been
+	 * paused.
+	 */
+	public static final int OPERATION_PAUSE = 2;
+
+	/**
+	 * The operation constant that denotes that the binding has been
+	 * stopped.
+	 */
+	public static final int OPERATION_STOP = 3;
+
+	/**
+	 * The id of the application that contains the binding.
+	 */
+	protected ObjectID applicationID;
+
+	/**
+	 * The name of the binding.
+	 */
+	protected String name;
+
+	/**
+	 * The system that hosts the instance bound to the binding or null
+	 * if the binding was not bound.
+	 */
+	protected SystemID systemID;
+
+	/**
+	 * The operation that has been performed. This is one of the
+	 * operation constants defined by this class.
+	 */
+	protected int operation;
+
+	/**
+	 * The time in milliseconds that has been required by the operation.
+	 */
+	protected long time;
+
+	/**
+	 * A flag that indicates whether the operation was successful.
+	 */
+	protected boolean success;
+
+	/**
+	 * Creates a new timing for the specified binding.
+	 *
+	 * @param applicationID The id of the application.
+	 * @param name The name of the binding.
+	 * @param operation The operation that has been performed.
+	 */
+	protected BindingTiming(ObjectID applicationID, String name, int operation) {
+		this.applicationID = applicationID;
+		this.name = name;
+		this.operation = operation;
+	}
+
+	/**
+	 * Returns the id of the application that contains the binding.
+	 *
+	 * @return The id of the application.
+	 */
+	public ObjectID getApplicationID() {
+		return applicationID;
+	}
+
+	/**
+	 * Returns the name of the binding.
+	 *
+	 * @return The name of the binding.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the system that hosts the instance bound to the binding
+	 * or null if the binding was not bound.
+	 *
+	 * @return The system id of the instance or null.
+	 */
+	public SystemID getSystemID() {
+		return systemID;
+	}
+
+	/**
+	 * Returns the operation that has been performed. This is one of
+	 * the operation constants defined by this class.
+	 *
+	 * @return The operation that has been performed.
+	 */
+	public int getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Returns the time that has been required by the operation.
+	 *
+	 * @return The time in milliseconds.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Determines whether the operation was successful.
+	 *
+	 * @return True if the operation was successful, false otherwise.
+	 */
+	public boolean isSuccess() {
+		return success;
+	}
+
+	/**
+	 * Returns a human readable string representation.
+	 *
+	 * @return A string representation of the timing.
+	 */
+	public String toString() {
+		return "NAME (" + name + ") SYSTEM (" + systemID + ") OPERATION (" + operation
+			+ ") TIME (" + time + ") SUCCESS (" + success + ")";
+	}
+
+}
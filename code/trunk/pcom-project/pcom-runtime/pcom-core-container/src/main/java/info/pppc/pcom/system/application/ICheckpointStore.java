@@ -0,0 +1,53 @@
+package info.pppc.pcom.system.application;
+
+import info.pppc.pcom.system.container.InstanceCheckpoint;
+
+/**
+ * The checkpoint store is used by the application manager to keep the
+ * checkpoints of the bindings of its applications. The store receives
+ * complete as well as differential checkpoints and it must be able to
+ * return a complete checkpoint that reflects all checkpoints stored for
+ * a binding so far. Stores are shared by all applications of a manager,
+ * thus, they must be thread safe. Checkpoints are stored under the name
+ * of the application instead of its id, since the id is created anew
+ * whenever an application is added to a manager. The store must not
+ * keep references to the checkpoints that it receives or returns.
+ *
+ * @author Mac
+ */
+public interface ICheckpointStore {
+
+	/**
+	 * Stores the specified checkpoint for the binding with the specified
+	 * name. If the checkpoint is complete, it replaces all checkpoints that
+	 * have been stored for the binding so far. If the checkpoint is not
+	 * complete, it must be applied to the checkpoints stored so far.
+	 *
+	 * @param application The name of the application that contains the
+	 * 	binding.
+	 * @param name The name of the binding.
+	 * @param checkpoint The checkpoint to store.
+	 */
+	public void storeCheckpoint(String application, String name, InstanceCheckpoint checkpoint);
+
+	/**
+	 * Returns a complete checkpoint for the binding with the specified
+	 * name or null if no checkpoint has been stored for the binding.
+	 *
+	 * @param application The name of the application that contains the
+	 * 	binding.
+	 * @param name The name of the binding.
+	 * @return The complete checkpoint of the binding or null.
+	 */
+	public InstanceCheckpoint loadCheckpoint(String application, String name);
+
+	/**
+	 * Removes all checkpoints that have been stored for the application
+	 * with the specified name.
+	 *
+	 * @param application The name of the application whose checkpoints
+	 * 	should be removed.
+	 */
+	public void removeCheckpoints(String application);
+
+}
@@ -0,0 +1,135 @@
+package info.pppc.pcom.system.application;
+
+import java.util.Hashtable;
+import java.util.Vector;
+
+import info.pppc.base.system.InvocationBroker;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.container.InstanceCheckpoint;
+
+/**
+ * The memory checkpoint store is the default checkpoint store of the
+ * application manager. It keeps one segment for each binding of an
+ * application. A segment is a log that starts with a complete checkpoint
+ * followed by the differential checkpoints that have been stored since.
+ * Thus, storing a differential checkpoint only appends it to the log.
+ * If a log grows beyond a certain length, it is compacted in the
+ * background by applying the differential checkpoints to the complete
+ * one. The store keeps copies of the checkpoints that it receives and
+ * it returns copies of the compacted checkpoints. Since checkpoints share
+ * the serialized values, this does not copy the values of the checkpoints.
+ *
+ * @author Mac
+ */
+public class MemoryCheckpointStore implements ICheckpointStore {
+
+	/**
+	 * The number of differential checkpoints that may be appended to a
+	 * segment before it is compacted.
+	 */
+	private static final int COMPACT_THRESHOLD = 8;
+
+	/**
+	 * The segments of the applications. Hashes application names to
+	 * hashtables that hash binding names to vectors of checkpoints.
+	 * The first checkpoint of each vector is complete.
+	 */
+	private Hashtable segments = new Hashtable();
+
+	/**
+	 * Creates a new empty checkpoint store.
+	 */
+	public MemoryCheckpointStore() {
+		super();
+	}
+
+	/**
+	 * Stores the specified checkpoint for the binding with the specified
+	 * name. A complete checkpoint starts a new segment, a differential
+	 * checkpoint is appended to the existing one. If there is no segment,
+	 * the differential checkpoint is stored as complete checkpoint.
+	 *
+	 * @param application The name of the application.
+	 * @param name The name of the binding.
+	 * @param checkpoint The checkpoint to store.
+	 */
+	public void storeCheckpoint(String application, String name, InstanceCheckpoint checkpoint) {
+		checkpoint = checkpoint.copy();
+		synchronized (segments) {
+			Hashtable bindings = (Hashtable)segments.get(application);
+			if (bindings == null) {
+				bindings = new Hashtable();
+				segments.put(application, bindings);
+			}
+			Vector segment = (Vector)bindings.get(name);
+			if (checkpoint.isComplete() || segment == null) {
+				checkpoint.setComplete(true);
+				segment = new Vector();
+				bindings.put(name, segment);
+			}
+			segment.addElement(checkpoint);
+			if (segment.size() == COMPACT_THRESHOLD + 1) {
+				final Vector compacted = segment;
+				InvocationBroker.getInstance().performOperation(new IOperation() {
+					public void perform(IMonitor monitor) throws Exception {
+						synchronized (segments) {
+							compact(compacted);
+						}
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Returns a copy of the complete checkpoint of the binding with the
+	 * specified name or null if there is none. If the segment of the binding
+	 * contains differential checkpoints, it will be compacted first.
+	 *
+	 * @param application The name of the application.
+	 * @param name The name of the binding.
+	 * @return The complete checkpoint of the binding or null.
+	 */
+	public InstanceCheckpoint loadCheckpoint(String application, String name) {
+		synchronized (segments) {
+			Hashtable bindings = (Hashtable)segments.get(application);
+			if (bindings == null) return null;
+			Vector segment = (Vector)bindings.get(name);
+			if (segment == null) return null;
+			compact(segment);
+			return ((InstanceCheckpoint)segment.elementAt(0)).copy();
+		}
+	}
+
+	/**
+	 * Removes the segments of all bindings of the specified application.
+	 *
+	 * @param application The name of the application.
+	 */
+	public void removeCheckpoints(String application) {
+		synchronized (segments) {
+			segments.remove(application);
+		}
+	}
+
+	/**
+	 * Applies the differential checkpoints of the specified segment to
+	 * the complete checkpoint at the beginning of the segment and removes
+	 * them. The caller must synchronize on the segments.
+	 *
+	 * @param segment The segment that should be compacted.
+	 */
+	private void compact(Vector segment) {
+		if (segment.size() < 2) return;
+		InstanceCheckpoint complete = (InstanceCheckpoint)segment.elementAt(0);
+		for (int i = 1; i < segment.size(); i++) {
+			InstanceCheckpoint delta = (InstanceCheckpoint)segment.elementAt(i);
+			delta.apply(complete);
+		}
+		Logging.debug(getClass(), "Compacted " + (segment.size() - 1) + " checkpoints.");
+		segment.setSize(1);
+	}
+
+}
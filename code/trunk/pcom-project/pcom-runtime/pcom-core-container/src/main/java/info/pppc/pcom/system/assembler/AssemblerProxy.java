@@ -112,14 +112,16 @@ public class AssemblerProxy extends info.pppc.base.system.Proxy implements info.
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
 	 * @param context see info.pppc.pcom.system.assembler.IAssembler
+	 * @param systemID see info.pppc.pcom.system.assembler.IAssembler
 	 * @return seeinfo.pppc.pcom.system.assembler.IAssembler
 	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.assembler.IAssembler
 	 * @see info.pppc.pcom.system.assembler.IAssembler
 	 */
-	public info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer context) throws info.pppc.base.system.InvocationException {
-		Object[] __args = new Object[1];
+	public info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer context, info.pppc.base.system.SystemID systemID) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[2];
 		__args[0] = context;
-		String __method = "info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer)";
+		__args[1] = systemID;
+		String __method = "info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer, info.pppc.base.system.SystemID)";
 		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
 		info.pppc.base.system.Result __result = proxyInvokeSynchronous(__invocation);
 		if (__result.hasException()) {
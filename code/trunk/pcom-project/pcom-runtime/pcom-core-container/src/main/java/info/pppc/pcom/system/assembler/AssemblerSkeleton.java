@@ -40,8 +40,8 @@ public class AssemblerSkeleton extends info.pppc.base.system.Skeleton  {
 				Object result = impl.setup((info.pppc.base.system.ReferenceID)args[0], (info.pppc.pcom.system.assembler.AssemblyState)args[1]);
 				return new info.pppc.base.system.Result(result, null);
 			}
-			else if (method.equals("info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer)")) {
-				Object result = impl.retrieve((info.pppc.pcom.system.assembler.AssemblyPointer)args[0]);
+			else if (method.equals("info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer, info.pppc.base.system.SystemID)")) {
+				Object result = impl.retrieve((info.pppc.pcom.system.assembler.AssemblyPointer)args[0], (info.pppc.base.system.SystemID)args[1]);
 				return new info.pppc.base.system.Result(result, null);
 			}
 			else if (method.equals("info.pppc.pcom.system.assembler.Assembly configure(info.pppc.base.system.ReferenceID)")) {
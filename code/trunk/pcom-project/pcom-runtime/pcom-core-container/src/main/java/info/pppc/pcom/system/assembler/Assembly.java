@@ -10,6 +10,9 @@ import info.pppc.base.system.SystemID;
 import info.pppc.base.system.io.IObjectInput;
 import info.pppc.base.system.io.IObjectOutput;
 import info.pppc.base.system.io.ISerializable;
+import info.pppc.pcom.system.io.CompactInput;
+import info.pppc.pcom.system.io.CompactOutput;
+import info.pppc.pcom.system.io.ICompactSerializable;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.system.contract.Contract;
 
@@ -29,13 +32,20 @@ import info.pppc.pcom.system.contract.Contract;
  * 
  * @author Mac
  */
-public class Assembly implements ISerializable {
+public class Assembly implements ISerializable, ICompactSerializable {
 	
 	/**
 	 * The abbreviation of this class as used by the object stream translator.
 	 */
 	public static final String ABBREVIATION = ";PA";
 	
+	/**
+	 * A flag that indicates whether the assembly is serialized using the
+	 * compact format. The flag is set by the sender of the message and
+	 * it is never set when the assembly is read.
+	 */
+	private boolean compact = false;
+	
 	/**
 	 * The system id of the system that holds the instance.
 	 */
@@ -263,7 +273,7 @@ public class Assembly implements ISerializable {
 					AssemblerProxy proxy = new AssemblerProxy();
 					proxy.setSourceID(new ReferenceID(SystemID.SYSTEM));
 					proxy.setTargetID(context.getAssemblerID());
-					result[i] = proxy.retrieve(context);
+					result[i] = proxy.retrieve(context, SystemID.SYSTEM);
 				} catch (InvocationException e) {
 					Logging.error(getClass(), "Could not resolve resource from assembler " 
 							+ context.getAssemblerID() + "." , e);
@@ -317,7 +327,7 @@ public class Assembly implements ISerializable {
 					AssemblerProxy proxy = new AssemblerProxy();
 					proxy.setSourceID(new ReferenceID(SystemID.SYSTEM));
 					proxy.setTargetID(context.getAssemblerID());
-					result[i] = proxy.retrieve(context);
+					result[i] = proxy.retrieve(context, SystemID.SYSTEM);
 				} catch (InvocationException e) {
 					Logging.error(getClass(), "Could not resolve instance from assembler " 
 							+ context.getAssemblerID() + "." , e);
@@ -328,6 +338,91 @@ public class Assembly implements ISerializable {
 		return result;
 	}
 	
+	/**
+	 * Returns a shallow copy of the assembly. The copy refers to the same
+	 * template, instances and resources but it can be flagged for a different
+	 * format without affecting this assembly.
+	 * 
+	 * @return A shallow copy of the assembly.
+	 */
+	public Assembly copy() {
+		Assembly copy = new Assembly();
+		copy.creatorID = creatorID;
+		copy.elementID = elementID;
+		copy.systemID = systemID;
+		copy.containerID = containerID;
+		copy.template = template;
+		copy.name = name;
+		if (instances != null) {
+			copy.instances = new Vector();
+			for (int i = 0; i < instances.size(); i++) {
+				copy.instances.addElement(instances.elementAt(i));
+			}
+		}
+		if (resources != null) {
+			copy.resources = new Vector();
+			for (int i = 0; i < resources.size(); i++) {
+				copy.resources.addElement(resources.elementAt(i));
+			}
+		}
+		return copy;
+	}
+	
+	/**
+	 * Determines whether the assembly is serialized using the compact format.
+	 * 
+	 * @return True if the compact format is used, false otherwise.
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+	
+	/**
+	 * Sets a flag that indicates whether the assembly is serialized using
+	 * the compact format. The compact format must only be used if the 
+	 * receiver is able to read it. The sender decides about the format
+	 * of each reply.
+	 * 
+	 * @param compact True to use the compact format, false otherwise.
+	 */
+	public void setCompact(boolean compact) {
+		this.compact = compact;
+	}
+	
+	/**
+	 * Deserializes the assembly from the specified compact input.
+	 * 
+	 * @param input The compact input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException {
+		creatorID = (ObjectID)input.readObject();
+		elementID = (ObjectID)input.readObject();
+		template = (Contract)input.readObject();
+		instances = (Vector)input.readObject();
+		resources = (Vector)input.readObject();
+		systemID = (SystemID)input.readObject();
+		containerID = (ObjectID)input.readObject();
+		name = input.readString();
+	}
+	
+	/**
+	 * Serializes the assembly to the specified compact output.
+	 * 
+	 * @param output The compact output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException {
+		output.writeObject(creatorID);
+		output.writeObject(elementID);
+		output.writeObject(template);
+		output.writeObject(instances);
+		output.writeObject(resources);
+		output.writeObject(systemID);
+		output.writeObject(containerID);
+		output.writeString(name);
+	}
+	
 	/**
 	 * Deserializes the assmbler result from the specified input stream.
 	 * 
@@ -335,7 +430,12 @@ public class Assembly implements ISerializable {
 	 * @throws IOException Thrown by the underlying input stream.
 	 */
 	public void readObject(IObjectInput input) throws IOException {
-		creatorID = (ObjectID)input.readObject();
+		Object next = input.readObject();
+		if (next instanceof byte[]) {
+			readCompact(new CompactInput((byte[])next, input));
+			return;
+		}
+		creatorID = (ObjectID)next;
 		elementID = (ObjectID)input.readObject();
 		template = (Contract)input.readObject();
 		instances = (Vector)input.readObject();
@@ -352,6 +452,12 @@ public class Assembly implements ISerializable {
 	 * @throws IOException Thrown by the underlying output stream.
 	 */
 	public void writeObject(IObjectOutput output) throws IOException {
+		if (compact) {
+			CompactOutput out = new CompactOutput();
+			writeCompact(out);
+			out.writeTo(output);
+			return;
+		}
 		output.writeObject(creatorID);
 		output.writeObject(elementID);
 		output.writeObject(template);
@@ -4,6 +4,9 @@ import info.pppc.base.system.ReferenceID;
 import info.pppc.base.system.io.IObjectInput;
 import info.pppc.base.system.io.IObjectOutput;
 import info.pppc.base.system.io.ISerializable;
+import info.pppc.pcom.system.io.CompactInput;
+import info.pppc.pcom.system.io.CompactOutput;
+import info.pppc.pcom.system.io.ICompactSerializable;
 import info.pppc.base.system.io.ObjectInputStream;
 import info.pppc.base.system.io.ObjectOutputStream;
 
@@ -19,13 +22,20 @@ import java.util.Vector;
  * 
  * @author Mac
  */
-public class AssemblyPointer implements ISerializable {
+public class AssemblyPointer implements ISerializable, ICompactSerializable {
 
 	/**
 	 * The abbreviation of this class as used by the object stream translator.
 	 */
 	public static final String ABBREVIATION = ";PP";
 	
+	/**
+	 * A flag that indicates whether the pointer is serialized using the
+	 * compact format. The flag is set by the sender of the message and
+	 * it is never set when the pointer is read.
+	 */
+	private boolean compact = false;
+	
 	/**
 	 * The id of the application that is represented.
 	 */
@@ -245,6 +255,57 @@ public class AssemblyPointer implements ISerializable {
 		this.name = name;
 	}
 	
+	/**
+	 * Determines whether the pointer is serialized using the compact format.
+	 * 
+	 * @return True if the compact format is used, false otherwise.
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+	
+	/**
+	 * Sets a flag that indicates whether the pointer is serialized using
+	 * the compact format. The compact format must only be used if the 
+	 * receiver is able to read it. The sender decides about the format
+	 * of each message.
+	 * 
+	 * @param compact True to use the compact format, false otherwise.
+	 */
+	public void setCompact(boolean compact) {
+		this.compact = compact;
+	}
+	
+	/**
+	 * Deserializes the pointer from the specified compact input.
+	 * 
+	 * @param input The compact input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException {
+		applicationID = (ReferenceID)input.readObject();
+		assemblerID = (ReferenceID)input.readObject();
+		variableID = (byte[])input.readObject();
+		instances = (Vector)input.readObject();
+		resources = (Vector)input.readObject();
+		name = input.readString();
+	}
+	
+	/**
+	 * Serializes the pointer to the specified compact output.
+	 * 
+	 * @param output The compact output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException {
+		output.writeObject(applicationID);
+		output.writeObject(assemblerID);
+		output.writeObject(variableID);
+		output.writeObject(instances);
+		output.writeObject(resources);
+		output.writeString(name);
+	}
+	
 	/**
 	 * Deserializes the assembler context from the given input stream.
 	 * 
@@ -252,7 +313,12 @@ public class AssemblyPointer implements ISerializable {
 	 * @throws IOException Thrown by the underlying stream.
 	 */
 	public void readObject(IObjectInput input) throws IOException {
-		applicationID = (ReferenceID)input.readObject();
+		Object next = input.readObject();
+		if (next instanceof byte[]) {
+			readCompact(new CompactInput((byte[])next, input));
+			return;
+		}
+		applicationID = (ReferenceID)next;
 		assemblerID = (ReferenceID)input.readObject();
 		variableID = (byte[])input.readObject();
 		instances = (Vector)input.readObject();
@@ -267,6 +333,12 @@ public class AssemblyPointer implements ISerializable {
 	 * @throws IOException Thrown by the underlying stream.
 	 */
 	public void writeObject(IObjectOutput output) throws IOException {
+		if (compact) {
+			CompactOutput out = new CompactOutput();
+			writeCompact(out);
+			out.writeTo(output);
+			return;
+		}
 		output.writeObject(applicationID);
 		output.writeObject(assemblerID);
 		output.writeObject(variableID);
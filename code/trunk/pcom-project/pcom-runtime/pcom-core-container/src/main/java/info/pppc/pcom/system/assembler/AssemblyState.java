@@ -5,6 +5,9 @@ import info.pppc.base.system.SystemID;
 import info.pppc.base.system.io.IObjectInput;
 import info.pppc.base.system.io.IObjectOutput;
 import info.pppc.base.system.io.ISerializable;
+import info.pppc.pcom.system.io.CompactInput;
+import info.pppc.pcom.system.io.CompactOutput;
+import info.pppc.pcom.system.io.ICompactSerializable;
 
 import java.io.IOException;
 import java.util.Enumeration;
@@ -19,13 +22,20 @@ import java.util.Vector;
  * 
  * @author Mac
  */
-public class AssemblyState implements ISerializable {
+public class AssemblyState implements ISerializable, ICompactSerializable {
 	
 	/**
 	 * The abbreviation of this class as used by the object stream translator.
 	 */
 	public static final String ABBREVIATION = ";PS";
 	
+	/**
+	 * A flag that indicates whether the state is serialized using the
+	 * compact format. The flag is set by the sender of the message and
+	 * it is never set when the state is read.
+	 */
+	private boolean compact = false;
+	
 	/**
 	 * The system id of the system that hosts the factory or resource that
 	 * is responsible for creating the instance or assignment represented
@@ -282,6 +292,59 @@ public class AssemblyState implements ISerializable {
 		this.name = name;
 	}
 	
+	/**
+	 * Determines whether the state is serialized using the compact format.
+	 * 
+	 * @return True if the compact format is used, false otherwise.
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+	
+	/**
+	 * Sets a flag that indicates whether the state is serialized using
+	 * the compact format. The compact format must only be used if the 
+	 * receiver is able to read it. The sender decides about the format
+	 * of each request.
+	 * 
+	 * @param compact True to use the compact format, false otherwise.
+	 */
+	public void setCompact(boolean compact) {
+		this.compact = compact;
+	}
+	
+	/**
+	 * Deserializes the state from the specified compact input.
+	 * 
+	 * @param input The compact input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException {
+		systemID = (SystemID)input.readObject();
+		creatorID = (ObjectID)input.readObject();
+		elementID = (ObjectID)input.readObject();
+		contracts = (Vector)input.readObject();
+		instances = (Hashtable)input.readObject();
+		resources = (Hashtable)input.readObject();
+		name = input.readString();
+	}
+	
+	/**
+	 * Serializes the state to the specified compact output.
+	 * 
+	 * @param output The compact output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException {
+		output.writeObject(systemID);
+		output.writeObject(creatorID);
+		output.writeObject(elementID);
+		output.writeObject(contracts);
+		output.writeObject(instances);
+		output.writeObject(resources);
+		output.writeString(name);
+	}
+	
 	/**
 	 * Deserializes the setup object from the specified input stream.
 	 * 
@@ -289,7 +352,12 @@ public class AssemblyState implements ISerializable {
 	 * @throws IOException Thrown by the underlying input stream.
 	 */
 	public void readObject(IObjectInput input) throws IOException {
-		systemID = (SystemID)input.readObject();
+		Object next = input.readObject();
+		if (next instanceof byte[]) {
+			readCompact(new CompactInput((byte[])next, input));
+			return;
+		}
+		systemID = (SystemID)next;
 		creatorID = (ObjectID)input.readObject();
 		elementID = (ObjectID)input.readObject();
 		contracts = (Vector)input.readObject();
@@ -305,6 +373,12 @@ public class AssemblyState implements ISerializable {
 	 * @throws IOException Thrown by the underlying output stream.
 	 */
 	public void writeObject(IObjectOutput output) throws IOException {
+		if (compact) {
+			CompactOutput out = new CompactOutput();
+			writeCompact(out);
+			out.writeTo(output);
+			return;
+		}
 		output.writeObject(systemID);
 		output.writeObject(creatorID);
 		output.writeObject(elementID);
@@ -4,6 +4,7 @@ package info.pppc.pcom.system.assembler;
 import info.pppc.base.lease.Lease;
 import info.pppc.base.system.InvocationException;
 import info.pppc.base.system.ReferenceID;
+import info.pppc.base.system.SystemID;
 
 /** 
  * The interface between the container and the assemblers. The general approach to
@@ -98,12 +99,14 @@ public interface IAssembler {
 	 * children of the instance configured by the result.
 	 * 
 	 * @param pointer The pointer object used to configure a certain instance.
+	 * @param systemID The system id of the caller. The assembler uses the compact
+	 * 	format for the result if the caller supports it.
 	 * @return The assembler result that contains the configuration of a certain instance
 	 * 	as well as the context objects of the configured children.
 	 * @throws InvocationException Thrown by the underlying middleware if the call
 	 *	could not be performed.
 	 */
-	public Assembly retrieve(AssemblyPointer pointer) throws InvocationException;
+	public Assembly retrieve(AssemblyPointer pointer, SystemID systemID) throws InvocationException;
 	
 	/**
 	 * Removes all state of a certain application that has been initalized previously
@@ -14,12 +14,15 @@ import info.pppc.base.system.event.IListener;
 import info.pppc.base.system.io.ObjectStreamTranslator;
 import info.pppc.base.system.operation.IMonitor;
 import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.operation.MultiOperation;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.system.assembler.AssemblerProxy;
 import info.pppc.pcom.system.assembler.Assembly;
 import info.pppc.pcom.system.assembler.AssemblyPointer;
 import info.pppc.pcom.system.assembler.AssemblyState;
 import info.pppc.pcom.system.container.internal.AbstractCreatorContext;
+import info.pppc.pcom.system.container.internal.CreatorIndex;
+import info.pppc.pcom.system.container.internal.Registry;
 import info.pppc.pcom.system.container.internal.capability.AllocatorContext;
 import info.pppc.pcom.system.container.internal.capability.ResourceBinding;
 import info.pppc.pcom.system.container.internal.capability.ResourceContext;
@@ -27,6 +30,7 @@ import info.pppc.pcom.system.container.internal.component.FactoryContext;
 import info.pppc.pcom.system.container.internal.component.InstanceContext;
 import info.pppc.pcom.system.container.internal.component.InstanceHistory;
 import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.io.CompactFormat;
 import info.pppc.pcom.system.model.capability.IAllocator;
 import info.pppc.pcom.system.model.component.IFactory;
 
@@ -57,6 +61,8 @@ public class Container implements IContainer {
 		ObjectStreamTranslator.register(Contract.class.getName(), Contract.ABBREVIATION);
 		ObjectStreamTranslator.register(InstanceHistory.class.getName(), InstanceHistory.ABBREVIATION);
 		ObjectStreamTranslator.register(InstanceCheckpoint.class.getName(), InstanceCheckpoint.ABBREVIATION);
+		ObjectStreamTranslator.register(Stream.class.getName(), Stream.ABBREVIATION);
+		ObjectStreamTranslator.register(ContainerState.class.getName(), ContainerState.ABBREVIATION);
 	}
 	
 	/**
@@ -67,22 +73,34 @@ public class Container implements IContainer {
 	/**
 	 * The context objects of factories hashed by identifier.
 	 */
-	private Hashtable factories = new Hashtable();
+	private Registry factories = new Registry();
 	
 	/**
 	 * The context objects of instances hashed by identifier.
 	 */
-	private Hashtable instances = new Hashtable();
+	private Registry instances = new Registry();
 	
 	/**
 	 * The context objects of allocators hashed by identifier.
 	 */
-	private Hashtable allocators = new Hashtable();
+	private Registry allocators = new Registry();
 	
 	/**
 	 * The context objects of resources hashed by identifier.
 	 */
-	private Hashtable resources = new Hashtable();
+	private Registry resources = new Registry();
+	
+	/**
+	 * The index of the factory contexts hashed by the types contained
+	 * in their static provisions.
+	 */
+	private CreatorIndex factoryIndex = new CreatorIndex();
+	
+	/**
+	 * The index of the allocator contexts hashed by the types contained
+	 * in their static provisions.
+	 */
+	private CreatorIndex allocatorIndex = new CreatorIndex();
 
 	/**
 	 * The assembler strategy that is used to retrieve the assembler
@@ -95,6 +113,18 @@ public class Container implements IContainer {
 	 */
 	private LeaseRegistry registry = LeaseRegistry.getInstance();
 	
+	/**
+	 * The maximum number of creators whose resources are configured
+	 * concurrently during a recomputation.
+	 */
+	private static final int RECOMPUTE_WORKERS = 3;
+	
+	/**
+	 * The default time in milliseconds that an instance waits before it
+	 * notifies its parent about a changed provision.
+	 */
+	public static final long DEFAULT_CHANGE_WINDOW = 50;
+	
 	/**
 	 * A flag that indicates whether the container is currently recomputing
 	 * the resource distribution among factories and allocators.
@@ -103,10 +133,75 @@ public class Container implements IContainer {
 	
 	/**
 	 * A flag that indicates whether the container received an update resources
-	 * call during the last recomputation of resources rounds.  
+	 * call that requires the assignments of all creators to be recomputed.
 	 */
 	private boolean reiterating = false;
 	
+	/**
+	 * The creator contexts whose resources must be configured, hashed by
+	 * identifier. Accesses must be synchronized on the container.
+	 */
+	private Hashtable dirty = new Hashtable();
+	
+	/**
+	 * The creator contexts whose resources are currently configured, hashed
+	 * by identifier. Accesses must be synchronized on the container.
+	 */
+	private Hashtable configuring = new Hashtable();
+	
+	/**
+	 * The free resources that have been pushed to the resource listeners
+	 * most recently. This is used to suppress notifications if the free
+	 * resources did not change.
+	 */
+	private Hashtable published = new Hashtable();
+	
+	/**
+	 * A flag that indicates whether the container is currently pushing
+	 * its free resources to the resource listeners.
+	 */
+	private boolean publishing = false;
+	
+	/**
+	 * A flag that indicates whether the free resources might have changed
+	 * while the container was pushing them to the resource listeners.
+	 */
+	private boolean republishing = false;
+	
+	/**
+	 * The time in milliseconds that an instance waits before it notifies
+	 * its parent about a changed provision.
+	 */
+	private long changeWindow = DEFAULT_CHANGE_WINDOW;
+	
+	/**
+	 * The instance contexts that wait for the end of their change window
+	 * in the order in which they have been scheduled. Accesses must be
+	 * synchronized on the vector.
+	 */
+	private Vector changes = new Vector();
+	
+	/**
+	 * The times in milliseconds at which the change windows of the scheduled
+	 * instance contexts end. Accesses must be synchronized on the changes.
+	 */
+	private Vector deadlines = new Vector();
+	
+	/**
+	 * A flag that indicates whether an operation is dispatching the changes
+	 * of the scheduled instance contexts. Accesses must be synchronized on
+	 * the changes.
+	 */
+	private boolean dispatching = false;
+	
+	/**
+	 * The version of the container that is returned by container queries. It
+	 * is initialized with the time of creation to distinguish the versions of
+	 * containers that have been restarted. Accesses must be synchronized on the
+	 * container.
+	 */
+	private int version = (int)System.currentTimeMillis();
+	
 	/**
 	 * Creates a new container and registers it as remote well known service
 	 * at the invocation broker passed to this constructor.
@@ -118,35 +213,29 @@ public class Container implements IContainer {
 		skeleton.setImplementation(this);
 		final ObjectRegistry registry = broker.getObjectRegistry();
 		registry.registerObject(IContainer.CONTAINER_ID, skeleton, this);
+		// announce that this container can read the compact format
+		registry.registerObject(IContainer.COMPACT_ID, skeleton, this);
+		StreamServiceSkeleton streams = new StreamServiceSkeleton();
+		streams.setImplementation(StreamService.getInstance());
+		registry.registerObject(IStreamService.STREAM_ID, streams, StreamService.getInstance());
 		broker.addBrokerListener(InvocationBroker.EVENT_BROKER_SHUTDOWN, new IListener() {
 			public void handleEvent(Event event) {
 				Logging.debug(getClass(), "Removing container due to broker shutdown.");
 				registry.removeObject(IContainer.CONTAINER_ID);
-				Vector ctxs = new Vector();
-				synchronized (factories) {
-					Enumeration e = factories.elements();
-					while (e.hasMoreElements()) {
-						ctxs.addElement(e.nextElement());
-					}
-				}
-				while (! ctxs.isEmpty()) {
-					FactoryContext ctx = (FactoryContext)ctxs.elementAt(0);
+				registry.removeObject(IContainer.COMPACT_ID);
+				registry.removeObject(IStreamService.STREAM_ID);
+				Object[] fctxs = factories.elements();
+				for (int i = 0; i < fctxs.length; i++) {
+					FactoryContext ctx = (FactoryContext)fctxs[i];
 					Logging.debug(getClass(), "Removing factory " + ctx.getIdentifier() 
 							+ " due to broker shutdown.");
-					ctxs.removeElementAt(0);
 					removeFactory(ctx.getIdentifier());
 				}
-				synchronized (allocators) {
-					Enumeration e = allocators.elements();
-					while (e.hasMoreElements()) {
-						ctxs.addElement(e.nextElement());
-					}
-				}
-				while (! ctxs.isEmpty()) {
-					AllocatorContext ctx = (AllocatorContext)ctxs.elementAt(0);
+				Object[] actxs = allocators.elements();
+				for (int i = 0; i < actxs.length; i++) {
+					AllocatorContext ctx = (AllocatorContext)actxs[i];
 					Logging.debug(getClass(), "Removing allocator " + ctx.getIdentifier() 
 							+ " due to broker shutdown.");	
-					ctxs.removeElementAt(0);
 					removeAllocator(ctx.getIdentifier());
 				}
 				instance = null;
@@ -182,10 +271,11 @@ public class Container implements IContainer {
 	public ObjectID addFactory(IFactory factory) {
 		if (factory == null) throw new NullPointerException("Factory is null.");
 		Logging.debug(getClass(), "Add factory called with " + factory.getName() + ".");
+		// lock the registry to prevent concurrent installations of the factory
 		synchronized (factories) {
-			Enumeration e = factories.elements();
-			while (e.hasMoreElements()) {
-				FactoryContext context = (FactoryContext)e.nextElement();
+			Object[] contexts = factories.elements();
+			for (int i = 0; i < contexts.length; i++) {
+				FactoryContext context = (FactoryContext)contexts[i];
 				if (context.getFactory() == factory) {
 					return context.getIdentifier();
 				}
@@ -195,6 +285,8 @@ public class Container implements IContainer {
 				context = new FactoryContext(this, factory);
 				context.startFactory();
 				factories.put(context.getIdentifier(), context);
+				factoryIndex.addCreator(context, context.getCreatorProvision());
+				changeVersion();
 				Logging.debug(getClass(), "Factory " + context.getIdentifier() + " added.");
 			} catch (Throwable t) {
 				Logging.error(getClass(), "Could not install " + factory.getName() + ".", t);
@@ -203,7 +295,7 @@ public class Container implements IContainer {
 				}
 				return null;
 			}
-			updateResources();
+			updateResources(context);
 			return context.getIdentifier();				
 		}
 	}
@@ -222,43 +314,26 @@ public class Container implements IContainer {
 		if (factoryID == null) throw new NullPointerException("FactoryID is null.");
 		Logging.debug(getClass(), "Remove factory called for " + factoryID + ".");
 		// find factory and determine whether there are any existing removal threads
-		FactoryContext factoryContext = null;
-		synchronized (factories) {
-			FactoryContext context = (FactoryContext)factories.get(factoryID);
-			if (context == null) return null;
-			if (context.getLock().stop()) {
-				factoryContext = context;
-			}
-		}
-		// if this thread has been assigned to remove the factory
-		if (factoryContext != null) {
-			// release instances
-			Vector icontexts = new Vector();
-			synchronized (instances) {
-				Enumeration e = instances.elements();
-				while (e.hasMoreElements()) {
-					InstanceContext context = (InstanceContext)e.nextElement();
-					if (context.getFactory() == factoryContext) {
-						icontexts.addElement(context);
-					}
-				}
-			}
-			while (! icontexts.isEmpty()) {
-				InstanceContext context = (InstanceContext)icontexts.elementAt(0);
-				icontexts.removeElementAt(0);
+		FactoryContext factoryContext = (FactoryContext)factories.get(factoryID);
+		if (factoryContext == null || ! factoryContext.getLock().stop()) return null;
+		// this thread has been assigned to remove the factory, release instances
+		Object[] icontexts = instances.elements();
+		for (int i = 0; i < icontexts.length; i++) {
+			InstanceContext context = (InstanceContext)icontexts[i];
+			if (context.getFactory() == factoryContext) {
 				context.removeInstance();
 			}
-			// stop factory and release resources held by it
-			factoryContext.stopFactory();			
-			// remove factory context
-			synchronized (factories) {
-				factories.remove(factoryContext.getIdentifier());
-			}
-			Logging.debug(getClass(), "Factory " + factoryID + " removed.");
-			return factoryContext.getFactory();
-		} else {
-			return null;
 		}
+		// stop factory and release resources held by it
+		factoryContext.stopFactory();			
+		// remove factory context
+		synchronized (factories) {
+			factories.remove(factoryContext.getIdentifier());
+			factoryIndex.removeCreator(factoryContext);
+		}
+		changeVersion();
+		Logging.debug(getClass(), "Factory " + factoryID + " removed.");
+		return factoryContext.getFactory();
 	}
 	
 	/**
@@ -274,10 +349,11 @@ public class Container implements IContainer {
 	public ObjectID addAllocator(IAllocator allocator) {
 		if (allocator == null) throw new NullPointerException("Allocator is null.");
 		Logging.debug(getClass(), "Add allocator called with " + allocator.getName() + ".");
+		// lock the registry to prevent concurrent installations of the allocator
 		synchronized (allocators) {
-				Enumeration e = allocators.elements();
-				while (e.hasMoreElements()) {
-					AllocatorContext context = (AllocatorContext)e.nextElement();
+				Object[] contexts = allocators.elements();
+				for (int i = 0; i < contexts.length; i++) {
+					AllocatorContext context = (AllocatorContext)contexts[i];
 					if (context.getAllocator() == allocator) {
 						return context.getIdentifier();
 					}
@@ -287,6 +363,8 @@ public class Container implements IContainer {
 					context = new AllocatorContext(this, allocator);
 					context.startAllocator();
 					allocators.put(context.getIdentifier(), context);
+					allocatorIndex.addCreator(context, context.getCreatorProvision());
+					changeVersion();
 					Logging.debug(getClass(), "Allocator " + context.getIdentifier() + " added.");
 				} catch (Throwable t) {
 					Logging.error(getClass(), "Could not install " + allocator.getName() + ".", t);
@@ -314,42 +392,51 @@ public class Container implements IContainer {
 		if (allocatorID == null) throw new NullPointerException("AllocatorID is null.");
 		Logging.debug(getClass(), "Remove allocator called for " + allocatorID + ".");
 		// find allocator and determine whether there are any existing removal threads
-		AllocatorContext allocatorContext = null;
-		synchronized (allocators) {
-			AllocatorContext context = (AllocatorContext)allocators.get(allocatorID);
-			if (context == null) return null;
-			if (context.getLock().stop()) {
-				allocatorContext = context;
+		AllocatorContext allocatorContext = (AllocatorContext)allocators.get(allocatorID);
+		if (allocatorContext == null || ! allocatorContext.getLock().stop()) return null;
+		// this thread has been assigned to remove the allocator, release resources
+		Object[] rcontexts = resources.elements();
+		for (int i = 0; i < rcontexts.length; i++) {
+			ResourceContext context = (ResourceContext)rcontexts[i];
+			if (context.getAllocator() == allocatorContext) {
+				context.removeResource();
 			}
 		}
-		// if this thread has been assigned to remove the allocator
-		if (allocatorContext != null) {
-			// release instances
-			Vector rcontexts = new Vector();
-			synchronized (resources) {
-				Enumeration e = resources.elements();
-				while (e.hasMoreElements()) {
-					ResourceContext context = (ResourceContext)e.nextElement();
-					if (context.getAllocator() == allocatorContext) {
-						rcontexts.addElement(context);
-					}
+		// stop allocator and release resources held by it
+		allocatorContext.stopAllocator();			
+		// remove allocator context
+		synchronized (allocators) {
+			allocators.remove(allocatorContext.getIdentifier());
+			allocatorIndex.removeCreator(allocatorContext);
+		}
+		changeVersion();
+		Logging.debug(getClass(), "Allocator " + allocatorID + " removed.");
+		return allocatorContext.getAllocator();
+	}
+	
+	/**
+	 * Updates the index entry of the specified factory or allocator. This
+	 * method is called whenever the creator has committed its template since
+	 * the commit might have changed the static provision of the creator.
+	 * If the creator is not installed, this method does nothing.
+	 * 
+	 * @param creator The factory or allocator context whose index entry
+	 * 	needs to be updated.
+	 */
+	public void updateIndex(AbstractCreatorContext creator) {
+		changeVersion();
+		if (creator instanceof FactoryContext) {
+			synchronized (factories) {
+				if (factories.get(creator.getIdentifier()) == creator) {
+					factoryIndex.addCreator(creator, creator.getCreatorProvision());
 				}
 			}
-			while (! rcontexts.isEmpty()) {
-				ResourceContext context = (ResourceContext)rcontexts.elementAt(0);
-				rcontexts.removeElementAt(0);
-				context.removeResource();
-			}
-			// stop allocator and release resources held by it
-			allocatorContext.stopAllocator();			
-			// remove allocator context
+		} else if (creator instanceof AllocatorContext) {
 			synchronized (allocators) {
-				allocators.remove(allocatorContext.getIdentifier());
+				if (allocators.get(creator.getIdentifier()) == creator) {
+					allocatorIndex.addCreator(creator, creator.getCreatorProvision());
+				}
 			}
-			Logging.debug(getClass(), "Allocator " + allocatorID + " removed.");
-			return allocatorContext.getAllocator();
-		} else {
-			return null;
 		}
 	}
 	
@@ -392,15 +479,41 @@ public class Container implements IContainer {
 		Logging.debug(getClass(), "Change instance has been called with predecessor " + predecessorID
 				+ " phase " + phase + " provision " + provision + ".");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(predecessorID);
-		}
+		icontext = (InstanceContext)instances.get(predecessorID);
 		if (icontext != null) {
 			icontext.changeInstance(name, phase, provision);				
 		} else {
 			Logging.debug(getClass(), "Ignoring change due to missing instance " + predecessorID + ".");
 		}
 	}
+	
+	/**
+	 * This method is part of the predecessor interface. It is called to signal that an instance
+	 * bound to an instance of this container has changed its provision. In contrast to the 
+	 * change instance method, the message contains only the difference to the previous provision.
+	 * If the bound instance does not hold the previous provision, the message is rejected and the
+	 * successor will resend the complete provision.
+	 * 
+	 * @param predecessorID The id of the instance that uses the instance whose contract has 
+	 * 	changed.
+	 * @param name The name of the successor that has caused the event.
+	 * @param phase The phase used to detect outdated messages.
+	 * @param base The sequence number of the previous provision.
+	 * @param delta The added and changed children of the provision.
+	 * @param removed The removed children of the provision.
+	 * @return True if the delta has been applied or ignored, false if the previous provision
+	 * 	does not match.
+	 */
+	public boolean changeInstanceDelta(ObjectID predecessorID, String name, int phase, int base, Contract delta, Vector removed) {
+		InstanceContext icontext = null;
+		icontext = (InstanceContext)instances.get(predecessorID);
+		if (icontext != null) {
+			return icontext.changeInstanceDelta(name, phase, base, delta, removed);
+		} else {
+			Logging.debug(getClass(), "Ignoring change due to missing instance " + predecessorID + ".");
+			return true;
+		}
+	}
 
 	/**
 	 * This method is part of the predecessor interface. It is called to signal that an instance
@@ -416,9 +529,7 @@ public class Container implements IContainer {
 		Logging.debug(getClass(), "Remove instance has been called with predecessor " + predecessorID
 				+ " phase " + phase + ".");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(predecessorID);
-		}
+		icontext = (InstanceContext)instances.get(predecessorID);
 		if (icontext != null) {
 			icontext.removeInstance(name, phase);				
 		} else {
@@ -438,9 +549,7 @@ public class Container implements IContainer {
 	public void exitApplication(ObjectID predecessorID, String name, int phase) {
 		Logging.debug(getClass(), "Exit application called with predecessor " + predecessorID + " phase " + phase + ".");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(predecessorID);
-		}
+		icontext = (InstanceContext)instances.get(predecessorID);
 		if (icontext != null) {
 			icontext.exitApplication(name, phase);				
 		} else {
@@ -459,9 +568,7 @@ public class Container implements IContainer {
 	public void saveApplication(ObjectID predecessorID, String name, int phase) {
 		Logging.debug(getClass(), "Save application called with predecessor " + predecessorID + " phase " + phase + ".");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(predecessorID);
-		}
+		icontext = (InstanceContext)instances.get(predecessorID);
 		if (icontext != null) {
 			icontext.saveApplication(name, phase);				
 		} else {
@@ -485,45 +592,37 @@ public class Container implements IContainer {
 		ObjectID creatorID = assemblerResult.getCreatorID();
 		ObjectID instanceID = assemblerResult.getElementID();
 		InstanceContext icontext = null;
-		FactoryContext fcontext = null;
-		synchronized (factories) {
-			if (instanceID != null) {
-				synchronized (instances) {
-					InstanceContext context = (InstanceContext)instances.get(instanceID);
-					if (context == null) {
-						Logging.debug(getClass(), "Cannot find instance " + instanceID + ".");
-						return new InstanceState();
-					} 
-					icontext = context;					
-				}
-			}
-			FactoryContext context = (FactoryContext)factories.get(creatorID);
-			if (context == null) {
-				Logging.debug(getClass(), "Cannot find factory " + creatorID + ".");
-				return new InstanceState();
-			}
-			if (! context.getLock().aquire()) {
-				Logging.debug(getClass(), "Cannot aquire lock for factory " + creatorID + ".");
-				return new InstanceState();
-			}
-			fcontext = context;
+		if (instanceID != null) {
+			icontext = (InstanceContext)instances.get(instanceID);
 			if (icontext == null) {
-				Logging.debug(getClass(), "Creating new instance for " + creatorID + ".");
-				icontext = new InstanceContext(this, fcontext, setup);
-				synchronized (instances) {
-					instances.put(icontext.getIdentifier(), icontext);
-				}
-			}
-		}			
+				Logging.debug(getClass(), "Cannot find instance " + instanceID + ".");
+				return new InstanceState();
+			} 
+		}
+		FactoryContext fcontext = (FactoryContext)factories.get(creatorID);
+		if (fcontext == null) {
+			Logging.debug(getClass(), "Cannot find factory " + creatorID + ".");
+			return new InstanceState();
+		}
+		// the factory lock ensures that the removal of the factory sees the new instance
+		if (! fcontext.getLock().aquire()) {
+			Logging.debug(getClass(), "Cannot aquire lock for factory " + creatorID + ".");
+			return new InstanceState();
+		}
+		if (icontext == null) {
+			Logging.debug(getClass(), "Creating new instance for " + creatorID + ".");
+			icontext = new InstanceContext(this, fcontext, setup);
+			instances.put(icontext.getIdentifier(), icontext);
+		}
 		InstanceState state;
 		try {
 			state = icontext.startInstance(setup.getContract(), setup.getAssembly(), phase);	
+			// reply in the compact format if the requester can read it
+			state.setCompact(CompactFormat.isSupported(setup.getSystemID()));
 		} catch (Throwable t) {
 			Logging.error(getClass(), "Could not start instance for " + creatorID + ".", t);
 			icontext.stopInstance();
-			synchronized (instances) {
-				instances.remove(icontext.getIdentifier());
-			}
+			instances.remove(icontext.getIdentifier());
 			state = new InstanceState();
 		}
 		fcontext.getLock().release();
@@ -541,9 +640,7 @@ public class Container implements IContainer {
 	public void pauseInstance(ObjectID successorID, AssemblyPointer context, int phase) {
 		Logging.debug(getClass(), "Pause instance called.");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(successorID);
-		}
+		icontext = (InstanceContext)instances.get(successorID);
 		if (icontext != null) {
 			icontext.pauseInstance(context, phase);
 		} else {
@@ -559,14 +656,10 @@ public class Container implements IContainer {
 	public void stopInstance(ObjectID successorID) {
 		Logging.debug(getClass(), "Stop instance called with successor " + successorID + ".");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(successorID);
-		}
+		icontext = (InstanceContext)instances.get(successorID);
 		if (icontext != null) {
 			icontext.stopInstance();
-			synchronized (instances) {
-				instances.remove(icontext.getIdentifier());
-			}
+			instances.remove(icontext.getIdentifier());
 		} else {
 			Logging.debug(getClass(), "Ignoring stop call due to missing instance " + successorID + ".");
 		}
@@ -582,9 +675,7 @@ public class Container implements IContainer {
 	public void loadInstance(ObjectID successorID, InstanceCheckpoint checkpoint) {
 		Logging.debug(getClass(), "Load instance called with successor " + successorID + ".");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(successorID);
-		}
+		icontext = (InstanceContext)instances.get(successorID);
 		if (icontext != null) {
 			icontext.loadInstance(checkpoint);
 		}
@@ -600,9 +691,7 @@ public class Container implements IContainer {
 	public InstanceCheckpoint storeInstance(ObjectID successorID) {
 		Logging.debug(getClass(), "Store instance called with successor " + successorID + ".");
 		InstanceContext icontext = null;
-		synchronized (instances) {
-			icontext = (InstanceContext)instances.get(successorID);
-		}
+		icontext = (InstanceContext)instances.get(successorID);
 		if (icontext != null) {
 			return icontext.storeInstance();
 		} else {
@@ -611,129 +700,356 @@ public class Container implements IContainer {
 	}
 	
 	/**
-	 * Recomputes the assignments for factories and allocators using
-	 * the assembler provided by the strategy.
+	 * Recomputes the assignments for all factories and allocators using
+	 * the assembler provided by the strategy. This is typically called if
+	 * the resources provided by some allocator have changed, since any 
+	 * creator that is missing a resource might benefit from this.
 	 */
 	public void updateResources() {
-		// determine whether we are currently recomputing the resources,
-		// if so, tell the container to recompute them again, later on
-		// if not, start recomputation.
+		synchronized (this) {
+			reiterating = true;
+		}
+		recomputeResources();
+	}
+	
+	/**
+	 * Recomputes the assignments for the specified factory or allocator
+	 * using the assembler provided by the strategy. If the container is
+	 * currently recomputing assignments, the creator will be configured
+	 * during the current recomputation.
+	 * 
+	 * @param creator The creator whose assignments must be recomputed.
+	 */
+	public void updateResources(AbstractCreatorContext creator) {
+		synchronized (this) {
+			dirty.put(creator.getIdentifier(), creator);
+		}
+		recomputeResources();
+	}
+	
+	/**
+	 * Starts the recomputation of the assignments of all creators that
+	 * have been marked as dirty, if the recomputation is not running 
+	 * already. The creators are configured concurrently by a number of
+	 * workers. Each worker uses a single assembler session for all the
+	 * creators it configures. Creators that are marked as dirty during 
+	 * the recomputation are configured by the running recomputation.
+	 */
+	private void recomputeResources() {
 		synchronized (this) {
 			if (recomputing) {
-				reiterating = true;
 				return;
 			} else {
 				recomputing = true;
-				reiterating = false;
 			}
 		}
-		// begin the resource computation
 		InvocationBroker.getInstance().performOperation(new IOperation() {
 			public void perform(IMonitor monitor) throws Exception {
-				compute: while (true) {
+				while (true) {
 					Logging.debug(getClass(), "Updating resource assignments.");
-					boolean abort = false; // a flag that indicate whether the process should be aborted
-					if (strategy == null) return;
-					ReferenceID assemberID = strategy.getAssemblerID();
-					if (assemberID == null) return;
-					AssemblerProxy assembler = new AssemblerProxy();
-					assembler.setTargetID(assemberID);
-					assembler.setSourceID(new ReferenceID(SystemID.SYSTEM, IContainer.CONTAINER_ID));
-					// create a copy of the allocators that are present
-					Vector creators = new Vector();
-					synchronized (allocators) {
-						Enumeration e = allocators.elements();
-						while (e.hasMoreElements()) {
-							creators.addElement(e.nextElement());
+					boolean reiterate = false;
+					synchronized (Container.this) {
+						reiterate = reiterating;
+						reiterating = false;
+					}
+					if (reiterate) {
+						// mark all creators, the locks are not nested to avoid deadlocks
+						Object[] actxs = allocators.elements();
+						Object[] fctxs = factories.elements();
+						synchronized (Container.this) {
+							for (int i = 0; i < actxs.length; i++) {
+								AbstractCreatorContext creator = (AbstractCreatorContext)actxs[i];
+								dirty.put(creator.getIdentifier(), creator);
+							}
+							for (int i = 0; i < fctxs.length; i++) {
+								AbstractCreatorContext creator = (AbstractCreatorContext)fctxs[i];
+								dirty.put(creator.getIdentifier(), creator);
+							}
 						}
 					}
-					synchronized (factories) {
-						Enumeration e = factories.elements();
-						while (e.hasMoreElements()) {
-							creators.addElement(e.nextElement());
+					ReferenceID assemblerID = null;
+					int workers = 0;
+					synchronized (Container.this) {
+						if (strategy != null) {
+							assemblerID = strategy.getAssemblerID();
+						}
+						workers = Math.min(dirty.size(), RECOMPUTE_WORKERS);
+						if (reiterating) {
+							continue;
+						} else if (assemblerID == null || workers == 0) {
+							recomputing = false;
+							break;
 						}
 					}
-					// resolve the allocators open references
-					for (int i = 0; i < creators.size(); i++) {
-						AbstractCreatorContext creator = (AbstractCreatorContext)creators.elementAt(i);
-						// omit resource allocators that are about to be removed
-						if (! creator.getLock().aquire()) continue;
-						ReferenceID applicationID = new ReferenceID(SystemID.SYSTEM, creator.getIdentifier());
-						Vector demands = creator.getCreatorResources();
-						for (int j = 0; j < demands.size(); j++) {
-							Contract template = new Contract
-								(Contract.TYPE_INSTANCE_TEMPLATE, creator.getName());
-							template.addContract((Contract)demands.elementAt(j));
-							try {
-								Lease lease = assembler.prepare(applicationID);
-								LeaseListener leaser = new LeaseListener();
-								registry.hook(lease, leaser);
-								try {
-									// setup the assembler
-									Vector preferences = new Vector();
-									preferences.addElement(template);
-									AssemblyState state = new AssemblyState();
-									state.setContracts(preferences);
-									state.setCreatorID(creator.getIdentifier());
-									state.setElementID(creator.getIdentifier());
-									state.setSystemID(SystemID.SYSTEM);
-									state.setName(template.getName());
-									assembler.setup(applicationID, state);
-									Assembly assembly = assembler.configure(applicationID);
-									if (assembly != null) {
-										Assembly[] assemblies = assembly.getResources();
-										if (assemblies != null && assemblies.length == 1) {
-											synchronized (creator) {
-												synchronized (Container.this) {
-													creator.startCreatorResource(assemblies[0]);	
-												}
-											}	
-										}
-									}
-								} catch (InvocationException e) {
-									Logging.error(getClass(), "Could not configure allocator resources.", e);
-									abort = true;
-								}
-								try {
-									registry.unhook(lease, leaser, false);
-									assembler.remove(applicationID);	
-								} catch (InvocationException e) {
-									Logging.error(getClass(), "Could not clean up assembler properly.", e);
-									abort = true;
-								}
-							} catch (InvocationException e) {
-								Logging.error(getClass(), "Could not initialize assembler.", e);
-								abort = true;
+					final ReferenceID sessionID = assemblerID;
+					MultiOperation operations = new MultiOperation(InvocationBroker.getInstance());
+					for (int i = 0; i < workers; i++) {
+						operations.addOperation(new IOperation() {
+							public void perform(IMonitor monitor) throws Exception {
+								configureResources(sessionID);
 							}
-							if (abort) {
-								Logging.debug(getClass(), "Aborting recomputation of assignments");
-								creator.getLock().release();
-								synchronized (Container.this) {
-									if (reiterating) {
-										reiterating = false;
-										continue compute;
-									} else {
-										recomputing = false;
-										return;
+						});
+					}
+					operations.performSynchronous();
+				}
+				publishResources();
+			}
+		});		
+	}
+	
+	/**
+	 * Configures the resources of dirty creators until there are no more
+	 * creators left that are not configured by some other worker. All
+	 * creators are configured within one assembler session, which is 
+	 * prepared lazily and removed at the end. If the assembler cannot
+	 * be contacted, the creator will not be configured and the session
+	 * will be prepared again for the next creator.
+	 * 
+	 * @param assemblerID The reference id of the assembler to use.
+	 */
+	private void configureResources(ReferenceID assemblerID) {
+		AssemblerProxy assembler = new AssemblerProxy();
+		assembler.setTargetID(assemblerID);
+		assembler.setSourceID(new ReferenceID(SystemID.SYSTEM, IContainer.CONTAINER_ID));
+		ReferenceID applicationID = null;
+		Lease lease = null;
+		LeaseListener leaser = null;
+		while (true) {
+			AbstractCreatorContext creator = null;
+			synchronized (this) {
+				Enumeration e = dirty.elements();
+				while (e.hasMoreElements()) {
+					AbstractCreatorContext context = (AbstractCreatorContext)e.nextElement();
+					if (! configuring.containsKey(context.getIdentifier())) {
+						creator = context;
+						break;
+					}
+				}
+				if (creator == null) break;
+				dirty.remove(creator.getIdentifier());
+				configuring.put(creator.getIdentifier(), creator);
+			}
+			// omit creators that are about to be removed
+			if (creator.getLock().aquire()) {
+				Vector demands = creator.getCreatorResources();
+				for (int j = 0; j < demands.size(); j++) {
+					Contract template = new Contract
+						(Contract.TYPE_INSTANCE_TEMPLATE, creator.getName());
+					template.addContract((Contract)demands.elementAt(j));
+					try {
+						if (applicationID == null) {
+							applicationID = new ReferenceID(SystemID.SYSTEM, ObjectID.create());
+							lease = assembler.prepare(applicationID);
+							leaser = new LeaseListener();
+							registry.hook(lease, leaser);
+						}
+						// setup the assembler
+						Vector preferences = new Vector();
+						preferences.addElement(template);
+						AssemblyState state = new AssemblyState();
+						state.setContracts(preferences);
+						state.setCreatorID(creator.getIdentifier());
+						state.setElementID(creator.getIdentifier());
+						state.setSystemID(SystemID.SYSTEM);
+						state.setName(template.getName());
+						state.setCompact(CompactFormat.isSupported(assemblerID.getSystem()));
+						assembler.setup(applicationID, state);
+						Assembly assembly = assembler.configure(applicationID);
+						if (assembly != null) {
+							Assembly[] assemblies = assembly.getResources();
+							if (assemblies != null && assemblies.length == 1) {
+								synchronized (creator) {
+									synchronized (this) {
+										creator.startCreatorResource(assemblies[0]);	
 									}
-								}
+								}	
+							}
+						}
+					} catch (InvocationException e) {
+						Logging.error(getClass(), "Could not configure creator resources.", e);
+						if (lease != null) {
+							registry.unhook(lease, leaser, false);
+						}
+						applicationID = null;
+						lease = null;
+						leaser = null;
+						break;
+					}
+				}
+				creator.getLock().release();
+			}
+			synchronized (this) {
+				configuring.remove(creator.getIdentifier());
+			}
+		}
+		// clean up the session
+		if (lease != null) {
+			try {
+				registry.unhook(lease, leaser, false);
+				assembler.remove(applicationID);	
+			} catch (InvocationException e) {
+				Logging.error(getClass(), "Could not clean up assembler properly.", e);
+			}
+		}
+	}
+	
+	/**
+	 * Sets the time in milliseconds that an instance waits before it notifies
+	 * its parent about a changed provision. Changes that happen during this
+	 * time are sent with a single notification that contains the latest
+	 * provision. A window of 0 sends the notification immediately.
+	 * 
+	 * @param window The time window for provision changes in milliseconds.
+	 * @throws IllegalArgumentException Thrown if the window is negative.
+	 */
+	public void setChangeWindow(long window) throws IllegalArgumentException {
+		if (window < 0) throw new IllegalArgumentException("Illegal change window.");
+		changeWindow = window;
+	}
+	
+	/**
+	 * Returns the time in milliseconds that an instance waits before it
+	 * notifies its parent about a changed provision.
+	 * 
+	 * @return The time window for provision changes in milliseconds.
+	 */
+	public long getChangeWindow() {
+		return changeWindow;
+	}
+	
+	/**
+	 * Schedules the notification of the parent of the specified instance about
+	 * a changed provision. The instance is notified when its change window has
+	 * ended. All instances share a single operation that waits for the end of
+	 * the windows, so that waiting instances do not block a thread each. The
+	 * operation terminates as soon as there are no scheduled instances.
+	 * 
+	 * @param context The instance context whose provision has changed.
+	 */
+	public void scheduleChange(InstanceContext context) {
+		synchronized (changes) {
+			if (changes.contains(context)) return;
+			changes.addElement(context);
+			deadlines.addElement(new Long(System.currentTimeMillis() + changeWindow));
+			if (dispatching) return;
+			dispatching = true;
+		}
+		InvocationBroker.getInstance().performOperation(new IOperation() {
+			public void perform(IMonitor monitor) throws Exception {
+				while (true) {
+					InstanceContext context = null;
+					synchronized (changes) {
+						if (changes.isEmpty()) {
+							dispatching = false;
+							return;
+						}
+						long delay = ((Long)deadlines.elementAt(0)).longValue() - System.currentTimeMillis();
+						if (delay > 0) {
+							try {
+								changes.wait(delay);
+							} catch (InterruptedException e) {
+								Logging.debug(getClass(), "Thread got interrupted.");
+							}
+							continue;
+						}
+						context = (InstanceContext)changes.elementAt(0);
+						changes.removeElementAt(0);
+						deadlines.removeElementAt(0);
+					}
+					context.dispatchChange();
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Pushes the free resources of the allocators to all systems that 
+	 * export a resource listener, if they have changed since the last
+	 * push. The push is performed asynchronously. If the method is called
+	 * while a push is in progress, the resources will be compared again
+	 * after the push has been finished.
+	 */
+	public void publishResources() {
+		synchronized (this) {
+			changeVersion();
+			if (publishing) {
+				republishing = true;
+				return;
+			} else {
+				publishing = true;
+				republishing = false;
+			}
+		}
+		InvocationBroker.getInstance().performOperation(new IOperation() {
+			public void perform(IMonitor monitor) throws Exception {
+				publish: while (true) {
+					Hashtable current = getResources();
+					if (! equalResources(current, published)) {
+						published = current;
+						SystemID[] systems = InvocationBroker.getInstance()
+							.getDeviceRegistry().getDevices(IResourceListener.LISTENER_ID);
+						Logging.debug(getClass(), "Pushing free resources to " + systems.length + " listeners.");
+						ResourceListenerProxy proxy = new ResourceListenerProxy();
+						proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, IContainer.CONTAINER_ID));
+						for (int i = 0; i < systems.length; i++) {
+							proxy.setTargetID(new ReferenceID(systems[i], IResourceListener.LISTENER_ID));
+							try {
+								proxy.changeResourcesAsync(SystemID.SYSTEM, current);
+							} catch (InvocationException e) {
+								Logging.debug(getClass(), "Could not push resources to " + systems[i] + ".");
 							}
 						}
-						creator.getLock().release();
 					}
 					synchronized (Container.this) {
-						if (reiterating) {
-							reiterating = false;
-							continue compute;
+						if (republishing) {
+							republishing = false;
+							continue publish;
 						} else {
-							recomputing = false;
+							publishing = false;
 							return;
 						}
 					}
 				}
 			}
-			
-		});		
+		});
+	}
+	
+	/**
+	 * Changes the version of the container. This must be called whenever
+	 * a change might affect the templates or free resources returned by
+	 * container queries. Creators call this method whenever they invalidate
+	 * their setups.
+	 */
+	public synchronized void changeVersion() {
+		version += 1;
+		if (version == ContainerState.VERSION_UNKNOWN) {
+			version += 1;
+		}
+	}
+	
+	/**
+	 * Determines whether the specified free resources are equal. 
+	 * 
+	 * @param resources1 The first hashtable of integer arrays hashed 
+	 * 	by allocator identifier.
+	 * @param resources2 The second hashtable of integer arrays hashed
+	 * 	by allocator identifier.
+	 * @return True if both tables contain the same allocators with
+	 * 	the same free resources, false otherwise.
+	 */
+	private boolean equalResources(Hashtable resources1, Hashtable resources2) {
+		if (resources1.size() != resources2.size()) return false;
+		Enumeration e = resources1.keys();
+		while (e.hasMoreElements()) {
+			Object key = e.nextElement();
+			int[] free1 = (int[])resources1.get(key);
+			int[] free2 = (int[])resources2.get(key);
+			if (free2 == null || free1.length != free2.length) return false;
+			for (int i = 0; i < free1.length; i++) {
+				if (free1[i] != free2[i]) return false;
+			}
+		}
+		return true;
 	}
 	
 	
@@ -754,9 +1070,7 @@ public class Container implements IContainer {
 		ObjectID creator = assembly.getCreatorID();
 		ObjectID element = assembly.getElementID();
 		AllocatorContext allocator = null;
-		synchronized (allocators) {
-			allocator = (AllocatorContext)allocators.get(creator);	
-		}
+		allocator = (AllocatorContext)allocators.get(creator);
 		if (allocator == null) return null;
 		if (allocator.getLock().aquire()) {
 			ResourceContext context = null;
@@ -771,10 +1085,9 @@ public class Container implements IContainer {
 				context = new ResourceContext(this, allocator, binding);
 			}
 			context.startResource(assembly);
-			synchronized (resources) {
-				resources.put(context.getIdentifier(), context);
-			}
+			resources.put(context.getIdentifier(), context);
 			allocator.getLock().release();
+			publishResources();
 			return context;
 		} else {
 			Logging.debug(getClass(), "Allocator has been removed.");
@@ -791,14 +1104,11 @@ public class Container implements IContainer {
 	public void stopResource(ObjectID identifier) {
 		Logging.debug(getClass(), "Stop resource called with successor " + identifier + ".");
 		ResourceContext rcontext = null;
-		synchronized (resources) {
-			rcontext = (ResourceContext)resources.get(identifier);
-		}
+		rcontext = (ResourceContext)resources.get(identifier);
 		if (rcontext != null) {
 			rcontext.stopResource();
-			synchronized (resources) {
-				resources.remove(identifier);
-			}
+			resources.remove(identifier);
+			publishResources();
 		} else {
 			Logging.debug(getClass(), "Ignoring stop call due to missing resource " + identifier + ".");
 		}
@@ -809,7 +1119,8 @@ public class Container implements IContainer {
 	/**
 	 * This method is part of the container interface. It is used to retrieve the
 	 * contracts of resources and instances that can be used to satisfy a certain
-	 * dependency.
+	 * dependency. Only the factories and allocators whose static provision 
+	 * might fulfill a demand are asked to derive contracts for it.
 	 * 
 	 * @param demands The demand contracts for instances and resources.
 	 * @return A hashtable of hashtable of vector that hashes input contracts to
@@ -820,46 +1131,43 @@ public class Container implements IContainer {
 		if (demands == null) throw new NullPointerException("Demand must not be null.");
 		Hashtable result = new Hashtable();
 		for (int i = 0; i < demands.size(); i++) {
-			Contract demand = (Contract)demands.elementAt(i);
+			Contract request = (Contract)demands.elementAt(i);
+			// share the frozen demand to compute its hash code only once
+			Contract demand = Contract.intern(request);
 			Hashtable demandResult = new Hashtable();
 			if (demand.getType() == Contract.TYPE_RESOURCE_DEMAND) {
-				synchronized (allocators) {
-					Enumeration e = allocators.elements();
-					while (e.hasMoreElements()) {
-						AllocatorContext ctx = (AllocatorContext)e.nextElement();
-						if (ctx.getLock().aquire()) {
-							Vector cs = ctx.deriveContracts(demand);
-							if (cs != null && cs.size() > 0) {
-								demandResult.put(ctx.getIdentifier(), cs);
-							}
-							ctx.getLock().release();
-						} else {
-							Logging.debug(getClass(), "Omitting allocator due to removal " + ctx.getIdentifier() + ".");
+				AbstractCreatorContext[] candidates = allocatorIndex.getCandidates(demand);
+				for (int j = 0; j < candidates.length; j++) {
+					AllocatorContext ctx = (AllocatorContext)candidates[j];
+					if (ctx.getLock().aquire()) {
+						Vector cs = ctx.deriveContracts(demand);
+						if (cs != null && cs.size() > 0) {
+							demandResult.put(ctx.getIdentifier(), cs);
 						}
+						ctx.getLock().release();
+					} else {
+						Logging.debug(getClass(), "Omitting allocator due to removal " + ctx.getIdentifier() + ".");
 					}
 				}
 			} else if (demand.getType() == Contract.TYPE_INSTANCE_DEMAND) {
-				synchronized (factories) {
-					Enumeration e = factories.elements();
-					while (e.hasMoreElements()) {
-						FactoryContext ctx = (FactoryContext)e.nextElement();
-						if (ctx.getLock().aquire()) {
-							Vector cs = ctx.deriveContracts(demand);
-							if (cs != null && cs.size() > 0) {
-								demandResult.put(ctx.getIdentifier(), cs);
-							}
-							ctx.getLock().release();
-						} else {
-							Logging.debug(getClass(), "Omitting factory due to removal " + ctx.getIdentifier() + ".");
+				AbstractCreatorContext[] candidates = factoryIndex.getCandidates(demand);
+				for (int j = 0; j < candidates.length; j++) {
+					FactoryContext ctx = (FactoryContext)candidates[j];
+					if (ctx.getLock().aquire()) {
+						Vector cs = ctx.deriveContracts(demand);
+						if (cs != null && cs.size() > 0) {
+							demandResult.put(ctx.getIdentifier(), cs);
 						}
+						ctx.getLock().release();
+					} else {
+						Logging.debug(getClass(), "Omitting factory due to removal " + ctx.getIdentifier() + ".");
 					}
-					
 				}
 			} else {
 				Logging.debug(getClass(), "Retrieved malformed contract type.");
 			}
 			if (demandResult.size() > 0) {
-				result.put(demand, demandResult);
+				result.put(request, demandResult);
 			}
 		}
 		return result;
@@ -875,21 +1183,48 @@ public class Container implements IContainer {
 	 */
 	public Hashtable getResources() {
 		Hashtable result = new Hashtable();
-		synchronized (allocators) {
-			Enumeration e = allocators.elements();
-			while (e.hasMoreElements()) {
-				AllocatorContext context = (AllocatorContext)e.nextElement();
-				if (context.getLock().aquire()) {
-					result.put(context.getIdentifier(), context.freeResources());
-					context.getLock().release();
-				} else {
-					Logging.debug(getClass(), "Omitting removed allocator " + context.getIdentifier() + ".");
-				}
+		Object[] contexts = allocators.elements();
+		for (int i = 0; i < contexts.length; i++) {
+			AllocatorContext context = (AllocatorContext)contexts[i];
+			if (context.getLock().aquire()) {
+				result.put(context.getIdentifier(), context.freeResources());
+				context.getLock().release();
+			} else {
+				Logging.debug(getClass(), "Omitting removed allocator " + context.getIdentifier() + ".");
 			}
 		}
 		return result;
 	}
 	
+	/**
+	 * This method is part of the container interface. It returns the templates for
+	 * the demands and the free resources of the container together with the version
+	 * of the container. If the version passed by the caller is the current version,
+	 * the templates and resources are not computed and an unchanged state will be
+	 * returned instead. The state uses the compact format if the caller supports it.
+	 * 
+	 * @param demands The demand contracts for instances and resources.
+	 * @param version The version of a previous query or the unknown version.
+	 * @param systemID The system id of the caller.
+	 * @return The state of the container or an unchanged state.
+	 */
+	public ContainerState queryContainer(Vector demands, int version, SystemID systemID) {
+		Logging.debug(getClass(), "Received container query.");
+		int current = 0;
+		synchronized (this) {
+			current = this.version;
+		}
+		if (version == current) {
+			return new ContainerState(current);
+		}
+		// a change during the computation changes the version again
+		Hashtable templates = getTemplates(demands);
+		Hashtable resources = getResources();
+		ContainerState state = new ContainerState(current, templates, resources);
+		state.setCompact(CompactFormat.isSupported(systemID));
+		return state;
+	}
+	
 // ui interface this interface is not intended to be used by anyone except the ui (!)
 	
 	/**
@@ -901,15 +1236,13 @@ public class Container implements IContainer {
 	public Vector getFactoriesUI() {
 		Logging.debug(getClass(), "Get factories called.");
 		Vector result = new Vector();
-		synchronized (factories) {
-			Enumeration e = factories.elements();
-			while (e.hasMoreElements()) {
-				FactoryContext factory = (FactoryContext)e.nextElement();
-				if (factory.getLock().aquire()) {
-					Object[] description = factory.getDescription();
-					result.addElement(description);
-					factory.getLock().release();
-				}
+		Object[] contexts = factories.elements();
+		for (int i = 0; i < contexts.length; i++) {
+			FactoryContext factory = (FactoryContext)contexts[i];
+			if (factory.getLock().aquire()) {
+				Object[] description = factory.getDescription();
+				result.addElement(description);
+				factory.getLock().release();
 			}
 		}
 		return result;
@@ -924,15 +1257,13 @@ public class Container implements IContainer {
 	public Vector getAllocatorsUI() {
 		Logging.debug(getClass(), "Get allocators called.");
 		Vector result = new Vector();
-		synchronized (allocators) {
-			Enumeration e = allocators.elements();
-			while (e.hasMoreElements()) {
-				AllocatorContext allocator = (AllocatorContext)e.nextElement();
-				if (allocator.getLock().aquire()) {
-					Object[] description = allocator.getDescription();
-					result.addElement(description);
-					allocator.getLock().release();
-				}
+		Object[] contexts = allocators.elements();
+		for (int i = 0; i < contexts.length; i++) {
+			AllocatorContext allocator = (AllocatorContext)contexts[i];
+			if (allocator.getLock().aquire()) {
+				Object[] description = allocator.getDescription();
+				result.addElement(description);
+				allocator.getLock().release();
 			}
 		}
 		return result;
@@ -947,21 +1278,14 @@ public class Container implements IContainer {
 	 */
 	public Vector getInstancesUI(ObjectID id) {
 		Logging.debug(getClass(), "Get instances called with " + id + ".");
-		Vector temp = new Vector();
-		synchronized (instances) {
-			Enumeration e = instances.elements();
-			while (e.hasMoreElements()) {
-				InstanceContext c = (InstanceContext)e.nextElement();
-				if (c.getFactory().getIdentifier().equals(id)) {
-					temp.addElement(c);
-				}
-			}
-		}
 		Vector result = new Vector();
-		for (int i = 0; i < temp.size(); i++) {
-			InstanceContext c = (InstanceContext)temp.elementAt(i);
-			synchronized (c) {
-				result.addElement(c.getDescription());
+		Object[] contexts = instances.elements();
+		for (int i = 0; i < contexts.length; i++) {
+			InstanceContext c = (InstanceContext)contexts[i];
+			if (c.getFactory().getIdentifier().equals(id)) {
+				synchronized (c) {
+					result.addElement(c.getDescription());
+				}
 			}
 		}
 		return result;
@@ -976,21 +1300,14 @@ public class Container implements IContainer {
 	 */
 	public Vector getResourcesUI(ObjectID id) {
 		Logging.debug(getClass(), "Get resources called with " + id + ".");
-		Vector temp = new Vector();
-		synchronized (resources) {
-			Enumeration e = resources.elements();
-			while (e.hasMoreElements()) {
-				ResourceContext c = (ResourceContext)e.nextElement();
-				if (c.getAllocator().getIdentifier().equals(id)) {
-					temp.addElement(c);
-				}
-			}
-		}
 		Vector result = new Vector();
-		for (int i = 0; i < temp.size(); i++) {
-			ResourceContext c = (ResourceContext)temp.elementAt(i);
-			synchronized (c) {
-				result.addElement(c.getDescription());
+		Object[] contexts = resources.elements();
+		for (int i = 0; i < contexts.length; i++) {
+			ResourceContext c = (ResourceContext)contexts[i];
+			if (c.getAllocator().getIdentifier().equals(id)) {
+				synchronized (c) {
+					result.addElement(c.getDescription());
+				}
 			}
 		}
 		return result;
@@ -1004,9 +1321,7 @@ public class Container implements IContainer {
 	 */
 	public void changeInstanceUI(ObjectID id) {
 		InstanceContext context = null;
-		synchronized (instances) {
-			context = (InstanceContext)instances.get(id);
-		}
+		context = (InstanceContext)instances.get(id);
 		if (context != null) {
 			context.changeInstance();	
 		}
@@ -1020,9 +1335,7 @@ public class Container implements IContainer {
 	 */
 	public void commitInstanceUI(ObjectID id) {
 		InstanceContext context = null;
-		synchronized (instances) {
-			context = (InstanceContext)instances.get(id);
-		}
+		context = (InstanceContext)instances.get(id);
 		if (context != null) {
 			try {
 				context.getTemplate().commitTemplate();	
@@ -1039,9 +1352,7 @@ public class Container implements IContainer {
 	 */
 	public void stopInstanceUI(ObjectID id) {
 		InstanceContext context = null;
-		synchronized (instances) {
-			context = (InstanceContext)instances.get(id);
-		}
+		context = (InstanceContext)instances.get(id);
 		if (context != null) {
 			context.removeInstance();	
 		}
@@ -1055,9 +1366,7 @@ public class Container implements IContainer {
 	 */
 	public void changeResourceUI(ObjectID id) {
 		ResourceContext context = null;
-		synchronized (resources) {
-			context = (ResourceContext)resources.get(id);
-		}
+		context = (ResourceContext)resources.get(id);
 		if (context != null) {
 			context.changeResource();	
 		}
@@ -1071,9 +1380,7 @@ public class Container implements IContainer {
 	 */
 	public void commitResourceUI(ObjectID id) {
 		ResourceContext context = null;
-		synchronized (resources) {
-			context = (ResourceContext)resources.get(id);
-		}
+		context = (ResourceContext)resources.get(id);
 		if (context != null) {
 			try {
 				context.getTemplate().commitTemplate();	
@@ -1090,9 +1397,7 @@ public class Container implements IContainer {
 	 */
 	public void stopResourceUI(ObjectID id) {
 		ResourceContext context = null;
-		synchronized (resources) {
-			context = (ResourceContext)resources.get(id);
-		}
+		context = (ResourceContext)resources.get(id);
 		if (context != null) {
 			context.removeResource();	
 		}
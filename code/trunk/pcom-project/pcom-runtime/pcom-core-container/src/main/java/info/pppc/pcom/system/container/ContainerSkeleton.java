@@ -31,6 +31,10 @@ public class ContainerSkeleton extends info.pppc.base.system.Skeleton  {
 				Object result = impl.getTemplates((java.util.Vector)args[0]);
 				return new info.pppc.base.system.Result(result, null);
 			}
+			else if (method.equals("info.pppc.pcom.system.container.ContainerState queryContainer(java.util.Vector, int, info.pppc.base.system.SystemID)")) {
+				Object result = impl.queryContainer((java.util.Vector)args[0], ((Integer)args[1]).intValue(), (info.pppc.base.system.SystemID)args[2]);
+				return new info.pppc.base.system.Result(result, null);
+			}
 			else if (method.equals("info.pppc.pcom.system.container.InstanceCheckpoint storeInstance(info.pppc.base.system.ObjectID)")) {
 				Object result = impl.storeInstance((info.pppc.base.system.ObjectID)args[0]);
 				return new info.pppc.base.system.Result(result, null);
@@ -49,6 +53,10 @@ public class ContainerSkeleton extends info.pppc.base.system.Skeleton  {
 				impl.changeInstance((info.pppc.base.system.ObjectID)args[0], (java.lang.String)args[1], ((Integer)args[2]).intValue(), (info.pppc.pcom.system.contract.Contract)args[3]);
 				return new info.pppc.base.system.Result(result, null);
 			}
+			else if (method.equals("boolean changeInstanceDelta(info.pppc.base.system.ObjectID, java.lang.String, int, int, info.pppc.pcom.system.contract.Contract, java.util.Vector)")) {
+				Object result = new Boolean(impl.changeInstanceDelta((info.pppc.base.system.ObjectID)args[0], (java.lang.String)args[1], ((Integer)args[2]).intValue(), ((Integer)args[3]).intValue(), (info.pppc.pcom.system.contract.Contract)args[4], (java.util.Vector)args[5]));
+				return new info.pppc.base.system.Result(result, null);
+			}
 			else if (method.equals("void stopInstance(info.pppc.base.system.ObjectID)")) {
 				Object result = null;
 				impl.stopInstance((info.pppc.base.system.ObjectID)args[0]);
@@ -0,0 +1,225 @@
+package info.pppc.pcom.system.container;
+
+import info.pppc.base.system.io.IObjectInput;
+import info.pppc.base.system.io.IObjectOutput;
+import info.pppc.base.system.io.ISerializable;
+import info.pppc.pcom.system.io.CompactInput;
+import info.pppc.pcom.system.io.CompactOutput;
+import info.pppc.pcom.system.io.ICompactSerializable;
+
+import java.io.IOException;
+import java.util.Hashtable;
+
+/**
+ * The container state is the result of a combined query of an assembler. It
+ * contains the templates for a set of demands, the free resources of the
+ * container and the version of the container at the time of the query. The
+ * version changes whenever a change of the container might change the result
+ * of a query. If the assembler passes the version of a previous state to the
+ * next query, the container will return an unchanged state without templates
+ * and resources if its version did not change.
+ *
+ * @author Mac
+ */
+public class ContainerState implements ISerializable, ICompactSerializable {
+
+	/**
+	 * The abbreviation of this class as used by the object stream translator.
+	 */
+	public static final String ABBREVIATION = ";PQ";
+
+	/**
+	 * The version that denotes that the caller does not know any version
+	 * of the container. Containers never use this version.
+	 */
+	public static final int VERSION_UNKNOWN = 0;
+
+	/**
+	 * A flag that indicates whether the state is serialized using the
+	 * compact format. The flag is set by the sender of the message and
+	 * it is never set when the state is read.
+	 */
+	private boolean compact = false;
+
+	/**
+	 * The version of the container at the time of the query.
+	 */
+	private int version;
+
+	/**
+	 * The templates for the demands of the query or null if the state
+	 * is unchanged.
+	 */
+	private Hashtable templates;
+
+	/**
+	 * The free resources of the container or null if the state is
+	 * unchanged.
+	 */
+	private Hashtable resources;
+
+	/**
+	 * Creates an uninitialized container state. This constructor is
+	 * used for deserialization.
+	 */
+	public ContainerState() {
+		super();
+	}
+
+	/**
+	 * Creates a container state that signals that the container has not
+	 * changed since the specified version.
+	 *
+	 * @param version The version of the container.
+	 */
+	public ContainerState(int version) {
+		this.version = version;
+	}
+
+	/**
+	 * Creates a new container state with the specified version, templates
+	 * and resources.
+	 *
+	 * @param version The version of the container.
+	 * @param templates The templates as returned by the get templates method.
+	 * @param resources The free resources as returned by the get resources
+	 * 	method.
+	 */
+	public ContainerState(int version, Hashtable templates, Hashtable resources) {
+		this.version = version;
+		this.templates = templates;
+		this.resources = resources;
+	}
+
+	/**
+	 * Returns the version of the container at the time of the query.
+	 *
+	 * @return The version of the container.
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Determines whether the state contains templates and resources or
+	 * whether the container did not change since the version passed to
+	 * the query.
+	 *
+	 * @return True if the state contains templates and resources, false
+	 * 	if the container did not change.
+	 */
+	public boolean isChanged() {
+		return templates != null;
+	}
+
+	/**
+	 * Returns the templates for the demands of the query. The templates are
+	 * stored in a hashtable of hashtables of vectors that hashes the demands
+	 * to creator ids to vectors of templates.
+	 *
+	 * @return The templates or null if the container did not change.
+	 */
+	public Hashtable getTemplates() {
+		return templates;
+	}
+
+	/**
+	 * Returns the free resources of the container as hashtable of integer
+	 * arrays hashed by allocator id.
+	 *
+	 * @return The free resources or null if the container did not change.
+	 */
+	public Hashtable getResources() {
+		return resources;
+	}
+
+	/**
+	 * Determines whether the state is serialized using the compact format.
+	 *
+	 * @return True if the compact format is used, false otherwise.
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+
+	/**
+	 * Sets a flag that indicates whether the state is serialized using
+	 * the compact format. The compact format must only be used if the
+	 * receiver is able to read it. Since the state is created for a single
+	 * reply, the sender decides about the format of each message.
+	 *
+	 * @param compact True to use the compact format, false otherwise.
+	 */
+	public void setCompact(boolean compact) {
+		this.compact = compact;
+	}
+
+	/**
+	 * Deserializes the state from the specified compact input.
+	 *
+	 * @param input The compact input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException {
+		version = input.readInt();
+		templates = (Hashtable)input.readObject();
+		resources = (Hashtable)input.readObject();
+	}
+
+	/**
+	 * Serializes the state to the specified compact output.
+	 *
+	 * @param output The compact output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException {
+		output.writeInt(version);
+		output.writeObject(templates);
+		output.writeObject(resources);
+	}
+
+	/**
+	 * Deserializes the container state from the specified input.
+	 *
+	 * @param input The input to read from.
+	 * @throws IOException Thrown by the underlying io system.
+	 */
+	public void readObject(IObjectInput input) throws IOException {
+		version = input.readInt();
+		Object next = input.readObject();
+		if (next instanceof byte[]) {
+			readCompact(new CompactInput((byte[])next, input));
+			return;
+		}
+		templates = (Hashtable)next;
+		resources = (Hashtable)input.readObject();
+	}
+
+	/**
+	 * Serializes the container state to the specified output.
+	 *
+	 * @param output The output to write to.
+	 * @throws IOException Thrown by the underlying io system.
+	 */
+	public void writeObject(IObjectOutput output) throws IOException {
+		output.writeInt(version);
+		if (compact) {
+			CompactOutput out = new CompactOutput();
+			writeCompact(out);
+			out.writeTo(output);
+			return;
+		}
+		output.writeObject(templates);
+		output.writeObject(resources);
+	}
+
+	/**
+	 * Returns a human readable string representation.
+	 *
+	 * @return A string representation of the state.
+	 */
+	public String toString() {
+		return "VERSION (" + version + ") CHANGED (" + isChanged() + ")";
+	}
+
+}
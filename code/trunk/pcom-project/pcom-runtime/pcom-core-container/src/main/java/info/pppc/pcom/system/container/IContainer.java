@@ -5,6 +5,7 @@ import java.util.Vector;
 
 import info.pppc.base.system.InvocationException;
 import info.pppc.base.system.ObjectID;
+import info.pppc.base.system.SystemID;
 
 /**
  * The container remote interface defines the basic functionality of a container 
@@ -30,6 +31,12 @@ public interface IContainer extends IContainerDemander, IContainerProvider {
 	 * pcom remote container defaults to 3.
 	 */
 	public static final ObjectID CONTAINER_ID = new ObjectID(3);
+	
+	/**
+	 * The well known object id that is registered by containers that
+	 * are able to read messages in compact format. The id defaults to 8.
+	 */
+	public static final ObjectID COMPACT_ID = new ObjectID(8);
 
 // assembler-container interface, used by the assembler to retrieve contracts and resources
 
@@ -59,6 +66,30 @@ public interface IContainer extends IContainerDemander, IContainerProvider {
 	 * @throws InvocationException Thrown by base if the call fails.
 	 */
 	public Hashtable getResources() throws InvocationException;
+	
+	/**
+	 * Returns the templates for the specified demands together with the 
+	 * free resources and the version of the container with a single call.
+	 * The templates and resources are structured as the results of the get
+	 * templates and get resources methods. The version of the container
+	 * changes whenever factories or allocators are added, removed or 
+	 * committed and whenever the free resources change. If the specified
+	 * version equals the current version of the container, the result will 
+	 * signal that the container did not change and it will not contain any
+	 * templates or resources. Thus, a caller should only pass the version
+	 * of a previous result if it holds the templates for all demands.
+	 * 
+	 * @param demands A vector that must only contain instance or resource demand
+	 * 	contracts.
+	 * @param version The version of a previous result or the unknown version
+	 * 	constant defined by the container state.
+	 * @param systemID The system id of the caller. The container uses the 
+	 * 	compact format for the result if the caller supports it.
+	 * @return The state of the container with the templates and resources or an
+	 * 	unchanged state if the version did not change.
+	 * @throws InvocationException Thrown by base if the call fails.
+	 */
+	public ContainerState queryContainer(Vector demands, int version, SystemID systemID) throws InvocationException;
 
 // ui-container interface, used by the ui (!) only to retrieve the state of the container
 	
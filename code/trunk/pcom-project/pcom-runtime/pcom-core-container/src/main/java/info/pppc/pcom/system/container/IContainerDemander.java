@@ -4,6 +4,8 @@ import info.pppc.base.system.InvocationException;
 import info.pppc.base.system.ObjectID;
 import info.pppc.pcom.system.contract.Contract;
 
+import java.util.Vector;
+
 /**
  * The predecessor remote interface is the interface of all remote
  * services that are capable of starting and controlling instances. 
@@ -34,6 +36,31 @@ public interface IContainerDemander {
 	 * @throws InvocationException Thrown if the message could not be delivered by BASE.
 	 */
 	public void changeInstance(ObjectID predecessorID, String name, int phase, Contract provision) throws InvocationException;
+
+	/**
+	 * Signals that the provision of some successor used by a predecessor has changed
+	 * and transfers only the difference to the previous provision. The base is the
+	 * sequence number of the previous provision on the edge between successor and
+	 * predecessor. The number is reset to zero by every complete provision that has
+	 * been sent using the change instance method and it is incremented by every delta
+	 * that has been delivered. The predecessor stores the number of the provision that
+	 * it holds. If the numbers do not match, the delta cannot be applied and the method 
+	 * returns false. In this case, the successor must send the complete provision using 
+	 * the change instance method. Outdated messages are ignored as with the change 
+	 * instance method.
+	 * 
+	 * @param predecessorID The id of the predecessor that is using the successor whose
+	 * 	provision changed.
+	 * @param name The name of the successor that has been changed.
+	 * @param phase The phase used to detect outdated messages.
+	 * @param base The sequence number of the provision that the delta is based on.
+	 * @param delta The added and changed children of the provision.
+	 * @param removed The removed children of the provision as type and name contracts.
+	 * @return True if the delta has been applied or ignored, false if the predecessor
+	 * 	does not hold the base provision.
+	 * @throws InvocationException Thrown if the message could not be delivered by BASE.
+	 */
+	public boolean changeInstanceDelta(ObjectID predecessorID, String name, int phase, int base, Contract delta, Vector removed) throws InvocationException;
 		
 	/**
 	 * Signals that the successor used by a predecessor has been stopped and thus, it needs
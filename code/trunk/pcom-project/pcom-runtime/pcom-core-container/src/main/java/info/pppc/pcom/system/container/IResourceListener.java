@@ -0,0 +1,41 @@
+package info.pppc.pcom.system.container;
+
+import java.util.Hashtable;
+
+import info.pppc.base.system.InvocationException;
+import info.pppc.base.system.ObjectID;
+import info.pppc.base.system.SystemID;
+
+/**
+ * The resource listener is a remote interface that can be implemented by
+ * services that cache the free resources of containers, such as assemblers.
+ * Whenever the free resources of the allocators installed in a container
+ * change, the container pushes the new free resources to all systems that
+ * export a resource listener under the well-known listener id. Thereby,
+ * the listeners do not need to poll the containers periodically.
+ *
+ * @author Mac
+ */
+public interface IResourceListener {
+
+	/**
+	 * The object id of the resource listener. Each system that wants to
+	 * receive updates of the free resources of containers must export its
+	 * listener using this object id.
+	 */
+	public static final ObjectID LISTENER_ID = new ObjectID(9);
+
+	/**
+	 * Called by a container whenever the free resources of its allocators
+	 * have changed. The resources are formatted in the same way as the
+	 * result of the get resources method of the container.
+	 *
+	 * @param systemID The system id of the container whose resources have
+	 * 	changed.
+	 * @param resources A hashtable of integer arrays hashed by resource
+	 * 	allocator identifier that denote the free resources.
+	 * @throws InvocationException Thrown by base if the invocation cannot be delivered.
+	 */
+	public void changeResources(SystemID systemID, Hashtable resources) throws InvocationException;
+
+}
@@ -0,0 +1,47 @@
+package info.pppc.pcom.system.container;
+
+import info.pppc.base.system.InvocationException;
+import info.pppc.base.system.ObjectID;
+
+/**
+ * The stream service is a remote interface that is exported by each
+ * container. It provides access to the data of the streams that have
+ * been created on the system of the container. Components do not use
+ * this interface directly. Instead, they pass streams as parameters
+ * or results and read them using the methods of the stream.
+ *
+ * @author Mac
+ */
+public interface IStreamService {
+
+	/**
+	 * The object id of the stream service. Each container exports its
+	 * stream service using this object id.
+	 */
+	public static final ObjectID STREAM_ID = new ObjectID(10);
+
+	/**
+	 * Reads the specified part of the stream with the specified id. If the
+	 * stream is temporary and the part contains the last byte of the stream,
+	 * the stream will be released.
+	 *
+	 * @param streamID The id of the stream to read.
+	 * @param offset The offset of the first byte to read.
+	 * @param length The number of bytes to read.
+	 * @return The bytes of the specified part of the stream.
+	 * @throws IllegalArgumentException Thrown if the stream does not exist
+	 * 	or if the part exceeds the stream.
+	 * @throws InvocationException Thrown by base if the invocation cannot be delivered.
+	 */
+	public byte[] readStream(ObjectID streamID, int offset, int length) throws IllegalArgumentException, InvocationException;
+
+	/**
+	 * Releases the stream with the specified id. If the stream does not
+	 * exist, this method does nothing.
+	 *
+	 * @param streamID The id of the stream to release.
+	 * @throws InvocationException Thrown by base if the invocation cannot be delivered.
+	 */
+	public void releaseStream(ObjectID streamID) throws InvocationException;
+
+}
@@ -110,14 +110,15 @@ public class InstanceCheckpoint {
 	 */
 	public void putObject(String name, Object value) {
 		removed.removeElement(name);
+		ChunkVector cv = new ChunkVector();
 		try {
-			ChunkVector cv = new ChunkVector();
 			ChunkOutputStream cos = new ChunkOutputStream(cv, false);
 			ObjectOutputStream oos = new ObjectOutputStream(cos);
 			oos.writeObject(value);
 			oos.close();
 			values.put(name, cv);
 		} catch (IOException e) {
+			cv.release();
 			throw new RuntimeException("Serialization failed.");
 		}
 	}
@@ -165,13 +166,7 @@ public class InstanceCheckpoint {
 			String key = input.readUTF();
 			ChunkVector cv = new ChunkVector();
 			values.put(key, cv);
-			int todo = input.readInt();
-			while (todo > 0) {
-				byte[] chunk = new byte[Math.min(2048, todo)];
-				input.readBytes(chunk);
-				cv.append(chunk);
-				todo -= chunk.length;
-			}
+			cv.read(input, input.readInt());
 		}
 	}
 	
@@ -192,10 +187,30 @@ public class InstanceCheckpoint {
 			Object value = values.get(key);
 			ChunkVector cv = (ChunkVector)value;
 			output.writeInt(cv.getTotal());
-			for (int j = 0; j < cv.getChunks(); j++) {
-				output.writeBytes(cv.getChunk(j), cv.getStart(j), cv.getEnd(j) - cv.getStart(j));
-			}
+			cv.write(output);
+		}
+	}
+	
+	/**
+	 * Returns a copy of this checkpoint. The copy shares the serialized
+	 * values with this checkpoint since they are never modified once they
+	 * have been written. Modifying the copy, e.g. by applying differential
+	 * checkpoints to it, does not affect this checkpoint.
+	 * 
+	 * @return A copy of this checkpoint.
+	 */
+	public InstanceCheckpoint copy() {
+		InstanceCheckpoint copy = new InstanceCheckpoint();
+		copy.complete = complete;
+		Enumeration e = values.keys();
+		while (e.hasMoreElements()) {
+			Object key = e.nextElement();
+			copy.values.put(key, values.get(key));
+		}
+		for (int i = 0; i < removed.size(); i++) {
+			copy.removed.addElement(removed.elementAt(i));
 		}
+		return copy;
 	}
 	
 	/**
@@ -7,6 +7,9 @@ import info.pppc.base.system.SystemID;
 import info.pppc.base.system.io.IObjectInput;
 import info.pppc.base.system.io.IObjectOutput;
 import info.pppc.base.system.io.ISerializable;
+import info.pppc.pcom.system.io.CompactInput;
+import info.pppc.pcom.system.io.CompactOutput;
+import info.pppc.pcom.system.io.ICompactSerializable;
 import info.pppc.pcom.system.assembler.Assembly;
 import info.pppc.pcom.system.contract.Contract;
 
@@ -16,13 +19,20 @@ import info.pppc.pcom.system.contract.Contract;
  * 
  * @author Mac
  */
-public class InstanceSetup implements ISerializable {
+public class InstanceSetup implements ISerializable, ICompactSerializable {
 
 	/**
 	 * The abbreviation of this class as used by the object stream translator.
 	 */
 	public static final String ABBREVIATION = ";PI";
 	
+	/**
+	 * A flag that indicates whether the setup is serialized using the
+	 * compact format. The flag is set by the sender of the message and
+	 * it is never set when the setup is read.
+	 */
+	private boolean compact = false;
+	
 	/**
 	 * The demand contract that describes the demand directed to the 
 	 * instance.
@@ -148,6 +158,57 @@ public class InstanceSetup implements ISerializable {
 		return systemID;
 	}
 
+	/**
+	 * Determines whether the setup is serialized using the compact format.
+	 * 
+	 * @return True if the compact format is used, false otherwise.
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+	
+	/**
+	 * Sets a flag that indicates whether the setup is serialized using
+	 * the compact format. The compact format must only be used if the 
+	 * receiver is able to read it. Since the setup is created for a single
+	 * request, the sender decides about the format of each message.
+	 * 
+	 * @param compact True to use the compact format, false otherwise.
+	 */
+	public void setCompact(boolean compact) {
+		this.compact = compact;
+	}
+	
+	/**
+	 * Deserializes the setup from the specified compact input.
+	 * 
+	 * @param input The compact input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException {
+		contract = (Contract)input.readObject();
+		instanceID = (ObjectID)input.readObject();
+		collectorID = (ObjectID)input.readObject();
+		containerID = (ObjectID)input.readObject();
+		assembly = (Assembly)input.readObject();
+		systemID = (SystemID)input.readObject();
+	}
+	
+	/**
+	 * Serializes the setup to the specified compact output.
+	 * 
+	 * @param output The compact output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException {
+		output.writeObject(contract);
+		output.writeObject(instanceID);
+		output.writeObject(collectorID);
+		output.writeObject(containerID);
+		output.writeObject(assembly);
+		output.writeObject(systemID);
+	}
+	
 	/**
 	 * Deserializes the setup from the specified input stream.
 	 * 
@@ -155,7 +216,12 @@ public class InstanceSetup implements ISerializable {
 	 * @throws IOException Thrown by the underlying stream.
 	 */
 	public void readObject(IObjectInput input) throws IOException {
-		contract = (Contract)input.readObject();
+		Object first = input.readObject();
+		if (first instanceof byte[]) {
+			readCompact(new CompactInput((byte[])first, input));
+			return;
+		}
+		contract = (Contract)first;
 		instanceID = (ObjectID)input.readObject();
 		collectorID = (ObjectID)input.readObject();
 		containerID = (ObjectID)input.readObject();
@@ -170,6 +236,12 @@ public class InstanceSetup implements ISerializable {
 	 * @throws IOException Thrown by the underlying stream.
 	 */
 	public void writeObject(IObjectOutput output) throws IOException {
+		if (compact) {
+			CompactOutput out = new CompactOutput();
+			writeCompact(out);
+			out.writeTo(output);
+			return;
+		}
 		output.writeObject(contract);
 		output.writeObject(instanceID);
 		output.writeObject(collectorID);
@@ -5,6 +5,9 @@ import info.pppc.base.system.ObjectID;
 import info.pppc.base.system.io.IObjectInput;
 import info.pppc.base.system.io.IObjectOutput;
 import info.pppc.base.system.io.ISerializable;
+import info.pppc.pcom.system.io.CompactInput;
+import info.pppc.pcom.system.io.CompactOutput;
+import info.pppc.pcom.system.io.ICompactSerializable;
 import info.pppc.pcom.system.contract.Contract;
 
 import java.io.IOException;
@@ -16,13 +19,20 @@ import java.io.IOException;
  * 
  * @author Mac
  */
-public class InstanceState implements ISerializable {
+public class InstanceState implements ISerializable, ICompactSerializable {
 
 	/**
 	 * The abbreviation of this class as used by the object stream translator.
 	 */
 	public static final String ABBREVIATION = ";PZ";
 	
+	/**
+	 * A flag that indicates whether the state is serialized using the
+	 * compact format. The flag is set by the sender of the message and
+	 * it is never set when the state is read.
+	 */
+	private boolean compact = false;
+	
 	/**
 	 * A flag that indicates whether the request was a success.
 	 */
@@ -157,6 +167,55 @@ public class InstanceState implements ISerializable {
 		return lease;
 	}
 	
+	/**
+	 * Determines whether the state is serialized using the compact format.
+	 * 
+	 * @return True if the compact format is used, false otherwise.
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+	
+	/**
+	 * Sets a flag that indicates whether the state is serialized using
+	 * the compact format. The compact format must only be used if the 
+	 * receiver is able to read it. Since the state is created for a single
+	 * reply, the sender decides about the format of each message.
+	 * 
+	 * @param compact True to use the compact format, false otherwise.
+	 */
+	public void setCompact(boolean compact) {
+		this.compact = compact;
+	}
+	
+	/**
+	 * Deserializes the state from the specified compact input.
+	 * 
+	 * @param input The compact input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException {
+		success = input.readBoolean();
+		instanceID = (ObjectID)input.readObject();
+		skeletonID = (ObjectID)input.readObject();
+		provision = (Contract)input.readObject();
+		lease = (Lease)input.readObject();
+	}
+	
+	/**
+	 * Serializes the state to the specified compact output.
+	 * 
+	 * @param output The compact output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException {
+		output.writeBoolean(success);
+		output.writeObject(instanceID);
+		output.writeObject(skeletonID);
+		output.writeObject(provision);
+		output.writeObject(lease);
+	}
+	
 	/**
 	 * Deserializes the instance state from the specified input stream.
 	 * 
@@ -165,7 +224,12 @@ public class InstanceState implements ISerializable {
 	 */
 	public void readObject(IObjectInput input) throws IOException {
 		success = input.readBoolean();
-		instanceID = (ObjectID)input.readObject();
+		Object next = input.readObject();
+		if (next instanceof byte[]) {
+			readCompact(new CompactInput((byte[])next, input));
+			return;
+		}
+		instanceID = (ObjectID)next;
 		skeletonID = (ObjectID)input.readObject();
 		provision = (Contract)input.readObject();
 		lease = (Lease)input.readObject();
@@ -179,6 +243,12 @@ public class InstanceState implements ISerializable {
 	 */
 	public void writeObject(IObjectOutput output) throws IOException {
 		output.writeBoolean(success);
+		if (compact) {
+			CompactOutput out = new CompactOutput();
+			writeCompact(out);
+			out.writeTo(output);
+			return;
+		}
 		output.writeObject(instanceID);
 		output.writeObject(skeletonID);
 		output.writeObject(provision);
@@ -0,0 +1,78 @@
+package info.pppc.pcom.system.container;
+
+/**
+ * Do not modify this file. This class has been generated.
+ * Use inheritance or composition to add functionality.
+ *
+ * @author 3PC Base Tools
+ */
+public class ResourceListenerProxy extends info.pppc.base.system.Proxy implements info.pppc.pcom.system.container.IResourceListener {
+	
+	/**
+	 * Default constructor to create a new object.
+	 */
+	public ResourceListenerProxy() { }
+	
+	/**
+	 * Proxy method that creates and transfers an invocation for the interface method.
+	 *
+	 * @param systemID see info.pppc.pcom.system.container.IResourceListener
+	 * @param resources see info.pppc.pcom.system.container.IResourceListener
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.container.IResourceListener
+	 * @see info.pppc.pcom.system.container.IResourceListener
+	 */
+	public void changeResources(info.pppc.base.system.SystemID systemID, java.util.Hashtable resources) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[2];
+		__args[0] = systemID;
+		__args[1] = resources;
+		String __method = "void changeResources(info.pppc.base.system.SystemID, java.util.Hashtable)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeSynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return ;
+	}
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param systemID see info.pppc.pcom.system.container.IResourceListener
+	 * @param resources see info.pppc.pcom.system.container.IResourceListener
+	 * @return A future result that delivers the return value and exceptions. * @see info.pppc.pcom.system.container.IResourceListener
+	 */
+	public info.pppc.base.system.FutureResult changeResourcesDef(info.pppc.base.system.SystemID systemID, java.util.Hashtable resources)  {
+		Object[] __args = new Object[2];
+		__args[0] = systemID;
+		__args[1] = resources;
+		String __method = "void changeResources(info.pppc.base.system.SystemID, java.util.Hashtable)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		return proxyInvokeDeferred(__invocation);
+	}
+	/**
+	 * Proxy method that creates and transfers an asynchronous call.
+	 *
+	 * @param systemID see info.pppc.pcom.system.container.IResourceListener
+	 * @param resources see info.pppc.pcom.system.container.IResourceListener
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.container.IResourceListener
+	 * @see info.pppc.pcom.system.container.IResourceListener
+	 */
+	public void changeResourcesAsync(info.pppc.base.system.SystemID systemID, java.util.Hashtable resources) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[2];
+		__args[0] = systemID;
+		__args[1] = resources;
+		String __method = "void changeResources(info.pppc.base.system.SystemID, java.util.Hashtable)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateAsynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeAsynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return ;
+	}
+	
+}
@@ -0,0 +1,36 @@
+package info.pppc.pcom.system.container;
+
+/**
+ * Do not modify this file. This class has been generated.
+ * Use inheritance or composition to add functionality.
+ *
+ * @author 3PC Base Tools
+ */
+public class ResourceListenerSkeleton extends info.pppc.base.system.Skeleton  {
+	
+	/**
+	 * Default constructor to create a new object.
+	 */
+	public ResourceListenerSkeleton() { }
+	
+	/**
+	 * Dispatch method that dispatches incoming invocations to the skeleton's implementation.
+	 *
+	 * @param method The signature of the method to call.
+	 * @param args The parameters of the method call.
+	 * @return The result of the method call.
+	 */
+	protected info.pppc.base.system.Result dispatch(String method, Object[] args) {
+		info.pppc.pcom.system.container.IResourceListener impl = (info.pppc.pcom.system.container.IResourceListener)getImplementation();
+		try {
+			if (method.equals("void changeResources(info.pppc.base.system.SystemID, java.util.Hashtable)")) {
+				Object result = null;
+				impl.changeResources((info.pppc.base.system.SystemID)args[0], (java.util.Hashtable)args[1]);
+				return new info.pppc.base.system.Result(result, null);
+			}return new info.pppc.base.system.Result(null, new info.pppc.base.system.InvocationException("Illegal signature."));
+		} catch (Throwable t) {
+			return new info.pppc.base.system.Result(null, t);
+		}
+	}
+	
+}
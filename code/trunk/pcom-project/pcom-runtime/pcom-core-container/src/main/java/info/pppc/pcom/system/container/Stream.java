@@ -0,0 +1,370 @@
+package info.pppc.pcom.system.container;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import info.pppc.base.system.InvocationBroker;
+import info.pppc.base.system.InvocationException;
+import info.pppc.base.system.ObjectID;
+import info.pppc.base.system.ReferenceID;
+import info.pppc.base.system.SystemID;
+import info.pppc.base.system.io.IObjectInput;
+import info.pppc.base.system.io.IObjectOutput;
+import info.pppc.base.system.io.ISerializable;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.container.io.ChunkVector;
+
+/**
+ * A stream is a handle to a large amount of data that can be passed as
+ * parameter or result of a component interface instead of a byte array.
+ * Only the handle is transfered with the invocation. The data remains on
+ * the system that has created the stream and it is transfered in chunks
+ * when the stream is read. Thus, a component that merely forwards a stream
+ * does not receive its data at all. While a stream is read, the next chunk
+ * is requested as soon as the current chunk has been received. This limits
+ * the amount of data in transit to two chunks per reader.
+ * Streams are either persistent or temporary. Persistent streams must be
+ * released explicitly, temporary streams are released as soon as their
+ * last byte has been read or if they have not been accessed within the
+ * timeout of the stream service.
+ *
+ * @author Mac
+ */
+public class Stream implements ISerializable {
+
+	/**
+	 * The abbreviation of this class as used by the object stream translator.
+	 */
+	public static final String ABBREVIATION = ";PT";
+
+	/**
+	 * The number of bytes that are transfered by a single invocation.
+	 */
+	public static final int CHUNK_SIZE = 16384;
+
+	/**
+	 * The input stream that reads the data of a stream chunk by chunk.
+	 *
+	 * @author Mac
+	 */
+	private class StreamInput extends InputStream {
+
+		/**
+		 * The service that delivers the chunks.
+		 */
+		private IStreamService service;
+
+		/**
+		 * The chunk that is currently read or null if none.
+		 */
+		private byte[] chunk;
+
+		/**
+		 * The position of the next byte in the current chunk.
+		 */
+		private int position;
+
+		/**
+		 * The number of bytes that have been requested so far.
+		 */
+		private int requested = 0;
+
+		/**
+		 * The chunk that has been received but not read or null if none.
+		 */
+		private byte[] received;
+
+		/**
+		 * The exception that has been received while requesting the
+		 * next chunk or null if none.
+		 */
+		private Throwable failure;
+
+		/**
+		 * A flag that indicates whether the next chunk is requested.
+		 */
+		private boolean requesting = false;
+
+		/**
+		 * Creates a new input stream that reads from the specified
+		 * service and requests the first chunk.
+		 *
+		 * @param service The service that delivers the chunks.
+		 */
+		private StreamInput(IStreamService service) {
+			this.service = service;
+			synchronized (this) {
+				request();
+			}
+		}
+
+		/**
+		 * Requests the next chunk asynchronously if there is one
+		 * and no other request is pending. The caller must hold
+		 * the lock of this stream.
+		 */
+		private void request() {
+			if (requesting || requested == length) return;
+			final int offset = requested;
+			final int size = Math.min(CHUNK_SIZE, length - requested);
+			requested += size;
+			requesting = true;
+			InvocationBroker.getInstance().performOperation(new IOperation() {
+				public void perform(IMonitor monitor) throws Exception {
+					byte[] bytes = null;
+					Throwable t = null;
+					try {
+						bytes = service.readStream(streamID, offset, size);
+					} catch (Throwable e) {
+						t = e;
+					}
+					synchronized (StreamInput.this) {
+						received = bytes;
+						failure = t;
+						requesting = false;
+						StreamInput.this.notifyAll();
+					}
+				}
+			});
+		}
+
+		/**
+		 * Makes sure that the current chunk contains unread bytes.
+		 *
+		 * @return True if there are unread bytes, false if the end
+		 * 	of the stream has been reached.
+		 * @throws IOException Thrown if the chunk cannot be received.
+		 */
+		private synchronized boolean fill() throws IOException {
+			while (chunk == null || position == chunk.length) {
+				if (received == null && failure == null && ! requesting) {
+					return false;
+				}
+				while (requesting) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						throw new IOException("Thread got interrupted.");
+					}
+				}
+				if (failure != null) {
+					throw new IOException("Could not read stream: " + failure.getMessage());
+				}
+				chunk = received;
+				position = 0;
+				received = null;
+				request();
+			}
+			return true;
+		}
+
+		/**
+		 * Reads a single byte from the stream.
+		 *
+		 * @return The byte or -1 if the end of the stream has been reached.
+		 * @throws IOException Thrown if the chunk cannot be received.
+		 */
+		public int read() throws IOException {
+			if (! fill()) return -1;
+			int result = chunk[position] & 0xFF;
+			position += 1;
+			return result;
+		}
+
+		/**
+		 * Reads up to the specified number of bytes into the buffer.
+		 *
+		 * @param b The buffer to fill.
+		 * @param offset The offset of the first byte in the buffer.
+		 * @param count The maximum number of bytes to read.
+		 * @return The number of bytes read or -1 if the end of the
+		 * 	stream has been reached.
+		 * @throws IOException Thrown if the chunk cannot be received.
+		 */
+		public int read(byte[] b, int offset, int count) throws IOException {
+			if (count == 0) return 0;
+			if (! fill()) return -1;
+			int l = Math.min(count, chunk.length - position);
+			System.arraycopy(chunk, position, b, offset, l);
+			position += l;
+			return l;
+		}
+
+		/**
+		 * Returns the number of bytes that can be read without blocking.
+		 *
+		 * @return The number of bytes remaining in the current chunk.
+		 */
+		public synchronized int available() {
+			return (chunk == null)? 0 : chunk.length - position;
+		}
+
+	}
+
+	/**
+	 * The system that stores the data of the stream.
+	 */
+	private SystemID systemID;
+
+	/**
+	 * The id of the stream on the system that stores its data.
+	 */
+	private ObjectID streamID;
+
+	/**
+	 * The total number of bytes of the stream.
+	 */
+	private int length;
+
+	/**
+	 * Creates an uninitialized stream. This constructor is used
+	 * for deserialization.
+	 */
+	public Stream() {
+		super();
+	}
+
+	/**
+	 * Creates a new stream that contains the specified bytes. The
+	 * bytes are not copied, so they must not be modified afterwards.
+	 *
+	 * @param data The data of the stream.
+	 * @param temporary True to release the stream as soon as its last
+	 * 	byte has been read, false to keep it until it is released.
+	 */
+	public Stream(byte[] data, boolean temporary) {
+		ChunkVector vector = new ChunkVector();
+		vector.append(data);
+		init(vector, temporary);
+	}
+
+	/**
+	 * Creates a new stream that contains the bytes stored in the
+	 * specified chunk vector. The chunks are not copied, so they
+	 * must not be modified afterwards.
+	 *
+	 * @param data The data of the stream.
+	 * @param temporary True to release the stream as soon as its last
+	 * 	byte has been read, false to keep it until it is released.
+	 */
+	public Stream(ChunkVector data, boolean temporary) {
+		init(data, temporary);
+	}
+
+	/**
+	 * Initializes the stream and stores the data at the stream service
+	 * of this system.
+	 *
+	 * @param data The data of the stream.
+	 * @param temporary The flag that indicates whether the stream is
+	 * 	temporary.
+	 */
+	private void init(ChunkVector data, boolean temporary) {
+		systemID = SystemID.SYSTEM;
+		length = data.getTotal();
+		streamID = StreamService.getInstance().addStream(data, temporary);
+	}
+
+	/**
+	 * Returns the total number of bytes of the stream.
+	 *
+	 * @return The length of the stream.
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns a new input stream that reads the data of this stream.
+	 * If the stream is temporary, it can only be read once.
+	 *
+	 * @return An input stream that reads the data of the stream.
+	 */
+	public InputStream getInputStream() {
+		return new StreamInput(getService());
+	}
+
+	/**
+	 * Reads the complete data of the stream and returns it as byte array.
+	 * This should only be used if the complete data is needed in memory.
+	 *
+	 * @return The data of the stream.
+	 * @throws IOException Thrown if the data cannot be read.
+	 */
+	public byte[] getBytes() throws IOException {
+		byte[] result = new byte[length];
+		InputStream input = getInputStream();
+		int position = 0;
+		while (position < length) {
+			int read = input.read(result, position, length - position);
+			if (read == -1) throw new IOException("Stream end reached.");
+			position += read;
+		}
+		return result;
+	}
+
+	/**
+	 * Releases the data of the stream on the system that stores it. After
+	 * a stream has been released, it cannot be read anymore. If the system
+	 * cannot be reached, the data remains on the system.
+	 */
+	public void release() {
+		try {
+			getService().releaseStream(streamID);
+		} catch (InvocationException e) {
+			Logging.error(getClass(), "Could not release stream.", e);
+		}
+	}
+
+	/**
+	 * Returns the service that delivers the data of the stream.
+	 *
+	 * @return The service that stores the data of the stream.
+	 */
+	private IStreamService getService() {
+		if (SystemID.SYSTEM.equals(systemID)) {
+			return StreamService.getInstance();
+		} else {
+			StreamServiceProxy proxy = new StreamServiceProxy();
+			proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, IStreamService.STREAM_ID));
+			proxy.setTargetID(new ReferenceID(systemID, IStreamService.STREAM_ID));
+			return proxy;
+		}
+	}
+
+	/**
+	 * Deserializes the stream from the specified input.
+	 *
+	 * @param input The input to read from.
+	 * @throws IOException Thrown by the underlying io system.
+	 */
+	public void readObject(IObjectInput input) throws IOException {
+		systemID = (SystemID)input.readObject();
+		streamID = (ObjectID)input.readObject();
+		length = input.readInt();
+	}
+
+	/**
+	 * Serializes the stream to the specified output.
+	 *
+	 * @param output The output to write to.
+	 * @throws IOException Thrown by the underlying io system.
+	 */
+	public void writeObject(IObjectOutput output) throws IOException {
+		output.writeObject(systemID);
+		output.writeObject(streamID);
+		output.writeInt(length);
+	}
+
+	/**
+	 * Returns a human readable string representation.
+	 *
+	 * @return A string representation of the stream.
+	 */
+	public String toString() {
+		return "SYSTEM (" + systemID + ") STREAM (" + streamID + ") LENGTH (" + length + ")";
+	}
+
+}
@@ -0,0 +1,200 @@
+package info.pppc.pcom.system.container;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+import info.pppc.base.system.ObjectID;
+import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.container.io.ChunkVector;
+
+/**
+ * The stream service stores the data of the streams that have been
+ * created on this system. The data is kept until the stream is released.
+ * Temporary streams are released automatically as soon as their last
+ * byte has been read. Temporary streams that have not been accessed
+ * within the stream timeout are released as well, in order to free
+ * streams that are never read completely. Since streams are usually read sequentially, the
+ * service remembers the chunk that has been read last for each stream.
+ *
+ * @author Mac
+ */
+public class StreamService implements IStreamService {
+
+	/**
+	 * The time in milliseconds after which a temporary stream that has
+	 * not been accessed is released.
+	 */
+	public static final long STREAM_TIMEOUT = 60000;
+
+	/**
+	 * The entry stores the data of a single stream.
+	 *
+	 * @author Mac
+	 */
+	private static class Entry {
+
+		/**
+		 * The data of the stream.
+		 */
+		private ChunkVector data;
+
+		/**
+		 * A flag that indicates whether the stream is released
+		 * after its last byte has been read.
+		 */
+		private boolean temporary;
+
+		/**
+		 * The index of the chunk that has been read last.
+		 */
+		private int chunk = 0;
+
+		/**
+		 * The offset of the first byte of the chunk that has
+		 * been read last.
+		 */
+		private int base = 0;
+
+		/**
+		 * The time at which the stream has been accessed last.
+		 */
+		private long accessed;
+
+	}
+
+	/**
+	 * The single instance of the stream service.
+	 */
+	private static StreamService instance;
+
+	/**
+	 * The entries of the streams hashed by stream id.
+	 */
+	private Hashtable streams = new Hashtable();
+
+	/**
+	 * The time at which expired streams have been removed last.
+	 */
+	private long expired = System.currentTimeMillis();
+
+	/**
+	 * Creates a new stream service.
+	 */
+	private StreamService() {
+		super();
+	}
+
+	/**
+	 * Returns the single instance of the stream service.
+	 *
+	 * @return The stream service of this system.
+	 */
+	public static synchronized StreamService getInstance() {
+		if (instance == null) {
+			instance = new StreamService();
+		}
+		return instance;
+	}
+
+	/**
+	 * Adds the specified data as new stream and returns its id. Before
+	 * the stream is added, temporary streams that have expired are
+	 * removed.
+	 *
+	 * @param data The data of the stream.
+	 * @param temporary A flag that indicates whether the stream is
+	 * 	released after the last byte has been read.
+	 * @return The id of the new stream.
+	 */
+	protected ObjectID addStream(ChunkVector data, boolean temporary) {
+		Entry entry = new Entry();
+		entry.data = data;
+		entry.temporary = temporary;
+		entry.accessed = System.currentTimeMillis();
+		expire(entry.accessed);
+		ObjectID streamID = ObjectID.create();
+		streams.put(streamID, entry);
+		return streamID;
+	}
+
+	/**
+	 * Removes the temporary streams that have not been accessed within
+	 * the stream timeout. The streams are checked at most once per
+	 * timeout.
+	 * 
+	 * @param time The current time.
+	 */
+	private void expire(long time) {
+		synchronized (streams) {
+			if (time - expired < STREAM_TIMEOUT) return;
+			expired = time;
+			Enumeration e = streams.keys();
+			while (e.hasMoreElements()) {
+				Object streamID = e.nextElement();
+				Entry entry = (Entry)streams.get(streamID);
+				if (entry != null && entry.temporary && time - entry.accessed > STREAM_TIMEOUT) {
+					streams.remove(streamID);
+					Logging.debug(getClass(), "Expired stream " + streamID + ".");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the specified part of the stream with the specified id.
+	 *
+	 * @param streamID The id of the stream to read.
+	 * @param offset The offset of the first byte to read.
+	 * @param length The number of bytes to read.
+	 * @return The bytes of the specified part of the stream.
+	 * @throws IllegalArgumentException Thrown if the stream does not exist
+	 * 	or if the part exceeds the stream.
+	 */
+	public byte[] readStream(ObjectID streamID, int offset, int length) throws IllegalArgumentException {
+		Entry entry = (Entry)streams.get(streamID);
+		if (entry == null) throw new IllegalArgumentException("Stream does not exist.");
+		ChunkVector data = entry.data;
+		if (offset < 0 || length < 0 || length > data.getTotal() - offset) {
+			throw new IllegalArgumentException("Illegal stream range.");
+		}
+		byte[] result = new byte[length];
+		synchronized (entry) {
+			entry.accessed = System.currentTimeMillis();
+			// restart at the beginning if the part lies before the last chunk
+			if (offset < entry.base) {
+				entry.chunk = 0;
+				entry.base = 0;
+			}
+			int position = 0;
+			while (position < length) {
+				int start = data.getStart(entry.chunk);
+				int size = data.getEnd(entry.chunk) - start;
+				int skip = offset + position - entry.base;
+				if (skip >= size) {
+					entry.base += size;
+					entry.chunk += 1;
+					continue;
+				}
+				int copy = Math.min(size - skip, length - position);
+				System.arraycopy(data.getChunk(entry.chunk), start + skip, result, position, copy);
+				position += copy;
+			}
+			if (entry.temporary && offset + length == data.getTotal()) {
+				streams.remove(streamID);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Releases the stream with the specified id.
+	 *
+	 * @param streamID The id of the stream to release.
+	 */
+	public void releaseStream(ObjectID streamID) {
+		if (streams.remove(streamID) != null) {
+			Logging.debug(getClass(), "Released stream " + streamID + ".");
+		}
+	}
+
+}
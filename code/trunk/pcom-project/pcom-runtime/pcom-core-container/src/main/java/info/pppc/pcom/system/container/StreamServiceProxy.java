@@ -0,0 +1,117 @@
+package info.pppc.pcom.system.container;
+
+/**
+ * Do not modify this file. This class has been generated.
+ * Use inheritance or composition to add functionality.
+ *
+ * @author 3PC Base Tools
+ */
+public class StreamServiceProxy extends info.pppc.base.system.Proxy implements info.pppc.pcom.system.container.IStreamService {
+	
+	/**
+	 * Default constructor to create a new object.
+	 */
+	public StreamServiceProxy() { }
+	
+	/**
+	 * Proxy method that creates and transfers an invocation for the interface method.
+	 *
+	 * @param streamID see info.pppc.pcom.system.container.IStreamService
+	 * @param offset see info.pppc.pcom.system.container.IStreamService
+	 * @param length see info.pppc.pcom.system.container.IStreamService
+	 * @return see info.pppc.pcom.system.container.IStreamService
+	 * @throws java.lang.IllegalArgumentException see info.pppc.pcom.system.container.IStreamService
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.container.IStreamService
+	 * @see info.pppc.pcom.system.container.IStreamService
+	 */
+	public byte[] readStream(info.pppc.base.system.ObjectID streamID, int offset, int length) throws java.lang.IllegalArgumentException, info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[3];
+		__args[0] = streamID;
+		__args[1] = new Integer(offset);
+		__args[2] = new Integer(length);
+		String __method = "byte[] readStream(info.pppc.base.system.ObjectID, int, int)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeSynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return (byte[])__result.getValue();
+	}
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param streamID see info.pppc.pcom.system.container.IStreamService
+	 * @param offset see info.pppc.pcom.system.container.IStreamService
+	 * @param length see info.pppc.pcom.system.container.IStreamService
+	 * @return A future result that delivers the return value and exceptions. * @see info.pppc.pcom.system.container.IStreamService
+	 */
+	public info.pppc.base.system.FutureResult readStreamDef(info.pppc.base.system.ObjectID streamID, int offset, int length)  {
+		Object[] __args = new Object[3];
+		__args[0] = streamID;
+		__args[1] = new Integer(offset);
+		__args[2] = new Integer(length);
+		String __method = "byte[] readStream(info.pppc.base.system.ObjectID, int, int)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		return proxyInvokeDeferred(__invocation);
+	}
+	
+	/**
+	 * Proxy method that creates and transfers an invocation for the interface method.
+	 *
+	 * @param streamID see info.pppc.pcom.system.container.IStreamService
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.container.IStreamService
+	 * @see info.pppc.pcom.system.container.IStreamService
+	 */
+	public void releaseStream(info.pppc.base.system.ObjectID streamID) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[1];
+		__args[0] = streamID;
+		String __method = "void releaseStream(info.pppc.base.system.ObjectID)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeSynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return ;
+	}
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param streamID see info.pppc.pcom.system.container.IStreamService
+	 * @return A future result that delivers the return value and exceptions. * @see info.pppc.pcom.system.container.IStreamService
+	 */
+	public info.pppc.base.system.FutureResult releaseStreamDef(info.pppc.base.system.ObjectID streamID)  {
+		Object[] __args = new Object[1];
+		__args[0] = streamID;
+		String __method = "void releaseStream(info.pppc.base.system.ObjectID)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		return proxyInvokeDeferred(__invocation);
+	}
+	/**
+	 * Proxy method that creates and transfers an asynchronous call.
+	 *
+	 * @param streamID see info.pppc.pcom.system.container.IStreamService
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.container.IStreamService
+	 * @see info.pppc.pcom.system.container.IStreamService
+	 */
+	public void releaseStreamAsync(info.pppc.base.system.ObjectID streamID) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[1];
+		__args[0] = streamID;
+		String __method = "void releaseStream(info.pppc.base.system.ObjectID)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateAsynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeAsynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return ;
+	}
+	
+}
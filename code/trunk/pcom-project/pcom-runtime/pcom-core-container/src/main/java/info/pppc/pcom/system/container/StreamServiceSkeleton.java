@@ -0,0 +1,39 @@
+package info.pppc.pcom.system.container;
+
+/**
+ * Do not modify this file. This class has been generated.
+ * Use inheritance or composition to add functionality.
+ *
+ * @author 3PC Base Tools
+ */
+public class StreamServiceSkeleton extends info.pppc.base.system.Skeleton  {
+	
+	/**
+	 * Default constructor to create a new object.
+	 */
+	public StreamServiceSkeleton() { }
+	
+	/**
+	 * Dispatch method that dispatches incoming invocations to the skeleton's implementation.
+	 *
+	 * @param method The signature of the method to call.
+	 * @param args The parameters of the method call.
+	 * @return The result of the method call.
+	 */
+	protected info.pppc.base.system.Result dispatch(String method, Object[] args) {
+		info.pppc.pcom.system.container.IStreamService impl = (info.pppc.pcom.system.container.IStreamService)getImplementation();
+		try {
+			if (method.equals("byte[] readStream(info.pppc.base.system.ObjectID, int, int)")) {
+				Object result = impl.readStream((info.pppc.base.system.ObjectID)args[0], ((Integer)args[1]).intValue(), ((Integer)args[2]).intValue());
+				return new info.pppc.base.system.Result(result, null);
+			} else if (method.equals("void releaseStream(info.pppc.base.system.ObjectID)")) {
+				Object result = null;
+				impl.releaseStream((info.pppc.base.system.ObjectID)args[0]);
+				return new info.pppc.base.system.Result(result, null);
+			}return new info.pppc.base.system.Result(null, new info.pppc.base.system.InvocationException("Illegal signature."));
+		} catch (Throwable t) {
+			return new info.pppc.base.system.Result(null, t);
+		}
+	}
+	
+}
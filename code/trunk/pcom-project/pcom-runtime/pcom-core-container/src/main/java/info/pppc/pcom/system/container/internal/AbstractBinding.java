@@ -65,6 +65,20 @@ public abstract class AbstractBinding {
 		}
 	}
 	
+	/**
+	 * Returns the status child with the specified type using the
+	 * name of the binding.
+	 * 
+	 * @param type The type of the status child to retrieve.
+	 * @return The status child or null if there is none.
+	 */
+	protected Contract getStatus(byte type) {
+		AbstractStatus status = getContext().getAbstractStatus();
+		synchronized (status) {
+			return status.getContract(type, name);
+		}
+	}
+	
 	/**
 	 * Removes the status child with the specified type using the
 	 * name of the binding and returns it.
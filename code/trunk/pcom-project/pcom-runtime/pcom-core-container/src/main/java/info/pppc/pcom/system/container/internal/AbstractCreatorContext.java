@@ -1,5 +1,6 @@
 package info.pppc.pcom.system.container.internal;
 
+import java.util.Hashtable;
 import java.util.Vector;
 
 import info.pppc.base.system.event.Event;
@@ -12,11 +13,21 @@ import info.pppc.pcom.system.contract.Contract;
 /**
  * The creator context is a common context for factories and allocators.
  * It provides a stop lock and methods to manage the resource dependencies.
+ * Furthermore, it provides a bounded cache for the contracts that have
+ * been derived for some demand. The cache is cleared whenever the template
+ * or the status of the creator changes or if the creator explicitly
+ * invalidates it.
  * 
  * @author Mac
  */
 public abstract class AbstractCreatorContext extends AbstractContext {
 
+	/**
+	 * The maximum number of demands whose derived contracts are
+	 * cached by a single creator.
+	 */
+	private static final int SETUP_CACHE_SIZE = 16;
+
 	/**
 	 * The stop lock implements a lock that can be accessed multiple times
 	 * in parallel by readers and exactly once by a writer. Readers and the
@@ -120,17 +131,50 @@ public abstract class AbstractCreatorContext extends AbstractContext {
 	 */
 	private StopLock lock = new StopLock();
 	
+	/**
+	 * The cache of derived contracts. Hashes interned demand contracts 
+	 * to vectors of contracts that have been derived for them. Accesses
+	 * must be synchronized on the cache.
+	 */
+	private Hashtable setups = new Hashtable();
+	
+	/**
+	 * The demands contained in the setup cache in the order of their
+	 * insertion. The first demand is replaced if the cache is full.
+	 */
+	private Vector demands = new Vector();
+	
+	/**
+	 * The number of derivations that have been answered from the cache.
+	 */
+	private int hits = 0;
+	
+	/**
+	 * The number of derivations that could not be answered from the cache.
+	 */
+	private int misses = 0;
+	
+	/**
+	 * The generation of the setup cache. The generation is incremented
+	 * whenever the cache is invalidated. It is used to detect contracts
+	 * that have been derived before the last invalidation.
+	 */
+	private int generation = 0;
+	
 	/**
 	 * The committer is a template listener that listens to commit
 	 * events of the abstract template. If a template is commited,
-	 * the listener will try to sync all requirements and try to
-	 * bind all new requirements.
+	 * the listener will update the static provision of the creator,
+	 * it will try to sync all requirements and try to bind all new 
+	 * requirements. Since the validation clears the setup cache, the 
+	 * cached setups will be derived again.
 	 */
 	private IListener committer = new IListener() {
 		public void handleEvent(Event event) {
+			getContainer().updateIndex(AbstractCreatorContext.this);
 			validate();
 			if (getCreatorResources().size() > 0) {
-				getContainer().updateResources();
+				getContainer().updateResources(AbstractCreatorContext.this);
 			}
 		};
 	};
@@ -186,9 +230,138 @@ public abstract class AbstractCreatorContext extends AbstractContext {
 	protected void stop() {
 		getAbstractTemplate().removeTemplateListener
 			(AbstractTemplate.EVENT_TEMPLATE_COMMITTED, committer);
+		invalidateSetups();
 		super.stop();
 	}
 	
+	/**
+	 * Returns copies of the contracts that have been derived for the 
+	 * specified demand previously or null if the demand is not cached. 
+	 * 
+	 * @param demand The demand whose derived contracts should be retrieved.
+	 * @return Copies of the cached contracts or null if there are none.
+	 */
+	protected Vector getSetups(Contract demand) {
+		synchronized (setups) {
+			Vector contracts = (Vector)setups.get(demand);
+			if (contracts == null) {
+				misses += 1;
+				return null;
+			}
+			hits += 1;
+			Vector result = new Vector();
+			for (int i = 0; i < contracts.size(); i++) {
+				result.addElement(((Contract)contracts.elementAt(i)).copy());
+			}
+			return result;
+		}
+	}
+	
+	/**
+	 * Returns the current generation of the setup cache. Creators must
+	 * retrieve the generation before they derive the contracts that they
+	 * store in the cache.
+	 * 
+	 * @return The current generation of the setup cache.
+	 */
+	protected int getSetupGeneration() {
+		synchronized (setups) {
+			return generation;
+		}
+	}
+	
+	/**
+	 * Stores copies of the contracts derived for the specified demand in
+	 * the setup cache. If the cache is full, the oldest demand will be
+	 * removed from the cache. If the cache has been invalidated since the
+	 * specified generation has been retrieved, the contracts might be
+	 * outdated and they are not stored.
+	 * 
+	 * @param demand The demand that has been used to derive the contracts.
+	 * @param contracts The contracts that have been derived.
+	 * @param generation The generation of the cache that has been retrieved
+	 * 	before the contracts have been derived.
+	 */
+	protected void putSetups(Contract demand, Vector contracts, int generation) {
+		Vector copies = new Vector();
+		for (int i = 0; i < contracts.size(); i++) {
+			copies.addElement(((Contract)contracts.elementAt(i)).copy());
+		}
+		Contract key = Contract.intern(demand);
+		synchronized (setups) {
+			if (generation != this.generation) return;
+			if (! setups.containsKey(key)) {
+				if (demands.size() >= SETUP_CACHE_SIZE) {
+					setups.remove(demands.elementAt(0));
+					demands.removeElementAt(0);
+				}
+				demands.addElement(key);
+			}
+			setups.put(key, copies);
+		}
+	}
+	
+	/**
+	 * Removes all derived contracts from the setup cache. This is called
+	 * automatically whenever the template or the status of the creator
+	 * changes. Creators can call this method whenever the setups that they
+	 * derive are no longer valid due to some other changes. Since the
+	 * templates returned by container queries might change, this also
+	 * changes the version of the container.
+	 */
+	public void invalidateSetups() {
+		synchronized (setups) {
+			setups.clear();
+			demands.removeAllElements();
+			generation += 1;
+		}
+		getContainer().changeVersion();
+	}
+	
+	/**
+	 * Returns the number of derivations that have been answered from the
+	 * setup cache since the creator has been created.
+	 * 
+	 * @return The number of cache hits.
+	 */
+	public int getSetupHits() {
+		synchronized (setups) {
+			return hits;	
+		}
+	}
+	
+	/**
+	 * Returns the number of derivations that have not been answered from
+	 * the setup cache since the creator has been created.
+	 * 
+	 * @return The number of cache misses.
+	 */
+	public int getSetupMisses() {
+		synchronized (setups) {
+			return misses;	
+		}
+	}
+	
+	
+	/**
+	 * Returns a copy of the static provision of the creator as specified 
+	 * in its template. The static provision advertises the types that can 
+	 * be provided by the creator.
+	 * 
+	 * @return A copy of the static provision of the creator or null if the 
+	 * 	template does not contain a static provision.
+	 */
+	public Contract getCreatorProvision() {
+		AbstractTemplate template = getAbstractTemplate();
+		synchronized (template) {
+			Contract provision = ((AbstractCreatorTemplate)template).getProvision();
+			if (provision != null) {
+				return provision.copy();
+			} else {
+				return null;
+			}
+		}
+	}
 	
 	/**
 	 * Returns the resource demands of the creator that are not
@@ -230,9 +403,11 @@ public abstract class AbstractCreatorContext extends AbstractContext {
 	/**
 	 * Called whenever a resource bound to the creator changes its provision.
 	 * This will release all resources that are no longer required and those
-	 * that do not fulfill a desired requirement 
+	 * that do not fulfill a desired requirement and it will clear the setup
+	 * cache.
 	 */
 	protected void validate() {
+		invalidateSetups();
 		Contract template = getAbstractTemplate().getContract();
 		Contract[] demands = template.getContracts(Contract.TYPE_RESOURCE_DEMAND);
 		Contract status = getAbstractStatus().getContract();
@@ -0,0 +1,150 @@
+package info.pppc.pcom.system.container.internal;
+
+import info.pppc.pcom.system.container.internal.capability.AllocatorStatus;
+import info.pppc.pcom.system.container.internal.contract.DemandWriter;
+import info.pppc.pcom.system.container.internal.contract.IRemover;
+import info.pppc.pcom.system.container.internal.contract.ProvisionWriter;
+import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.model.contract.IContract;
+import info.pppc.pcom.system.model.contract.writer.IResourceDemandWriter;
+
+/**
+ * The creator template is the common base class for the templates of
+ * factories and allocators. It provides writers to change the resource
+ * demands of the creator at runtime and it manages the static provision
+ * of the creator. The static provision is a resource provision for
+ * allocators and an instance provision for factories. The subclasses
+ * provide the writer for the respective type of provision.
+ * 
+ * @author Mac
+ */
+public abstract class AbstractCreatorTemplate extends AbstractTemplate implements IRemover {
+	
+	/**
+	 * Creates a new creator template with the specified contract.
+	 * 
+	 * @param contract The contract used as base contract by the
+	 * 	template.
+	 */
+	protected AbstractCreatorTemplate(Contract contract) {
+		super(contract);
+	}
+
+	/**
+	 * Creates a view for the specified contract. The resource demands of
+	 * the creator contract can be modified with a resource demand writer,
+	 * the static provision can be modified with a provision writer.
+	 * 
+	 * @param c The contract whose view needs to be created.
+	 * @return The writable view for the contract.
+	 */
+	protected IContract createView(Contract c) {
+		if (c.getType() == Contract.TYPE_RESOURCE_DEMAND) {
+			return new DemandWriter(this, c);	
+		} else if (c.getType() == Contract.TYPE_RESOURCE_PROVISION 
+				|| c.getType() == Contract.TYPE_INSTANCE_PROVISION) {
+			return new ProvisionWriter(null, c);
+		}
+		throw new IllegalArgumentException("Cannot create view.");
+	}
+
+	/**
+	 * Returns the static provision contract of the template. The static
+	 * provision is a resource provision for allocators and an instance 
+	 * provision for factories.
+	 * 
+	 * @return The static provision contract of the template or null if
+	 * 	the template does not contain a static provision.
+	 */
+	public Contract getProvision() {
+		Contract[] cs = getContract().getContracts();
+		for (int i = 0; i < cs.length; i++) {
+			byte type = cs[i].getType();
+			if (type == Contract.TYPE_RESOURCE_PROVISION 
+					|| type == Contract.TYPE_INSTANCE_PROVISION) {
+				return cs[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Creates a resource demand with the specified name and returns the
+	 * resource demand that has been replaced, if any.
+	 * 
+	 * @param name The name of the resource demand to create.
+	 * @return The resource demand that has been replaced or null if
+	 * 	none has been replaced.
+	 */
+	public IResourceDemandWriter createResource(String name) {
+		IResourceDemandWriter replaced = getResource(name);
+		Contract c = new Contract(Contract.TYPE_RESOURCE_DEMAND, name);
+		addContract(c);
+		return replaced;
+	}
+	
+	/**
+	 * Returns the resource demand with the specified name or null if no
+	 * such demand exists.
+	 * 
+	 * @param name The name of the resource demand to retrieve.
+	 * @return The resource demand with the specified name or null if it
+	 * 	does not exist.
+	 */
+	public IResourceDemandWriter getResource(String name) {
+		Contract c = getContract().getContract(Contract.TYPE_RESOURCE_DEMAND, name);
+		return (IResourceDemandWriter)getView(c);
+	}
+	
+	/**
+	 * Returns all resource demands that are currently specified by this
+	 * creator template.
+	 * 
+	 * @return An array of all resource demands that are currently specified
+	 *  by this template. 
+	 */
+	public IResourceDemandWriter[] getResources() {
+		Contract[] cs = getContract().getContracts(Contract.TYPE_RESOURCE_DEMAND);
+		DemandWriter[] writers = new DemandWriter[cs.length];
+		for (int i = 0; i < writers.length; i++) {
+			writers[i] = (DemandWriter)getView(cs[i]);
+		}
+		return writers;
+	}
+	
+	/**
+	 * Implements the remover interface. A call to this method will remove
+	 * the corresponding contract child from the base contract.
+	 * 
+	 * @param contract The contract that should be removed.
+	 */
+	public void remove(Contract contract) {
+		removeContract(contract);	
+	}
+
+	/**
+	 * Determines whether the template matches the status.
+	 * 
+	 * @param status The status to match with.
+	 * @param ignored The flag that indicates whether the provision should
+	 * 	also be matched. This can be ignored since allocators do not provide
+	 * 	anything.
+	 * @return True if the match was successful, false otherwise.
+	 */
+	public boolean matches(AbstractStatus status, boolean ignored) {
+		if (status == null || ! (status instanceof AllocatorStatus)) return false;
+		Contract demand = status.getContract(Contract.TYPE_RESOURCE_DEMAND);
+		Contract provision = getContract(Contract.TYPE_RESOURCE_PROVISION);
+		if (provision == null || ! provision.matches(demand, false)) {
+			return false;
+		}
+		Contract[] resources = getContracts(Contract.TYPE_RESOURCE_DEMAND);
+		for (int i = 0; i < resources.length; i++) {
+			Contract d = resources[i];
+			Contract p = status.getContract(Contract.TYPE_RESOURCE_PROVISION, d.getName());
+			if (p == null || ! p.matches(d, false)) return false;
+		}
+		return true;
+	}
+	
+}
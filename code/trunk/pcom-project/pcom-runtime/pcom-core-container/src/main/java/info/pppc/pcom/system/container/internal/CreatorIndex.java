@@ -0,0 +1,217 @@
+package info.pppc.pcom.system.container.internal;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import info.pppc.pcom.system.contract.Contract;
+
+/**
+ * The creator index is used by the container to determine the factories
+ * or allocators that might be able to fulfill a certain demand without
+ * asking each of them to derive setups. The index hashes the creators by
+ * the interface, event and dimension names contained in their static
+ * provisions. Creators that do not declare any type in their static
+ * provision are considered to be candidates for every demand. If a
+ * creator declares a type without dimensions, the dimensions of the
+ * type are not restricted. This enables creators to extend provisions
+ * with dimensions taken from the demand. If a creator declares a type
+ * with dimensions, it will only be considered for demands whose
+ * dimensions are contained in the declaration.
+ *
+ * @author Mac
+ */
+public class CreatorIndex {
+
+	/**
+	 * The separator used to create keys for dimensions.
+	 */
+	private static final char SEPARATOR = '#';
+
+	/**
+	 * The creators that have been indexed by some type key. The
+	 * creators are hashed by their type key, the value is a vector
+	 * of creators.
+	 */
+	private Hashtable index = new Hashtable();
+
+	/**
+	 * The keys of the creators. Hashes creators to a hashtable whose
+	 * keys are the type and dimension keys of the creator.
+	 */
+	private Hashtable creators = new Hashtable();
+
+	/**
+	 * The creators that do not declare a static provision and thus
+	 * must be considered for every demand.
+	 */
+	private Vector wildcards = new Vector();
+
+	/**
+	 * Creates a new empty creator index.
+	 */
+	public CreatorIndex() {
+		super();
+	}
+
+	/**
+	 * Adds the specified creator to the index using the types contained
+	 * in its static provision. If the creator has been indexed already,
+	 * the existing entry will be replaced.
+	 *
+	 * @param creator The creator to add.
+	 * @param provision The static provision of the creator, this might
+	 * 	be null if the creator does not declare a static provision.
+	 */
+	public synchronized void addCreator(AbstractCreatorContext creator, Contract provision) {
+		removeCreator(creator);
+		Hashtable keys = new Hashtable();
+		if (provision != null) {
+			Contract[] types = provision.getContracts();
+			for (int i = 0; i < types.length; i++) {
+				Contract type = types[i];
+				keys.put(getKey(type), type);
+				Contract[] dimensions = type.getContracts();
+				if (dimensions.length > 0) {
+					keys.put(getKey(type) + SEPARATOR, type);
+					for (int j = 0; j < dimensions.length; j++) {
+						keys.put(getKey(type, dimensions[j]), type);
+					}
+				}
+			}
+		}
+		creators.put(creator, keys);
+		if (keys.isEmpty()) {
+			wildcards.addElement(creator);
+		} else {
+			Enumeration e = keys.keys();
+			while (e.hasMoreElements()) {
+				Object key = e.nextElement();
+				Vector entries = (Vector)index.get(key);
+				if (entries == null) {
+					entries = new Vector();
+					index.put(key, entries);
+				}
+				entries.addElement(creator);
+			}
+		}
+	}
+
+	/**
+	 * Removes the specified creator from the index.
+	 *
+	 * @param creator The creator that should be removed.
+	 * @return True if the creator has been removed, false if it
+	 * 	has not been indexed.
+	 */
+	public synchronized boolean removeCreator(AbstractCreatorContext creator) {
+		Hashtable keys = (Hashtable)creators.remove(creator);
+		if (keys == null) return false;
+		if (keys.isEmpty()) {
+			wildcards.removeElement(creator);
+		} else {
+			Enumeration e = keys.keys();
+			while (e.hasMoreElements()) {
+				Object key = e.nextElement();
+				Vector entries = (Vector)index.get(key);
+				if (entries != null) {
+					entries.removeElement(creator);
+					if (entries.isEmpty()) {
+						index.remove(key);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the creators that might be able to fulfill the specified
+	 * demand. These are all creators that declare all types and dimensions
+	 * contained in the demand as well as all creators that do not declare
+	 * any type in their static provision.
+	 *
+	 * @param demand The instance or resource demand that must be met.
+	 * @return The creators that might fulfill the demand.
+	 */
+	public synchronized AbstractCreatorContext[] getCandidates(Contract demand) {
+		Contract[] types = demand.getContracts();
+		Vector result = new Vector();
+		if (types.length == 0) {
+			// every creator might fulfill a demand without types
+			Enumeration e = creators.keys();
+			while (e.hasMoreElements()) {
+				result.addElement(e.nextElement());
+			}
+		} else {
+			for (int i = 0; i < wildcards.size(); i++) {
+				result.addElement(wildcards.elementAt(i));
+			}
+			Vector entries = (Vector)index.get(getKey(types[0]));
+			if (entries != null) {
+				i: for (int i = 0; i < entries.size(); i++) {
+					AbstractCreatorContext creator = (AbstractCreatorContext)entries.elementAt(i);
+					Hashtable keys = (Hashtable)creators.get(creator);
+					for (int j = 0; j < types.length; j++) {
+						Contract type = types[j];
+						if (! keys.containsKey(getKey(type))) continue i;
+						if (! keys.containsKey(getKey(type) + SEPARATOR)) continue;
+						Contract[] dimensions = type.getContracts();
+						for (int k = 0; k < dimensions.length; k++) {
+							if (! keys.containsKey(getKey(type, dimensions[k]))) continue i;
+						}
+					}
+					result.addElement(creator);
+				}
+			}
+		}
+		AbstractCreatorContext[] candidates = new AbstractCreatorContext[result.size()];
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] = (AbstractCreatorContext)result.elementAt(i);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the number of creators that are contained in the index.
+	 *
+	 * @return The number of indexed creators.
+	 */
+	public synchronized int size() {
+		return creators.size();
+	}
+
+	/**
+	 * Returns the key for an interface or event contract. Demands and
+	 * provisions of the same type will result in the same key.
+	 *
+	 * @param type The interface or event demand or provision.
+	 * @return The key for the contract.
+	 */
+	private String getKey(Contract type) {
+		return (isEvent(type) ? "E" : "I") + type.getName();
+	}
+
+	/**
+	 * Returns the key for a dimension of an interface or event contract.
+	 *
+	 * @param type The interface or event demand or provision.
+	 * @param dimension The dimension demand or provision.
+	 * @return The key for the dimension.
+	 */
+	private String getKey(Contract type, Contract dimension) {
+		return getKey(type) + SEPARATOR + dimension.getName();
+	}
+
+	/**
+	 * Determines whether the specified contract denotes an event.
+	 *
+	 * @param type The type contract to check.
+	 * @return True if the contract is an event demand or provision.
+	 */
+	private boolean isEvent(Contract type) {
+		return type.getType() == Contract.TYPE_EVENT_DEMAND
+			|| type.getType() == Contract.TYPE_EVENT_PROVISION;
+	}
+
+}
@@ -0,0 +1,189 @@
+package info.pppc.pcom.system.container.internal;
+
+/**
+ * The registry is a copy-on-write map that is used by the container to
+ * store its factory, instance, allocator and resource contexts. Lookups
+ * and iterations are performed on an immutable snapshot of the registry
+ * and thus, they do not need to aquire any lock. Modifications create
+ * a new snapshot and they are synchronized on the registry. Since the
+ * contexts are looked up much more often than they are added or removed,
+ * this enables concurrent calls to the container to proceed without
+ * serializing on the registries.
+ * A thread that needs to perform a sequence of lookups and modifications
+ * atomically can synchronize on the registry. This will block other
+ * modifications but it will not block lookups.
+ *
+ * @author Mac
+ */
+public class Registry {
+
+	/**
+	 * The snapshot is an immutable open addressing hash table that
+	 * stores the entries of the registry at some point in time.
+	 *
+	 * @author Mac
+	 */
+	private static class Snapshot {
+
+		/**
+		 * The keys of the entries hashed by their hash code, a slot that
+		 * does not contain an entry is null.
+		 */
+		private Object[] keys;
+
+		/**
+		 * The values of the entries at the slots of their keys.
+		 */
+		private Object[] values;
+
+		/**
+		 * The values of all entries in a compact array used for iteration.
+		 */
+		private Object[] elements;
+
+		/**
+		 * Creates a new snapshot that contains the specified entries.
+		 *
+		 * @param k The keys of the entries.
+		 * @param v The values of the entries.
+		 * @param size The number of entries.
+		 */
+		private Snapshot(Object[] k, Object[] v, int size) {
+			int capacity = 4;
+			while (capacity < size * 2) {
+				capacity *= 2;
+			}
+			keys = new Object[capacity];
+			values = new Object[capacity];
+			elements = new Object[size];
+			for (int i = 0; i < size; i++) {
+				int slot = getSlot(k[i]);
+				keys[slot] = k[i];
+				values[slot] = v[i];
+				elements[i] = v[i];
+			}
+		}
+
+		/**
+		 * Returns the slot that contains the specified key or the
+		 * empty slot at which the key would be stored.
+		 *
+		 * @param key The key to lookup.
+		 * @return The slot of the key.
+		 */
+		private int getSlot(Object key) {
+			int mask = keys.length - 1;
+			int slot = key.hashCode() & mask;
+			while (keys[slot] != null && ! keys[slot].equals(key)) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+	}
+
+	/**
+	 * The current snapshot of the registry. The snapshot is replaced
+	 * whenever the registry is modified.
+	 */
+	private volatile Snapshot snapshot = new Snapshot(new Object[0], new Object[0], 0);
+
+	/**
+	 * Creates a new empty registry.
+	 */
+	public Registry() {
+		super();
+	}
+
+	/**
+	 * Returns the value that is stored under the specified key. This
+	 * method does not aquire any lock.
+	 *
+	 * @param key The key of the value.
+	 * @return The value or null if there is none.
+	 * @throws NullPointerException Thrown if the key is null.
+	 */
+	public Object get(Object key) {
+		Snapshot s = snapshot;
+		return s.values[s.getSlot(key)];
+	}
+
+	/**
+	 * Stores the specified value under the specified key and returns
+	 * the value that has been replaced.
+	 *
+	 * @param key The key of the value.
+	 * @param value The value to store.
+	 * @return The value that has been replaced or null if none.
+	 * @throws NullPointerException Thrown if the key or value is null.
+	 */
+	public synchronized Object put(Object key, Object value) {
+		if (key == null || value == null) throw new NullPointerException("Illegal registry entry.");
+		Snapshot s = snapshot;
+		int size = s.elements.length;
+		Object[] k = new Object[size + 1];
+		Object[] v = new Object[size + 1];
+		Object replaced = null;
+		int count = 0;
+		for (int i = 0; i < s.keys.length; i++) {
+			if (s.keys[i] == null) continue;
+			if (s.keys[i].equals(key)) {
+				replaced = s.values[i];
+			} else {
+				k[count] = s.keys[i];
+				v[count] = s.values[i];
+				count += 1;
+			}
+		}
+		k[count] = key;
+		v[count] = value;
+		snapshot = new Snapshot(k, v, count + 1);
+		return replaced;
+	}
+
+	/**
+	 * Removes the value that is stored under the specified key.
+	 *
+	 * @param key The key of the value to remove.
+	 * @return The value that has been removed or null if none.
+	 * @throws NullPointerException Thrown if the key is null.
+	 */
+	public synchronized Object remove(Object key) {
+		Snapshot s = snapshot;
+		Object removed = s.values[s.getSlot(key)];
+		if (removed == null) return null;
+		int size = s.elements.length;
+		Object[] k = new Object[size - 1];
+		Object[] v = new Object[size - 1];
+		int count = 0;
+		for (int i = 0; i < s.keys.length; i++) {
+			if (s.keys[i] == null || s.keys[i].equals(key)) continue;
+			k[count] = s.keys[i];
+			v[count] = s.values[i];
+			count += 1;
+		}
+		snapshot = new Snapshot(k, v, count);
+		return removed;
+	}
+
+	/**
+	 * Returns the values of the registry at the time of the call. This
+	 * method does not aquire any lock. The array is shared with other
+	 * callers, thus, it must not be modified.
+	 *
+	 * @return The values of the registry.
+	 */
+	public Object[] elements() {
+		return snapshot.elements;
+	}
+
+	/**
+	 * Returns the number of entries of the registry.
+	 *
+	 * @return The number of entries.
+	 */
+	public int size() {
+		return snapshot.elements.length;
+	}
+
+}
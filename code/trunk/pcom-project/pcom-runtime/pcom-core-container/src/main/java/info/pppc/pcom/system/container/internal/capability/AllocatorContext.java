@@ -113,7 +113,8 @@ public class AllocatorContext extends AbstractCreatorContext implements IAllocat
 	/**
 	 * Derives all possible contracts from the contract passed to the
 	 * allocator context. The passed contract must be a resource demand
-	 * contract.
+	 * contract. If the contracts for the demand have been derived already,
+	 * they are retrieved from the setup cache.
 	 * 
 	 * @param contract The resource demand contract that needs to
 	 * 	be fulfilled.
@@ -121,6 +122,9 @@ public class AllocatorContext extends AbstractCreatorContext implements IAllocat
 	 */
 	public Vector deriveContracts(Contract contract) {
 		if (contract.getType() == Contract.TYPE_RESOURCE_DEMAND) {
+			Vector cached = getSetups(contract);
+			if (cached != null) return cached;
+			int generation = getSetupGeneration();
 			DemandReader reader = new DemandReader(contract);
 			try {
 				IResourceSetup[] setups = allocator.deriveSetups(reader);
@@ -139,6 +143,7 @@ public class AllocatorContext extends AbstractCreatorContext implements IAllocat
 						c.setAttribute(Contract.ATTRIBUTE_RESOURCE_ESTIMATE, estimate);
 						result.addElement(c); 
 					}
+					putSetups(contract, result, generation);
 					return result;
 				}
 			} catch (Throwable t) {
@@ -298,8 +303,11 @@ public class AllocatorContext extends AbstractCreatorContext implements IAllocat
 	/**
 	 * Called by the allocator to initiate a reevaluation of the current assigments.
 	 * Typically, this will be called if the available allocators have been increased.
+	 * Since the derivable setups might have changed as well, this will also clear
+	 * the setup cache.
 	 */
 	public void updateResources() {
+		invalidateSetups();
 		getContainer().updateResources();
 	}
 
@@ -86,8 +86,8 @@ public class ResourceBinding extends AbstractBinding {
 			if (provision == null) {
 				removeStatus(Contract.TYPE_RESOURCE_PROVISION);
 			} else {
-				// we do need to copy the provision, it might change
-				setStatus(context.getProvision().copy());
+				// we do need to freeze the provision, it might change
+				setStatus(Contract.intern(provision));
 			}
 		} else {
 			setCreatorID(null);
@@ -159,8 +159,8 @@ public class ResourceBinding extends AbstractBinding {
 		if (provision == null) {
 			removeStatus(Contract.TYPE_RESOURCE_PROVISION);
 		} else {
-			// we do need to copy the provision
-			setStatus(provision.copy());
+			// we do need to freeze the provision
+			setStatus(Contract.intern(provision));
 		}
 		notifyChange();
 	}
@@ -17,6 +17,7 @@ import info.pppc.pcom.system.container.internal.AbstractResourceContext;
 import info.pppc.pcom.system.container.internal.AbstractStatus;
 import info.pppc.pcom.system.container.internal.AbstractTemplate;
 import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.io.CompactFormat;
 import info.pppc.pcom.system.model.capability.IResourceContext;
 import info.pppc.pcom.system.model.capability.IResourceStatus;
 import info.pppc.pcom.system.model.capability.IResourceTemplate;
@@ -175,6 +176,7 @@ public class ResourceContext extends AbstractResourceContext implements IResourc
 		state.setElementID(getIdentifier());
 		state.setName(binding.getName());
 		state.setSystemID(SystemID.SYSTEM);
+		state.setCompact(CompactFormat.isSupported(pointer.getAssemblerID().getSystem()));
 		// prepare assembly state with binding data
 		setup(state);
 		try {
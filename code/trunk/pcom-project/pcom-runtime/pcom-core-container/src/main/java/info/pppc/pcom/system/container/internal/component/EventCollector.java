@@ -7,15 +7,24 @@ import info.pppc.base.system.InvocationBroker;
 import info.pppc.base.system.InvocationException;
 import info.pppc.base.system.ObjectID;
 import info.pppc.base.system.ObjectRegistry;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.system.model.component.IEvent;
 import info.pppc.pcom.system.model.component.IEventCollector;
+import info.pppc.pcom.system.model.component.IEventEmitter;
 import info.pppc.pcom.system.model.component.IEventListener;
 
 import java.util.Vector;
 
 /**
  * The event collector implements the default event collector
- * for instances.
+ * for instances. Incoming events are stored in a bounded queue
+ * and delivered by an operation that drains the queue. Thus, the
+ * thread of the incoming invocation is only blocked if the queue
+ * is full and the overflow policy requires it. The listeners are
+ * stored in an array that is replaced whenever it changes, so that
+ * the delivery does not need to lock the collector.
  * 
  * @author Mac
  */
@@ -27,9 +36,38 @@ public class EventCollector implements IEventCollector, IInvocationHandler {
 	private ObjectID identifier;
 	
 	/**
-	 * The listeners that are registered at the event collector.
+	 * The maximum number of events that are removed from the queue
+	 * at once.
 	 */
-	private Vector listeners = new Vector();
+	private static final int DISPATCH_BATCH = 8;
+	
+	/**
+	 * The listeners that are registered at the event collector. The
+	 * array is never modified, it is replaced instead.
+	 */
+	private IEventListener[] listeners = new IEventListener[0];
+	
+	/**
+	 * The queue that stores the received events until they are delivered.
+	 */
+	private EventQueue queue = new EventQueue(EventQueue.DEFAULT_CAPACITY, IEventEmitter.OVERFLOW_BLOCK);
+	
+	/**
+	 * The operation that drains the queue and delivers the events to
+	 * the listeners.
+	 */
+	private IOperation dispatcher = new IOperation() {
+		public void perform(IMonitor monitor) {
+			while (true) {
+				Vector types = new Vector();
+				Vector data = new Vector();
+				if (queue.take(DISPATCH_BATCH, types, data) == 0) return;
+				for (int i = 0; i < types.size(); i++) {
+					dispatch((String)types.elementAt(i), data.elementAt(i));
+				}
+			}
+		}
+	};
 	
 	/**
 	 * Creates a new event collector and registers it at 
@@ -60,7 +98,10 @@ public class EventCollector implements IEventCollector, IInvocationHandler {
 	 */
 	public synchronized void addEventListener(IEventListener listener) {
 		if (listener != null) {
-			listeners.addElement(listener);
+			IEventListener[] copy = new IEventListener[listeners.length + 1];
+			System.arraycopy(listeners, 0, copy, 0, listeners.length);
+			copy[listeners.length] = listener;
+			listeners = copy;
 		}
 	}
 
@@ -77,10 +118,17 @@ public class EventCollector implements IEventCollector, IInvocationHandler {
 	 */
 	public synchronized boolean removeEventListener(IEventListener listener) {
 		if (listener != null) {
-			return listeners.removeElement(listener);
-		} else {
-			return false;
+			for (int i = 0; i < listeners.length; i++) {
+				if (listeners[i].equals(listener)) {
+					IEventListener[] copy = new IEventListener[listeners.length - 1];
+					System.arraycopy(listeners, 0, copy, 0, i);
+					System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+					listeners = copy;
+					return true;
+				}
+			}
 		}
+		return false;
 	}
 
 	/**
@@ -90,46 +138,114 @@ public class EventCollector implements IEventCollector, IInvocationHandler {
 	 * 	at this collector.
 	 */
 	public synchronized IEventListener[] getEventListeners() {
-		IEventListener[] result = new IEventListener[listeners.size()];
-		for (int i = listeners.size() - 1; i >= 0; i--) {
-			result[i] = (IEventListener)listeners.elementAt(i);
-		}
+		IEventListener[] result = new IEventListener[listeners.length];
+		System.arraycopy(listeners, 0, result, 0, listeners.length);
 		return result;
 	}
 	
 	/**
-	 * Called whenever an invocation is incoming.
+	 * Sets the capacity and the overflow policy of the event queue.
+	 * 
+	 * @param capacity The maximum number of queued events.
+	 * @param overflow The overflow policy.
+	 * @throws IllegalArgumentException Thrown if the capacity or the
+	 * 	policy are illegal.
+	 */
+	public void setQueue(int capacity, int overflow) throws IllegalArgumentException {
+		queue.setPolicy(capacity, overflow);
+	}
+	
+	/**
+	 * Called whenever an invocation is incoming. The invocation
+	 * either contains a single event as type and data object or
+	 * a batch of events as vectors of types and data objects. The
+	 * events are queued and delivered by the dispatcher.
 	 * 
 	 * @param invocation The invocation that has been received.
 	 * @param session The session that has been received.
 	 */
-	public synchronized void invoke(Invocation invocation, ISession session) {
-		final Object[] params = invocation.getArguments();
+	public void invoke(Invocation invocation, ISession session) {
+		Object[] params = invocation.getArguments();
 		// perform compliance checks
-		if (params == null || params.length != 2 
-				|| params[0] == null || !(params[0] instanceof String)) {
+		if (params == null || params.length != 2 || params[0] == null) {
 			// throw remote exception and ignore event
 			invocation.setException(new InvocationException("Illegal event structure."));
+		} else if (params[0] instanceof String) {
+			enqueue(invocation, (String)params[0], params[1]);
+		} else if (params[0] instanceof Vector && params[1] instanceof Vector
+				&& ((Vector)params[0]).size() == ((Vector)params[1]).size()) {
+			Vector types = (Vector)params[0];
+			Vector data = (Vector)params[1];
+			for (int i = 0; i < types.size(); i++) {
+				if (! (types.elementAt(i) instanceof String)) {
+					invocation.setException(new InvocationException("Illegal event structure."));
+					return;
+				}
+			}
+			for (int i = 0; i < types.size(); i++) {
+				if (! enqueue(invocation, (String)types.elementAt(i), data.elementAt(i))) return;
+			}
 		} else {
-			// deliver event to registered listeners
-			IEvent event = new IEvent() {
-				public Object getData() { return params[1]; };
-				public IEventCollector getSource() { return EventCollector.this; };
-				public String getType() { return (String)params[0]; };
-			};
-			for (int i = 0; i < listeners.size(); i++) {
-				IEventListener listener = (IEventListener)listeners.elementAt(i);
-				listener.receivedEvent(event);
+			invocation.setException(new InvocationException("Illegal event structure."));
+		}
+	}
+	
+	/**
+	 * Adds the specified event to the queue and starts the dispatcher
+	 * if the queue has been idle.
+	 * 
+	 * @param invocation The invocation that contains the event.
+	 * @param type The type of the event.
+	 * @param data The data object of the event.
+	 * @return True if the event has been queued, false if the thread
+	 * 	got interrupted.
+	 */
+	private boolean enqueue(Invocation invocation, String type, Object data) {
+		try {
+			if (queue.put(type, data)) {
+				InvocationBroker.getInstance().performOperation(dispatcher);
+			}
+			return true;
+		} catch (InterruptedException e) {
+			invocation.setException(new InvocationException("Thread got interrupted."));
+			return false;
+		}
+	}
+	
+	/**
+	 * Delivers the specified event to the listeners that are 
+	 * registered at the time of the delivery.
+	 * 
+	 * @param type The type of the event.
+	 * @param data The data object of the event.
+	 */
+	private void dispatch(final String type, final Object data) {
+		IEvent event = new IEvent() {
+			public Object getData() { return data; };
+			public IEventCollector getSource() { return EventCollector.this; };
+			public String getType() { return type; };
+		};
+		IEventListener[] current = null;
+		synchronized (this) {
+			current = listeners;
+		}
+		for (int i = 0; i < current.length; i++) {
+			try {
+				current[i].receivedEvent(event);	
+			} catch (Throwable t) {
+				Logging.error(getClass(), "Listener failed to handle event.", t);
 			}
 		}
 	}
 	
 	/**
 	 * Removes the event collector from the object registry and
-	 * unsets the identifier of the collector. It is safe to
-	 * call this method multiple times sequentially.
+	 * unsets the identifier of the collector. Events that have 
+	 * not been delivered yet are discarded. It is safe to call
+	 * this method multiple times sequentially.
 	 */
 	public void release() {
+		queue.clear();
 		if (identifier != null) {
 			InvocationBroker broker = InvocationBroker.getInstance();
 			ObjectRegistry registry = broker.getObjectRegistry();
@@ -1,19 +1,70 @@
 package info.pppc.pcom.system.container.internal.component;
 
 import info.pppc.base.system.Invocation;
+import info.pppc.base.system.InvocationBroker;
 import info.pppc.base.system.InvocationException;
 import info.pppc.base.system.Proxy;
 import info.pppc.base.system.Result;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.system.model.component.IEventEmitter;
 
+import java.util.Vector;
+
 /**
- * The event emitter provides the default implementation of 
- * event emitters for instances.
- * 
+ * The event emitter provides the default implementation of
+ * event emitters for instances. A single event is transfered
+ * as pair of type and data object. A batch of events is transfered
+ * as pair of vectors that contain the types and the data objects.
+ *
  * @author Mac
  */
 public class EventEmitter extends Proxy implements IEventEmitter {
 
+	/**
+	 * The default number of events that are sent with a single
+	 * invocation in asynchronous mode.
+	 */
+	public static final int DEFAULT_BATCH = 8;
+
+	/**
+	 * The queue that stores the events in asynchronous mode.
+	 */
+	private EventQueue queue = new EventQueue(EventQueue.DEFAULT_CAPACITY, OVERFLOW_BLOCK);
+
+	/**
+	 * A flag that indicates whether events are delivered asynchronously.
+	 */
+	private boolean asynchronous = false;
+
+	/**
+	 * The maximum number of events sent with a single invocation.
+	 */
+	private int batch = DEFAULT_BATCH;
+
+	/**
+	 * The operation that drains the queue and sends the events.
+	 */
+	private IOperation sender = new IOperation() {
+		public void perform(IMonitor monitor) throws Exception {
+			while (true) {
+				Vector types = new Vector();
+				Vector data = new Vector();
+				if (queue.take(batch, types, data) == 0) return;
+				try {
+					Invocation invocation = proxyCreateAsynchronous(null, getArguments(types, data));
+					Result result = proxyInvokeAsynchronous(invocation);
+					if (result.hasException()) {
+						Logging.error(getClass(), "Could not deliver events.", result.getException());
+					}
+				} catch (Throwable t) {
+					Logging.error(getClass(), "Could not deliver events.", t);
+				}
+			}
+		}
+	};
+
 	/**
 	 * Creates a new event emitter that is not connected with
 	 * any instance.
@@ -24,14 +75,136 @@ public class EventEmitter extends Proxy implements IEventEmitter {
 
 	/**
 	 * Emitts the specified event to the connected instance in
-	 * a synchronous fashion.
-	 * 
+	 * a synchronous fashion or queues it if the emitter is in
+	 * asynchronous mode.
+	 *
 	 * @param type The type of the event that should be emitted.
 	 * @param data The data object of the event.
-	 * @throws InvocationException Thrown by the 
+	 * @throws InvocationException Thrown by the
 	 */
 	public void emitEvent(String type, Object data) throws InvocationException {
-		Object[] params = new Object[] { type, data };
+		if (asynchronous) {
+			enqueue(type, data);
+		} else {
+			deliver(new Object[] { type, data });
+		}
+	}
+
+	/**
+	 * Emits the specified events to the connected instance using a
+	 * single invocation or queues them if the emitter is in asynchronous
+	 * mode.
+	 *
+	 * @param types The types of the events.
+	 * @param data The data objects of the events.
+	 * @throws IllegalArgumentException Thrown if the arrays are null
+	 * 	or if their lengths differ.
+	 * @throws InvocationException Thrown if the events could not be
+	 * 	delivered.
+	 */
+	public void emitEvents(String[] types, Object[] data) throws IllegalArgumentException, InvocationException {
+		if (types == null || data == null || types.length != data.length) {
+			throw new IllegalArgumentException("Illegal event batch.");
+		}
+		if (asynchronous) {
+			for (int i = 0; i < types.length; i++) {
+				enqueue(types[i], data[i]);
+			}
+		} else {
+			Vector t = new Vector();
+			Vector d = new Vector();
+			for (int i = 0; i < types.length; i++) {
+				t.addElement(types[i]);
+				d.addElement(data[i]);
+			}
+			deliver(new Object[] { t, d });
+		}
+	}
+
+	/**
+	 * Enables or disables the asynchronous delivery.
+	 *
+	 * @param asynchronous True to enable asynchronous delivery.
+	 */
+	public void setAsynchronous(boolean asynchronous) {
+		this.asynchronous = asynchronous;
+	}
+
+	/**
+	 * Determines whether the emitter delivers events asynchronously.
+	 *
+	 * @return True if the delivery is asynchronous.
+	 */
+	public boolean isAsynchronous() {
+		return asynchronous;
+	}
+
+	/**
+	 * Sets the capacity and the overflow policy of the queue.
+	 *
+	 * @param capacity The maximum number of queued events.
+	 * @param overflow The overflow policy.
+	 * @throws IllegalArgumentException Thrown if the capacity or
+	 * 	the policy are illegal.
+	 */
+	public void setQueue(int capacity, int overflow) throws IllegalArgumentException {
+		queue.setPolicy(capacity, overflow);
+	}
+
+	/**
+	 * Sets the maximum number of events per invocation.
+	 *
+	 * @param size The maximum number of events per invocation.
+	 * @throws IllegalArgumentException Thrown if the size is smaller
+	 * 	than one.
+	 */
+	public void setBatch(int size) throws IllegalArgumentException {
+		if (size < 1) throw new IllegalArgumentException("Illegal batch size.");
+		this.batch = size;
+	}
+
+	/**
+	 * Adds the event to the queue and starts the sender if the
+	 * queue has been idle.
+	 *
+	 * @param type The type of the event.
+	 * @param data The data object of the event.
+	 * @throws InvocationException Thrown if the thread got interrupted
+	 * 	while waiting for a full queue.
+	 */
+	private void enqueue(String type, Object data) throws InvocationException {
+		try {
+			if (queue.put(type, data)) {
+				InvocationBroker.getInstance().performOperation(sender);
+			}
+		} catch (InterruptedException e) {
+			throw new InvocationException("Thread got interrupted.");
+		}
+	}
+
+	/**
+	 * Creates the arguments of an invocation that transfers the
+	 * specified events.
+	 *
+	 * @param types The types of the events.
+	 * @param data The data objects of the events.
+	 * @return The arguments of the invocation.
+	 */
+	private Object[] getArguments(Vector types, Vector data) {
+		if (types.size() == 1) {
+			return new Object[] { types.elementAt(0), data.elementAt(0) };
+		} else {
+			return new Object[] { types, data };
+		}
+	}
+
+	/**
+	 * Delivers the invocation with the specified arguments synchronously.
+	 *
+	 * @param params The arguments of the invocation.
+	 * @throws InvocationException Thrown if the invocation fails.
+	 */
+	private void deliver(Object[] params) throws InvocationException {
 		Invocation invocation = proxyCreateSynchronous(null, params);
 		Result result = proxyInvokeSynchronous(invocation);
 		Throwable t = result.getException();
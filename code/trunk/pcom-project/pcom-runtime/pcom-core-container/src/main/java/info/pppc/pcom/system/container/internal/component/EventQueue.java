@@ -0,0 +1,174 @@
+package info.pppc.pcom.system.container.internal.component;
+
+import info.pppc.pcom.system.model.component.IEventEmitter;
+
+import java.util.Vector;
+
+/**
+ * The event queue is a bounded queue of events that decouples the
+ * creation of events from their delivery. It is used by emitters to
+ * send events asynchronously and by collectors to deliver events to
+ * their listeners without blocking the sender. If the queue is full,
+ * the overflow policy determines whether the producer is blocked,
+ * whether the oldest event is dropped or whether the new event
+ * replaces a queued event of the same type.
+ * The queue keeps track of whether some thread is draining it. The
+ * producer that adds an event to an idle queue is responsible for
+ * starting a new drain operation. This guarantees that there is
+ * at most one consumer per queue and thus, that events are delivered
+ * in the order in which they have been added.
+ *
+ * @author Mac
+ */
+public class EventQueue {
+
+	/**
+	 * The default number of events that can be stored in a queue.
+	 */
+	public static final int DEFAULT_CAPACITY = 32;
+
+	/**
+	 * The types of the queued events.
+	 */
+	private Vector types = new Vector();
+
+	/**
+	 * The data objects of the queued events.
+	 */
+	private Vector data = new Vector();
+
+	/**
+	 * The maximum number of events stored in the queue.
+	 */
+	private int capacity;
+
+	/**
+	 * The overflow policy as defined by the event emitter interface.
+	 */
+	private int overflow;
+
+	/**
+	 * A flag that indicates whether some thread is draining the queue.
+	 */
+	private boolean draining = false;
+
+	/**
+	 * Creates a new event queue with the specified capacity and
+	 * overflow policy.
+	 *
+	 * @param capacity The maximum number of queued events.
+	 * @param overflow The overflow policy of the queue.
+	 * @throws IllegalArgumentException Thrown if the capacity is
+	 * 	smaller than one or if the policy is unknown.
+	 */
+	public EventQueue(int capacity, int overflow) throws IllegalArgumentException {
+		setPolicy(capacity, overflow);
+	}
+
+	/**
+	 * Sets the capacity and the overflow policy of the queue. If the
+	 * queue contains more events than the new capacity, the events
+	 * will remain in the queue.
+	 *
+	 * @param capacity The maximum number of queued events.
+	 * @param overflow The overflow policy of the queue.
+	 * @throws IllegalArgumentException Thrown if the capacity is
+	 * 	smaller than one or if the policy is unknown.
+	 */
+	public synchronized void setPolicy(int capacity, int overflow) throws IllegalArgumentException {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Illegal queue capacity.");
+		}
+		if (overflow != IEventEmitter.OVERFLOW_BLOCK && overflow != IEventEmitter.OVERFLOW_DROP_OLDEST
+				&& overflow != IEventEmitter.OVERFLOW_COALESCE) {
+			throw new IllegalArgumentException("Illegal overflow policy.");
+		}
+		this.capacity = capacity;
+		this.overflow = overflow;
+		notifyAll();
+	}
+
+	/**
+	 * Adds the specified event to the queue and applies the overflow
+	 * policy if the queue is full. The return value indicates whether
+	 * the caller must start a new drain operation.
+	 *
+	 * @param type The type of the event.
+	 * @param object The data object of the event.
+	 * @return True if the queue has been idle and must be drained by
+	 * 	the caller, false if some other thread is draining it.
+	 * @throws InterruptedException Thrown if the thread is interrupted
+	 * 	while it is blocked on a full queue. The event is not added.
+	 */
+	public synchronized boolean put(String type, Object object) throws InterruptedException {
+		while (types.size() >= capacity) {
+			if (overflow == IEventEmitter.OVERFLOW_BLOCK) {
+				wait();
+			} else {
+				int index = -1;
+				if (overflow == IEventEmitter.OVERFLOW_COALESCE) {
+					index = types.lastIndexOf(type);
+				}
+				if (index == -1) index = 0;
+				types.removeElementAt(index);
+				data.removeElementAt(index);
+			}
+		}
+		types.addElement(type);
+		data.addElement(object);
+		if (draining) {
+			return false;
+		} else {
+			draining = true;
+			return true;
+		}
+	}
+
+	/**
+	 * Removes up to the specified number of events from the queue and
+	 * appends their types and data objects to the vectors. If the
+	 * queue is empty, the queue will be marked as idle and the next
+	 * producer must start a new drain operation. Thus, the thread that
+	 * drains the queue must stop as soon as this method returns 0.
+	 *
+	 * @param maximum The maximum number of events to remove.
+	 * @param eventTypes The vector that receives the types.
+	 * @param eventData The vector that receives the data objects.
+	 * @return The number of events that have been removed.
+	 */
+	public synchronized int take(int maximum, Vector eventTypes, Vector eventData) {
+		int count = Math.min(maximum, types.size());
+		for (int i = 0; i < count; i++) {
+			eventTypes.addElement(types.elementAt(0));
+			eventData.addElement(data.elementAt(0));
+			types.removeElementAt(0);
+			data.removeElementAt(0);
+		}
+		if (count == 0) {
+			draining = false;
+		} else {
+			notifyAll();
+		}
+		return count;
+	}
+
+	/**
+	 * Removes all events from the queue and releases producers
+	 * that are blocked on a full queue.
+	 */
+	public synchronized void clear() {
+		types.removeAllElements();
+		data.removeAllElements();
+		notifyAll();
+	}
+
+	/**
+	 * Returns the number of events that are currently queued.
+	 *
+	 * @return The number of queued events.
+	 */
+	public synchronized int size() {
+		return types.size();
+	}
+
+}
@@ -140,7 +140,8 @@ public class FactoryContext extends AbstractCreatorContext implements IFactoryCo
 
 	/**
 	 * Derives all possible contracts for the specified contract. The contract
-	 * must be of type instance demand.
+	 * must be of type instance demand. If the contracts for the demand have
+	 * been derived already, they are retrieved from the setup cache.
 	 * 
 	 * @param contract The contract whose result set should be computed.
 	 * @return The contracts created by the factory that meet the specified
@@ -148,6 +149,9 @@ public class FactoryContext extends AbstractCreatorContext implements IFactoryCo
 	 */
 	public Vector deriveContracts(Contract contract) {
 		if (contract.getType() == Contract.TYPE_INSTANCE_DEMAND) {
+			Vector cached = getSetups(contract);
+			if (cached != null) return cached;
+			int generation = getSetupGeneration();
 			DemandReader reader = new DemandReader(contract);
 			try {
 				IInstanceSetup[] setups = factory.deriveSetups(reader);
@@ -169,6 +173,7 @@ public class FactoryContext extends AbstractCreatorContext implements IFactoryCo
 							Logging.debug(getClass(), "Received incompatible offer from factory " + getIdentifier() + ".");
 						}
 					}
+					putSetups(contract, result, generation);
 					return result;
 				}
 			} catch (Throwable t) {
@@ -1,17 +1,20 @@
 package info.pppc.pcom.system.container.internal.component;
 
-import info.pppc.pcom.system.container.internal.capability.AllocatorTemplate;
+import info.pppc.pcom.system.container.internal.AbstractCreatorTemplate;
+import info.pppc.pcom.system.container.internal.contract.ProvisionWriter;
 import info.pppc.pcom.system.contract.Contract;
 import info.pppc.pcom.system.model.component.IFactoryTemplate;
+import info.pppc.pcom.system.model.contract.writer.IInstanceProvisionWriter;
 
 /**
  * The factory template provides a view on the resource demands that
  * are currently issued by a factory. As such, it provides a writeable
- * view on resource demands. 
+ * view on resource demands. Furthermore, it provides a writeable view
+ * on the static instance provision of the factory.
  * 
  * @author Mac
  */
-public class FactoryTemplate extends AllocatorTemplate implements IFactoryTemplate {
+public class FactoryTemplate extends AbstractCreatorTemplate implements IFactoryTemplate {
 
 	/**
 	 * Creates a new factory template with the specified name in the
@@ -21,6 +24,7 @@ public class FactoryTemplate extends AllocatorTemplate implements IFactoryTempla
 	 */
 	public FactoryTemplate(String name) {
 		this(new Contract(Contract.TYPE_FACTORY_TEMPLATE, name));
+		addContract(new Contract(Contract.TYPE_INSTANCE_PROVISION, name));
 	}
 	
 	/**
@@ -33,4 +37,15 @@ public class FactoryTemplate extends AllocatorTemplate implements IFactoryTempla
 		super(c);
 	}
 	
+	/**
+	 * Returns the writer for the static instance provision of the 
+	 * factory. If the provision is changed, the change needs to be
+	 * committed.
+	 * 
+	 * @return The writer for the static instance provision.
+	 */
+	public IInstanceProvisionWriter getInstance() {
+		return (ProvisionWriter)getView(getProvision());
+	}
+	
 }
@@ -22,10 +22,13 @@ import info.pppc.pcom.system.container.InstanceState;
 import info.pppc.pcom.system.container.internal.AbstractBinding;
 import info.pppc.pcom.system.container.internal.AbstractInstanceContext;
 import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.io.CompactFormat;
 import info.pppc.pcom.system.model.component.IEventCollector;
 import info.pppc.pcom.system.model.component.IInstanceProxy;
 import info.pppc.pcom.system.model.component.IInstanceRestorer;
 
+import java.util.Vector;
+
 /**
  * The instance binding implemenets a binding for an instance. It represents
  * a remote instance bound to a local instance at runtime. 
@@ -77,6 +80,14 @@ public class InstanceBinding extends AbstractBinding implements IListener {
 	 */
 	private boolean update = false;
 	
+	/**
+	 * The sequence number of the provision that has been received last
+	 * from the instance. The number is reset to zero by every complete
+	 * provision and incremented by every delta. It is -1 if the provision
+	 * has been set in some other way.
+	 */
+	private int sequence = -1;
+	
 	/**
 	 * Creates a new instance binding for an instance with the specified name
 	 * for the specified instance.
@@ -117,6 +128,7 @@ public class InstanceBinding extends AbstractBinding implements IListener {
 	 */
 	private void setProvision(Contract provision) {
 		setStatus(provision);
+		sequence = -1;
 	}
 	
 	/**
@@ -124,6 +136,7 @@ public class InstanceBinding extends AbstractBinding implements IListener {
 	 */
 	private void removePovision() {
 		removeStatus(Contract.TYPE_INSTANCE_PROVISION);
+		sequence = -1;
 	}
 	
 	/**
@@ -151,6 +164,7 @@ public class InstanceBinding extends AbstractBinding implements IListener {
 		ObjectID collectorID = collector.getIdentifier();
 		InstanceSetup bindingSetup = new InstanceSetup
 			(getDemand(), instanceID, collectorID, IContainer.CONTAINER_ID, SystemID.SYSTEM, assembly);
+		bindingSetup.setCompact(CompactFormat.isSupported(assembly.getSystemID()));
 		ContainerProxy container = new ContainerProxy();
 		container.setSourceID(new ReferenceID(SystemID.SYSTEM, IContainer.CONTAINER_ID));
 		container.setTargetID(new ReferenceID(assembly.getSystemID(), assembly.getContainerID()));
@@ -176,8 +190,8 @@ public class InstanceBinding extends AbstractBinding implements IListener {
 			// return the provision depending on the success of the whole subtree
 			if (state.isSuccess()) {
 				if (systemID.equals(SystemID.SYSTEM)) {
-					// we need to copy the provision if the instance is on the local sytem
-					setProvision(state.getProvision().copy());
+					// we need to freeze the provision if the instance is on the local sytem
+					setProvision(Contract.intern(state.getProvision()));
 				} else {
 					setProvision(state.getProvision());	
 				}
@@ -232,18 +246,33 @@ public class InstanceBinding extends AbstractBinding implements IListener {
 	
 	/**
 	 * Called to signal that the instance has changed its provision.
+	 * Since the change might affect the results of idempotent methods,
+	 * this clears the result cache of the proxy.
 	 * 
 	 * @param provision The new provision of the instance.
 	 */
 	protected void changeInstance(Contract provision) {
+		changeInstance(provision, 0);
+	}
+	
+	/**
+	 * Sets the provision of the instance together with its sequence number
+	 * and notifies the parent about the change.
+	 * 
+	 * @param provision The new provision of the instance.
+	 * @param sequence The sequence number of the provision.
+	 */
+	private void changeInstance(Contract provision, int sequence) {
 		if (isBound()) {
+			proxy.getResultCache().clear();
 			if (provision != null) {
 				if (systemID.equals(SystemID.SYSTEM)) {
-					// we need to copy the provision if the instance is on the local sytem
-					setProvision(provision.copy());
+					// we need to freeze the provision if the instance is on the local sytem
+					setProvision(Contract.intern(provision));
 				} else {
 					setProvision(provision);	
 				}
+				this.sequence = sequence;
 			} else {
 				removePovision();
 			}
@@ -253,6 +282,30 @@ public class InstanceBinding extends AbstractBinding implements IListener {
 		}
 	}
 	
+	/**
+	 * Called to signal that the instance has changed its provision. The
+	 * new provision is computed by applying the delta to the previous 
+	 * provision.
+	 * 
+	 * @param base The sequence number of the previous provision.
+	 * @param delta The added and changed children of the provision.
+	 * @param removed The removed children of the provision.
+	 * @return True if the delta has been applied or ignored, false if
+	 * 	the binding does not hold the previous provision.
+	 */
+	protected boolean changeInstanceDelta(int base, Contract delta, Vector removed) {
+		if (isBound()) {
+			Contract previous = getStatus(Contract.TYPE_INSTANCE_PROVISION);
+			if (previous == null || sequence < 0 || sequence != base) {
+				return false;
+			}
+			changeInstance(previous.patch(delta, removed), base + 1);
+		} else {
+			Logging.debug(getClass(), "Ignoring change instance request for unbound instance.");
+		}
+		return true;
+	}
+	
 	/**
 	 * Called to signal that the instance has removed itself.
 	 */
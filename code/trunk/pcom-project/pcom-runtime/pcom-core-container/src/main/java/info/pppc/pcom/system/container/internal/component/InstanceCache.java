@@ -0,0 +1,509 @@
+package info.pppc.pcom.system.container.internal.component;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+/**
+ * The instance cache stores the results of idempotent methods that have
+ * been called through an instance proxy. The cache is only used for the
+ * methods whose signatures have been declared as idempotent, thus, it is
+ * disabled by default. Results are stored under the signature and the
+ * arguments of the invocation, arrays are compared element by element.
+ * The arguments are copied when an entry is stored, so that callers may
+ * reuse their argument arrays. Arrays of objects, bytes and integers are
+ * copied deeply, other arguments are stored by reference and must not
+ * change their hash code. Only results without exception are stored. 
+ * Since the cached results are returned without copying, they are shared 
+ * by all callers of the proxy and callers must not modify them. Cached
+ * results are returned by the proxy without notifying its invocation
+ * listeners.
+ * The cache is cleared by the proxy and the binding whenever the bound
+ * instance or its provision changes. Since a call to a method that is
+ * not idempotent might change the state of the bound instance, such a
+ * call clears the cache as well. In addition, entries expire after
+ * a configurable timeout and the least recently used entry is dropped
+ * if the number of entries exceeds the limit. The cache counts hits and
+ * misses to enable the computation of the hit rate for each proxy.
+ *
+ * @author Mac
+ */
+public class InstanceCache {
+
+	/**
+	 * The default maximum number of entries stored by the cache.
+	 */
+	public static final int DEFAULT_LIMIT = 32;
+
+	/**
+	 * The default time in milliseconds after which entries expire.
+	 */
+	public static final long DEFAULT_TIMEOUT = 10000;
+
+	/**
+	 * The key of an entry consists of the signature and the arguments
+	 * of an invocation.
+	 *
+	 * @author Mac
+	 */
+	private static class Key {
+
+		/**
+		 * The signature of the invocation.
+		 */
+		private String signature;
+
+		/**
+		 * The arguments of the invocation.
+		 */
+		private Object[] arguments;
+
+		/**
+		 * The precomputed hash code of the key.
+		 */
+		private int hash;
+
+		/**
+		 * Creates a new key for the specified signature and arguments.
+		 * The arguments are not copied, keys that are stored must be
+		 * created with copies of the arguments.
+		 *
+		 * @param signature The signature of the invocation.
+		 * @param arguments The arguments of the invocation.
+		 */
+		private Key(String signature, Object[] arguments) {
+			this.signature = signature;
+			this.arguments = arguments;
+			this.hash = signature.hashCode() ^ hash(arguments);
+		}
+
+		/**
+		 * Returns the hash code of the key.
+		 *
+		 * @return The hash code of the key.
+		 */
+		public int hashCode() {
+			return hash;
+		}
+
+		/**
+		 * Determines whether the key equals the specified object.
+		 *
+		 * @param o The object to compare with.
+		 * @return True if the object is a key with the same signature
+		 * 	and equal arguments.
+		 */
+		public boolean equals(Object o) {
+			if (o == this) return true;
+			if (o == null || o.getClass() != getClass()) return false;
+			Key k = (Key)o;
+			return hash == k.hash && signature.equals(k.signature)
+				&& equal(arguments, k.arguments);
+		}
+
+	}
+
+	/**
+	 * The entry stores a result together with its creation and access
+	 * times.
+	 *
+	 * @author Mac
+	 */
+	private static class Entry {
+
+		/**
+		 * The cached return value.
+		 */
+		private Object value;
+
+		/**
+		 * The time at which the entry has been created.
+		 */
+		private long created;
+
+		/**
+		 * The time at which the entry has been accessed last.
+		 */
+		private long accessed;
+
+		/**
+		 * Creates a new entry for the specified value.
+		 *
+		 * @param value The value to store.
+		 * @param time The current time.
+		 */
+		private Entry(Object value, long time) {
+			this.value = value;
+			this.created = time;
+			this.accessed = time;
+		}
+
+	}
+
+	/**
+	 * The signatures of the idempotent methods hashed to themselves.
+	 */
+	private Hashtable signatures = new Hashtable();
+
+	/**
+	 * The entries of the cache hashed by keys.
+	 */
+	private Hashtable entries = new Hashtable();
+
+	/**
+	 * The maximum number of entries.
+	 */
+	private int limit = DEFAULT_LIMIT;
+
+	/**
+	 * The timeout of entries in milliseconds, zero to disable expiry.
+	 */
+	private long timeout = DEFAULT_TIMEOUT;
+
+	/**
+	 * The generation of the cache. The generation is incremented whenever
+	 * the cache is cleared. Results of invocations that have been started
+	 * in a previous generation are not stored.
+	 */
+	private int generation = 0;
+
+	/**
+	 * The number of lookups that have been answered from the cache.
+	 */
+	private int hits = 0;
+
+	/**
+	 * The number of lookups that could not be answered from the cache.
+	 */
+	private int misses = 0;
+
+	/**
+	 * Creates a new cache without idempotent methods.
+	 */
+	public InstanceCache() {
+		super();
+	}
+
+	/**
+	 * Declares the method with the specified signature as idempotent.
+	 * The signature must be the signature that is used by the proxy to
+	 * create invocations.
+	 *
+	 * @param signature The signature of the idempotent method.
+	 */
+	public synchronized void addMethod(String signature) {
+		signatures.put(signature, signature);
+	}
+
+	/**
+	 * Removes the declaration of the method with the specified signature
+	 * and clears the cache.
+	 *
+	 * @param signature The signature of the method.
+	 */
+	public synchronized void removeMethod(String signature) {
+		if (signatures.remove(signature) != null) {
+			clear();
+		}
+	}
+
+	/**
+	 * Determines whether the method with the specified signature has been
+	 * declared as idempotent.
+	 *
+	 * @param signature The signature of the method.
+	 * @return True if the results of the method are cached.
+	 */
+	public synchronized boolean isMethod(String signature) {
+		return signatures.containsKey(signature);
+	}
+
+	/**
+	 * Sets the maximum number of entries. If the limit is reduced, the
+	 * least recently used entries are removed.
+	 *
+	 * @param limit The maximum number of entries, must be positive.
+	 * @throws IllegalArgumentException Thrown if the limit is not positive.
+	 */
+	public synchronized void setLimit(int limit) {
+		if (limit <= 0) throw new IllegalArgumentException("Limit must be positive.");
+		this.limit = limit;
+		while (entries.size() > limit) {
+			evict();
+		}
+	}
+
+	/**
+	 * Returns the maximum number of entries.
+	 *
+	 * @return The maximum number of entries.
+	 */
+	public synchronized int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Sets the time after which entries expire.
+	 *
+	 * @param timeout The timeout in milliseconds or zero to keep
+	 * 	entries until the cache is cleared.
+	 */
+	public synchronized void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Returns the time after which entries expire.
+	 *
+	 * @return The timeout in milliseconds or zero if entries do
+	 * 	not expire.
+	 */
+	public synchronized long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Returns the number of lookups that have been answered from the
+	 * cache.
+	 *
+	 * @return The number of hits.
+	 */
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of lookups for idempotent methods that could
+	 * not be answered from the cache.
+	 *
+	 * @return The number of misses.
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of entries that are currently stored.
+	 *
+	 * @return The number of entries.
+	 */
+	public synchronized int getSize() {
+		return entries.size();
+	}
+
+	/**
+	 * Resets the hit and miss counters.
+	 */
+	public synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Removes all entries from the cache. Results of invocations that
+	 * are in progress will not be stored.
+	 */
+	public synchronized void clear() {
+		generation += 1;
+		entries.clear();
+	}
+
+	/**
+	 * Returns the generation of the cache that must be passed to the
+	 * put method. The proxy retrieves the generation before it performs
+	 * an invocation.
+	 *
+	 * @return The current generation.
+	 */
+	protected synchronized int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Looks up the result of the invocation with the specified signature
+	 * and arguments. The lookup is only counted if the method has been
+	 * declared as idempotent. If the method is not idempotent, the cache
+	 * is cleared since the invocation might change the state of the
+	 * bound instance.
+	 *
+	 * @param signature The signature of the invocation.
+	 * @param arguments The arguments of the invocation.
+	 * @return An array of length one that contains the cached value or
+	 * 	null if the cache does not contain a valid entry.
+	 */
+	protected synchronized Object[] get(String signature, Object[] arguments) {
+		if (! signatures.containsKey(signature)) {
+			if (! signatures.isEmpty()) clear();
+			return null;
+		}
+		Key key = new Key(signature, arguments);
+		Entry entry = (Entry)entries.get(key);
+		long time = System.currentTimeMillis();
+		if (entry != null && timeout > 0 && time - entry.created > timeout) {
+			entries.remove(key);
+			entry = null;
+		}
+		if (entry == null) {
+			misses += 1;
+			return null;
+		}
+		hits += 1;
+		entry.accessed = time;
+		return new Object[] { entry.value };
+	}
+
+	/**
+	 * Stores the result of the invocation with the specified signature
+	 * and arguments, if the method has been declared as idempotent and
+	 * if the cache has not been cleared since the invocation has been
+	 * started. The arguments are copied, the result is stored by reference.
+	 *
+	 * @param signature The signature of the invocation.
+	 * @param arguments The arguments of the invocation.
+	 * @param value The return value of the invocation.
+	 * @param generation The generation at the time at which the
+	 * 	invocation has been started.
+	 */
+	protected synchronized void put(String signature, Object[] arguments, Object value, int generation) {
+		if (generation != this.generation || ! signatures.containsKey(signature)) return;
+		Key key = new Key(signature, (Object[])copy(arguments));
+		if (! entries.containsKey(key) && entries.size() >= limit) {
+			evict();
+		}
+		entries.put(key, new Entry(value, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Removes the least recently used entry.
+	 */
+	private void evict() {
+		Object oldest = null;
+		long accessed = Long.MAX_VALUE;
+		Enumeration e = entries.keys();
+		while (e.hasMoreElements()) {
+			Object key = e.nextElement();
+			Entry entry = (Entry)entries.get(key);
+			if (entry.accessed < accessed) {
+				accessed = entry.accessed;
+				oldest = key;
+			}
+		}
+		if (oldest != null) {
+			entries.remove(oldest);
+		}
+	}
+
+	/**
+	 * Copies the specified argument. Arrays of objects are copied deeply,
+	 * arrays of bytes and integers are copied. Other arrays are compared
+	 * by identity and other objects by equality, they are not copied.
+	 *
+	 * @param o The argument to copy, may be null.
+	 * @return The copy of the argument.
+	 */
+	private static Object copy(Object o) {
+		if (o instanceof Object[]) {
+			Object[] a = (Object[])o;
+			Object[] c = new Object[a.length];
+			for (int i = 0; i < a.length; i++) {
+				c[i] = copy(a[i]);
+			}
+			return c;
+		} else if (o instanceof byte[]) {
+			byte[] a = (byte[])o;
+			byte[] c = new byte[a.length];
+			System.arraycopy(a, 0, c, 0, a.length);
+			return c;
+		} else if (o instanceof int[]) {
+			int[] a = (int[])o;
+			int[] c = new int[a.length];
+			System.arraycopy(a, 0, c, 0, a.length);
+			return c;
+		} else {
+			return o;
+		}
+	}
+
+	/**
+	 * Computes a hash code for the specified argument. Arrays are hashed
+	 * by their contents.
+	 *
+	 * @param o The argument to hash, may be null.
+	 * @return The hash code of the argument.
+	 */
+	private static int hash(Object o) {
+		if (o == null) {
+			return 0;
+		} else if (o instanceof Object[]) {
+			Object[] a = (Object[])o;
+			int h = a.length;
+			for (int i = 0; i < a.length; i++) {
+				h = h * 31 + hash(a[i]);
+			}
+			return h;
+		} else if (o instanceof byte[]) {
+			byte[] a = (byte[])o;
+			int h = a.length;
+			for (int i = 0; i < a.length; i++) {
+				h = h * 31 + a[i];
+			}
+			return h;
+		} else if (o instanceof int[]) {
+			int[] a = (int[])o;
+			int h = a.length;
+			for (int i = 0; i < a.length; i++) {
+				h = h * 31 + a[i];
+			}
+			return h;
+		} else if (o.getClass().getName().charAt(0) == '[') {
+			// other primitive arrays are compared by identity
+			return System.identityHashCode(o);
+		} else {
+			return o.hashCode();
+		}
+	}
+
+	/**
+	 * Determines whether the specified arguments are equal. Arrays are
+	 * compared by their contents.
+	 *
+	 * @param a The first argument, may be null.
+	 * @param b The second argument, may be null.
+	 * @return True if the arguments are equal.
+	 */
+	private static boolean equal(Object a, Object b) {
+		if (a == b) {
+			return true;
+		} else if (a == null || b == null) {
+			return false;
+		} else if (a instanceof Object[] && b instanceof Object[]) {
+			Object[] x = (Object[])a;
+			Object[] y = (Object[])b;
+			if (x.length != y.length) return false;
+			for (int i = 0; i < x.length; i++) {
+				if (! equal(x[i], y[i])) return false;
+			}
+			return true;
+		} else if (a instanceof byte[] && b instanceof byte[]) {
+			byte[] x = (byte[])a;
+			byte[] y = (byte[])b;
+			if (x.length != y.length) return false;
+			for (int i = 0; i < x.length; i++) {
+				if (x[i] != y[i]) return false;
+			}
+			return true;
+		} else if (a instanceof int[] && b instanceof int[]) {
+			int[] x = (int[])a;
+			int[] y = (int[])b;
+			if (x.length != y.length) return false;
+			for (int i = 0; i < x.length; i++) {
+				if (x[i] != y[i]) return false;
+			}
+			return true;
+		} else if (a.getClass().getName().charAt(0) == '[') {
+			return false;
+		} else {
+			return a.equals(b);
+		}
+	}
+
+}
@@ -30,6 +30,7 @@ import info.pppc.pcom.system.container.internal.AbstractStatus;
 import info.pppc.pcom.system.container.internal.AbstractTemplate;
 import info.pppc.pcom.system.container.internal.capability.ResourceBinding;
 import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.io.CompactFormat;
 import info.pppc.pcom.system.model.component.IEventCollector;
 import info.pppc.pcom.system.model.component.IEventEmitter;
 import info.pppc.pcom.system.model.component.IInstance;
@@ -39,6 +40,8 @@ import info.pppc.pcom.system.model.component.IInstanceRestorer;
 import info.pppc.pcom.system.model.component.IInstanceStatus;
 import info.pppc.pcom.system.model.component.IInstanceTemplate;
 
+import java.util.Vector;
+
 /**
  * The instance context manages an instance. It provides methods that enable
  * an instance to retrieve its contract and description. Furthermore, it allows
@@ -114,6 +117,46 @@ public class InstanceContext extends AbstractInstanceContext implements IInstanc
 	 * instance.
 	 */
 	private InstanceSkeleton skeleton = null;
+	
+	/**
+	 * A flag that indicates whether the provision has changed since the
+	 * parent has been notified last.
+	 */
+	private boolean changed = false;
+	
+	/**
+	 * A flag that indicates whether a notification of the parent about
+	 * provision changes is scheduled or in progress.
+	 */
+	private boolean changing = false;
+	
+	/**
+	 * The validity of the provision when it has been changed last.
+	 */
+	private boolean changeValid;
+	
+	/**
+	 * The phase of the instance when the provision has been changed last.
+	 */
+	private int changePhase;
+	
+	/**
+	 * The provision that has been sent to the parent last or null if 
+	 * the parent might not hold the provision.
+	 */
+	private Contract sent = null;
+	
+	/**
+	 * The phase of the provision that has been sent to the parent last.
+	 */
+	private int sentPhase;
+	
+	/**
+	 * The sequence number of the provision that has been sent to the 
+	 * parent last. It is reset to zero whenever the complete provision
+	 * is sent and incremented with each delta.
+	 */
+	private int sentSequence;
 
 	
 	/**
@@ -232,6 +275,7 @@ public class InstanceContext extends AbstractInstanceContext implements IInstanc
 		state.setElementID(getIdentifier());
 		state.setName(name);
 		state.setSystemID(SystemID.SYSTEM);
+		state.setCompact(CompactFormat.isSupported(pointer.getAssemblerID().getSystem()));
 		// prepare assembly state with binding data
 		setup(state);
 		try {
@@ -319,6 +363,31 @@ public class InstanceContext extends AbstractInstanceContext implements IInstanc
 		}
 	}
 	
+	/**
+	 * Called to signal that the provision of some child has changed. The change
+	 * is described as difference to the previous provision with the specified 
+	 * sequence number. 
+	 * 
+	 * @param name The name of the child whose provision has changed.
+	 * @param phase The phase of the message used to suppress outdated messages.
+	 * @param base The sequence number of the previous provision.
+	 * @param delta The added and changed children of the provision.
+	 * @param removed The removed children of the provision.
+	 * @return True if the delta has been applied or ignored, false if the
+	 * 	binding does not hold the previous provision.
+	 */
+	public boolean changeInstanceDelta(String name, int phase, int base, Contract delta, Vector removed) {
+		synchronized (this) {
+			if (phase == getPhase() && getState() == STATE_INSTANCE_STARTED) {
+				InstanceBinding binding = (InstanceBinding)getInstance(name);
+				if (binding != null) {
+					return binding.changeInstanceDelta(base, delta, removed);
+				}
+			}
+			return true;
+		}
+	}
+	
 	/**
 	 * Called to signal that the instance with the specified name has been 
 	 * removed.
@@ -395,36 +464,115 @@ public class InstanceContext extends AbstractInstanceContext implements IInstanc
 		}
 		// send notification if instance is started
 		if (getState() == STATE_INSTANCE_STARTED) {
-			final Contract provision = getAbstractTemplate().getContract(Contract.TYPE_INSTANCE_PROVISION, name);
-			performOperation(new IOperation() {
-				public void perform(IMonitor monitor) throws Exception {
-					ContainerProxy proxy = new ContainerProxy();
-					proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, IContainer.CONTAINER_ID));
-					proxy.setTargetID(new ReferenceID(systemID, containerID));
+			synchronized (this) {
+				changeValid = valid;
+				changePhase = phase;
+				changed = true;
+				if (changing) return;
+				changing = true;
+			}
+			// wait for further changes that can be sent at once
+			getContainer().scheduleChange(this);
+		}
+	}
+	
+	/**
+	 * Notifies the parent about the latest provision change. This is called
+	 * by the container when the change window of the instance has ended. 
+	 * The notification is sent asynchronously. If the provision changes 
+	 * while the notification is sent, the next notification is scheduled 
+	 * at the container.
+	 */
+	public void dispatchChange() {
+		performOperation(new IOperation() {
+			public void perform(IMonitor monitor) throws Exception {
+				boolean valid;
+				int phase;
+				synchronized (InstanceContext.this) {
+					if (! changed || getState() != STATE_INSTANCE_STARTED) {
+						changed = false;
+						changing = false;
+						return;
+					}
+					changed = false;
+					valid = changeValid;
+					phase = changePhase;
+				}
+				Contract provision = null;
+				AbstractTemplate template = getAbstractTemplate();
+				synchronized (template) {
+					provision = template.getContract(Contract.TYPE_INSTANCE_PROVISION, name);
+					if (provision != null) provision = provision.copy();
+				}
+				sendChange(valid, phase, provision);
+				synchronized (InstanceContext.this) {
+					if (! changed || getState() != STATE_INSTANCE_STARTED) {
+						changed = false;
+						changing = false;
+						return;
+					}
+				}
+				getContainer().scheduleChange(InstanceContext.this);
+			}
+		});
+	}
+	
+	/**
+	 * Notifies the parent about the specified provision. If the parent holds
+	 * the provision that has been sent last, only the difference is sent. If
+	 * the provision is no longer valid, the instance will be paused after the
+	 * notification has been delivered.
+	 * 
+	 * @param valid The validity of the provision.
+	 * @param phase The phase of the instance at the time of the change.
+	 * @param provision The provision that should be sent.
+	 */
+	private void sendChange(boolean valid, int phase, Contract provision) {
+		ContainerProxy proxy = new ContainerProxy();
+		proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, IContainer.CONTAINER_ID));
+		proxy.setTargetID(new ReferenceID(systemID, containerID));
+		try {
+			boolean delivered = false;
+			if (sent != null && sentPhase == phase && provision != null) {
+				Vector removed = new Vector();
+				Contract delta = provision.diff(sent, removed);
+				if (delta != null) {
 					try {
-						proxy.changeInstance(parentID, name, phase, provision);
-						// if the previous change broke us, disable the instance
-						if (!valid) {
-							synchronized (InstanceContext.this) {
-								// determine whether we have been updated in the mean time
-								if (phase == getPhase() && getState() == STATE_INSTANCE_STARTED) {
-									removeTemplateListener();
-									try {
-										instance.pause();
-									} catch (Throwable t) {
-										Logging.error(getClass(), "Could not pause instance.", t);
-									}
-									setState(STATE_INSTANCE_PAUSED);
-								}
-							}						
-						}
+						delivered = proxy.changeInstanceDelta
+							(parentID, name, phase, sentSequence, delta, removed);
 					} catch (InvocationException e) {
-						// stop the instance completely
-						// without parent notification since unreachable
-						getContainer().stopInstance(getIdentifier());
+						Logging.debug(getClass(), "Could not send provision delta.");
 					}
 				}
-			});
+			}
+			if (delivered) {
+				sentSequence += 1;
+			} else {
+				sent = null;
+				proxy.changeInstance(parentID, name, phase, provision);
+				sentSequence = 0;
+			}
+			sent = provision;
+			sentPhase = phase;
+			// if the previous change broke us, disable the instance
+			if (!valid) {
+				synchronized (this) {
+					// determine whether we have been updated in the mean time
+					if (phase == getPhase() && getState() == STATE_INSTANCE_STARTED) {
+						removeTemplateListener();
+						try {
+							instance.pause();
+						} catch (Throwable t) {
+							Logging.error(getClass(), "Could not pause instance.", t);
+						}
+						setState(STATE_INSTANCE_PAUSED);
+					}
+				}						
+			}
+		} catch (InvocationException e) {
+			// stop the instance completely
+			// without parent notification since unreachable
+			getContainer().stopInstance(getIdentifier());
 		}
 	}
 	
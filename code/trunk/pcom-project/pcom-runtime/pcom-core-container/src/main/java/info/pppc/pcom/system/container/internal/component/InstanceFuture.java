@@ -0,0 +1,107 @@
+package info.pppc.pcom.system.container.internal.component;
+
+import info.pppc.base.system.Invocation;
+import info.pppc.base.system.util.Logging;
+
+/**
+ * The instance future is the result of a deferred invocation that has
+ * been issued by an instance proxy. The proxy returns the future as soon
+ * as the invocation has been handed to the broker. Thus, a component can
+ * issue several invocations before it waits for the first result. The
+ * methods that retrieve the return value or the exception block until
+ * the invocation has been completed. Unlike the future results of base
+ * proxies, the instance future is completed by the instance proxy. This
+ * enables the proxy to notify its listeners before the future is
+ * released.
+ *
+ * @author Mac
+ */
+public class InstanceFuture {
+
+	/**
+	 * The invocation whose result is delivered by this future.
+	 */
+	private Invocation invocation;
+
+	/**
+	 * A flag that indicates whether the invocation has been completed.
+	 */
+	private boolean done = false;
+
+	/**
+	 * Creates a new future for the specified invocation.
+	 *
+	 * @param invocation The invocation that delivers the result.
+	 */
+	public InstanceFuture(Invocation invocation) {
+		super();
+		this.invocation = invocation;
+	}
+
+	/**
+	 * Determines whether the invocation has been completed.
+	 *
+	 * @return True if the invocation has been completed, false
+	 * 	if it is still in progress.
+	 */
+	public synchronized boolean isDone() {
+		return done;
+	}
+
+	/**
+	 * Blocks the calling thread until the invocation has been
+	 * completed.
+	 */
+	public synchronized void waitFor() {
+		while (! done) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Logging.error(getClass(), "Thread got interrupted.", e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the return value of the invocation. This method blocks
+	 * until the invocation has been completed.
+	 *
+	 * @return The return value of the invocation.
+	 */
+	public Object getValue() {
+		waitFor();
+		return invocation.getResult();
+	}
+
+	/**
+	 * Returns the exception of the invocation. This method blocks
+	 * until the invocation has been completed.
+	 *
+	 * @return The exception of the invocation or null if there is
+	 * 	none.
+	 */
+	public Throwable getException() {
+		waitFor();
+		return invocation.getException();
+	}
+
+	/**
+	 * Determines whether the invocation has resulted in an exception.
+	 * This method blocks until the invocation has been completed.
+	 *
+	 * @return True if the invocation has resulted in an exception.
+	 */
+	public boolean hasException() {
+		return getException() != null;
+	}
+
+	/**
+	 * Called by the proxy when the invocation has been completed. This
+	 * will release all threads that wait for the result.
+	 */
+	protected synchronized void complete() {
+		done = true;
+		notifyAll();
+	}
+
+}
@@ -1,6 +1,8 @@
 package info.pppc.pcom.system.container.internal.component;
 
 import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Hashtable;
 import java.util.Vector;
 
 import info.pppc.base.system.io.IObjectInput;
@@ -39,6 +41,24 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 	 */
 	private boolean enabled = false;
 	
+	/**
+	 * The number of bytes occupied by the serialized arguments
+	 * of all entries contained in the history.
+	 */
+	private int bytes = 0;
+	
+	/**
+	 * The compaction policies of the signatures. Hashes signatures
+	 * to integers that denote the policy.
+	 */
+	private Hashtable policies = new Hashtable();
+	
+	/**
+	 * The signatures that are dropped by other signatures. Hashes
+	 * signatures to vectors of the signatures they drop.
+	 */
+	private Hashtable drops = new Hashtable();
+	
 	/**
 	 * The entry is used to store a single invocation in the
 	 * history. The actual invocation is not stored only the
@@ -66,6 +86,18 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 		 */
 		private ChunkVector arguments = new ChunkVector();
 		
+		/**
+		 * The first argument of the method call or null if it 
+		 * has not been determined so far.
+		 */
+		private Object key;
+		
+		/**
+		 * A flag that indicates whether the first argument has
+		 * been determined.
+		 */
+		private boolean keyed = false;
+		
 		/**
 		 * Creates a new entry with the specified signature and
 		 * arguments and a sequence number that denotes manual
@@ -78,10 +110,19 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 		 */
 		public Entry(String signature, Object[] arguments) throws IOException {
 			this.signature = signature;
-			ChunkOutputStream cos = new ChunkOutputStream(this.arguments, false);
-			ObjectOutputStream oos = new ObjectOutputStream(cos);
-			oos.writeObject(arguments);
-			oos.close();
+			try {
+				ChunkOutputStream cos = new ChunkOutputStream(this.arguments, false);
+				ObjectOutputStream oos = new ObjectOutputStream(cos);
+				oos.writeObject(arguments);
+				oos.close();				
+			} catch (IOException e) {
+				this.arguments.release();
+				throw e;
+			}
+			if (arguments != null && arguments.length > 0) {
+				key = arguments[0];
+			}
+			keyed = true;
 		}
 		
 		/**
@@ -111,6 +152,25 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 			}
 		}
 		
+		/**
+		 * Returns the first argument of the method call or null 
+		 * if the method does not have any arguments. If the entry
+		 * has been deserialized, the arguments will be deserialized
+		 * on the first call.
+		 * 
+		 * @return The first argument of the method call.
+		 */
+		protected Object getKey() {
+			if (! keyed) {
+				Object[] args = getArguments();
+				if (args != null && args.length > 0) {
+					key = args[0];
+				}
+				keyed = true;
+			}
+			return key;
+		}
+		
 		/**
 		 * Returns the signature of the method call.
 		 * 
@@ -166,6 +226,7 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 	 */
 	public void clear() {
 		entries.removeAllElements();
+		bytes = 0;
 	}
 	
 	/**
@@ -203,7 +264,9 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 	 * @param entry The entry to remove.
 	 */
 	public void removeEntry(IEntry entry) {
-		entries.removeElement(entry);
+		if (entries.removeElement(entry)) {
+			bytes -= ((Entry)entry).getRawArguments().getTotal();
+		}
 	}
 
 	/**
@@ -237,10 +300,11 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 	 * 	should be executed in parallel.
 	 */
 	public void setEntry(IEntry entry, int index, boolean parallel) {
-		entries.removeElement(entry);
+		removeEntry(entry);
 		Entry e = (Entry)entry;
 		e.setParallel(parallel);
 		entries.insertElementAt(entry, index);
+		bytes += e.getRawArguments().getTotal();
 	}
 
 	/**
@@ -251,10 +315,85 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 	 * @param parallel The parallel flag to set.
 	 */
 	public void addEntry(IEntry entry, boolean parallel) {
-		entries.removeElement(entry);
+		removeEntry(entry);
 		Entry e = (Entry)entry;
 		e.setParallel(parallel);
 		entries.addElement(entry);
+		bytes += e.getRawArguments().getTotal();
+		compact(e);
+	}
+	
+	/**
+	 * Sets the compaction policy for entries with the specified
+	 * signature.
+	 * 
+	 * @param signature The signature of the entries.
+	 * @param policy The policy, one of the policy constants.
+	 */
+	public void setPolicy(String signature, int policy) {
+		if (policy == POLICY_KEEP_ALL) {
+			policies.remove(signature);
+		} else {
+			policies.put(signature, new Integer(policy));
+		}
+	}
+	
+	/**
+	 * Declares that entries with the dropped signature are removed
+	 * whenever an entry with the specified signature is appended.
+	 * 
+	 * @param signature The signature that drops the other entries.
+	 * @param dropped The signature of the entries that are dropped.
+	 */
+	public void addDrop(String signature, String dropped) {
+		Vector dropping = (Vector)drops.get(signature);
+		if (dropping == null) {
+			dropping = new Vector();
+			drops.put(signature, dropping);
+		}
+		if (! dropping.contains(dropped)) {
+			dropping.addElement(dropped);
+		}
+	}
+	
+	/**
+	 * Removes all entries that have been made obsolete by the
+	 * specified entry which must be the last entry of the history.
+	 * 
+	 * @param entry The entry that has been appended.
+	 */
+	private void compact(Entry entry) {
+		String signature = entry.getSignature();
+		Integer policy = (Integer)policies.get(signature);
+		Vector dropping = (Vector)drops.get(signature);
+		if (policy == null && dropping == null) return;
+		for (int i = entries.size() - 2; i >= 0; i--) {
+			Entry e = (Entry)entries.elementAt(i);
+			boolean drop = false;
+			if (dropping != null && dropping.contains(e.getSignature())) {
+				drop = true;
+			} else if (policy != null && signature.equals(e.getSignature())) {
+				switch (policy.intValue()) {
+					case POLICY_KEEP_LAST:
+						drop = true;
+						break;
+					case POLICY_KEEP_LAST_ARGUMENT:
+						Object key = entry.getKey();
+						drop = (key == null)? e.getKey() == null : key.equals(e.getKey());
+						break;
+					default:
+						// keep the entry
+				}
+			}
+			if (drop) {
+				// the successor must not run in parallel with the predecessor 
+				// if the dropped entry was executed sequentially
+				Entry next = (Entry)entries.elementAt(i + 1);
+				next.setParallel(next.isParallel() && e.isParallel());
+				entries.removeElementAt(i);
+				bytes -= e.getRawArguments().getTotal();
+			}
+		}
 	}
 	
 	/**
@@ -266,9 +405,20 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 		return entries.size();
 	}
 	
+	/**
+	 * Returns the number of bytes occupied by the serialized
+	 * arguments of all entries contained in the history.
+	 * 
+	 * @return The number of bytes occupied by the entries.
+	 */
+	public int getBytes() {
+		return bytes;
+	}
+	
 	
 	/**
-	 * Reads the history from the passed stream.
+	 * Reads the history from the passed stream. This includes the
+	 * compaction policies and the drops.
 	 * 
 	 * @param input The stream to read from.
 	 * @throws IOException Thrown if the deserialization fails.
@@ -279,19 +429,28 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 			Entry e = new Entry(input.readUTF());
 			e.setParallel(input.readBoolean());
 			ChunkVector cv = e.getRawArguments();
-			int todo = input.readInt();
-			while (todo > 0) {
-				byte[] chunk = new byte[Math.min(2048, todo)];
-				input.readBytes(chunk);
-				cv.append(chunk);
-				todo -= chunk.length;
-			}
+			cv.read(input, input.readInt());
 			entries.addElement(e);
+			bytes += cv.getTotal();
+		}
+		int ps = input.readInt();
+		for (int i = 0; i < ps; i++) {
+			String signature = input.readUTF();
+			policies.put(signature, new Integer(input.readInt()));
+		}
+		int ds = input.readInt();
+		for (int i = 0; i < ds; i++) {
+			String signature = input.readUTF();
+			int dropped = input.readInt();
+			for (int j = 0; j < dropped; j++) {
+				addDrop(signature, input.readUTF());
+			}
 		}
 	}
 	
 	/**
-	 * Writes the history to the passed stream.
+	 * Writes the history to the passed stream. This includes the
+	 * compaction policies and the drops.
 	 * 
 	 * @param output The stream to write to.
 	 * @throws IOException Thrown if the serialization fails.
@@ -304,8 +463,24 @@ public class InstanceHistory implements IInstanceHistory, ISerializable {
 			output.writeBoolean(e.isParallel());
 			ChunkVector cv = e.getRawArguments();
 			output.writeInt(cv.getTotal());
-			for (int j = 0; j < cv.getChunks(); j++) {
-				output.writeBytes(cv.getChunk(j), cv.getStart(j), cv.getEnd(j) - cv.getStart(j));
+			cv.write(output);
+		}
+		output.writeInt(policies.size());
+		Enumeration e = policies.keys();
+		while (e.hasMoreElements()) {
+			String signature = (String)e.nextElement();
+			output.writeUTF(signature);
+			output.writeInt(((Integer)policies.get(signature)).intValue());
+		}
+		output.writeInt(drops.size());
+		e = drops.keys();
+		while (e.hasMoreElements()) {
+			String signature = (String)e.nextElement();
+			Vector dropping = (Vector)drops.get(signature);
+			output.writeUTF(signature);
+			output.writeInt(dropping.size());
+			for (int i = 0; i < dropping.size(); i++) {
+				output.writeUTF((String)dropping.elementAt(i));
 			}
 		}
 	}
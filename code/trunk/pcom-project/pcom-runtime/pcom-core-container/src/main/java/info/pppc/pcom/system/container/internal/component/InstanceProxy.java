@@ -1,5 +1,7 @@
 package info.pppc.pcom.system.container.internal.component;
 
+import java.util.Vector;
+
 import info.pppc.base.system.Invocation;
 import info.pppc.base.system.InvocationBroker;
 import info.pppc.base.system.InvocationException;
@@ -8,6 +10,9 @@ import info.pppc.base.system.Result;
 import info.pppc.base.system.event.IListener;
 import info.pppc.base.system.event.ListenerBundle;
 import info.pppc.base.system.nf.NFCollection;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.pcom.system.model.component.IInstanceHistory;
 import info.pppc.pcom.system.model.component.IInstanceProxy;
 
 /**
@@ -15,6 +20,13 @@ import info.pppc.pcom.system.model.component.IInstanceProxy;
  * proxies and event emittors. It enables the introduction of interceptors
  * that intercept, change and stop calls from being processed before
  * they are issued to the implementation instance. 
+ * The proxy can cache the results of methods that have been declared
+ * as idempotent. Cached results are returned without notifying the
+ * listeners, i.e. neither pre invoke nor post invoke events are fired
+ * for them. Cached results are shared by all callers and must not be
+ * modified. The cache is cleared whenever the target changes.
+ * Furthermore, the proxy stores the compaction policies that are
+ * applied to the history of its restorer.
  * 
  * @author Mac
  */
@@ -52,6 +64,23 @@ public class InstanceProxy implements IInstanceProxy {
 	 */
 	private ListenerBundle listeners = new ListenerBundle(this);
 	
+	/**
+	 * The cache for the results of idempotent methods.
+	 */
+	private InstanceCache cache = new InstanceCache();
+	
+	/**
+	 * The compaction policies of the history. Contains object arrays
+	 * with the signature and the policy as integer.
+	 */
+	private Vector policies = new Vector();
+	
+	/**
+	 * The drops of the history. Contains string arrays with the
+	 * signature and the signature of the dropped entries.
+	 */
+	private Vector drops = new Vector();
+	
 	/**
 	 * Creates a new intercept proxy that enables the addition
 	 * of interceptors in the dispatch path.
@@ -94,12 +123,81 @@ public class InstanceProxy implements IInstanceProxy {
 	}
 	
 	/**
-	 * Sets the object id of the target object.
+	 * Declares the method with the specified signature as idempotent.
+	 * The results of idempotent methods are cached by the proxy. Calls
+	 * that are answered from the cache do not notify the listeners and
+	 * they return the same result objects. This method is called by the
+	 * constructors of generated proxies.
+	 * 
+	 * @param signature The signature of the method as used by the
+	 * 	invocations of the proxy.
+	 */
+	protected void __setIdempotent(String signature) {
+		cache.addMethod(signature);
+	}
+	
+	/**
+	 * Sets the compaction policy of the history for invocations of the
+	 * method with the specified signature. This method is called by the
+	 * constructors of generated proxies.
+	 * 
+	 * @param signature The signature of the method.
+	 * @param policy The policy, one of the policy constants defined by
+	 * 	the instance history.
+	 */
+	protected void __setHistoryPolicy(String signature, int policy) {
+		policies.addElement(new Object[] { signature, new Integer(policy) });
+	}
+	
+	/**
+	 * Declares that the history entries with the dropped signature are
+	 * removed whenever the method with the specified signature is invoked.
+	 * This method is called by the constructors of generated proxies.
+	 * 
+	 * @param signature The signature of the method.
+	 * @param dropped The signature of the entries that are dropped.
+	 */
+	protected void __addHistoryDrop(String signature, String dropped) {
+		drops.addElement(new String[] { signature, dropped });
+	}
+	
+	/**
+	 * Applies the compaction policies and drops that have been declared
+	 * for this proxy to the specified history.
+	 * 
+	 * @param history The history that receives the policies.
+	 */
+	protected void __applyHistory(IInstanceHistory history) {
+		for (int i = 0; i < policies.size(); i++) {
+			Object[] policy = (Object[])policies.elementAt(i);
+			history.setPolicy((String)policy[0], ((Integer)policy[1]).intValue());
+		}
+		for (int i = 0; i < drops.size(); i++) {
+			String[] drop = (String[])drops.elementAt(i);
+			history.addDrop(drop[0], drop[1]);
+		}
+	}
+	
+	/**
+	 * Returns the cache that stores the results of idempotent methods.
+	 * The cache can be used to adjust the limits and to retrieve the
+	 * hit and miss counts of this proxy.
+	 * 
+	 * @return The result cache of the proxy.
+	 */
+	public InstanceCache getResultCache() {
+		return cache;
+	}
+	
+	/**
+	 * Sets the object id of the target object. This clears the
+	 * result cache of the proxy.
 	 * 
 	 * @param id The object id of the target object.
 	 */
 	public void setTargetID(ReferenceID id) {
 		target = id;
+		cache.clear();
 	}
     
 	/**
@@ -151,6 +249,13 @@ public class InstanceProxy implements IInstanceProxy {
 	 * @return The result of the invocation.
 	 */
 	protected Result __invoke(Invocation invocation, boolean events) {
+		String signature = invocation.getSignature();
+		Object[] arguments = invocation.getArguments();
+		Object[] cached = cache.get(signature, arguments);
+		if (cached != null) {
+			return new Result(cached[0], null);
+		}
+		int generation = cache.getGeneration();
 		if (invocation.getSource() == null) {
 			invocation.setResult(null);
 			invocation.setException(new InvocationException("Source is null."));
@@ -164,11 +269,64 @@ public class InstanceProxy implements IInstanceProxy {
 				InvocationBroker broker = InvocationBroker.getInstance();	
 				broker.invoke(invocation);
 				if (events) listeners.fireEvent(EVENT_POST_INVOKE, invocation);
+				if (invocation.getException() == null) {
+					cache.put(signature, arguments, invocation.getResult(), generation);
+				}
 			}
 		}
 		return new Result(invocation.getResult(), invocation.getException());
 	}
 	
+	/**
+	 * Performs a deferred synchronous remote invocation. The invocation
+	 * is handed to the broker and the method returns a future without
+	 * waiting for the result. Thus, several invocations can be issued 
+	 * before the first result is retrieved. The listeners are notified 
+	 * about the invocation before this method returns and they are
+	 * notified about its completion when the result has been received.
+	 * If the result of the invocation is cached, the future is completed
+	 * immediately.
+	 * 
+	 * @param invocation The invocation to transmit.
+	 * @return The future that delivers the result of the invocation.
+	 */
+	protected InstanceFuture __invokeDeferred(final Invocation invocation) {
+		final InstanceFuture future = new InstanceFuture(invocation);
+		final String signature = invocation.getSignature();
+		final Object[] arguments = invocation.getArguments();
+		Object[] cached = cache.get(signature, arguments);
+		final int generation = cache.getGeneration();
+		if (cached != null) {
+			invocation.setResult(cached[0]);
+			invocation.setException(null);
+		} else if (invocation.getSource() == null) {
+			invocation.setResult(null);
+			invocation.setException(new InvocationException("Source is null."));
+		} else if (invocation.getTarget() == null) {
+			invocation.setResult(null);
+			invocation.setException(new InvocationException("Target is null."));
+		} else if (listeners.fireUndoableEvent(EVENT_PRE_INVOKE, invocation)) {
+			InvocationBroker.getInstance().performOperation(new IOperation() {
+				public void perform(IMonitor monitor) throws Exception {
+					try {
+						InvocationBroker.getInstance().invoke(invocation);	
+						if (invocation.getException() == null) {
+							cache.put(signature, arguments, invocation.getResult(), generation);
+						}
+					} catch (Throwable t) {
+						invocation.setException(t);
+					} finally {
+						listeners.fireEvent(EVENT_POST_INVOKE, invocation);
+						future.complete();
+					}
+				}
+			});
+			return future;
+		}
+		future.complete();
+		return future;
+	}
+	
 	
 	/**
 	 * Creates a new invocation that can later on be used to
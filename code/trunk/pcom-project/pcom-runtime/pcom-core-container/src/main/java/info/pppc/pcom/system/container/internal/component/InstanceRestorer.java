@@ -4,10 +4,13 @@ import java.io.IOException;
 import java.util.Hashtable;
 
 import info.pppc.base.system.Invocation;
+import info.pppc.base.system.InvocationBroker;
 import info.pppc.base.system.InvocationException;
 import info.pppc.base.system.event.Event;
 import info.pppc.base.system.event.IListener;
 import info.pppc.base.system.event.ListenerBundle;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.system.container.InstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
@@ -66,12 +69,28 @@ public class InstanceRestorer implements IInstanceRestorer, IListener {
 	protected Hashtable outgoing = new Hashtable();
 	
 	/**
-	 * Creates a new instance state for the specified proxy.
+	 * The number of bytes that the entries of the history may
+	 * occupy before a checkpoint is requested automatically. A 
+	 * value of 0 denotes that the history is not bounded.
+	 */
+	protected int historyBudget = 0;
+	
+	/**
+	 * A flag that indicates whether a checkpoint has been requested
+	 * automatically due to an exceeded history budget.
+	 */
+	protected boolean budgeting = false;
+	
+	/**
+	 * Creates a new instance state for the specified proxy. The
+	 * history policies declared by the proxy are applied to the
+	 * history.
 	 * 
 	 * @param proxy The proxy using this state.
 	 */
 	public InstanceRestorer(InstanceProxy proxy) {
 		this.proxy = proxy;
+		proxy.__applyHistory(history);
 		proxy.__addInvocationListener(Event.EVENT_EVERYTHING, this);
 	}
 	
@@ -143,6 +162,30 @@ public class InstanceRestorer implements IInstanceRestorer, IListener {
 	public void clearCheckpoint() {
 		this.checkpoint = null;
 	}
+	
+	/**
+	 * Sets the number of bytes that the entries of the history
+	 * may occupy before a checkpoint is requested automatically.
+	 * If the budget is negative, it will be set to 0 which
+	 * denotes an unbounded history.
+	 * 
+	 * @param budget The budget of the history in bytes.
+	 */
+	public void setHistoryBudget(int budget) {
+		if (budget < 0) budget = 0;
+		this.historyBudget = budget;
+	}
+	
+	/**
+	 * Returns the number of bytes that the entries of the history
+	 * may occupy before a checkpoint is requested automatically.
+	 * 
+	 * @return The budget of the history in bytes or 0 if the
+	 * 	history is not bounded.
+	 */
+	public int getHistoryBudget() {
+		return historyBudget;
+	}
 
 	/**
 	 * Returns the cost summand value.
@@ -248,10 +291,39 @@ public class InstanceRestorer implements IInstanceRestorer, IListener {
 		listeners.fireEvent(EVENT_RELEASE, proxy);
 	}
 	
+	/**
+	 * Requests the creation of a checkpoint asynchronously. This
+	 * is called when the history has exceeded its budget. The 
+	 * checkpoint cannot be created synchronously since the creation
+	 * waits until all outgoing invocations have returned.
+	 */
+	private void requestCheckpoint() {
+		Logging.debug(getClass(), "History exceeds budget with " + history.getBytes() + " bytes.");
+		InvocationBroker.getInstance().performOperation(new IOperation() {
+			public void perform(IMonitor monitor) throws Exception {
+				try {
+					createCheckpoint();
+				} catch (RuntimeException e) {
+					Logging.debug(InstanceRestorer.this.getClass(), "Checkpoint is already requested.");
+				} finally {
+					synchronized (InstanceRestorer.this) {
+						budgeting = false;
+					}
+				}
+			}
+		});
+	}
+	
 	/**
 	 * This method is called, when the proxy sends an invocation
 	 * to the remote system and when it returns from the remote
-	 * system.
+	 * system. For deferred invocations, the first call is made by
+	 * the calling thread before the proxy returns the future and 
+	 * the second call is made by the thread that completes the
+	 * invocation. Thus, the entries are recorded in the order in
+	 * which the invocations have been issued and an invocation 
+	 * that is issued while a deferred invocation is outstanding 
+	 * is marked as parallel.
 	 * 
 	 * @param event The event.
 	 */
@@ -261,7 +333,11 @@ public class InstanceRestorer implements IInstanceRestorer, IListener {
 			case InstanceProxy.EVENT_PRE_INVOKE: 
 			{
 				try {
-					IEntry entry = history.createEntry(invocation.getSignature(), invocation.getArguments());	
+					// only serialize the arguments if they are recorded
+					IEntry entry = null;
+					if (history.isEnabled()) {
+						entry = history.createEntry(invocation.getSignature(), invocation.getArguments());
+					}
 					synchronized (this) {
 						while (checkpointing) {
 							try {
@@ -270,9 +346,13 @@ public class InstanceRestorer implements IInstanceRestorer, IListener {
 								Logging.error(getClass(), "Thread got interrupted.", e);
 							}
 						}
-						if (history.isEnabled()) {
+						if (entry != null && history.isEnabled()) {
 							history.addEntry(entry, ! outgoing.isEmpty());
-							outgoing.put(invocation, entry);							
+							outgoing.put(invocation, entry);
+							if (historyBudget != 0 && ! budgeting && history.getBytes() > historyBudget) {
+								budgeting = true;
+								requestCheckpoint();
+							}
 						}
 					}
 				} catch (IOException e) {
@@ -21,6 +21,11 @@ import info.pppc.pcom.system.model.component.IInstanceHistory.IEntry;
  * and event collectors. It enables the introduction of interceptors
  * that intercept, change and stop calls from being processed before
  * they are issued to the implementation instance. 
+ * Generated skeletons dispatch invocations by index. The skeleton maps
+ * the signature of an invocation to the index of the method with a 
+ * single table lookup and the dispatch method writes the result of the
+ * call directly into the invocation. Skeletons that do not provide 
+ * indices are called through the dispatch method for signatures.
  * 
  * @author Mac
  */
@@ -41,6 +46,12 @@ public abstract class InstanceSkeleton implements IInvocationHandler, IInstanceS
 	 */
 	protected static String SIGNATURE_RESTORE = ";PCOM_RESTORE";
 	
+	/**
+	 * The index that denotes that a signature does not belong to any
+	 * method that can be dispatched by index.
+	 */
+	protected static final int INDEX_UNKNOWN = -1;
+	
 	/**
 	 * The dispatch target of the skeleton. This target must be set
 	 * before a call is dispatched.
@@ -107,7 +118,10 @@ public abstract class InstanceSkeleton implements IInvocationHandler, IInstanceS
 	 */
 	public void invoke(Invocation inv, ISession session) {
 		String signature = inv.getSignature();
-		if (signature.equals(SIGNATURE_STORE)) {
+		int index = getIndex(signature);
+		if (index != INDEX_UNKNOWN) {
+			dispatch(index, inv.getArguments(), inv);
+		} else if (signature.equals(SIGNATURE_STORE)) {
 			try {
 				Logging.debug(getClass(), "Storing checkpoint.");
 				InstanceCheckpoint checkpoint = new InstanceCheckpoint();
@@ -157,14 +171,57 @@ public abstract class InstanceSkeleton implements IInvocationHandler, IInstanceS
 	}
 	
 	/**
-	 * This method is implemented by the pcom generator tools for
-	 * a specific set of interfaces contained in a component 
-	 * description.
+	 * Returns the index of the method with the specified signature. The
+	 * index is passed to the dispatch method for indices. This method is
+	 * implemented by the pcom generator tools. The default implementation
+	 * does not support any indices.
+	 * 
+	 * @param method The signature of the method.
+	 * @return The index of the method or INDEX_UNKNOWN if the method
+	 * 	cannot be dispatched by index.
+	 */
+	protected int getIndex(String method) {
+		return INDEX_UNKNOWN;
+	}
+	
+	/**
+	 * Dispatches the method with the specified index to the target. The
+	 * return value or the exception of the call is written into the 
+	 * specified invocation. This method is implemented by the pcom
+	 * generator tools for a specific set of interfaces contained in a
+	 * component description. The default implementation does not
+	 * support any indices.
+	 * 
+	 * @param index The index of the method as returned by get index.
+	 * @param parameters The parameters of the method call.
+	 * @param invocation The invocation that receives the result.
+	 */
+	protected void dispatch(int index, Object[] parameters, Invocation invocation) {
+		invocation.setResult(null);
+		invocation.setException(new InvocationException("Illegal signature."));
+	}
+	
+	/**
+	 * Dispatches the method with the specified signature to the target.
+	 * The default implementation resolves the index of the method and
+	 * calls the dispatch method for indices. Skeletons that have been
+	 * generated without indices overwrite this method.
 	 * 
 	 * @param method The signature of the method that is called.
 	 * @param parameters The parameters of the method call.
 	 * @return A result object that encapsulates the result of the
 	 * 	method call.
 	 */
-	protected abstract Result dispatch(String method, Object[] parameters);
+	protected Result dispatch(String method, Object[] parameters) {
+		int index = getIndex(method);
+		if (index == INDEX_UNKNOWN) {
+			return new Result(null, new InvocationException("Illegal signature."));
+		}
+		Invocation invocation = new Invocation();
+		invocation.setSignature(method);
+		invocation.setArguments(parameters);
+		dispatch(index, parameters, invocation);
+		return new Result(invocation.getResult(), invocation.getException());
+	}
+	
 }
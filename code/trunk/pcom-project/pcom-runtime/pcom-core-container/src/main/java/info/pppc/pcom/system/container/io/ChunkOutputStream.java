@@ -12,9 +12,10 @@ import java.io.OutputStream;
 public class ChunkOutputStream extends OutputStream {
 
 	/**
-	 * The default chunk size in bytes.
+	 * The default chunk size in bytes. This must be a size class
+	 * of the chunk pool.
 	 */
-	public static final int CHUNK_SIZE = 2048;
+	public static final int CHUNK_SIZE = ChunkPool.MAXIMUM_SIZE;
 
 	/**
 	 * The maximum number of bytes that are copied every operation
@@ -65,7 +66,7 @@ public class ChunkOutputStream extends OutputStream {
 	public ChunkOutputStream(ChunkVector chunks, boolean copy) {
 		this.chunks = chunks;
 		this.copy = copy;
-		chunk = new byte[CHUNK_SIZE];
+		chunk = ChunkPool.getInstance().allocate(CHUNK_SIZE);
 		start = 0;
 		end = 0;
 		size = CHUNK_SIZE;
@@ -79,11 +80,7 @@ public class ChunkOutputStream extends OutputStream {
 	 */
 	public void write(int oneByte) throws IOException {
 		if (end >= size) {
-			chunks.append(chunk, start, end);
-			chunk = new byte[CHUNK_SIZE];
-			start = 0;
-			end = 0;
-			size = CHUNK_SIZE;
+			next();
 		}			
 		chunk[end] = (byte)oneByte;
 		end += 1;
@@ -103,46 +100,76 @@ public class ChunkOutputStream extends OutputStream {
 			System.arraycopy(buffer, offset, chunk, end, length);
 			end += length;
 			while (length != count) {
-				chunks.append(chunk, start, end);
-				chunk = new byte[CHUNK_SIZE];
-				start = 0;
-				end = 0;
-				size = CHUNK_SIZE;			
+				next();
 				int l = Math.min(count - length, size);
 				System.arraycopy(buffer, offset + length, chunk, end, l);
 				end += l;
 				length += l;
 			}
 		} else {
-			chunks.append(chunk, start, end);
+			if (end > start) {
+				chunks.append(chunk, start, end, start == 0);
+			}
 			chunks.append(buffer, offset, offset + count);
 			start = end;			
 		}
 	}
+	
+	/**
+	 * Appends the written part of the current chunk to the chunk 
+	 * vector and continues with a new chunk from the chunk pool. 
+	 * The chunk may only be released by the vector, if it has been
+	 * appended completely.
+	 */
+	private void next() {
+		if (end > start) {
+			chunks.append(chunk, start, end, start == 0);
+		}
+		chunk = ChunkPool.getInstance().allocate(CHUNK_SIZE);
+		start = 0;
+		end = 0;
+		size = CHUNK_SIZE;
+	}
 
 	
 	/**
 	 * Closes the output stream. Note that this method does not
 	 * flush the stream. Users should always flush the stream 
-	 * before closing it.
+	 * before closing it. If no part of the current chunk has 
+	 * been written to the vector, the chunk is returned to the
+	 * chunk pool.
 	 * 
 	 * @throws java.io.IOException This will never be thrown.
 	 */
 	public void close() throws IOException {
+		if (chunk != null && start == 0) {
+			ChunkPool.getInstance().release(chunk);
+		}
+		chunk = null;
 		super.close();
 	}
 
 	/**
 	 * Flushes the stream by writing anything into the chunk vector
 	 * that has not been written yet. It is not a good idea to
-	 * flush to often since flushing might waste memory.
+	 * flush to often since flushing might waste memory. If the
+	 * current chunk contains only a few bytes, the bytes will be
+	 * copied into an array of matching size and the current chunk
+	 * will be reused.
 	 * 
 	 * @throws java.io.IOException This will never be thrown.
 	 */
 	public void flush() throws IOException {
 		if (end - start > 0) {
-			chunks.append(chunk, start, end);
-			start = end;			
+			if (start == 0 && end < CHUNK_COPY) {
+				byte[] bytes = new byte[end];
+				System.arraycopy(chunk, 0, bytes, 0, end);
+				chunks.append(bytes);
+				end = 0;
+			} else {
+				chunks.append(chunk, start, end, start == 0);
+				start = end;				
+			}
 		}	
 		super.flush();
 	}
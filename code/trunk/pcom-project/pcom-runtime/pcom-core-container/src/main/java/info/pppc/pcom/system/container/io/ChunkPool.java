@@ -0,0 +1,128 @@
+package info.pppc.pcom.system.container.io;
+
+/**
+ * The chunk pool recycles the chunks that are used by chunk vectors
+ * and chunk streams. The pool manages chunks of a fixed set of size
+ * classes. The size classes are powers of two that range from the
+ * minimum size to the maximum size. Requests for chunks that are larger
+ * than the maximum size are not served from the pool. Chunks must be
+ * returned to the pool explicitly. Thus, a chunk that is not released
+ * will simply be garbage collected. Since a released chunk will be
+ * handed out again, it must not be referenced after it has been
+ * released. The pool mainly recycles the working chunks of chunk
+ * output streams. Chunks that end up in long-lived vectors such as
+ * checkpoint values or history entries are shared and thus they are
+ * left to the garbage collector.
+ *
+ * @author Mac
+ */
+public final class ChunkPool {
+
+	/**
+	 * The size of the smallest chunks that are managed by the pool.
+	 */
+	public static final int MINIMUM_SIZE = 256;
+
+	/**
+	 * The size of the largest chunks that are managed by the pool.
+	 */
+	public static final int MAXIMUM_SIZE = 2048;
+
+	/**
+	 * The maximum number of chunks that are kept for each size class.
+	 */
+	private static final int CLASS_CAPACITY = 16;
+
+	/**
+	 * The shared instance of the pool.
+	 */
+	private static ChunkPool instance;
+
+	/**
+	 * The free chunks of the size classes. The first index denotes the
+	 * size class, the second index denotes the chunk.
+	 */
+	private byte[][][] chunks;
+
+	/**
+	 * The number of free chunks for each size class.
+	 */
+	private int[] counts;
+
+	/**
+	 * Creates a new empty chunk pool.
+	 */
+	private ChunkPool() {
+		int classes = 0;
+		for (int size = MINIMUM_SIZE; size <= MAXIMUM_SIZE; size *= 2) {
+			classes += 1;
+		}
+		chunks = new byte[classes][CLASS_CAPACITY][];
+		counts = new int[classes];
+	}
+
+	/**
+	 * Returns the shared instance of the chunk pool.
+	 *
+	 * @return The shared instance of the chunk pool.
+	 */
+	public static synchronized ChunkPool getInstance() {
+		if (instance == null) {
+			instance = new ChunkPool();
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns a chunk that has at least the specified size. If the
+	 * size exceeds the maximum size, the chunk will be allocated with
+	 * exactly the specified size. Otherwise, the chunk will have the
+	 * size of the smallest size class that can hold the specified
+	 * number of bytes.
+	 *
+	 * @param size The minimum size of the chunk.
+	 * @return A chunk with at least the specified size.
+	 */
+	public byte[] allocate(int size) {
+		if (size > MAXIMUM_SIZE) return new byte[size];
+		int index = 0;
+		int length = MINIMUM_SIZE;
+		while (length < size) {
+			length *= 2;
+			index += 1;
+		}
+		synchronized (this) {
+			if (counts[index] > 0) {
+				counts[index] -= 1;
+				byte[] chunk = chunks[index][counts[index]];
+				chunks[index][counts[index]] = null;
+				return chunk;
+			}
+		}
+		return new byte[length];
+	}
+
+	/**
+	 * Returns the specified chunk to the pool. If the length of the
+	 * chunk does not correspond to a size class or if the size class
+	 * is full, the chunk will be left to the garbage collector.
+	 *
+	 * @param chunk The chunk that should be released.
+	 */
+	public void release(byte[] chunk) {
+		int index = 0;
+		int length = MINIMUM_SIZE;
+		while (length < chunk.length) {
+			length *= 2;
+			index += 1;
+		}
+		if (length != chunk.length || length > MAXIMUM_SIZE) return;
+		synchronized (this) {
+			if (counts[index] < CLASS_CAPACITY) {
+				chunks[index][counts[index]] = chunk;
+				counts[index] += 1;
+			}
+		}
+	}
+
+}
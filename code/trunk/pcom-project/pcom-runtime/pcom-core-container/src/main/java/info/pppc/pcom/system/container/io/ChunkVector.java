@@ -1,37 +1,66 @@
 package info.pppc.pcom.system.container.io;
 
-import java.util.Vector;
+import java.io.IOException;
+
+import info.pppc.base.system.io.IObjectInput;
+import info.pppc.base.system.io.IObjectOutput;
 
 /**
  * A chunk vector is a series of ordered byte arrays that is used by
  * the plugin architecture to allow prepending and appending of byte
- * arrays without copying them. 
- * Note that the methods in the chunk vector are not synchronized. 
+ * arrays without copying them.
+ * Note that the methods in the chunk vector are not synchronized.
  * Also they do not perform sanity checks on the values passed to
  * them, in order not to slow down the implementation. Note also that
- * chunks added to the vector are not copied, so they must not 
+ * chunks added to the vector are not copied, so they must not
  * be overwritten in order not to change and thus invalidate them.
- * 
+ * The chunks are stored in arrays that leave some space at their
+ * beginning, so that chunks can be prepended without moving the
+ * other chunks.
+ *
  * @author Mac
  */
 public class ChunkVector {
 
 	/**
-	 * Integers that denote the start positions of the date in the
-	 * corresponding byte arrays stored in the chunk vector.
+	 * The initial number of chunks that can be stored without
+	 * resizing the arrays.
 	 */
-	protected Vector starts = new Vector();
-	
+	private static final int INITIAL_CAPACITY = 4;
+
 	/**
-	 * Integers that denote the ends of the data in the corresponding
-	 * byte arrays stored in the chunk vector.
+	 * The start positions of the data in the corresponding byte
+	 * arrays stored in the chunk vector.
 	 */
-	protected Vector ends = new Vector();
-	
+	protected int[] starts = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The ends of the data in the corresponding byte arrays stored
+	 * in the chunk vector.
+	 */
+	protected int[] ends = new int[INITIAL_CAPACITY];
+
 	/**
 	 * The chunks stored in this chunk vector as byte arrays.
 	 */
-	protected Vector chunks = new Vector();
+	protected byte[][] chunks = new byte[INITIAL_CAPACITY][];
+
+	/**
+	 * Flags that indicate whether the corresponding chunks have been
+	 * taken from the chunk pool and are not referenced by any other
+	 * vector. Only these chunks are returned to the pool upon release.
+	 */
+	protected boolean[] owned = new boolean[INITIAL_CAPACITY];
+
+	/**
+	 * The index of the first chunk in the arrays.
+	 */
+	protected int first = 0;
+
+	/**
+	 * The number of chunks stored in the arrays.
+	 */
+	protected int count = 0;
 
 	/**
 	 * The total length of the content stored by the vector.
@@ -44,143 +73,160 @@ public class ChunkVector {
 	public ChunkVector() {
 		super();
 	}
-	
+
 	/**
-	 * Appends the specified chunk vector to this vector 
-	 * without copying the arrays.
-	 * 
+	 * Appends the specified chunk vector to this vector
+	 * without copying the arrays. The chunks will be shared
+	 * by both vectors.
+	 *
 	 * @param vector The vector to append.
 	 */
 	public void append(ChunkVector vector) {
-		for (int i = 0; i < vector.chunks.size(); i++) {
-			chunks.addElement(vector.chunks.elementAt(i));
-			Integer istart = ((Integer)vector.starts.elementAt(i));
-			Integer iend = ((Integer)vector.ends.elementAt(i));
-			starts.addElement(istart);
-			ends.addElement(iend);
-			int start = istart.intValue();
-			int end = iend.intValue();
-			total += (end - start);
+		for (int i = 0; i < vector.count; i++) {
+			int j = vector.first + i;
+			append(vector.chunks[j], vector.starts[j], vector.ends[j], false);
 		}
 	}
-	
+
 	/**
 	 * Prepends the specified chunk vector to this vector
-	 * without copying the arrays.
-	 * 
+	 * without copying the arrays. The chunks will be shared
+	 * by both vectors.
+	 *
 	 * @param vector The vector to prepend.
 	 */
 	public void prepend(ChunkVector vector) {
-		for (int i = 0; i < vector.chunks.size(); i++) {
-			chunks.insertElementAt(vector.chunks.elementAt(i), 0);
-			Integer istart = ((Integer)vector.starts.elementAt(i));
-			Integer iend = ((Integer)vector.ends.elementAt(i));
-			starts.insertElementAt(istart, 0);
-			ends.insertElementAt(iend, 0);
-			int start = istart.intValue();
-			int end = iend.intValue();
-			total += (end - start);
-		}		
+		for (int i = vector.count - 1; i >= 0; i--) {
+			int j = vector.first + i;
+			prepend(vector.chunks[j], vector.starts[j], vector.ends[j], false);
+		}
 	}
-	
 
 	/**
-	 * Appends the chunk to the chunk vector. 
-	 * 
+	 * Appends the chunk to the chunk vector.
+	 *
 	 * @param chunk The chunk to append.
 	 * @param start The start of the chunk.
 	 * @param end The end value of the chunk.
 	 */
 	public void append(byte[] chunk, int start, int end) {
-		starts.addElement(new Integer(start));
-		ends.addElement(new Integer(end));
-		chunks.addElement(chunk);
-		total += (end - start);
+		append(chunk, start, end, false);
 	}
-	
+
 	/**
 	 * Prepends the specified chunk to the vector.
-	 * 
+	 *
 	 * @param chunk The chunk to prepend.
 	 * @param start The start of the chunk.
 	 * @param end The end of the chunk.
 	 */
 	public void prepend(byte[] chunk, int start, int end) {
-		starts.insertElementAt(new Integer(start), 0);
-		ends.insertElementAt(new Integer(end), 0);
-		chunks.insertElementAt(chunk, 0);
-		total += (end - start);		
+		prepend(chunk, start, end, false);
 	}
 
 	/**
 	 * Appends the complete chunk to the vector.
-	 * 
+	 *
 	 * @param chunk The chunk to append.
 	 */
 	public void append(byte[] chunk) {
-		starts.addElement(new Integer(0));
-		ends.addElement(new Integer(chunk.length));
-		chunks.addElement(chunk);
-		total += (chunk.length);		
+		append(chunk, 0, chunk.length, false);
 	}
 
 	/**
 	 * Prepends the complete chunk to the vector.
-	 * 
+	 *
 	 * @param chunk The chunk to prepend.
 	 */
 	public void prepend(byte[] chunk) {
-		starts.insertElementAt(new Integer(0), 0);
-		ends.insertElementAt(new Integer(chunk.length), 0);
-		chunks.insertElementAt(chunk, 0);
-		total += (chunk.length);				
+		prepend(chunk, 0, chunk.length, false);
+	}
+
+	/**
+	 * Appends the chunk to the chunk vector and marks whether the
+	 * chunk has been taken from the pool by the vector.
+	 *
+	 * @param chunk The chunk to append.
+	 * @param start The start of the chunk.
+	 * @param end The end of the chunk.
+	 * @param pooled True if the chunk may be released to the pool.
+	 */
+	void append(byte[] chunk, int start, int end, boolean pooled) {
+		if (first + count == chunks.length) resize();
+		int i = first + count;
+		chunks[i] = chunk;
+		starts[i] = start;
+		ends[i] = end;
+		owned[i] = pooled;
+		count += 1;
+		total += (end - start);
+	}
+
+	/**
+	 * Prepends the chunk to the chunk vector and marks whether the
+	 * chunk has been taken from the pool by the vector.
+	 *
+	 * @param chunk The chunk to prepend.
+	 * @param start The start of the chunk.
+	 * @param end The end of the chunk.
+	 * @param pooled True if the chunk may be released to the pool.
+	 */
+	void prepend(byte[] chunk, int start, int end, boolean pooled) {
+		if (first == 0) resize();
+		first -= 1;
+		chunks[first] = chunk;
+		starts[first] = start;
+		ends[first] = end;
+		owned[first] = pooled;
+		count += 1;
+		total += (end - start);
 	}
-	
+
 	/**
 	 * Retrieves the start index of the specified chunk.
-	 * 
+	 *
 	 * @param chunk The chunk to retrieve.
 	 * @return The start index of the specified chunk.
 	 */
 	public int getStart(int chunk) {
-		return ((Integer)starts.elementAt(chunk)).intValue();		
+		return starts[first + chunk];
 	}
 
 	/**
 	 * Retrieves the end index of the specified chunk.
-	 * 
+	 *
 	 * @param chunk The chunk to retrieve.
 	 * @return The end index of the specified chunk.
-	 */	
+	 */
 	public int getEnd(int chunk) {
-		return ((Integer)ends.elementAt(chunk)).intValue();
+		return ends[first + chunk];
 	}
 
 	/**
 	 * Retrieves the chunk at the specified index.
-	 * 
+	 *
 	 * @param chunk The chunk to retrieve.
 	 * @return The chunk at the specified index.
-	 */	
+	 */
 	public byte[] getChunk(int chunk) {
-		return (byte[])chunks.elementAt(chunk);
+		return chunks[first + chunk];
 	}
-	
+
 	/**
-	 * Returns the number of chunks stored in this 
+	 * Returns the number of chunks stored in this
 	 * chunk vector.
-	 * 
+	 *
 	 * @return The number of chunks.
 	 */
 	public int getChunks() {
-		return chunks.size();	
+		return count;
 	}
 
 	/**
 	 * Returns the total length of chunks stored in the
 	 * chunk vector.
-	 * 
-	 * @return The length of the bytes stored in this 
+	 *
+	 * @return The length of the bytes stored in this
 	 * 	vector.
 	 */
 	public int getTotal() {
@@ -189,29 +235,35 @@ public class ChunkVector {
 
 	/**
 	 * Removes the specified chunk from the vector.
-	 * 
+	 *
 	 * @param chunk The index of the chunk to remove.
 	 */
 	public void removeChunk(int chunk) {
-		Integer element = (Integer)starts.elementAt(chunk);
-		starts.removeElement(element);
-		int start = element.intValue();
-		element = (Integer)ends.elementAt(chunk);
-		ends.removeElement(element);
-		int end = element.intValue();
-		chunks.removeElement(chunks.elementAt(chunk));
-		total -= (end - start);
+		int i = first + chunk;
+		total -= (ends[i] - starts[i]);
+		if (chunk == 0) {
+			chunks[i] = null;
+			first += 1;
+		} else {
+			int move = count - chunk - 1;
+			System.arraycopy(chunks, i + 1, chunks, i, move);
+			System.arraycopy(starts, i + 1, starts, i, move);
+			System.arraycopy(ends, i + 1, ends, i, move);
+			System.arraycopy(owned, i + 1, owned, i, move);
+			chunks[first + count - 1] = null;
+		}
+		count -= 1;
 	}
-	
+
 	/**
 	 * Chops the specified number of bytes from the beginning of
 	 * the chunk vector and creates a new vector from that. This
 	 * method will also affect this chunk vector since the bytes
 	 * will be "virtually" removed. Note that the number of bytes
-	 * must be smaller or equal than the total number of bytes of 
-	 * this vector otherwise this vector will be fully removed and 
-	 * pasted into the other vector. 
-	 * 
+	 * must be smaller or equal than the total number of bytes of
+	 * this vector otherwise this vector will be fully removed and
+	 * pasted into the other vector.
+	 *
 	 * @param bytes The number of bytes to chop.
 	 * @return The new chunk vector containing the first n bytes.
 	 */
@@ -219,66 +271,127 @@ public class ChunkVector {
 		ChunkVector result = new ChunkVector();
 		if (bytes >= total) {
 			result.chunks = chunks;
-			result.ends = ends;
 			result.starts = starts;
+			result.ends = ends;
+			result.owned = owned;
+			result.first = first;
+			result.count = count;
 			result.total = total;
-			chunks = new Vector();
-			ends = new Vector();
-			starts = new Vector();
+			chunks = new byte[INITIAL_CAPACITY][];
+			starts = new int[INITIAL_CAPACITY];
+			ends = new int[INITIAL_CAPACITY];
+			owned = new boolean[INITIAL_CAPACITY];
+			first = 0;
+			count = 0;
 			total = 0;
 		} else {
-			// first copy chunks (possibly +1 that must be split)
+			// first move chunks (possibly +1 that must be split)
 			while (result.total < bytes) {
-				Integer istart = ((Integer)starts.elementAt(0));
-				starts.removeElement(istart);
-				Integer iend = ((Integer)ends.elementAt(0));
-				ends.removeElement(iend);
-				int start = istart.intValue();
-				int end = iend.intValue();
-				Object element = chunks.elementAt(0);
-				chunks.removeElement(element);
-				result.chunks.addElement(element);
-				result.starts.addElement(istart);
-				result.ends.addElement(iend);
-				total -= (end - start);
-				result.total += (end - start);							
+				result.append(chunks[first], starts[first], ends[first], owned[first]);
+				removeChunk(0);
 			}
-			// split last chunk if necessary
+			// split last chunk if necessary, both parts share the chunk
 			if (result.total > bytes) {
 				int split = result.total - bytes;
-				Integer element = (Integer)result.ends.elementAt(result.ends.size() - 1);
-				result.ends.removeElement(element);
-				int end = element.intValue();
-				Integer iend = new Integer(end - split);
-				result.ends.addElement(iend);
+				int last = result.first + result.count - 1;
+				int end = result.ends[last];
+				result.ends[last] = end - split;
+				result.owned[last] = false;
 				result.total -= split;
-				byte[] chunk = (byte[])result.chunks.elementAt
-							(result.chunks.size() - 1);
-				chunks.insertElementAt(chunk, 0);
-				ends.insertElementAt(new Integer(end), 0);
-				starts.insertElementAt(iend, 0);
-				total += split;
+				prepend(result.chunks[last], end - split, end, false);
 			}
-		}	
+		}
 		return result;
 	}
 
+	/**
+	 * Reads the specified number of bytes from the input and appends
+	 * them to this vector. The chunks that receive the bytes are not
+	 * taken from the chunk pool, since the vectors that are read are
+	 * stored in checkpoints and histories that share them without 
+	 * releasing them. The chunks are at most as large as the largest
+	 * chunks of the pool.
+	 *
+	 * @param input The input to read from.
+	 * @param length The number of bytes to read.
+	 * @throws IOException Thrown by the underlying io system.
+	 */
+	public void read(IObjectInput input, int length) throws IOException {
+		while (length > 0) {
+			byte[] chunk = new byte[Math.min(length, ChunkPool.MAXIMUM_SIZE)];
+			input.readBytes(chunk);
+			append(chunk, 0, chunk.length, false);
+			length -= chunk.length;
+		}
+	}
+
+	/**
+	 * Writes the bytes stored in this vector to the output without
+	 * copying the chunks. The number of bytes is not written.
+	 *
+	 * @param output The output to write to.
+	 * @throws IOException Thrown by the underlying io system.
+	 */
+	public void write(IObjectOutput output) throws IOException {
+		for (int i = first; i < first + count; i++) {
+			output.writeBytes(chunks[i], starts[i], ends[i] - starts[i]);
+		}
+	}
+
+	/**
+	 * Removes all chunks from the vector and returns the chunks that
+	 * have been taken from the chunk pool by this vector to the pool.
+	 * This method must only be called if the bytes of the vector are
+	 * not referenced anymore. This includes other vectors that share
+	 * the chunks of this vector.
+	 */
+	public void release() {
+		ChunkPool pool = ChunkPool.getInstance();
+		for (int i = first; i < first + count; i++) {
+			if (owned[i]) pool.release(chunks[i]);
+			chunks[i] = null;
+		}
+		first = 0;
+		count = 0;
+		total = 0;
+	}
+
 	/**
 	 * Returns a byte array that represents all bytes. This method
 	 * is very inefficient, it should only be used for debugging.
-	 * 
+	 *
 	 * @return The byte array representing this chunk vector.
 	 */
 	public byte[] getBytes() {
 		byte[] bytes = new byte[total];
 		int pos = 0;
-		for (int i = 0; i < getChunks(); i++) {
-			int start = getStart(i);
-			int end = getEnd(i);
-			byte[] chunk = getChunk(i);
-			System.arraycopy(chunk, start, bytes, pos, (end - start));
-			pos += (end - start);
+		for (int i = first; i < first + count; i++) {
+			System.arraycopy(chunks[i], starts[i], bytes, pos, (ends[i] - starts[i]));
+			pos += (ends[i] - starts[i]);
 		}
 		return bytes;
 	}
+
+	/**
+	 * Resizes the arrays such that there is free space at the
+	 * beginning and at the end of the arrays.
+	 */
+	private void resize() {
+		int capacity = Math.max(chunks.length, count * 2 + INITIAL_CAPACITY);
+		int head = (capacity - count) / 2;
+		byte[][] c = new byte[capacity][];
+		int[] s = new int[capacity];
+		int[] e = new int[capacity];
+		boolean[] o = new boolean[capacity];
+		System.arraycopy(chunks, first, c, head, count);
+		System.arraycopy(starts, first, s, head, count);
+		System.arraycopy(ends, first, e, head, count);
+		System.arraycopy(owned, first, o, head, count);
+		chunks = c;
+		starts = s;
+		ends = e;
+		owned = o;
+		first = head;
+	}
+
 }
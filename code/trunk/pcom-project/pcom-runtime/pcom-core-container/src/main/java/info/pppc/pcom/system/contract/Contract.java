@@ -9,6 +9,9 @@ import info.pppc.base.system.io.IObjectInput;
 import info.pppc.base.system.io.IObjectOutput;
 import info.pppc.base.system.io.ISerializable;
 import info.pppc.base.system.util.Comparator;
+import info.pppc.pcom.system.io.CompactInput;
+import info.pppc.pcom.system.io.CompactOutput;
+import info.pppc.pcom.system.io.ICompactSerializable;
 import info.pppc.pcom.system.model.contract.IContract;
 
 /**
@@ -22,10 +25,18 @@ import info.pppc.pcom.system.model.contract.IContract;
  * implements a small and simple type system. Thus, each contract has a certain type. A
  * mapping array defines possible contract combinations. Some contract types may be 
  * enriched with attributes. All contracts have a name that is not null. 
+ * Contracts can be frozen. A frozen contract cannot be modified, it stores
+ * its children in a canonical order and it computes its hash code only once.
+ * The children of a frozen contract are frozen as well. A modifiable version
+ * of a frozen contract can be retrieved with the copy method. Attribute 
+ * values that are arrays are compared and hashed by their contents.
+ * Frozen contracts can be interned to share a single instance for equal
+ * contracts. Contracts are serialized using the compact format if they are
+ * part of a message that is written in the compact format.
  * 
  * @author Mac
  */
-public class Contract implements ISerializable {
+public class Contract implements ISerializable, ICompactSerializable {
 	
 	/**
 	 * The abbreviation of this class as used by the object stream translator.
@@ -178,6 +189,19 @@ public class Contract implements ISerializable {
 	 */
 	private static final byte[][] ATTRIBUTE_MAPPING = new byte[20][];
 	
+	/**
+	 * The maximum number of frozen contracts that are held in the
+	 * table of interned contracts. If the table is full, it will be
+	 * cleared.
+	 */
+	private static final int INTERN_SIZE = 256;
+	
+	/**
+	 * The table of interned contracts. Hashes frozen contracts to
+	 * themselves. Accesses must be synchronized on the table.
+	 */
+	private static final Hashtable interned = new Hashtable();
+	
 	/**
 	 * The static initializer initalizes the contract and attribute 
 	 * mapping. Currently, attributes are only supported in feature
@@ -200,15 +224,16 @@ public class Contract implements ISerializable {
 		ATTRIBUTE_MAPPING[TYPE_RESOURCE_TEMPLATE] = new byte[] {
 				ATTRIBUTE_RESOURCE_ESTIMATE
 		};
-		// factory templates may have resource demands and instance demands
+		// factory templates may have resource demands and a static provision
 		CONTRACT_MAPPING[TYPE_FACTORY_TEMPLATE] = new byte[] {
-				TYPE_RESOURCE_DEMAND
+				TYPE_RESOURCE_DEMAND, TYPE_INSTANCE_PROVISION
 		};
 		CONTRACT_MAPPING[TYPE_INSTANCE_TEMPLATE] = new byte[] {
 				TYPE_INSTANCE_PROVISION, TYPE_INSTANCE_DEMAND, TYPE_RESOURCE_DEMAND
 		};
+		// allocator templates may have resource demands and a static provision
 		CONTRACT_MAPPING[TYPE_ALLOCATOR_TEMPLATE] = new byte[] {
-				TYPE_RESOURCE_DEMAND
+				TYPE_RESOURCE_DEMAND, TYPE_RESOURCE_PROVISION
 		};
 		CONTRACT_MAPPING[TYPE_RESOURCE_TEMPLATE] = new byte[] {
 				TYPE_RESOURCE_PROVISION, TYPE_RESOURCE_DEMAND	
@@ -302,6 +327,24 @@ public class Contract implements ISerializable {
 	 */
 	private Hashtable attributes;
 	
+	/**
+	 * A flag that indicates whether the contract is frozen. A frozen
+	 * contract cannot be modified.
+	 */
+	private boolean frozen = false;
+	
+	/**
+	 * The hash code of the contract. This is only valid if the contract
+	 * is frozen.
+	 */
+	private int hash = 0;
+	
+	/**
+	 * The compiled matcher of the contract. This is only created for
+	 * frozen demands.
+	 */
+	private ContractMatcher matcher;
+	
 	/**
 	 * Creates a new and invalid contract. This constructor is solely 
 	 * indended for deserialization purposes. It should never be called
@@ -375,6 +418,16 @@ public class Contract implements ISerializable {
 				"supported types are (" + names + ")");
 	}
 	
+	/**
+	 * Determines whether the contract may be modified.
+	 * 
+	 * @throws IllegalStateException Thrown if the contract is frozen.
+	 */
+	private void checkFrozen() {
+		if (frozen) 
+			throw new IllegalStateException("Cannot modify frozen contract.");
+	}
+	
 	/**
 	 * Determines whether a certain contract type is supported by
 	 * the type of this contract.
@@ -427,8 +480,10 @@ public class Contract implements ISerializable {
 	 * Sets the name of the contract.
 	 * 
 	 * @param name The name of the contract.
+	 * @throws IllegalStateException Thrown if the contract is frozen.
 	 */
 	public void setName(String name) {
+		checkFrozen();
 		if (name == null) 
 			throw new NullPointerException("Illegal contract name.");
 		this.name = name;
@@ -464,6 +519,18 @@ public class Contract implements ISerializable {
 		return attributes.get(new Byte(attribute));
 	}
 	
+	/**
+	 * Returns the value of the attribute with the specified key without
+	 * checking the type of the attribute. This is used by the matcher.
+	 * 
+	 * @param key The key of the attribute to retrieve.
+	 * @return The value of the attribute or null if none.
+	 */
+	Object getValue(Byte key) {
+		if (attributes == null) return null;
+		return attributes.get(key);
+	}
+	
 	/**
 	 * Sets the attribute of the specified type to the specified
 	 * value.
@@ -473,8 +540,10 @@ public class Contract implements ISerializable {
 	 * @return The value that has been replaced or null if none.
 	 * @throws IllegalArgumentException Thrown if the attribute type
 	 * 	is not supported by contracts of this type.
+	 * @throws IllegalStateException Thrown if the contract is frozen.
 	 */
 	public Object setAttribute(byte attribute, Object value) {
+		checkFrozen();
 		checkAttribute(attribute);
 		return attributes.put(new Byte(attribute), value);
 	}
@@ -487,8 +556,10 @@ public class Contract implements ISerializable {
 	 * @return The attribute value that has been removed or null if none.
 	 * @throws IllegalArgumentException Thrown if the attribute type
 	 * 	is not supported by contracts of this type.
+	 * @throws IllegalStateException Thrown if the contract is frozen.
 	 */
 	public Object removeAttribute(byte attribute) {
+		checkFrozen();
 		checkAttribute(attribute);
 		return attributes.remove(new Byte(attribute));
 	}
@@ -502,8 +573,10 @@ public class Contract implements ISerializable {
 	 * @return The contract that has been replaced or null if none.
 	 * @throws IllegalArgumentException Thrown if the contract type is
 	 * 	not supported by contracts of this type.
+	 * @throws IllegalStateException Thrown if the contract is frozen.
 	 */
 	public Contract addContract(Contract c) {
+		checkFrozen();
 		checkContract(c.getType());
 		Contract replaced = null;
 		for (int i = 0; i < contracts.size(); i++) {
@@ -527,8 +600,10 @@ public class Contract implements ISerializable {
 	 * @return The contract that has been removed, or null if none.
 	 * @throws IllegalArgumentException Thrown if the contract type is
 	 * 	not supported by contracts of this type.
+	 * @throws IllegalStateException Thrown if the contract is frozen.
 	 */
 	public Contract removeContract(byte type, String name) {
+		checkFrozen();
 		checkContract(type);
 		for (int i = 0; i < contracts.size(); i++) {
 			Contract m = (Contract)contracts.elementAt(i);
@@ -550,8 +625,10 @@ public class Contract implements ISerializable {
 	 * 	false otherwise.
 	 * @throws IllegalArgumentException Thrown if the contract type is
 	 * 	not supported by contracts of this type.
+	 * @throws IllegalStateException Thrown if the contract is frozen.
 	 */
 	public boolean removeContract(Contract contract) {
+		checkFrozen();
 		checkContract(contract.getType());
 		return contracts.removeElement(contract);
 	}
@@ -605,7 +682,9 @@ public class Contract implements ISerializable {
 	
 	/**
 	 * Returns all child contracts that are currently contained in
-	 * this contract.
+	 * this contract. If this contract is frozen, the children are
+	 * frozen, too. Thus, they must be copied before they can be
+	 * modified.
 	 * 
 	 * @return All child contracts of this contract.
 	 */
@@ -618,6 +697,16 @@ public class Contract implements ISerializable {
 		return result;
 	}
 	
+	/**
+	 * Returns the vector that contains the children of the contract 
+	 * without copying it. This is used by the matcher. 
+	 * 
+	 * @return The children of the contract, might be null.
+	 */
+	Vector getChildren() {
+		return contracts;
+	}
+	
 	/**
 	 * Returns the first child contract with the specified type. This is
 	 * a helper method for child contracts that are only contained once.
@@ -699,43 +788,104 @@ public class Contract implements ISerializable {
 		}
 	}
 	
+	/**
+	 * Deserializes a contract from the specified compact input. 
+	 * 
+	 * @param input The compact input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException {
+		type = input.readByte();
+		if (type < 0 || type >= CONTRACT_MAPPING.length) 
+			throw new IOException("Illegal contract type.");
+		name = input.readString();
+		init();
+		if (contracts != null) {
+			int size = input.readInt();
+			for (int i = 0; i < size; i++) {
+				Contract c = new Contract();
+				c.readCompact(input);
+				contracts.addElement(c);
+			}
+		}
+		if (attributes != null) {
+			int size = input.readInt();
+			for (int i = 0; i < size; i++) {
+				byte key = input.readByte();
+				Object value = input.readObject();
+				attributes.put(new Byte(key), value);
+			}
+		}
+	}
+	
+	/**
+	 * Serializes the contract to the specified compact output. The
+	 * children of the contract are written directly, without tags.
+	 * 
+	 * @param output The compact output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException {
+		output.writeByte(type);
+		output.writeString(name);
+		if (contracts != null) {
+			output.writeInt(contracts.size());
+			for (int i = 0; i < contracts.size(); i++) {
+				((Contract)contracts.elementAt(i)).writeCompact(output);
+			}
+		}
+		if (attributes != null) {
+			output.writeInt(attributes.size());
+			Enumeration e = attributes.keys();
+			while (e.hasMoreElements()) {
+				Byte key = (Byte)e.nextElement();
+				output.writeByte(key.byteValue());
+				output.writeObject(attributes.get(key));
+			}
+		}
+	}
+	
 	/**
 	 * Determines whether the contract equals another object. If
 	 * two contracts are compared, the comparison is based on their
-	 * contents, not on their identity.
+	 * contents, not on their identity. If both contracts are frozen,
+	 * the comparison uses the precomputed hash codes and compares the
+	 * children in their canonical order.
 	 * 
 	 * @param object The object to compare with.
 	 * @return True if the two objects are the same, false otherwise.
 	 */
 	public boolean equals(Object object) {
+		if (object == this) return true;
 		// if its not a contract, its not the same
-		if (object.getClass() != getClass()) return false;
+		if (object == null || object.getClass() != getClass()) return false;
 		Contract contract = (Contract)object;
+		// if frozen and different hash codes, its not the same
+		boolean ordered = frozen && contract.frozen;
+		if (ordered && hash != contract.hash) return false;
 		// if not the same type, its not the same
 		if (contract.type != type) return false;
 		// if not the same name, its not the same
 		if (! contract.name.equals(name)) return false;
 		// if not the same attributes, its not the same
-		Hashtable as1 = attributes;
-		Hashtable as2 = contract.attributes;
-		if (as1 == null) as1 = new Hashtable();
-		if (as2 == null) as2 = new Hashtable();
-		if (as1.size() != as2.size()) return false;
-		Enumeration e = as1.keys();
-		while (e.hasMoreElements()) {
-			Object key = e.nextElement();
-			Object a1 = as1.get(key);
-			Object a2 = as2.get(key);
-			if (a1 == null && a2 != null) return false;
-			if (a1 != null && a2 == null) return false;
-			if (! a1.equals(a2)) return false;
-		}
+		if (! equalsAttributes(contract)) return false;
 		// if not equal children, its not the same
 		Vector cs1 = contracts;
 		Vector cs2 = contract.contracts;
 		if (cs1 == null) cs1 = new Vector();
 		if (cs2 == null) cs2 = new Vector();
 		if (cs1.size() != cs2.size()) return false;
+		if (ordered) {
+			// canonical order, compare pairwise first 
+			for (int i = 0; i < cs1.size(); i++) {
+				if (! cs1.elementAt(i).equals(cs2.elementAt(i))) {
+					ordered = false;
+					break;
+				}
+			}
+			if (ordered) return true;
+			// children with equal type and name, fall back to search
+		}
 		i: for (int i = 0; i < cs1.size(); i++) {
 			Contract c1 = (Contract)cs1.elementAt(i);
 			for (int j = 0; j < cs2.size(); j++) {
@@ -747,14 +897,162 @@ public class Contract implements ISerializable {
 		return true;
 	}
 	
+	/**
+	 * Determines whether the attributes of this contract equal the
+	 * attributes of the specified contract.
+	 * 
+	 * @param contract The contract to compare with.
+	 * @return True if both contracts have the same attributes.
+	 */
+	private boolean equalsAttributes(Contract contract) {
+		Hashtable as1 = attributes;
+		Hashtable as2 = contract.attributes;
+		if (as1 == null) as1 = new Hashtable();
+		if (as2 == null) as2 = new Hashtable();
+		if (as1.size() != as2.size()) return false;
+		Enumeration e = as1.keys();
+		while (e.hasMoreElements()) {
+			Object key = e.nextElement();
+			Object a1 = as1.get(key);
+			Object a2 = as2.get(key);
+			if (! equalsValue(a1, a2)) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Determines whether the specified attribute values are equal.
+	 * Arrays are compared by their contents.
+	 * 
+	 * @param a1 The first value, may be null.
+	 * @param a2 The second value, may be null.
+	 * @return True if the values are equal, false otherwise.
+	 */
+	private static boolean equalsValue(Object a1, Object a2) {
+		if (a1 == a2) {
+			return true;
+		} else if (a1 == null || a2 == null) {
+			return false;
+		} else if (a1 instanceof int[] && a2 instanceof int[]) {
+			int[] v1 = (int[])a1;
+			int[] v2 = (int[])a2;
+			if (v1.length != v2.length) return false;
+			for (int i = 0; i < v1.length; i++) {
+				if (v1[i] != v2[i]) return false;
+			}
+			return true;
+		} else if (a1 instanceof long[] && a2 instanceof long[]) {
+			long[] v1 = (long[])a1;
+			long[] v2 = (long[])a2;
+			if (v1.length != v2.length) return false;
+			for (int i = 0; i < v1.length; i++) {
+				if (v1[i] != v2[i]) return false;
+			}
+			return true;
+		} else if (a1 instanceof byte[] && a2 instanceof byte[]) {
+			byte[] v1 = (byte[])a1;
+			byte[] v2 = (byte[])a2;
+			if (v1.length != v2.length) return false;
+			for (int i = 0; i < v1.length; i++) {
+				if (v1[i] != v2[i]) return false;
+			}
+			return true;
+		} else if (a1 instanceof Object[] && a2 instanceof Object[]) {
+			Object[] v1 = (Object[])a1;
+			Object[] v2 = (Object[])a2;
+			if (v1.length != v2.length) return false;
+			for (int i = 0; i < v1.length; i++) {
+				if (! equalsValue(v1[i], v2[i])) return false;
+			}
+			return true;
+		} else {
+			return a1.equals(a2);
+		}
+	}
+	
+	/**
+	 * Computes the hash code of the specified attribute value. Arrays
+	 * are hashed by their contents in order to be consistent with the
+	 * equals method.
+	 * 
+	 * @param value The value to hash, may be null.
+	 * @return The hash code of the value.
+	 */
+	private static int hashValue(Object value) {
+		if (value == null) {
+			return 0;
+		} else if (value instanceof int[]) {
+			int[] v = (int[])value;
+			int hashCode = v.length;
+			for (int i = 0; i < v.length; i++) {
+				hashCode = hashCode * 31 + v[i];
+			}
+			return hashCode;
+		} else if (value instanceof long[]) {
+			long[] v = (long[])value;
+			int hashCode = v.length;
+			for (int i = 0; i < v.length; i++) {
+				hashCode = hashCode * 31 + (int)(v[i] ^ (v[i] >>> 32));
+			}
+			return hashCode;
+		} else if (value instanceof byte[]) {
+			byte[] v = (byte[])value;
+			int hashCode = v.length;
+			for (int i = 0; i < v.length; i++) {
+				hashCode = hashCode * 31 + v[i];
+			}
+			return hashCode;
+		} else if (value instanceof Object[]) {
+			Object[] v = (Object[])value;
+			int hashCode = v.length;
+			for (int i = 0; i < v.length; i++) {
+				hashCode = hashCode * 31 + hashValue(v[i]);
+			}
+			return hashCode;
+		} else {
+			return value.hashCode();
+		}
+	}
+	
+	/**
+	 * Copies the specified attribute value if it is an array of 
+	 * primitive values. Other values are returned without copying.
+	 * 
+	 * @param value The value to copy, may be null.
+	 * @return A copy of the value, if it is an array of primitive 
+	 * 	values, the value itself otherwise.
+	 */
+	private static Object copyValue(Object value) {
+		if (value instanceof int[]) {
+			int[] v = (int[])value;
+			int[] copy = new int[v.length];
+			System.arraycopy(v, 0, copy, 0, v.length);
+			return copy;
+		} else if (value instanceof long[]) {
+			long[] v = (long[])value;
+			long[] copy = new long[v.length];
+			System.arraycopy(v, 0, copy, 0, v.length);
+			return copy;
+		} else if (value instanceof byte[]) {
+			byte[] v = (byte[])value;
+			byte[] copy = new byte[v.length];
+			System.arraycopy(v, 0, copy, 0, v.length);
+			return copy;
+		} else {
+			return value;
+		}
+	}
+	
 	/**
 	 * Returns a content-based hashcode. Note that the compuatation
 	 * of this hashcode is rather heavy-weight as it is not
-	 * incremental. 
+	 * incremental. If the contract is frozen, the hashcode is
+	 * computed only once.
 	 * 
 	 * @return A content-based hashcode.
 	 */
 	public int hashCode() {
+		if (frozen) return hash;
 		int hashCode = name.hashCode() + type;
 		if (contracts != null) {
 			for (int i = 0; i < contracts.size(); i++) {
@@ -766,10 +1064,7 @@ public class Contract implements ISerializable {
 			while (e.hasMoreElements()) {
 				Object key = e.nextElement();
 				hashCode += (key.hashCode() << 6);
-				Object value = attributes.get(key);
-				if (value != null) {
-					hashCode += value.hashCode();
-				}
+				hashCode += hashValue(attributes.get(key));
 			}
 		}
 		return hashCode;
@@ -781,7 +1076,9 @@ public class Contract implements ISerializable {
 	 * contract. The parameter passed to the method must be a
 	 * demand contract of the corresponding type. If the caller
 	 * does not adhere to this, the method will simply return
-	 * false.
+	 * false. If the passed demand is frozen, the demand is compiled
+	 * into a matcher once and the matcher is used for all further
+	 * comparisons.
 	 * 
 	 * @param contract The contract to compare to (this must
 	 * 	be a demand of a type that corresponds to this contract's
@@ -795,6 +1092,10 @@ public class Contract implements ISerializable {
 	 */
 	public boolean matches(Contract contract, boolean allowDynamic) {
 		if (contract == null) return false;
+		if (contract.frozen) {
+			ContractMatcher m = contract.getMatcher();
+			if (m != null) return m.matches(this, allowDynamic);
+		}
 		switch (type) {
 			case TYPE_INSTANCE_PROVISION:
 				if (contract.type == TYPE_INSTANCE_DEMAND) {
@@ -838,9 +1139,11 @@ public class Contract implements ISerializable {
 	
 	/**
 	 * Returns a deep copy of the contract. Use careful as this might
-	 * fill up the memory quickly.
+	 * fill up the memory quickly. The copy is never frozen, even if 
+	 * this contract is frozen. Thus, the copy and all its children
+	 * can be modified.
 	 * 
-	 * @return A deep copy of the contract.
+	 * @return A modifiable deep copy of the contract.
 	 */
 	public Contract copy() {
 		Contract copy = new Contract(type, name);
@@ -858,12 +1161,198 @@ public class Contract implements ISerializable {
 			while (e.hasMoreElements()) {
 				Object key = e.nextElement();
 				Object value = attributes.get(key);
-				copy.attributes.put(key, value);
+				copy.attributes.put(key, copyValue(value));
 			}
 		}
 		return copy;
 	}
 
+	/**
+	 * Computes the difference between this contract and a previous
+	 * version of it. The difference is returned as delta contract that
+	 * contains the children that have been added or changed since the
+	 * previous version. Children that have been removed are added to the
+	 * specified vector as contracts that contain only type and name.
+	 * Applying the delta and the removed children to the previous version
+	 * with the patch method yields a contract that equals this contract.
+	 * If the contracts differ in type, name or attributes, the difference
+	 * cannot be expressed as delta and the method returns null.
+	 * 
+	 * @param previous The previous version of the contract.
+	 * @param removed The vector that receives the removed children.
+	 * @return The delta contract or null if the contracts cannot be 
+	 * 	compared.
+	 */
+	public Contract diff(Contract previous, Vector removed) {
+		if (previous == null || previous.type != type || ! previous.name.equals(name)
+				|| ! equalsAttributes(previous)) return null;
+		Contract delta = new Contract(type, name);
+		Contract[] current = getContracts();
+		for (int i = 0; i < current.length; i++) {
+			Contract c = current[i];
+			Contract p = previous.getContract(c.type, c.name);
+			if (p == null || ! p.equals(c)) {
+				delta.addContract(c);
+			}
+		}
+		Contract[] old = previous.getContracts();
+		for (int i = 0; i < old.length; i++) {
+			Contract p = old[i];
+			if (getContract(p.type, p.name) == null) {
+				removed.addElement(new Contract(p.type, p.name));
+			}
+		}
+		return delta;
+	}
+	
+	/**
+	 * Applies a delta contract computed by the diff method to this
+	 * contract and returns the resulting contract. This contract is 
+	 * not modified. The result is not frozen and it contains copies of
+	 * the unchanged children. 
+	 * 
+	 * @param delta The delta contract with added and changed children.
+	 * @param removed The type and name contracts of removed children.
+	 * @return A new contract that contains the changes.
+	 * @throws IllegalArgumentException Thrown if the delta has a different
+	 * 	type or name.
+	 */
+	public Contract patch(Contract delta, Vector removed) {
+		if (delta.type != type || ! delta.name.equals(name)) 
+			throw new IllegalArgumentException("Illegal contract delta.");
+		Contract result = new Contract(type, name);
+		if (attributes != null) {
+			Enumeration e = attributes.keys();
+			while (e.hasMoreElements()) {
+				Object key = e.nextElement();
+				result.attributes.put(key, attributes.get(key));
+			}
+		}
+		Contract[] current = getContracts();
+		for (int i = 0; i < current.length; i++) {
+			result.addContract(current[i].copy());
+		}
+		for (int i = 0; i < removed.size(); i++) {
+			Contract r = (Contract)removed.elementAt(i);
+			result.removeContract(r.type, r.name);
+		}
+		Contract[] changed = delta.getContracts();
+		for (int i = 0; i < changed.length; i++) {
+			result.addContract(changed[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a frozen deep copy of the contract. A frozen contract
+	 * cannot be modified, it stores its children in a canonical order
+	 * and it computes its hash code only once. Arrays of primitive 
+	 * values are copied, so that later changes to the arrays of this
+	 * contract do not affect the frozen contract. If the contract is
+	 * frozen already, the contract itself will be returned.
+	 * 
+	 * @return A frozen deep copy of the contract.
+	 */
+	public Contract freeze() {
+		if (frozen) return this;
+		Contract freeze = new Contract(type, name);
+		if (contracts != null) {
+			freeze.contracts = new Vector();
+			i: for (int i = 0; i < contracts.size(); i++) {
+				Contract c = ((Contract)contracts.elementAt(i)).freeze();
+				// insert into canonical order (type, name)
+				for (int j = 0; j < freeze.contracts.size(); j++) {
+					Contract f = (Contract)freeze.contracts.elementAt(j);
+					if (ContractMatcher.compare(c.type, c.name, f.type, f.name) < 0) {
+						freeze.contracts.insertElementAt(c, j);
+						continue i;
+					}
+				}
+				freeze.contracts.addElement(c);
+			}
+		}
+		if (attributes != null) {
+			freeze.attributes = new Hashtable();
+			Enumeration e = attributes.keys();
+			while (e.hasMoreElements()) {
+				Object key = e.nextElement();
+				Object value = attributes.get(key);
+				freeze.attributes.put(key, copyValue(value));
+			}
+		}
+		freeze.hash = freeze.hashCode();
+		freeze.frozen = true;
+		return freeze;
+	}
+	
+	/**
+	 * Returns the compiled matcher of a frozen demand. The matcher
+	 * is created lazily. If the contract is not a frozen demand,
+	 * this method returns null.
+	 * 
+	 * @return The matcher of the frozen demand or null if the contract
+	 * 	is not a frozen demand.
+	 */
+	private ContractMatcher getMatcher() {
+		if (! frozen) return null;
+		ContractMatcher m = matcher;
+		if (m == null) {
+			switch (type) {
+				case TYPE_INSTANCE_DEMAND:
+				case TYPE_RESOURCE_DEMAND:
+				case TYPE_INTERFACE_DEMAND:
+				case TYPE_EVENT_DEMAND:
+				case TYPE_DIMENSION_DEMAND:
+				case TYPE_FEATURE_DEMAND:
+					m = ContractMatcher.compile(this);
+					matcher = m;
+					break;
+				default:
+					// no demand, no matcher
+			}
+		}
+		return m;
+	}
+	
+	/**
+	 * Determines whether the contract is frozen. A frozen contract
+	 * cannot be modified.
+	 * 
+	 * @return True if the contract is frozen, false otherwise.
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
+	/**
+	 * Returns a frozen contract that equals the specified contract.
+	 * If an equal contract has been interned already, the shared
+	 * instance will be returned. Otherwise, the contract is frozen
+	 * and added to the table of interned contracts.
+	 * 
+	 * @param contract The contract to intern.
+	 * @return A shared frozen contract that equals the contract.
+	 * @throws NullPointerException Thrown if the contract is null.
+	 */
+	public static Contract intern(Contract contract) {
+		if (contract == null) 
+			throw new NullPointerException("Illegal contract.");
+		synchronized (interned) {
+			Contract shared = (Contract)interned.get(contract);
+			if (shared != null) return shared;
+		}
+		Contract freeze = contract.freeze();
+		synchronized (interned) {
+			Contract shared = (Contract)interned.get(freeze);
+			if (shared != null) return shared;
+			if (interned.size() >= INTERN_SIZE) {
+				interned.clear();
+			}
+			interned.put(freeze, freeze);
+			return freeze;
+		}
+	}
+
 	/**
 	 * Determines whether the children of the passed contract can
 	 * be matched with the children of this contract.
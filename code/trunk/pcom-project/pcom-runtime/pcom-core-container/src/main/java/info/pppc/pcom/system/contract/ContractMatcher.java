@@ -0,0 +1,455 @@
+package info.pppc.pcom.system.contract;
+
+import java.util.Vector;
+
+import info.pppc.base.system.util.Comparator;
+import info.pppc.pcom.system.model.contract.IContract;
+
+/**
+ * The contract matcher is a compiled form of a demand contract. Instead of
+ * interpreting the demand on each comparison, the matcher resolves the child
+ * demands, names, comparators and bounds once. The children of the matcher
+ * are sorted by type and name. If the provision that is matched is frozen,
+ * its children are sorted in the same order and they can be matched in a
+ * single pass. Integer, long, float and double values are compared directly
+ * if the feature provision has the same type as the demand, all other values
+ * are compared using the comparator.
+ * A matcher must only be compiled for demands that are not modified later on.
+ * Thus, the contract compiles matchers only for frozen demands.
+ *
+ * @author Mac
+ */
+public final class ContractMatcher {
+
+	/**
+	 * The kind of values that must be compared using the comparator.
+	 */
+	private static final int KIND_OBJECT = 0;
+
+	/**
+	 * The kind of values that can be compared as long.
+	 */
+	private static final int KIND_LONG = 1;
+
+	/**
+	 * The kind of values that can be compared as double.
+	 */
+	private static final int KIND_DOUBLE = 2;
+
+	/**
+	 * The key of the value attribute of a feature.
+	 */
+	private static final Byte KEY_VALUE = new Byte(Contract.ATTRIBUTE_FEATURE_VALUE);
+
+	/**
+	 * The key of the dynamic attribute of a feature.
+	 */
+	private static final Byte KEY_DYNAMIC = new Byte(Contract.ATTRIBUTE_FEATURE_DYNAMIC);
+
+	/**
+	 * The type of the provision that can be matched by this matcher.
+	 */
+	private byte type;
+
+	/**
+	 * The name of the demand. This is only compared for types, dimensions
+	 * and features.
+	 */
+	private String name;
+
+	/**
+	 * A flag that indicates whether the name must be compared.
+	 */
+	private boolean named;
+
+	/**
+	 * The matchers for the children of the demand sorted by type and name.
+	 */
+	private ContractMatcher[] children;
+
+	/**
+	 * A flag that indicates whether the demand can never be fulfilled.
+	 * This is true for feature demands without comparator or bounds.
+	 */
+	private boolean invalid;
+
+	/**
+	 * The comparator of a feature demand.
+	 */
+	private int comparator;
+
+	/**
+	 * The kind of the values of a feature demand.
+	 */
+	private int kind;
+
+	/**
+	 * The class of the values of a feature demand. This is used to
+	 * determine whether the provision can be compared directly.
+	 */
+	private Class clazz;
+
+	/**
+	 * The value, minimum and maximum of the feature demand.
+	 */
+	private Object value, minimum, maximum;
+
+	/**
+	 * The value, minimum and maximum of the feature demand if it is
+	 * of kind long.
+	 */
+	private long lvalue, lminimum, lmaximum;
+
+	/**
+	 * The value, minimum and maximum of the feature demand if it is
+	 * of kind double.
+	 */
+	private double dvalue, dminimum, dmaximum;
+
+	/**
+	 * Creates a new uninitialized matcher.
+	 */
+	private ContractMatcher() {
+		super();
+	}
+
+	/**
+	 * Compiles the specified demand into a matcher. The demand must not
+	 * be modified as long as the matcher is used.
+	 *
+	 * @param demand The demand to compile. This must be a demand contract.
+	 * @return The matcher for the demand.
+	 * @throws NullPointerException Thrown if the demand is null.
+	 * @throws IllegalArgumentException Thrown if the contract is not a
+	 * 	demand contract.
+	 */
+	public static ContractMatcher compile(Contract demand) {
+		if (demand == null)
+			throw new NullPointerException("Illegal demand.");
+		ContractMatcher matcher = new ContractMatcher();
+		matcher.name = demand.getName();
+		switch (demand.getType()) {
+			case Contract.TYPE_INSTANCE_DEMAND:
+				matcher.type = Contract.TYPE_INSTANCE_PROVISION;
+				break;
+			case Contract.TYPE_RESOURCE_DEMAND:
+				matcher.type = Contract.TYPE_RESOURCE_PROVISION;
+				break;
+			case Contract.TYPE_INTERFACE_DEMAND:
+				matcher.type = Contract.TYPE_INTERFACE_PROVISION;
+				matcher.named = true;
+				break;
+			case Contract.TYPE_EVENT_DEMAND:
+				matcher.type = Contract.TYPE_EVENT_PROVISION;
+				matcher.named = true;
+				break;
+			case Contract.TYPE_DIMENSION_DEMAND:
+				matcher.type = Contract.TYPE_DIMENSION_PROVISION;
+				matcher.named = true;
+				break;
+			case Contract.TYPE_FEATURE_DEMAND:
+				matcher.type = Contract.TYPE_FEATURE_PROVISION;
+				matcher.named = true;
+				matcher.compileFeature(demand);
+				break;
+			default:
+				throw new IllegalArgumentException("Illegal demand type.");
+		}
+		matcher.compileChildren(demand);
+		return matcher;
+	}
+
+	/**
+	 * Compiles the children of the demand and sorts them by type and name.
+	 *
+	 * @param demand The demand whose children should be compiled.
+	 */
+	private void compileChildren(Contract demand) {
+		Contract[] contracts = demand.getContracts();
+		Vector sorted = new Vector();
+		i: for (int i = 0; i < contracts.length; i++) {
+			ContractMatcher c = compile(contracts[i]);
+			for (int j = 0; j < sorted.size(); j++) {
+				ContractMatcher s = (ContractMatcher)sorted.elementAt(j);
+				if (compare(c.type, c.name, s.type, s.name) < 0) {
+					sorted.insertElementAt(c, j);
+					continue i;
+				}
+			}
+			sorted.addElement(c);
+		}
+		children = new ContractMatcher[sorted.size()];
+		sorted.copyInto(children);
+	}
+
+	/**
+	 * Resolves the comparator and the bounds of a feature demand.
+	 *
+	 * @param demand The feature demand to compile.
+	 */
+	private void compileFeature(Contract demand) {
+		Integer c = (Integer)demand.getAttribute(Contract.ATTRIBUTE_FEATURE_COMPARATOR);
+		if (c == null) {
+			invalid = true;
+			return;
+		}
+		comparator = c.intValue();
+		value = demand.getAttribute(Contract.ATTRIBUTE_FEATURE_VALUE);
+		minimum = demand.getAttribute(Contract.ATTRIBUTE_FEATURE_MINIMUM);
+		maximum = demand.getAttribute(Contract.ATTRIBUTE_FEATURE_MAXIMUM);
+		switch (comparator) {
+			case IContract.IFEQ:
+			case IContract.IFGE:
+			case IContract.IFGT:
+			case IContract.IFLE:
+			case IContract.IFLT:
+				if (value == null) {
+					invalid = true;
+				} else {
+					clazz = value.getClass();
+					kind = getKind(value);
+					lvalue = getLong(value);
+					dvalue = getDouble(value);
+				}
+				break;
+			case IContract.IFIR:
+			case IContract.IFOR:
+				if (minimum == null || maximum == null) {
+					invalid = true;
+				} else if (minimum.getClass() == maximum.getClass()) {
+					clazz = minimum.getClass();
+					kind = getKind(minimum);
+					lminimum = getLong(minimum);
+					lmaximum = getLong(maximum);
+					dminimum = getDouble(minimum);
+					dmaximum = getDouble(maximum);
+				} else {
+					kind = KIND_OBJECT;
+				}
+				break;
+			default:
+				invalid = true;
+		}
+	}
+
+	/**
+	 * Returns the type of the provision that can be matched by this
+	 * matcher.
+	 *
+	 * @return The type of the provision that can be matched.
+	 */
+	public byte getType() {
+		return type;
+	}
+
+	/**
+	 * Determines whether the specified provision fulfills the compiled
+	 * demand. The result is the same as the result of the matches method
+	 * of the provision that is called with the compiled demand.
+	 *
+	 * @param provision The provision that should be matched.
+	 * @param allowDynamic A flag that indicates whether dynamic features
+	 * 	should be considered as match.
+	 * @return True if the provision fulfills the demand, false otherwise.
+	 */
+	public boolean matches(Contract provision, boolean allowDynamic) {
+		if (provision == null || provision.getType() != type) return false;
+		if (named && ! name.equals(provision.getName())) return false;
+		if (type == Contract.TYPE_FEATURE_PROVISION) {
+			return matchesFeature(provision, allowDynamic);
+		}
+		if (children.length == 0) return true;
+		if (provision.isFrozen()) {
+			return matchesOrdered(provision.getChildren(), allowDynamic);
+		} else {
+			return matchesUnordered(provision.getChildren(), allowDynamic);
+		}
+	}
+
+	/**
+	 * Matches the children of a provision whose children are not sorted.
+	 *
+	 * @param contracts The children of the provision, might be null.
+	 * @param allowDynamic The flag that indicates whether dynamic features
+	 * 	match.
+	 * @return True if all children of the demand are matched.
+	 */
+	private boolean matchesUnordered(Vector contracts, boolean allowDynamic) {
+		if (contracts == null) return false;
+		int size = contracts.size();
+		i: for (int i = 0; i < children.length; i++) {
+			ContractMatcher child = children[i];
+			for (int j = 0; j < size; j++) {
+				Contract c = (Contract)contracts.elementAt(j);
+				if (c.getType() == child.type && child.matches(c, allowDynamic)) {
+					continue i;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Matches the children of a frozen provision in a single pass. The
+	 * children of the provision and the matcher are sorted by type and
+	 * name.
+	 *
+	 * @param contracts The children of the provision, might be null.
+	 * @param allowDynamic The flag that indicates whether dynamic features
+	 * 	match.
+	 * @return True if all children of the demand are matched.
+	 */
+	private boolean matchesOrdered(Vector contracts, boolean allowDynamic) {
+		if (contracts == null) return false;
+		int size = contracts.size();
+		int j = 0;
+		i: for (int i = 0; i < children.length; i++) {
+			ContractMatcher child = children[i];
+			// skip the provisions that are smaller than the demand
+			while (j < size) {
+				Contract c = (Contract)contracts.elementAt(j);
+				if (compare(c.getType(), c.getName(), child.type, child.name) >= 0) break;
+				j += 1;
+			}
+			// test the provisions with the same type and name
+			for (int k = j; k < size; k++) {
+				Contract c = (Contract)contracts.elementAt(k);
+				if (c.getType() != child.type || ! c.getName().equals(child.name)) break;
+				if (child.matches(c, allowDynamic)) continue i;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Matches the attributes of a feature provision.
+	 *
+	 * @param provision The feature provision.
+	 * @param allowDynamic The flag that indicates whether dynamic features
+	 * 	match.
+	 * @return True if the feature provision fulfills the demand.
+	 */
+	private boolean matchesFeature(Contract provision, boolean allowDynamic) {
+		Boolean pdyn = (Boolean)provision.getValue(KEY_DYNAMIC);
+		if (pdyn == null) return false; // dynamic flag must be set
+		if (pdyn.booleanValue()) {
+			return allowDynamic;
+		}
+		if (invalid) return false;
+		Object pval = provision.getValue(KEY_VALUE);
+		if (comparator == IContract.IFEQ) {
+			return value.equals(pval);
+		}
+		if (pval != null && pval.getClass() == clazz) {
+			if (kind == KIND_LONG) {
+				long p = getLong(pval);
+				switch (comparator) {
+					case IContract.IFGE: return p >= lvalue;
+					case IContract.IFGT: return p > lvalue;
+					case IContract.IFLE: return p <= lvalue;
+					case IContract.IFLT: return p < lvalue;
+					case IContract.IFIR: return p >= lminimum && p <= lmaximum;
+					case IContract.IFOR: return p < lminimum || p > lmaximum;
+					default: return false;
+				}
+			} else if (kind == KIND_DOUBLE) {
+				double p = getDouble(pval);
+				switch (comparator) {
+					case IContract.IFGE: return p >= dvalue;
+					case IContract.IFGT: return p > dvalue;
+					case IContract.IFLE: return p <= dvalue;
+					case IContract.IFLT: return p < dvalue;
+					case IContract.IFIR: return p >= dminimum && p <= dmaximum;
+					case IContract.IFOR: return p < dminimum || p > dmaximum;
+					default: return false;
+				}
+			}
+		}
+		switch (comparator) {
+			case IContract.IFGE:
+				return Comparator.isMoreOrEqual(pval, value);
+			case IContract.IFGT:
+				return Comparator.isMore(pval, value);
+			case IContract.IFLE:
+				return Comparator.isLessOrEqual(pval, value);
+			case IContract.IFLT:
+				return Comparator.isLess(pval, value);
+			case IContract.IFIR:
+				return Comparator.isMoreOrEqual(pval, minimum)
+					&& Comparator.isLessOrEqual(pval, maximum);
+			case IContract.IFOR:
+				return Comparator.isLess(pval, minimum)
+					|| Comparator.isMore(pval, maximum);
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Compares two contracts by type and name. This is the canonical
+	 * order of the children of frozen contracts.
+	 *
+	 * @param type1 The type of the first contract.
+	 * @param name1 The name of the first contract.
+	 * @param type2 The type of the second contract.
+	 * @param name2 The name of the second contract.
+	 * @return A negative number if the first contract is smaller, a
+	 * 	positive number if the second contract is smaller and 0 if
+	 * 	type and name are equal.
+	 */
+	static int compare(byte type1, String name1, byte type2, String name2) {
+		if (type1 != type2) return type1 - type2;
+		return name1.compareTo(name2);
+	}
+
+	/**
+	 * Returns the kind of the specified value.
+	 *
+	 * @param value The value whose kind should be determined.
+	 * @return The kind of the value.
+	 */
+	private static int getKind(Object value) {
+		if (value instanceof Integer || value instanceof Long) {
+			return KIND_LONG;
+		} else if (value instanceof Float || value instanceof Double) {
+			return KIND_DOUBLE;
+		} else {
+			return KIND_OBJECT;
+		}
+	}
+
+	/**
+	 * Returns the long value of an integer or long object.
+	 *
+	 * @param value The value to convert.
+	 * @return The long value or 0 if the value is no integer or long.
+	 */
+	private static long getLong(Object value) {
+		if (value instanceof Integer) {
+			return ((Integer)value).intValue();
+		} else if (value instanceof Long) {
+			return ((Long)value).longValue();
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the double value of a float or double object.
+	 *
+	 * @param value The value to convert.
+	 * @return The double value or 0 if the value is no float or double.
+	 */
+	private static double getDouble(Object value) {
+		if (value instanceof Float) {
+			return ((Float)value).floatValue();
+		} else if (value instanceof Double) {
+			return ((Double)value).doubleValue();
+		} else {
+			return 0;
+		}
+	}
+
+}
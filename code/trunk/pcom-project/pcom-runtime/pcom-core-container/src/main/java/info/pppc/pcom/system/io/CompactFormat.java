@@ -0,0 +1,201 @@
+package info.pppc.pcom.system.io;
+
+import java.io.IOException;
+import java.util.Hashtable;
+
+import info.pppc.base.system.InvocationBroker;
+import info.pppc.base.system.SystemID;
+import info.pppc.pcom.system.assembler.Assembly;
+import info.pppc.pcom.system.assembler.AssemblyPointer;
+import info.pppc.pcom.system.assembler.AssemblyState;
+import info.pppc.pcom.system.container.ContainerState;
+import info.pppc.pcom.system.container.IContainer;
+import info.pppc.pcom.system.container.InstanceSetup;
+import info.pppc.pcom.system.container.InstanceState;
+
+/**
+ * The compact format negotiates the usage of the compact format with remote
+ * systems. Containers that are able to read the compact format register
+ * themselves with the well known compact identifier in addition to the
+ * container identifier. Thus, a system supports the compact format if the
+ * device registry lists it as provider of the compact identifier. Systems
+ * that do not announce the identifier will receive the default format.
+ * The format is chosen by the sender of each message. Compact serializable
+ * objects are identified by type codes that must be registered on both
+ * systems, the input never creates objects of classes that have not been
+ * registered.
+ *
+ * @author Mac
+ */
+public final class CompactFormat {
+
+	/**
+	 * The type code that denotes an object whose class has not been
+	 * registered.
+	 */
+	public static final int TYPE_UNKNOWN = -1;
+
+	/**
+	 * The type code of assemblies.
+	 */
+	public static final int TYPE_ASSEMBLY = 0;
+
+	/**
+	 * The type code of assembly pointers.
+	 */
+	public static final int TYPE_ASSEMBLY_POINTER = 1;
+
+	/**
+	 * The type code of assembly states.
+	 */
+	public static final int TYPE_ASSEMBLY_STATE = 2;
+
+	/**
+	 * The type code of instance setups.
+	 */
+	public static final int TYPE_INSTANCE_SETUP = 3;
+
+	/**
+	 * The type code of instance states.
+	 */
+	public static final int TYPE_INSTANCE_STATE = 4;
+
+	/**
+	 * The type code of container states.
+	 */
+	public static final int TYPE_CONTAINER_STATE = 5;
+
+	/**
+	 * A flag that indicates whether the compact format should be used
+	 * for systems that support it.
+	 */
+	private static boolean enabled = true;
+
+	/**
+	 * The registered classes hashed by their type codes.
+	 */
+	private static Hashtable classes = new Hashtable();
+
+	/**
+	 * The type codes hashed by the registered classes.
+	 */
+	private static Hashtable types = new Hashtable();
+
+	static {
+		register(TYPE_ASSEMBLY, Assembly.class);
+		register(TYPE_ASSEMBLY_POINTER, AssemblyPointer.class);
+		register(TYPE_ASSEMBLY_STATE, AssemblyState.class);
+		register(TYPE_INSTANCE_SETUP, InstanceSetup.class);
+		register(TYPE_INSTANCE_STATE, InstanceState.class);
+		register(TYPE_CONTAINER_STATE, ContainerState.class);
+	}
+
+	/**
+	 * Creates a new compact format. This constructor is not used.
+	 */
+	private CompactFormat() {
+		super();
+	}
+
+	/**
+	 * Enables or disables the usage of the compact format for outgoing
+	 * messages. If the compact format is disabled, all messages will be
+	 * written using the default format. Received messages in compact format
+	 * can still be read.
+	 *
+	 * @param enabled True to enable the compact format, false to disable it.
+	 */
+	public static void setEnabled(boolean enabled) {
+		CompactFormat.enabled = enabled;
+	}
+
+	/**
+	 * Determines whether the compact format is used for outgoing messages.
+	 *
+	 * @return True if the compact format is enabled, false otherwise.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Determines whether the compact format can be used to send messages
+	 * to the specified system. This is the case if the compact format is
+	 * enabled and if the system has announced that it can read the format.
+	 *
+	 * @param systemID The system that receives the message.
+	 * @return True if the compact format can be used, false otherwise.
+	 */
+	public static boolean isSupported(SystemID systemID) {
+		if (! enabled || systemID == null) return false;
+		SystemID[] systems = InvocationBroker.getInstance()
+			.getDeviceRegistry().getDevices(IContainer.COMPACT_ID);
+		if (systems == null) return false;
+		for (int i = 0; i < systems.length; i++) {
+			if (systemID.equals(systems[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Registers the specified class with the specified type code. The
+	 * class must implement the compact serializable interface and it must
+	 * provide a public default constructor. Objects of classes that have
+	 * not been registered are written using the default serialization.
+	 *
+	 * @param type The type code of the class, must not be negative.
+	 * @param clazz The class to register.
+	 * @throws IllegalArgumentException Thrown if the type code is negative
+	 * 	or already used by another class or if the class is not compact
+	 * 	serializable.
+	 */
+	public static synchronized void register(int type, Class clazz) {
+		if (type < 0) throw new IllegalArgumentException("Type must not be negative.");
+		if (! ICompactSerializable.class.isAssignableFrom(clazz))
+			throw new IllegalArgumentException("Class must be compact serializable.");
+		Integer key = new Integer(type);
+		Class registered = (Class)classes.get(key);
+		if (registered != null && registered != clazz)
+			throw new IllegalArgumentException("Type " + type + " is already registered.");
+		classes.put(key, clazz);
+		types.put(clazz, key);
+	}
+
+	/**
+	 * Returns the type code of the specified object.
+	 *
+	 * @param object The object whose type code should be returned.
+	 * @return The type code of the class of the object or the unknown
+	 * 	type if the class has not been registered.
+	 */
+	static synchronized int getType(Object object) {
+		Integer type = (Integer)types.get(object.getClass());
+		if (type == null) return TYPE_UNKNOWN;
+		return type.intValue();
+	}
+
+	/**
+	 * Creates a new object of the class that has been registered with
+	 * the specified type code.
+	 *
+	 * @param type The type code of the object.
+	 * @return A new object of the registered class.
+	 * @throws IOException Thrown if the type code has not been registered
+	 * 	or if the object cannot be created.
+	 */
+	static ICompactSerializable create(int type) throws IOException {
+		Class clazz;
+		synchronized (CompactFormat.class) {
+			clazz = (Class)classes.get(new Integer(type));
+		}
+		if (clazz == null) throw new IOException("Unknown compact type " + type + ".");
+		try {
+			return (ICompactSerializable)clazz.newInstance();
+		} catch (Exception e) {
+			throw new IOException("Could not create compact object of type " + type + ".");
+		}
+	}
+
+}
@@ -0,0 +1,234 @@
+package info.pppc.pcom.system.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import info.pppc.base.system.io.IObjectInput;
+import info.pppc.pcom.system.contract.Contract;
+
+/**
+ * The compact input decodes a single message that has been written by
+ * a compact output. It reads the encoded message as well as the objects
+ * that have been written using the default serialization. Decoded objects
+ * are not marked, the format of a response is chosen by its sender.
+ * Compact serializable objects are only created for the type codes that
+ * have been registered with the compact format.
+ *
+ * @author Mac
+ */
+public class CompactInput {
+
+	/**
+	 * The stream used to read the encoded message.
+	 */
+	private DataInputStream data;
+
+	/**
+	 * The string table of the message. Contains the strings in the order
+	 * of their first occurence.
+	 */
+	private Vector strings = new Vector();
+
+	/**
+	 * The objects that have been written using the default serialization.
+	 */
+	private Vector objects;
+
+	/**
+	 * Creates a new compact input for the specified encoded message. The
+	 * objects that have been written using the default serialization are
+	 * read from the specified input.
+	 *
+	 * @param message The encoded message.
+	 * @param input The input that contains the remaining objects.
+	 * @throws IOException Thrown if the version of the message is not
+	 * 	supported or if the input cannot be read.
+	 */
+	public CompactInput(byte[] message, IObjectInput input) throws IOException {
+		objects = (Vector)input.readObject();
+		if (message.length == 0 || message[0] != CompactOutput.VERSION)
+			throw new IOException("Unsupported compact format version.");
+		data = new DataInputStream(new ByteArrayInputStream(message, 1, message.length - 1));
+	}
+
+	/**
+	 * Reads a single byte.
+	 *
+	 * @return The byte that has been read.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public byte readByte() throws IOException {
+		return data.readByte();
+	}
+
+	/**
+	 * Reads a boolean that has been written as single byte.
+	 *
+	 * @return The boolean that has been read.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public boolean readBoolean() throws IOException {
+		return data.readByte() != 0;
+	}
+
+	/**
+	 * Reads a zig-zag encoded variable length integer.
+	 *
+	 * @return The integer that has been read.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public int readInt() throws IOException {
+		int v = readVarint();
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+	/**
+	 * Reads a zig-zag encoded variable length long.
+	 *
+	 * @return The long that has been read.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public long readLong() throws IOException {
+		long v = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = data.readByte();
+			v |= (long)(b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (v >>> 1) ^ -(v & 1);
+			}
+		}
+		throw new IOException("Malformed variable length long.");
+	}
+
+	/**
+	 * Reads an unsigned variable length integer.
+	 *
+	 * @return The value that has been read.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	private int readVarint() throws IOException {
+		int v = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = data.readByte();
+			v |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return v;
+			}
+		}
+		throw new IOException("Malformed variable length integer.");
+	}
+
+	/**
+	 * Reads the length of an array or collection. The length is validated
+	 * against the remaining input before any memory is allocated, since
+	 * each element occupies at least one byte.
+	 *
+	 * @return The length that has been read.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	private int readLength() throws IOException {
+		int length = readVarint();
+		if (length < 0 || length > data.available())
+			throw new IOException("Illegal length " + length + ".");
+		return length;
+	}
+
+	/**
+	 * Reads a string that has been written using the string table.
+	 *
+	 * @return The string that has been read, might be null.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public String readString() throws IOException {
+		int index = readVarint();
+		switch (index) {
+			case 0:
+				return null;
+			case 1:
+				String value = data.readUTF();
+				strings.addElement(value);
+				return value;
+			default:
+				if (index - 2 >= strings.size())
+					throw new IOException("Illegal string index.");
+				return (String)strings.elementAt(index - 2);
+		}
+	}
+
+	/**
+	 * Reads an arbitrary object that has been written by the compact
+	 * output.
+	 *
+	 * @return The object that has been read, might be null.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public Object readObject() throws IOException {
+		int tag = readVarint();
+		switch (tag) {
+			case CompactOutput.TAG_NULL:
+				return null;
+			case CompactOutput.TAG_TRUE:
+				return new Boolean(true);
+			case CompactOutput.TAG_FALSE:
+				return new Boolean(false);
+			case CompactOutput.TAG_INTEGER:
+				return new Integer(readInt());
+			case CompactOutput.TAG_LONG:
+				return new Long(readLong());
+			case CompactOutput.TAG_STRING:
+				return readString();
+			case CompactOutput.TAG_BYTES: {
+				byte[] bytes = new byte[readLength()];
+				data.readFully(bytes);
+				return bytes;
+			}
+			case CompactOutput.TAG_INTEGERS: {
+				int[] ints = new int[readLength()];
+				for (int i = 0; i < ints.length; i++) {
+					ints[i] = readInt();
+				}
+				return ints;
+			}
+			case CompactOutput.TAG_VECTOR: {
+				int size = readLength();
+				Vector vector = new Vector(size);
+				for (int i = 0; i < size; i++) {
+					vector.addElement(readObject());
+				}
+				return vector;
+			}
+			case CompactOutput.TAG_HASHTABLE: {
+				int size = readLength();
+				Hashtable table = new Hashtable();
+				for (int i = 0; i < size; i++) {
+					Object key = readObject();
+					Object value = readObject();
+					table.put(key, value);
+				}
+				return table;
+			}
+			case CompactOutput.TAG_CONTRACT: {
+				Contract contract = new Contract();
+				contract.readCompact(this);
+				return contract;
+			}
+			case CompactOutput.TAG_COMPACT: {
+				ICompactSerializable object = CompactFormat.create(readVarint());
+				object.readCompact(this);
+				return object;
+			}
+			case CompactOutput.TAG_OBJECT: {
+				int index = readVarint();
+				if (index >= objects.size())
+					throw new IOException("Illegal object index.");
+				return objects.elementAt(index);
+			}
+			default:
+				throw new IOException("Illegal compact tag " + tag + ".");
+		}
+	}
+
+}
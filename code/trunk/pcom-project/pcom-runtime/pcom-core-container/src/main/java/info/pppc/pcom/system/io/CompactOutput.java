@@ -0,0 +1,291 @@
+package info.pppc.pcom.system.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import info.pppc.base.system.io.IObjectOutput;
+import info.pppc.pcom.system.contract.Contract;
+
+/**
+ * The compact output encodes a single message in the compact format. The
+ * compact format uses variable length integers, a string table that stores
+ * each string only once per message and specialized encodings for the values
+ * that are typically contained in contracts. Objects that are not supported
+ * by the compact format are written using the default serialization after
+ * the compact message. A compact message starts with a version byte.
+ * A compact output is created for each message. The message must be written
+ * to the underlying stream using the write to method.
+ *
+ * @author Mac
+ */
+public class CompactOutput {
+
+	/**
+	 * The version of the compact format written by this output.
+	 */
+	public static final byte VERSION = 2;
+
+	/**
+	 * The tag that denotes a null value.
+	 */
+	protected static final int TAG_NULL = 0;
+
+	/**
+	 * The tag that denotes a boolean true.
+	 */
+	protected static final int TAG_TRUE = 1;
+
+	/**
+	 * The tag that denotes a boolean false.
+	 */
+	protected static final int TAG_FALSE = 2;
+
+	/**
+	 * The tag that denotes an integer.
+	 */
+	protected static final int TAG_INTEGER = 3;
+
+	/**
+	 * The tag that denotes a long.
+	 */
+	protected static final int TAG_LONG = 4;
+
+	/**
+	 * The tag that denotes a string.
+	 */
+	protected static final int TAG_STRING = 5;
+
+	/**
+	 * The tag that denotes a byte array.
+	 */
+	protected static final int TAG_BYTES = 6;
+
+	/**
+	 * The tag that denotes an integer array.
+	 */
+	protected static final int TAG_INTEGERS = 7;
+
+	/**
+	 * The tag that denotes a vector.
+	 */
+	protected static final int TAG_VECTOR = 8;
+
+	/**
+	 * The tag that denotes a hashtable.
+	 */
+	protected static final int TAG_HASHTABLE = 9;
+
+	/**
+	 * The tag that denotes a contract.
+	 */
+	protected static final int TAG_CONTRACT = 10;
+
+	/**
+	 * The tag that denotes a compact serializable object. The tag
+	 * is followed by the type code that has been registered for the
+	 * class of the object.
+	 */
+	protected static final int TAG_COMPACT = 11;
+
+	/**
+	 * The tag that denotes an object that is written using the
+	 * default serialization. The tag is followed by the index of
+	 * the object.
+	 */
+	protected static final int TAG_OBJECT = 12;
+
+	/**
+	 * The buffer that contains the encoded message.
+	 */
+	private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+	/**
+	 * The stream used to write to the buffer.
+	 */
+	private DataOutputStream data = new DataOutputStream(buffer);
+
+	/**
+	 * The string table of the message. Hashes strings to their index.
+	 */
+	private Hashtable strings = new Hashtable();
+
+	/**
+	 * The objects that must be written using the default serialization.
+	 */
+	private Vector objects = new Vector();
+
+	/**
+	 * Creates a new compact output for a single message.
+	 */
+	public CompactOutput() {
+		buffer.write(VERSION);
+	}
+
+	/**
+	 * Writes a single byte.
+	 *
+	 * @param value The byte to write.
+	 * @throws IOException Thrown if the byte cannot be written.
+	 */
+	public void writeByte(int value) throws IOException {
+		data.write(value);
+	}
+
+	/**
+	 * Writes a boolean as a single byte.
+	 *
+	 * @param value The boolean to write.
+	 * @throws IOException Thrown if the value cannot be written.
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+		data.write(value ? 1 : 0);
+	}
+
+	/**
+	 * Writes an integer as zig-zag encoded variable length integer. Small
+	 * positive and negative values will require a single byte.
+	 *
+	 * @param value The integer to write.
+	 * @throws IOException Thrown if the value cannot be written.
+	 */
+	public void writeInt(int value) throws IOException {
+		writeVarint((value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * Writes a long as zig-zag encoded variable length integer.
+	 *
+	 * @param value The long to write.
+	 * @throws IOException Thrown if the value cannot be written.
+	 */
+	public void writeLong(long value) throws IOException {
+		long v = (value << 1) ^ (value >> 63);
+		while ((v & ~0x7FL) != 0) {
+			data.write((int)((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		data.write((int)v);
+	}
+
+	/**
+	 * Writes an unsigned variable length integer.
+	 *
+	 * @param value The value to write, interpreted as unsigned.
+	 * @throws IOException Thrown if the value cannot be written.
+	 */
+	private void writeVarint(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			data.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		data.write(value);
+	}
+
+	/**
+	 * Writes a string using the string table. Each string is written
+	 * only once per message, further occurences are replaced by their
+	 * index. The string might be null.
+	 *
+	 * @param value The string to write or null.
+	 * @throws IOException Thrown if the string cannot be written.
+	 */
+	public void writeString(String value) throws IOException {
+		if (value == null) {
+			writeVarint(0);
+			return;
+		}
+		Integer index = (Integer)strings.get(value);
+		if (index != null) {
+			writeVarint(index.intValue() + 2);
+		} else {
+			strings.put(value, new Integer(strings.size()));
+			writeVarint(1);
+			data.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Writes an arbitrary object. Booleans, integers, longs, strings, byte
+	 * and integer arrays, vectors, hashtables, contracts and compact
+	 * serializable objects are encoded directly. All other objects are
+	 * written using the default serialization when the message is written.
+	 *
+	 * @param value The object to write, might be null.
+	 * @throws IOException Thrown if the object cannot be written.
+	 */
+	public void writeObject(Object value) throws IOException {
+		if (value == null) {
+			writeVarint(TAG_NULL);
+		} else if (value instanceof Boolean) {
+			writeVarint(((Boolean)value).booleanValue() ? TAG_TRUE : TAG_FALSE);
+		} else if (value instanceof Integer) {
+			writeVarint(TAG_INTEGER);
+			writeInt(((Integer)value).intValue());
+		} else if (value instanceof Long) {
+			writeVarint(TAG_LONG);
+			writeLong(((Long)value).longValue());
+		} else if (value instanceof String) {
+			writeVarint(TAG_STRING);
+			writeString((String)value);
+		} else if (value instanceof byte[]) {
+			byte[] bytes = (byte[])value;
+			writeVarint(TAG_BYTES);
+			writeVarint(bytes.length);
+			data.write(bytes);
+		} else if (value instanceof int[]) {
+			int[] ints = (int[])value;
+			writeVarint(TAG_INTEGERS);
+			writeVarint(ints.length);
+			for (int i = 0; i < ints.length; i++) {
+				writeInt(ints[i]);
+			}
+		} else if (value instanceof Vector) {
+			Vector vector = (Vector)value;
+			writeVarint(TAG_VECTOR);
+			writeVarint(vector.size());
+			for (int i = 0; i < vector.size(); i++) {
+				writeObject(vector.elementAt(i));
+			}
+		} else if (value instanceof Hashtable) {
+			Hashtable table = (Hashtable)value;
+			writeVarint(TAG_HASHTABLE);
+			writeVarint(table.size());
+			Enumeration e = table.keys();
+			while (e.hasMoreElements()) {
+				Object key = e.nextElement();
+				writeObject(key);
+				writeObject(table.get(key));
+			}
+		} else if (value instanceof Contract) {
+			writeVarint(TAG_CONTRACT);
+			((Contract)value).writeCompact(this);
+		} else if (CompactFormat.getType(value) != CompactFormat.TYPE_UNKNOWN) {
+			writeVarint(TAG_COMPACT);
+			writeVarint(CompactFormat.getType(value));
+			((ICompactSerializable)value).writeCompact(this);
+		} else {
+			writeVarint(TAG_OBJECT);
+			writeVarint(objects.size());
+			objects.addElement(value);
+		}
+	}
+
+	/**
+	 * Writes the message to the specified output. This writes the encoded
+	 * message as byte array, followed by a vector of objects that must be
+	 * written using the default serialization.
+	 *
+	 * @param output The output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeTo(IObjectOutput output) throws IOException {
+		data.flush();
+		output.writeObject(buffer.toByteArray());
+		output.writeObject(objects);
+	}
+
+}
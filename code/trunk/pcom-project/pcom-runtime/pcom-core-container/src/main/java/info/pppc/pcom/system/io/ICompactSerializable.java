@@ -0,0 +1,33 @@
+package info.pppc.pcom.system.io;
+
+import java.io.IOException;
+
+/**
+ * The compact serializable interface must be implemented by all model classes
+ * that can be transfered using the compact format. Compact serializable objects
+ * must provide a public default constructor and their class must be registered
+ * with a type code at the compact format. The objects do not carry a flag for
+ * the format, they are written in compact format if they are part of a message
+ * whose sender has chosen the compact format.
+ *
+ * @author Mac
+ */
+public interface ICompactSerializable {
+
+	/**
+	 * Writes the contents of the object to the specified compact output.
+	 *
+	 * @param output The output to write to.
+	 * @throws IOException Thrown if the output cannot be written.
+	 */
+	public void writeCompact(CompactOutput output) throws IOException;
+
+	/**
+	 * Reads the contents of the object from the specified compact input.
+	 *
+	 * @param input The input to read from.
+	 * @throws IOException Thrown if the input is malformed.
+	 */
+	public void readCompact(CompactInput input) throws IOException;
+
+}
@@ -61,4 +61,14 @@ public interface IAllocatorContext extends IElementContext {
 	 */
 	public Object getAccessor(String name);
 	
+	/**
+	 * Clears the setups that have been derived by the allocator previously. To
+	 * avoid repeated derivations for the same demand, the container caches 
+	 * the setups derived by the allocator. The cache is cleared automatically
+	 * whenever the template or the status of the allocator changes. If the setups
+	 * derived by the allocator depend on other state, the allocator must call this 
+	 * method whenever the state changes.
+	 */
+	public void invalidateSetups();
+	
 }
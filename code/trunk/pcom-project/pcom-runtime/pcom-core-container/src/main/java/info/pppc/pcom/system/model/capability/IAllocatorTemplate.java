@@ -2,6 +2,7 @@ package info.pppc.pcom.system.model.capability;
 
 import info.pppc.pcom.system.model.IElementTemplate;
 import info.pppc.pcom.system.model.contract.writer.IResourceDemandWriter;
+import info.pppc.pcom.system.model.contract.writer.IResourceProvisionWriter;
 
 /**
  * The allocator template is the basic view on a contract of a certain allocator. 
@@ -50,4 +51,16 @@ public interface IAllocatorTemplate extends IElementTemplate {
 	 */
 	public IResourceDemandWriter createResource(String type);
 	
+	/**
+	 * Returns the static provision of the allocator. The static provision advertises
+	 * the interfaces and dimensions that the setups derived by the allocator may 
+	 * provide. The container uses it to select the allocators that are asked to 
+	 * derive setups for a certain demand. If the static provision does not contain 
+	 * any interface, the allocator will be asked for every demand. Changes to the
+	 * static provision must be committed.
+	 * 
+	 * @return The static provision of the allocator.
+	 */
+	public IResourceProvisionWriter getResource();
+	
 }
@@ -5,6 +5,9 @@ package info.pppc.pcom.system.model.component;
  * The event collector is the basic interface of collectors provided
  * by the pcom container. It enables a component to register for events
  * created by a specific instance that is bound to some dependency.
+ * The received events are stored in a bounded queue and they are
+ * delivered to the listeners by a separate thread. Thus, a slow
+ * listener does not block the instance that emits the events.
  * 
  * @author Mac
  */
@@ -48,4 +51,16 @@ public interface IEventCollector {
 	 */
 	public IEventListener[] getEventListeners();
 	
+	/**
+	 * Sets the capacity and the overflow policy of the queue that
+	 * stores the received events until they are delivered.
+	 * 
+	 * @param capacity The maximum number of queued events.
+	 * @param overflow The overflow policy, one of the overflow constants
+	 * 	defined by the event emitter interface.
+	 * @throws IllegalArgumentException Thrown if the capacity is smaller
+	 * 	than one or if the policy is unknown.
+	 */
+	public void setQueue(int capacity, int overflow) throws IllegalArgumentException;
+	
 }
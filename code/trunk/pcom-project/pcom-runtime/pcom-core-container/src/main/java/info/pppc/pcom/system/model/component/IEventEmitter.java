@@ -5,12 +5,34 @@ import info.pppc.base.system.InvocationException;
 /**
  * The event emitter is the basic interface for all event emitters.
  * A handle to the event emitter can be created through the container
- * object of an instance that is currently executing.
+ * object of an instance that is currently executing. By default, the
+ * emitter delivers each event synchronously. In asynchronous mode, the
+ * events are stored in a bounded queue and they are sent in batches
+ * by a separate thread, so that the instance is not blocked by slow
+ * consumers.
  * 
  * @author Mac
  */
 public interface IEventEmitter {
 
+	/**
+	 * The overflow policy that blocks the emitting thread until the
+	 * queue has space for the event.
+	 */
+	public static final int OVERFLOW_BLOCK = 0;
+	
+	/**
+	 * The overflow policy that drops the oldest queued event.
+	 */
+	public static final int OVERFLOW_DROP_OLDEST = 1;
+	
+	/**
+	 * The overflow policy that drops the latest queued event of the
+	 * same type or the oldest queued event if there is no event of
+	 * the same type.
+	 */
+	public static final int OVERFLOW_COALESCE = 2;
+
 	/**
 	 * Emits an event to the parent of the component instance. The
 	 * event is declared as an event of the specified type and the
@@ -24,4 +46,63 @@ public interface IEventEmitter {
 	 */
 	public void emitEvent(String type, Object data) throws InvocationException;
 
+	/**
+	 * Emits a number of events to the parent of the component instance
+	 * using a single invocation. The type at some index of the types
+	 * array denotes the type of the data object at the same index of
+	 * the data array. The events are received in the order of the 
+	 * arrays.
+	 * 
+	 * @param types The types of the events that should be announced.
+	 * 	These fields must be defined in the contract.
+	 * @param data The data objects of the events.
+	 * @throws IllegalArgumentException Thrown if the arrays are null
+	 * 	or if they do not have the same length.
+	 * @throws InvocationException Thrown if the events could not
+	 * 	be delivered.
+	 */
+	public void emitEvents(String[] types, Object[] data) throws IllegalArgumentException, InvocationException;
+	
+	/**
+	 * Enables or disables the asynchronous delivery of events. If
+	 * asynchronous delivery is enabled, the emit methods return as
+	 * soon as the events have been queued and delivery failures are
+	 * not reported to the caller. If asynchronous delivery is disabled,
+	 * events that have been queued already will still be delivered.
+	 * 
+	 * @param asynchronous True to enable asynchronous delivery, false
+	 * 	to deliver the events synchronously.
+	 */
+	public void setAsynchronous(boolean asynchronous);
+	
+	/**
+	 * Determines whether the emitter delivers events asynchronously.
+	 * 
+	 * @return True if the events are delivered asynchronously, false
+	 * 	otherwise.
+	 */
+	public boolean isAsynchronous();
+	
+	/**
+	 * Sets the capacity and the overflow policy of the queue that is
+	 * used in asynchronous mode.
+	 * 
+	 * @param capacity The maximum number of queued events.
+	 * @param overflow The overflow policy, one of the overflow constants
+	 * 	defined by this interface.
+	 * @throws IllegalArgumentException Thrown if the capacity is smaller
+	 * 	than one or if the policy is unknown.
+	 */
+	public void setQueue(int capacity, int overflow) throws IllegalArgumentException;
+	
+	/**
+	 * Sets the maximum number of queued events that are sent with 
+	 * a single invocation in asynchronous mode.
+	 * 
+	 * @param size The maximum number of events per invocation.
+	 * @throws IllegalArgumentException Thrown if the size is smaller
+	 * 	than one.
+	 */
+	public void setBatch(int size) throws IllegalArgumentException;
+
 }
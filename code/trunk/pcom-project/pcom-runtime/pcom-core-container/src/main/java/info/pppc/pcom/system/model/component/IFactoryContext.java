@@ -57,4 +57,14 @@ public interface IFactoryContext extends IElementContext {
 	 */
 	public Object getAccessor(String name);
 	
+	/**
+	 * Clears the setups that have been derived by the factory previously. To
+	 * avoid repeated derivations for the same demand, the container caches 
+	 * the setups derived by the factory. The cache is cleared automatically
+	 * whenever the template or the status of the factory changes. If the setups
+	 * derived by the factory depend on other state, the factory must call this 
+	 * method whenever the state changes.
+	 */
+	public void invalidateSetups();
+	
 }
@@ -1,17 +1,67 @@
 package info.pppc.pcom.system.model.component;
 
-import info.pppc.pcom.system.model.capability.IAllocatorTemplate;
+import info.pppc.pcom.system.model.IElementTemplate;
+import info.pppc.pcom.system.model.contract.writer.IInstanceProvisionWriter;
+import info.pppc.pcom.system.model.contract.writer.IResourceDemandWriter;
 
 /**
  * The factory description is the basic description interface that is provided to 
  * factories and instances. Using this description, they can retrieve a writable 
  * view that enables them to manipulate the description that models their requirements 
  * towards the executing container. Essentially, they can either request resources 
- * using writers. This is only a marker interface that inherits its functionality
- * from the resource allocator templates. 
+ * using writers. The resource demands are managed in the same way as the resource
+ * demands of allocator templates. In addition to that, factories can describe their 
+ * static provision as an instance provision.
  * 
  * @author Mac
  */
-public interface IFactoryTemplate extends IAllocatorTemplate {
+public interface IFactoryTemplate extends IElementTemplate {
 
+	/**
+	 * Returns the resource demands that are currently specified by this factory 
+	 * contract. Note that the container does not guarantee the availablity of 
+	 * the resources that are required by a factory. However, if the container 
+	 * cannot fulfill the resource requirements, it will check whether it can 
+	 * fulfill it whenever the available resources change.
+	 * 
+	 * @return The resource demands that are currently required by the factory.
+	 */
+	public IResourceDemandWriter[] getResources();
+	
+	/**
+	 * Returns the resource demand for the specified type or null, if such a 
+	 * resource demand does not exist. If the resource type is null, this method
+	 * will throw an exception.
+	 * 
+	 * @param type The type of the resource demand to retrieve.
+	 * @return The resource demand with the specified type or null if such a 
+	 * 	resource demand does not exist.
+	 * @throws NullPointerException Thrown if the resource type is null.
+	 */
+	public IResourceDemandWriter getResource(String type);
+	
+	/**
+	 * Creates a new resource demand with the specified type. Note that the type
+	 * must be unique. If the type is null, this method will throw an exception.
+	 * If the type is not unique, this method will return the replaced demand.
+	 * 
+	 * @param type The type of the resource demand to create.
+	 * @return Null if the type of the resource demand is not unique or the 
+	 * 	newly created resource demand, if the type of the resource is unique.
+	 * @throws NullPointerException Thrown if the resource type is null.
+	 */
+	public IResourceDemandWriter createResource(String type);
+
+	/**
+	 * Returns the static instance provision of the factory. The static provision
+	 * advertises the interfaces, events and dimensions that the setups derived by 
+	 * the factory may provide. The container uses it to select the factories that
+	 * are asked to derive setups for a certain demand. If the static provision does 
+	 * not contain any interface or event, the factory will be asked for every demand.
+	 * Changes to the static provision must be committed.
+	 * 
+	 * @return The static instance provision of the factory.
+	 */
+	public IInstanceProvisionWriter getInstance();
+	
 }
@@ -12,6 +12,26 @@ import java.io.IOException;
  */
 public interface IInstanceHistory {
 
+	/**
+	 * The policy constant that denotes that all entries with a 
+	 * certain signature are kept in the history. This is the
+	 * default policy for all signatures.
+	 */
+	public static final int POLICY_KEEP_ALL = 0;
+	
+	/**
+	 * The policy constant that denotes that only the last entry
+	 * with a certain signature is kept in the history. 
+	 */
+	public static final int POLICY_KEEP_LAST = 1;
+	
+	/**
+	 * The policy constant that denotes that only the last entry
+	 * with a certain signature and an equal first argument is
+	 * kept in the history.
+	 */
+	public static final int POLICY_KEEP_LAST_ARGUMENT = 2;
+	
 	/**
 	 * An entry of the instance history.
 	 * 
@@ -126,4 +146,28 @@ public interface IInstanceHistory {
 	 */
 	public void setEnabled(boolean enabled);
 	
+	/**
+	 * Sets the compaction policy for entries with the specified
+	 * signature. The policy is applied whenever an entry with the
+	 * signature is appended to the history. It does not affect
+	 * the entries that are already part of the history.
+	 * 
+	 * @param signature The signature of the entries.
+	 * @param policy The policy, one of the policy constants 
+	 * 	defined by this interface.
+	 */
+	public void setPolicy(String signature, int policy);
+	
+	/**
+	 * Declares that all entries with the dropped signature are 
+	 * removed from the history whenever an entry with the specified 
+	 * signature is appended to the history. 
+	 * 
+	 * @param signature The signature of the entry that drops
+	 * 	the other entries.
+	 * @param dropped The signature of the entries that are
+	 * 	dropped.
+	 */
+	public void addDrop(String signature, String dropped);
+	
 }
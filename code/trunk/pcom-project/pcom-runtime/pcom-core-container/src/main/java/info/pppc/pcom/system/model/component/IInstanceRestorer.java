@@ -125,6 +125,28 @@ public interface IInstanceRestorer {
 	 */
 	public void clearCheckpoint();
 	
+	/**
+	 * Sets the number of bytes that the serialized arguments
+	 * of the entries in the history may occupy. If the history
+	 * exceeds the budget, a checkpoint will be requested 
+	 * automatically which clears the history. A budget of 0
+	 * denotes that the history is not bounded.
+	 * 
+	 * @param budget The budget of the history in bytes or 0
+	 * 	to disable the automatic checkpoint creation.
+	 */
+	public void setHistoryBudget(int budget);
+	
+	/**
+	 * Returns the number of bytes that the serialized arguments
+	 * of the entries in the history may occupy before a checkpoint
+	 * is requested automatically or 0 if the history is not
+	 * bounded.
+	 * 
+	 * @return The budget of the history in bytes or 0.
+	 */
+	public int getHistoryBudget();
+	
 	/**
 	 * Returns the history of invocations that has been
 	 * sent to the remote device since the last checkpoint
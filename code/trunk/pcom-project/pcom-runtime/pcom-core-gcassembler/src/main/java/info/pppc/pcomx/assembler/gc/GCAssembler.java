@@ -17,8 +17,12 @@ import info.pppc.pcom.system.assembler.Assembly;
 import info.pppc.pcom.system.assembler.AssemblyPointer;
 import info.pppc.pcom.system.assembler.AssemblyState;
 import info.pppc.pcom.system.assembler.IAssembler;
+import info.pppc.pcom.system.container.IResourceListener;
+import info.pppc.pcom.system.container.ResourceListenerSkeleton;
 import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.io.CompactFormat;
 import info.pppc.pcomx.assembler.gc.internal.Application;
+import info.pppc.pcomx.assembler.gc.internal.DeviceCache;
 import info.pppc.pcomx.assembler.gc.internal.Pointer;
 
 import java.util.Vector;
@@ -130,6 +134,13 @@ public class GCAssembler implements IAssembler {
 	 */
 	protected LeaseRegistry registry = LeaseRegistry.getInstance();
 	
+	/**
+	 * The cache that stores the resources of the devices for all
+	 * applications. The cache is updated by the containers whenever
+	 * their free resources change.
+	 */
+	protected DeviceCache cache = new DeviceCache();
+	
 	/**
 	 * Creates a new greedy assembler and registers it at the specified
 	 * invocation broker.
@@ -141,6 +152,9 @@ public class GCAssembler implements IAssembler {
 		skeleton.setImplementation(this);
 		final ObjectRegistry registry = broker.getObjectRegistry();
 		registry.registerObject(ASSEMBLER_ID, skeleton, this);
+		ResourceListenerSkeleton listener = new ResourceListenerSkeleton();
+		listener.setImplementation(cache);
+		registry.registerObject(IResourceListener.LISTENER_ID, listener, cache);
 		broker.addBrokerListener(InvocationBroker.EVENT_BROKER_SHUTDOWN, new IListener() {
 			public void handleEvent(Event event) {
 				Logging.debug(getClass(), "Removing assembler due to broker shutdown.");
@@ -152,6 +166,7 @@ public class GCAssembler implements IAssembler {
 					}
 				}
 				registry.removeObject(ASSEMBLER_ID);
+				registry.removeObject(IResourceListener.LISTENER_ID);
 				instance = null;
 			}
 		});
@@ -204,7 +219,7 @@ public class GCAssembler implements IAssembler {
 					break;
 				}
 			}
-			Application application = new Application(applicationID);
+			Application application = new Application(applicationID, cache);
 			applications.addElement(application);
 			listeners.fireEvent(EVENT_APPLICATION_ADDED, application);
 			application.setApplicationLease(registry.create(leaser));
@@ -264,6 +279,7 @@ public class GCAssembler implements IAssembler {
 					Pointer pointer = new Pointer();
 					Pointer[] pointers = application.setupState(pointer, state);
 					AssemblyPointer base = new AssemblyPointer(applicationID);
+					base.setCompact(CompactFormat.isSupported(state.getSystemID()));
 					base.setAssemblerID(assemblerID);
 					base.setName(state.getName());
 					base.setVariableID(pointer);
@@ -321,6 +337,7 @@ public class GCAssembler implements IAssembler {
 						}
 						
 					}
+					context.setCompact(CompactFormat.isSupported(state.getSystemID()));
 					return context;
 				}
 			}
@@ -333,10 +350,11 @@ public class GCAssembler implements IAssembler {
 	 * the configuration process has been completed successfully.
 	 * 
 	 * @param context The context that is used to reference the configuration.
+	 * @param systemID The system id of the caller.
 	 * @return The assembler result that describes the configuration that needs to
 	 * 	be applied.
 	 */
-	public Assembly retrieve(AssemblyPointer context) {
+	public Assembly retrieve(AssemblyPointer context, SystemID systemID) {
 		Logging.debug(getClass(), "WARNING: Retrieve called with context " + context + ".");
 		// if the container implementation works correct, this will never happen
 		// since this assembler does not use lazy assemblies (!)
@@ -151,6 +151,7 @@ public abstract class AbstractItem {
 	 * Called whenever a child of the item could not configure itself.
 	 */
 	public void notifyFailure() {
+		application.getSearchStatistics().backtracks += 1;
 		configured = false;
 		template += 1;
 		application.addItem(this);
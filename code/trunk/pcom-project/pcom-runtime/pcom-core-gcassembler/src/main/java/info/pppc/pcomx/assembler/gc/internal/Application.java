@@ -7,7 +7,6 @@ import java.util.Vector;
 import info.pppc.base.lease.Lease;
 import info.pppc.base.system.DeviceRegistry;
 import info.pppc.base.system.InvocationBroker;
-import info.pppc.base.system.InvocationException;
 import info.pppc.base.system.ObjectID;
 import info.pppc.base.system.ReferenceID;
 import info.pppc.base.system.SystemID;
@@ -19,10 +18,8 @@ import info.pppc.base.system.operation.MultiOperation;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.system.assembler.Assembly;
 import info.pppc.pcom.system.assembler.AssemblyState;
-import info.pppc.pcom.system.container.ContainerProxy;
 import info.pppc.pcom.system.container.IContainer;
 import info.pppc.pcom.system.contract.Contract;
-import info.pppc.pcomx.assembler.gc.GCAssembler;
 
 /**
  * The gc assembly contains all state of the gc assembler that is required
@@ -79,6 +76,13 @@ public class Application {
 	 */
 	public static final int EVENT_DEVICE_RESOLVED = 32;
 	
+	/**
+	 * Called whenever the configuration of the application has been 
+	 * finished. The data object of the event will be the statistics of 
+	 * the search. The source object will be the application.
+	 */
+	public static final int EVENT_SEARCH_FINISHED = 64;
+	
 	/**
 	 * The id of the application represented by this application object.
 	 */
@@ -116,14 +120,37 @@ public class Application {
 	 */
 	private Vector items = new Vector();
 	
+	/**
+	 * The offers that have been retrieved during the current configuration.
+	 * Hashes system ids to hashtables that hash demands to hashtables of
+	 * vectors of templates hashed by creator ids. The offers are used to
+	 * avoid queries if a subtree is configured again after some failure
+	 * and to prune templates whose resource demands cannot be met. 
+	 */
+	private Hashtable offers = new Hashtable();
+	
+	/**
+	 * The statistics of the current or last configuration.
+	 */
+	private SearchStatistics statistics = new SearchStatistics();
+	
+	/**
+	 * The cache that provides the resources of the devices. The cache is
+	 * shared by all applications of the assembler.
+	 */
+	private DeviceCache deviceCache;
+	
 	/**
 	 * Creates a new assembly for the specified application.
 	 * 
 	 * @param applicationID The id of the application that is
 	 * 	represented by this assembly.
+	 * @param deviceCache The device cache that provides the resources
+	 * 	of the devices.
 	 */
-	public Application(ReferenceID applicationID) {
+	public Application(ReferenceID applicationID, DeviceCache deviceCache) {
 		this.applicationID = applicationID;
+		this.deviceCache = deviceCache;
 	}
 
 	/**
@@ -214,7 +241,10 @@ public class Application {
 	 * 	be configured.
 	 */
 	public Assembly configureApplication() {
+		statistics = new SearchStatistics();
+		long start = System.currentTimeMillis();
 		// retrieve an up-to-date view of the available resources
+		offers.clear();
 		resolveDevices();
 		// create the anchor component from the anchor setup
 		Pointer rootPointer = new Pointer();
@@ -229,6 +259,9 @@ public class Application {
 			configureItems();
 			resolveBindings();
 		}
+		statistics.time = System.currentTimeMillis() - start;
+		Logging.debug(getClass(), "Finished search " + statistics + ".");
+		fireApplicationEvent(EVENT_SEARCH_FINISHED, statistics);
 		if (anchor.isConfigured()) {
 			return anchor.externalize(state.getName());
 		} else {
@@ -236,6 +269,15 @@ public class Application {
 		}
 	}
 	
+	/**
+	 * Returns the statistics of the current or the last configuration.
+	 * 
+	 * @return The statistics of the search.
+	 */
+	public SearchStatistics getSearchStatistics() {
+		return statistics;
+	}
+	
 	/**
 	 * Returns the assembly state for the pointer or null if the
 	 * pointer is not associated with any state.
@@ -291,6 +333,7 @@ public class Application {
 			AbstractItem configurable = (AbstractItem)items.elementAt(0);
 			items.removeElementAt(0);
 			configurable.configure();
+			statistics.expanded += 1;
 			fireApplicationEvent(EVENT_ITEM_CONFIGURED, configurable);
 		}
 	}
@@ -330,38 +373,38 @@ public class Application {
 			final SystemID systemID = systemIDs[i];
 			final Vector queries = new Vector();
 			final Vector demands = new Vector();
+			final Hashtable cache = getOffers(systemID);
 			for (int j = 0; j < bindings.size(); j++) {
 				AbstractBinding binding = (AbstractBinding)bindings.elementAt(j);
-				if (binding instanceof ResourceBinding) {
-					if (systemID.equals(binding.getSystemID())) {
-						queries.addElement(binding);
-						demands.addElement(binding.getDemand());
-					}
+				if (binding instanceof ResourceBinding && ! systemID.equals(binding.getSystemID())) {
+					continue;
+				}
+				Hashtable creators = (Hashtable)cache.get(binding.getDemand());
+				if (creators != null) {
+					// the demand has been queried before, reuse the offers
+					addTemplates(binding, systemID, creators);
+					statistics.cached += 1;
 				} else {
 					queries.addElement(binding);
 					demands.addElement(binding.getDemand());
 				}
 			}
+			if (demands.size() == 0) continue;
 			IOperation operation = new IOperation() {
 				public void perform(IMonitor monitor) throws Exception {
-					ContainerProxy container = new ContainerProxy();
-					container.setSourceID(new ReferenceID(SystemID.SYSTEM, GCAssembler.ASSEMBLER_ID));
-					container.setTargetID(new ReferenceID(systemID, IContainer.CONTAINER_ID));
-					Hashtable table = container.getTemplates(demands);
+					// query templates and resources at once, reuse unchanged templates
+					Hashtable table = deviceCache.queryTemplates(systemID, demands);
 					for (int i = 0; i < demands.size(); i++) {
 						AbstractBinding binding = (AbstractBinding)queries.elementAt(i);
 						Contract demand = (Contract)demands.elementAt(i);
 						Hashtable creators = (Hashtable)table.get(demand);
-						if (creators != null) {
-							Enumeration e = creators.keys();
-							while (e.hasMoreElements()) {
-								ObjectID creatorID = (ObjectID)e.nextElement();
-								Vector templates = (Vector)creators.get(creatorID);
-								synchronized (binding) {
-									binding.addTemplates(systemID, creatorID, templates);	
-								}
-							}
+						if (creators == null) {
+							creators = new Hashtable();
+						}
+						synchronized (cache) {
+							cache.put(demand, creators);
 						}
+						addTemplates(binding, systemID, creators);
 					}
 				};
 			};
@@ -378,6 +421,87 @@ public class Application {
 		}
 	}
 
+	/**
+	 * Adds the offers of the specified system to the templates of the
+	 * specified binding.
+	 * 
+	 * @param binding The binding that receives the templates.
+	 * @param systemID The system that has made the offers.
+	 * @param creators The offers of the system as hashtable of vectors
+	 * 	of templates hashed by creator id.
+	 */
+	private void addTemplates(AbstractBinding binding, SystemID systemID, Hashtable creators) {
+		Enumeration e = creators.keys();
+		while (e.hasMoreElements()) {
+			ObjectID creatorID = (ObjectID)e.nextElement();
+			Vector templates = (Vector)creators.get(creatorID);
+			synchronized (binding) {
+				binding.addTemplates(systemID, creatorID, templates);	
+			}
+		}
+	}
+	
+	/**
+	 * Returns the offers that have been retrieved from the specified
+	 * system during the current configuration. The result hashes
+	 * demands to hashtables of vectors of templates hashed by creator.
+	 * 
+	 * @param systemID The system whose offers should be retrieved.
+	 * @return The offers that have been retrieved from the system.
+	 */
+	private Hashtable getOffers(SystemID systemID) {
+		synchronized (offers) {
+			Hashtable cache = (Hashtable)offers.get(systemID);
+			if (cache == null) {
+				cache = new Hashtable();
+				offers.put(systemID, cache);
+			}
+			return cache;
+		}
+	}
+	
+	/**
+	 * Tries to reserve the resources for the specified resource template
+	 * on the specified device. The template is pruned without reservation
+	 * if it has been found to be infeasible since the last release of
+	 * resources on the device. After a successful reservation, the 
+	 * resource demands of the template are checked against the offers 
+	 * that have been retrieved from the device so far. If one of them 
+	 * cannot be met with the remaining resources, the reservation is 
+	 * undone and the template is marked as infeasible.
+	 * 
+	 * @param device The device that should provide the resources.
+	 * @param creatorID The allocator that should provide the resources.
+	 * @param template The resource template that should be reserved.
+	 * @return True if the resources have been reserved, false if the 
+	 * 	template cannot be configured.
+	 */
+	protected boolean reserveResources(Device device, ObjectID creatorID, Contract template) {
+		if (device.isInfeasible(creatorID, template)) {
+			statistics.pruned += 1;
+			return false;
+		}
+		if (! device.reserve(creatorID, template)) {
+			device.setInfeasible(creatorID, template);
+			return false;
+		}
+		Hashtable cache = getOffers(device.getSystemID());
+		Contract[] demands = template.getContracts(Contract.TYPE_RESOURCE_DEMAND);
+		for (int i = 0; i < demands.length; i++) {
+			Hashtable creators;
+			synchronized (cache) {
+				creators = (Hashtable)cache.get(demands[i]);
+			}
+			if (creators != null && ! device.fitsAny(creators)) {
+				device.release(creatorID, template);
+				device.setInfeasible(creatorID, template);
+				statistics.pruned += 1;
+				return false;
+			}
+		}
+		return true;
+	}
+	
 	/**
 	 * Returns the device for the specified system. The device is used
 	 * to make resource reservations and to determine whether a certain
@@ -396,14 +520,8 @@ public class Application {
 	protected Device getDevice(SystemID systemID) {
 		Device device = (Device)devices.get(systemID);
 		if (device == null) {
-			try {
-				ContainerProxy proxy = new ContainerProxy();
-				proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, GCAssembler.ASSEMBLER_ID));
-				proxy.setTargetID(new ReferenceID(systemID, IContainer.CONTAINER_ID));
-				Hashtable table = proxy.getResources();
-				device = new Device(systemID, table);
-			} catch (InvocationException e) {
-				Logging.error(getClass(), "Cannot retrieve resources from device.", e);
+			device = deviceCache.getDevice(systemID);
+			if (device == null) {
 				device = new Device(systemID, new Hashtable());
 			}	
 			devices.put(systemID, device);
@@ -414,7 +532,8 @@ public class Application {
 	
 	/**
 	 * Retrieves the resources that are currently available for all devices
-	 * that host a container.
+	 * that host a container. The resources are taken from the device cache,
+	 * devices whose resources are not cached are queried concurrently.
 	 */
 	private void resolveDevices() {
 		SystemID[] systems = InvocationBroker.getInstance().getDeviceRegistry().getDevices(IContainer.CONTAINER_ID);
@@ -423,16 +542,10 @@ public class Application {
 			final SystemID systemID = systems[i];
 			IOperation operation = new IOperation() {
 				public void perform(IMonitor monitor) throws Exception {
-					try {
-						ContainerProxy proxy = new ContainerProxy();
-						proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, GCAssembler.ASSEMBLER_ID));
-						proxy.setTargetID(new ReferenceID(systemID, IContainer.CONTAINER_ID));
-						Hashtable table = proxy.getResources();
-						Device device = new Device(systemID, table);
+					Device device = deviceCache.getDevice(systemID);
+					if (device != null) {
 						devices.put(systemID, device);
 						fireApplicationEvent(EVENT_DEVICE_RESOLVED, device);
-					} catch (InvocationException e) {
-						Logging.error(getClass(), "Cannot retrieve resources from device.", e);
 					}
 				};
 			};
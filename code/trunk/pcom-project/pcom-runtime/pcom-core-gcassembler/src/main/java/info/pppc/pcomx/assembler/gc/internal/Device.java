@@ -1,6 +1,8 @@
 package info.pppc.pcomx.assembler.gc.internal;
 
+import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.Vector;
 
 import info.pppc.base.system.ObjectID;
 import info.pppc.base.system.SystemID;
@@ -24,9 +26,26 @@ public class Device {
 	 */
 	private Hashtable resources;
 	
+	/**
+	 * The templates that cannot be reserved with the current free resources.
+	 * Hashes creator ids to hashtables that contain the templates as keys.
+	 * Since the free resources only increase if some resources are released,
+	 * the templates are removed whenever resources are released.
+	 */
+	private Hashtable infeasible = new Hashtable();
+	
+	/**
+	 * The creator ids whose resources have been copied by this device.
+	 * The resources of other creators might be shared with other devices
+	 * and must be copied before they are modified.
+	 */
+	private Hashtable copied = new Hashtable();
+	
 	/**
 	 * Creates a new uninitialized device with the specified
-	 * system id.
+	 * system id. The integer arrays contained in the resources
+	 * might be shared with other devices, since the device will
+	 * copy them before it modifies them.
 	 * 
 	 * @param systemID The system id of the device represented
 	 * 	by this object.
@@ -67,19 +86,11 @@ public class Device {
 		if (c.getType() != Contract.TYPE_RESOURCE_TEMPLATE) {
 			return false;
 		} else {
+			if (! fits(creatorID, c)) return false;
 			int[] estimate = (int[])c.getAttribute(Contract.ATTRIBUTE_RESOURCE_ESTIMATE);
-			if (estimate == null) return false;
-			int[] free = (int[])resources.get(creatorID);
-			if (free == null) return false;
-			if (estimate.length != free.length) return false;
+			int[] free = modify(creatorID);
 			for (int i = 0; i < estimate.length; i++) {
 				free[i] -= estimate[i];
-				if (free[i] < 0) {
-					for (int j = 0; j <= i; j++) {
-						free[j] += estimate[j];
-					}
-					return false;
-				}
 			}
 			return true;
 		}
@@ -102,9 +113,106 @@ public class Device {
 		int[] free = (int[])resources.get(creatorID);
 		if (free == null) return;
 		if (estimate.length != free.length) return;
+		free = modify(creatorID);
 		for (int i = 0; i < estimate.length; i++) {
 			free[i] += estimate[i];
 		}
+		infeasible.clear();
+	}
+	
+	/**
+	 * Determines whether the specified resource template can be reserved
+	 * from the specified creator with the resources that are currently free.
+	 * 
+	 * @param creatorID The creator id of the allocator.
+	 * @param c The resource template that describes the amount of resources.
+	 * @return True if the resources are available, false otherwise.
+	 */
+	public boolean fits(ObjectID creatorID, Contract c) {
+		if (c.getType() != Contract.TYPE_RESOURCE_TEMPLATE) return false;
+		int[] estimate = (int[])c.getAttribute(Contract.ATTRIBUTE_RESOURCE_ESTIMATE);
+		if (estimate == null) return false;
+		int[] free = (int[])resources.get(creatorID);
+		if (free == null) return false;
+		if (estimate.length != free.length) return false;
+		for (int i = 0; i < estimate.length; i++) {
+			if (estimate[i] > free[i]) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Determines whether at least one of the specified offers can be
+	 * reserved with the resources that are currently free. This is a
+	 * lower bound for the resources required by a resource demand.
+	 * 
+	 * @param offers The offers for a resource demand as hashtable of
+	 * 	vectors of resource templates hashed by creator id.
+	 * @return True if at least one template can be reserved, false if
+	 * 	none of them can be reserved.
+	 */
+	public boolean fitsAny(Hashtable offers) {
+		Enumeration e = offers.keys();
+		while (e.hasMoreElements()) {
+			ObjectID creatorID = (ObjectID)e.nextElement();
+			Vector templates = (Vector)offers.get(creatorID);
+			for (int i = 0; i < templates.size(); i++) {
+				if (fits(creatorID, (Contract)templates.elementAt(i))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Determines whether the specified template has been marked as 
+	 * infeasible since the last release of resources on the device.
+	 * 
+	 * @param creatorID The creator id of the allocator.
+	 * @param c The resource template to check.
+	 * @return True if the template is known to be infeasible, false
+	 * 	otherwise.
+	 */
+	public boolean isInfeasible(ObjectID creatorID, Contract c) {
+		Hashtable templates = (Hashtable)infeasible.get(creatorID);
+		return templates != null && templates.containsKey(c);
+	}
+	
+	/**
+	 * Marks the specified template as infeasible. The mark is removed 
+	 * as soon as some resources are released on the device.
+	 * 
+	 * @param creatorID The creator id of the allocator.
+	 * @param c The resource template that cannot be configured.
+	 */
+	public void setInfeasible(ObjectID creatorID, Contract c) {
+		Hashtable templates = (Hashtable)infeasible.get(creatorID);
+		if (templates == null) {
+			templates = new Hashtable();
+			infeasible.put(creatorID, templates);
+		}
+		templates.put(c, c);
+	}
+	
+	/**
+	 * Returns the resources of the specified creator for modification.
+	 * If the resources have not been copied so far, this method will
+	 * replace them with a private copy.
+	 * 
+	 * @param creatorID The creator id of the allocator.
+	 * @return The resources of the allocator that can be modified.
+	 */
+	private int[] modify(ObjectID creatorID) {
+		int[] free = (int[])resources.get(creatorID);
+		if (! copied.containsKey(creatorID)) {
+			int[] copy = new int[free.length];
+			System.arraycopy(free, 0, copy, 0, free.length);
+			resources.put(creatorID, copy);
+			copied.put(creatorID, creatorID);
+			free = copy;
+		}
+		return free;
 	}
 
 }
@@ -0,0 +1,313 @@
+package info.pppc.pcomx.assembler.gc.internal;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import info.pppc.base.system.InvocationBroker;
+import info.pppc.base.system.InvocationException;
+import info.pppc.base.system.ReferenceID;
+import info.pppc.base.system.SystemID;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.container.ContainerProxy;
+import info.pppc.pcom.system.container.ContainerState;
+import info.pppc.pcom.system.container.IContainer;
+import info.pppc.pcom.system.container.IResourceListener;
+import info.pppc.pcomx.assembler.gc.GCAssembler;
+
+/**
+ * The device cache stores the free resources of the devices for all
+ * applications of an assembler. An entry is valid for a certain period
+ * after it has been retrieved or pushed by the container of the device.
+ * If an entry is used during the second half of its period, it will be
+ * refreshed asynchronously, so that devices that are used frequently
+ * are not queried synchronously. Since containers push their resources
+ * whenever they change, the cache is kept up-to-date in between. The
+ * tables stored in the cache are never modified. Instead, the devices
+ * created from them copy the resources of an allocator before they
+ * modify them.
+ * Furthermore, the cache stores the templates that have been retrieved
+ * from a container together with the version of the container. As long
+ * as the version does not change, the templates are validated with a 
+ * query that does not transfer them again.
+ *
+ * @author Mac
+ */
+public class DeviceCache implements IResourceListener {
+
+	/**
+	 * The period in milliseconds for which the resources of a device
+	 * are valid after they have been retrieved or pushed.
+	 */
+	private static final long RESOURCE_PERIOD = 10000;
+
+	/**
+	 * The free resources of the devices. Hashes system ids to hashtables
+	 * of integer arrays hashed by allocator identifiers.
+	 */
+	private Hashtable resources = new Hashtable();
+
+	/**
+	 * The times at which the resources of the devices have been retrieved.
+	 * Hashes system ids to longs.
+	 */
+	private Hashtable times = new Hashtable();
+
+	/**
+	 * The system ids of the devices that are currently refreshed. Hashes
+	 * system ids to themselves.
+	 */
+	private Hashtable refreshing = new Hashtable();
+
+	/**
+	 * The versions of the containers whose templates are cached. Hashes
+	 * system ids to integers.
+	 */
+	private Hashtable versions = new Hashtable();
+
+	/**
+	 * The templates that have been retrieved from the containers. Hashes
+	 * system ids to hashtables that hash demands to hashtables of vectors
+	 * of templates hashed by creator id. The tables are never modified
+	 * after they have been stored.
+	 */
+	private Hashtable templates = new Hashtable();
+
+	/**
+	 * Creates a new empty device cache.
+	 */
+	public DeviceCache() {
+		super();
+	}
+
+	/**
+	 * Creates a device for the specified system. If the resources of
+	 * the system are cached, the device will be created without any
+	 * remote call. Otherwise, the container of the system will be
+	 * queried. The device will share the cached resources until it
+	 * reserves or releases some of them.
+	 *
+	 * @param systemID The system id of the device.
+	 * @return The device for the system or null if the resources are
+	 * 	not cached and the container cannot be contacted.
+	 */
+	public Device getDevice(SystemID systemID) {
+		Hashtable table = getResources(systemID);
+		if (table == null) {
+			table = queryResources(systemID);
+			if (table == null) return null;
+		}
+		return new Device(systemID, table);
+	}
+
+	/**
+	 * Called by the container of the specified system whenever its free
+	 * resources have changed. This will replace the cached resources
+	 * of the system.
+	 *
+	 * @param systemID The system id of the container.
+	 * @param resources The free resources of the container.
+	 */
+	public void changeResources(SystemID systemID, Hashtable resources) {
+		if (systemID == null || resources == null) return;
+		Logging.debug(getClass(), "Received resources of " + systemID + ".");
+		putResources(systemID, resources);
+		// the version of the container has changed with its resources
+		synchronized (this) {
+			versions.remove(systemID);
+		}
+	}
+
+	/**
+	 * Retrieves the templates for the specified demands and the free resources
+	 * of the specified system with a single query. If the templates for all
+	 * demands have been cached, the query contains the version of the cached
+	 * templates. In this case, the container only transfers the templates and
+	 * the resources if its version has changed. The resources of the query
+	 * are stored in the cache. Since the cached templates are shared by
+	 * all queries, the result is a copy that can be modified by the caller.
+	 * 
+	 * @param systemID The system id of the device.
+	 * @param demands The demands whose templates should be retrieved.
+	 * @return A hashtable that hashes demands to hashtables of vectors
+	 * 	of templates hashed by creator id. 
+	 * @throws InvocationException Thrown if the container cannot be contacted.
+	 */
+	public Hashtable queryTemplates(SystemID systemID, Vector demands) throws InvocationException {
+		int version = ContainerState.VERSION_UNKNOWN;
+		Hashtable cached = null;
+		synchronized (this) {
+			Integer v = (Integer)versions.get(systemID);
+			Hashtable t = (Hashtable)templates.get(systemID);
+			if (v != null && t != null) {
+				version = v.intValue();
+				cached = t;
+				for (int i = 0; i < demands.size(); i++) {
+					if (! t.containsKey(demands.elementAt(i))) {
+						version = ContainerState.VERSION_UNKNOWN;
+						cached = null;
+						break;
+					}
+				}
+			}
+		}
+		ContainerProxy proxy = new ContainerProxy();
+		proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, GCAssembler.ASSEMBLER_ID));
+		proxy.setTargetID(new ReferenceID(systemID, IContainer.CONTAINER_ID));
+		ContainerState state = proxy.queryContainer(demands, version, SystemID.SYSTEM);
+		if (! state.isChanged() && cached != null) {
+			Logging.debug(getClass(), "Reusing templates of " + systemID + ".");
+			return copy(cached);
+		}
+		Hashtable result = state.getTemplates();
+		synchronized (this) {
+			// extend the cached templates if they have the same version
+			Hashtable table = new Hashtable();
+			Integer v = (Integer)versions.get(systemID);
+			Hashtable t = (Hashtable)templates.get(systemID);
+			if (v != null && t != null && v.intValue() == state.getVersion()) {
+				Enumeration e = t.keys();
+				while (e.hasMoreElements()) {
+					Object key = e.nextElement();
+					table.put(key, t.get(key));
+				}
+			}
+			for (int i = 0; i < demands.size(); i++) {
+				Object demand = demands.elementAt(i);
+				Hashtable creators = (Hashtable)result.get(demand);
+				if (creators == null) {
+					creators = new Hashtable();
+				}
+				table.put(demand, creators);
+			}
+			templates.put(systemID, table);
+			versions.put(systemID, new Integer(state.getVersion()));
+			if (state.getResources() != null) {
+				putResources(systemID, state.getResources());
+			}
+		}
+		return copy(result);
+	}
+
+	/**
+	 * Creates a copy of the specified templates. The copy contains new
+	 * hashtables and vectors, the templates themselves are not copied.
+	 * 
+	 * @param templates A hashtable that hashes demands to hashtables of
+	 * 	vectors of templates hashed by creator id.
+	 * @return A copy of the hashtables and vectors.
+	 */
+	private static Hashtable copy(Hashtable templates) {
+		Hashtable result = new Hashtable();
+		Enumeration e = templates.keys();
+		while (e.hasMoreElements()) {
+			Object demand = e.nextElement();
+			Hashtable creators = (Hashtable)templates.get(demand);
+			Hashtable copy = new Hashtable();
+			Enumeration c = creators.keys();
+			while (c.hasMoreElements()) {
+				Object creatorID = c.nextElement();
+				Vector offers = (Vector)creators.get(creatorID);
+				Vector vector = new Vector(offers.size());
+				for (int i = 0; i < offers.size(); i++) {
+					vector.addElement(offers.elementAt(i));
+				}
+				copy.put(creatorID, vector);
+			}
+			result.put(demand, copy);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the resources of the specified system from the cache.
+	 *
+	 * @param systemID The system id of the device to remove.
+	 */
+	public synchronized void removeResources(SystemID systemID) {
+		resources.remove(systemID);
+		times.remove(systemID);
+		versions.remove(systemID);
+		templates.remove(systemID);
+	}
+
+	/**
+	 * Returns a copy of the cached resources of the specified system or
+	 * null if the resources are not cached or if they have expired. If
+	 * the resources are about to expire, this method will refresh them
+	 * asynchronously.
+	 *
+	 * @param systemID The system id of the device.
+	 * @return A copy of the table that contains the resources or null.
+	 */
+	private Hashtable getResources(SystemID systemID) {
+		long now = System.currentTimeMillis();
+		Hashtable result = new Hashtable();
+		synchronized (this) {
+			Hashtable table = (Hashtable)resources.get(systemID);
+			if (table == null) return null;
+			long age = now - ((Long)times.get(systemID)).longValue();
+			if (age >= RESOURCE_PERIOD) {
+				resources.remove(systemID);
+				times.remove(systemID);
+				return null;
+			}
+			Enumeration e = table.keys();
+			while (e.hasMoreElements()) {
+				Object key = e.nextElement();
+				result.put(key, table.get(key));
+			}
+			if (age < RESOURCE_PERIOD / 2 || refreshing.containsKey(systemID)) {
+				return result;
+			}
+			refreshing.put(systemID, systemID);
+		}
+		final SystemID refreshID = systemID;
+		InvocationBroker.getInstance().performOperation(new IOperation() {
+			public void perform(IMonitor monitor) throws Exception {
+				queryResources(refreshID);
+				synchronized (DeviceCache.this) {
+					refreshing.remove(refreshID);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Queries the resources of the specified system from its container
+	 * and stores them in the cache.
+	 *
+	 * @param systemID The system id of the device.
+	 * @return The free resources of the device or null if the container
+	 * 	cannot be contacted.
+	 */
+	private Hashtable queryResources(SystemID systemID) {
+		try {
+			ContainerProxy proxy = new ContainerProxy();
+			proxy.setSourceID(new ReferenceID(SystemID.SYSTEM, GCAssembler.ASSEMBLER_ID));
+			proxy.setTargetID(new ReferenceID(systemID, IContainer.CONTAINER_ID));
+			Hashtable table = proxy.getResources();
+			putResources(systemID, table);
+			return getResources(systemID);
+		} catch (InvocationException e) {
+			Logging.error(getClass(), "Cannot retrieve resources from device.", e);
+			removeResources(systemID);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the specified resources of the specified system in the cache.
+	 *
+	 * @param systemID The system id of the device.
+	 * @param table The free resources of the device.
+	 */
+	private synchronized void putResources(SystemID systemID, Hashtable table) {
+		resources.put(systemID, table);
+		times.put(systemID, new Long(System.currentTimeMillis()));
+	}
+
+}
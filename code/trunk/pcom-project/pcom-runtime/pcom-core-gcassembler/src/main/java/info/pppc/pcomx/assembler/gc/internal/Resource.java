@@ -53,21 +53,19 @@ public class Resource extends AbstractElement {
 	/**
 	 * Configures the resource. If the resource is already configured,
 	 * this method will do nothing. Otherwise, it will release all
-	 * configuration data and it will check whether there is still a 
-	 * level that can be configured. If so, it will try to configure
-	 * the level.
+	 * configuration data and it will try to reserve the remaining
+	 * levels one after another. If one of them can be reserved, it 
+	 * will configure the level. 
 	 */
 	public void configure() {
 		if (configured) return;
 		else {
 			release();
-			if (template < templates.size()) {
-				// perform resource reservation
-				Device device = application.getDevice(systemID);
-				Contract temp = (Contract)templates.elementAt(template);
-				if (device.reserve(creatorID, temp)) {
-					// resolve dependencies
-					Contract t = (Contract)templates.elementAt(template);
+			// skip the templates that cannot be reserved
+			Device device = application.getDevice(systemID);
+			while (template < templates.size()) {
+				Contract t = (Contract)templates.elementAt(template);
+				if (application.reserveResources(device, creatorID, t)) {
 					// create bindings for contract
 					Contract[] rdemand = t.getContracts(Contract.TYPE_RESOURCE_DEMAND);
 					for (int i = 0; i < rdemand.length; i++) {
@@ -79,15 +77,13 @@ public class Resource extends AbstractElement {
 						application.addBinding(binding);
 					}
 					// consider ourselves done
-					configured = true;					
-				} else {
-					// resource reservation failed, notify parent.
-					if (parent != null) parent.notifyFailure();
+					configured = true;
+					return;
 				}
-			} else {
-				// notify the parent that the configuration failed.
-				if (parent != null) parent.notifyFailure();	
+				template += 1;
 			}
+			// notify the parent that the configuration failed.
+			if (parent != null) parent.notifyFailure();	
 		}
 	}
 
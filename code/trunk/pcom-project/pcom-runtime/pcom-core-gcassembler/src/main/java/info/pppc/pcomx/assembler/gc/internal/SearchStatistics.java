@@ -0,0 +1,105 @@
+package info.pppc.pcomx.assembler.gc.internal;
+
+/**
+ * The search statistics describe the effort that has been spent by an
+ * application to compute a configuration. The statistics are passed as
+ * data object of the search finished event.
+ *
+ * @author Mac
+ */
+public class SearchStatistics {
+
+	/**
+	 * The number of items that have been configured.
+	 */
+	protected int expanded;
+
+	/**
+	 * The number of failures that caused some item to try its next
+	 * alternative.
+	 */
+	protected int backtracks;
+
+	/**
+	 * The number of resource templates that have been skipped since
+	 * they are known to be infeasible with the free resources.
+	 */
+	protected int pruned;
+
+	/**
+	 * The number of demands whose offers have been reused instead of
+	 * querying the container of a system again.
+	 */
+	protected int cached;
+
+	/**
+	 * The time in milliseconds that has been required to compute the
+	 * configuration.
+	 */
+	protected long time;
+
+	/**
+	 * Creates new empty statistics.
+	 */
+	public SearchStatistics() {
+		super();
+	}
+
+	/**
+	 * Returns the number of items that have been configured.
+	 *
+	 * @return The number of expanded nodes.
+	 */
+	public int getExpanded() {
+		return expanded;
+	}
+
+	/**
+	 * Returns the number of failures that caused some item to try its
+	 * next alternative.
+	 *
+	 * @return The number of backtracks.
+	 */
+	public int getBacktracks() {
+		return backtracks;
+	}
+
+	/**
+	 * Returns the number of resource templates that have been skipped
+	 * without expanding them.
+	 *
+	 * @return The number of pruned templates.
+	 */
+	public int getPruned() {
+		return pruned;
+	}
+
+	/**
+	 * Returns the number of demands whose offers have been reused.
+	 *
+	 * @return The number of queries that have been saved.
+	 */
+	public int getCached() {
+		return cached;
+	}
+
+	/**
+	 * Returns the time required to compute the configuration.
+	 *
+	 * @return The time in milliseconds.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Returns a human readable string representation.
+	 *
+	 * @return A string representation of the statistics.
+	 */
+	public String toString() {
+		return "EXPANDED (" + expanded + ") BACKTRACKS (" + backtracks + ") PRUNED (" + pruned
+			+ ") CACHED (" + cached + ") TIME (" + time + ")";
+	}
+
+}
@@ -17,6 +17,7 @@ import info.pppc.pcom.system.assembler.Assembly;
 import info.pppc.pcom.system.assembler.AssemblyPointer;
 import info.pppc.pcom.system.assembler.AssemblyState;
 import info.pppc.pcom.system.contract.Contract;
+import info.pppc.pcom.system.io.CompactFormat;
 import info.pppc.pcomx.assembler.gd.internal.Application;
 import info.pppc.pcomx.assembler.gd.internal.Pointer;
 import info.pppc.pcomx.assembler.gd.internal.ReleaseEvent;
@@ -54,6 +55,12 @@ public class GDAssembler implements IGDAssembler {
 	 */
 	public static final ObjectID ASSEMBLER_ID = new ObjectID(6); 
 	
+	/**
+	 * The id that is registered by assemblers that are able to resolve
+	 * multiple demands with a single call.
+	 */
+	public static final ObjectID BATCH_ID = new ObjectID(11);
+	
 	/**
 	 * This event is fired whenever a new application is added to the assembler.
 	 * The event source will be the assembler. The data object will be the 
@@ -90,6 +97,12 @@ public class GDAssembler implements IGDAssembler {
 	 */
 	private Vector applications = new Vector();
 	
+	/**
+	 * The selector that orders the systems that are tried in order to 
+	 * resolve instance demands. This selector is shared by all applications.
+	 */
+	private ISystemSelector selector = new SystemSelector();
+	
 	/**
 	 * A flag that indicates whether the algorithm is running.
 	 */
@@ -144,6 +157,26 @@ public class GDAssembler implements IGDAssembler {
 	}
 	
 	
+	/**
+	 * Determines whether the assembler on the specified system is able to
+	 * resolve multiple demands with a single call. This is the case if the
+	 * system has registered the batch id.
+	 * 
+	 * @param systemID The system of the assembler.
+	 * @return True if the assembler supports batches, false otherwise.
+	 */
+	public static boolean isBatchSupported(SystemID systemID) {
+		SystemID[] systems = InvocationBroker.getInstance()
+			.getDeviceRegistry().getDevices(BATCH_ID);
+		if (systems == null) return false;
+		for (int i = 0; i < systems.length; i++) {
+			if (systems[i].equals(systemID)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
 	 * Creates a new assembler using the specified broker.
 	 * 
@@ -156,9 +189,12 @@ public class GDAssembler implements IGDAssembler {
 		GDAssemblerSkeleton skeleton = new GDAssemblerSkeleton();
 		skeleton.setImplementation(this);
 		registry.registerObject(ASSEMBLER_ID, skeleton, this);
+		// announce that this assembler can resolve batches of demands
+		registry.registerObject(BATCH_ID, skeleton, this);
 		broker.addBrokerListener(InvocationBroker.EVENT_BROKER_SHUTDOWN, new IListener() {
 			public void handleEvent(Event event) {
 				registry.removeObject(ASSEMBLER_ID);
+				registry.removeObject(BATCH_ID);
 				synchronized (applications) {
 					running = false;
 					while (! applications.isEmpty()) {
@@ -196,6 +232,29 @@ public class GDAssembler implements IGDAssembler {
 		return listeners.removeListener(types, listener);
 	}
 	
+	/**
+	 * Sets the selector that orders the systems that are tried in order
+	 * to resolve instance demands. The selector will be used for all
+	 * applications that are added afterwards. If the selector is null,
+	 * the systems will be tried in random order.
+	 * 
+	 * @param selector The selector that orders the systems.
+	 */
+	public void setSystemSelector(ISystemSelector selector) {
+		this.selector = selector;
+	}
+	
+	/**
+	 * Returns the selector that orders the systems that are tried in 
+	 * order to resolve instance demands.
+	 * 
+	 * @return The selector that orders the systems or null if the
+	 * 	systems are tried in random order.
+	 */
+	public ISystemSelector getSystemSelector() {
+		return selector;
+	}
+	
 	/**
 	 * Returns the application with the specified id or null if there
 	 * is none.
@@ -275,6 +334,7 @@ public class GDAssembler implements IGDAssembler {
 				systems.add(devices[i]);
 			}
 			Application application = new Application(applicationID, registry, systems);
+			application.setSystemSelector(selector);
 			return addApplication(application);
 		}
 	}
@@ -316,6 +376,7 @@ public class GDAssembler implements IGDAssembler {
 			Pointer pointer = new Pointer();
 			Pointer[] pointers = application.setupState(pointer, state);
 			AssemblyPointer base = new AssemblyPointer(applicationID);
+			base.setCompact(CompactFormat.isSupported(state.getSystemID()));
 			base.setAssemblerID(assemblerID);
 			base.setName(state.getName());
 			base.setVariableID(pointer);
@@ -370,6 +431,7 @@ public class GDAssembler implements IGDAssembler {
 					context.addResource(child);
 				}	
 			}
+			context.setCompact(CompactFormat.isSupported(state.getSystemID()));
 			return context;
 		} else {
 			return null;
@@ -382,10 +444,11 @@ public class GDAssembler implements IGDAssembler {
 	 * 
 	 * @param pointer The pointer that points to some configured part of the
 	 * 	application.
+	 * @param systemID The system id of the caller.
 	 * @return The assembly for the pointer or null if the assembly for the pointer 
 	 * 	cannot be retrieved.
 	 */
-	public Assembly retrieve(AssemblyPointer pointer) {
+	public Assembly retrieve(AssemblyPointer pointer, SystemID systemID) {
 		ReferenceID applicationID = pointer.getApplicationID();
 		Logging.debug(getClass(), "Received retrieve for " + applicationID + ".");
 		Application application;
@@ -393,7 +456,12 @@ public class GDAssembler implements IGDAssembler {
 			application = getApplication(applicationID);
 		}
 		if (application != null) {
-			return application.retrieveAssembly((Pointer)pointer.getVariableID());
+			Assembly assembly = application.retrieveAssembly((Pointer)pointer.getVariableID());
+			if (assembly == null) return null;
+			// copy since the assembly is kept by the application
+			assembly = assembly.copy();
+			assembly.setCompact(CompactFormat.isSupported(systemID));
+			return assembly;
 		} else {
 			return null;
 		}
@@ -430,6 +498,7 @@ public class GDAssembler implements IGDAssembler {
 			Logging.debug(getClass(), "Retrieved prepare for " + applicationID + ".");
 			if (!running) throw new InvocationException("Assembler is shut down.");
 			Application application = new Application(applicationID, master, systems);
+			application.setSystemSelector(selector);
 			return addApplication(application);
 		}
 	}
@@ -514,4 +583,32 @@ public class GDAssembler implements IGDAssembler {
 		}
 	}
 
+	/**
+	 * Requests the configuration of a number of dependencies in an application.
+	 * The dependencies will be resolved in the order of the vectors.
+	 * 
+	 * @param applicationID The id of the application.
+	 * @param phase The current phase of the algorithm.
+	 * @param pointers The pointers that point to the configurations.
+	 * @param system The system that requests the configuration.
+	 * @param contracts The contracts that describe the dependencies.
+	 * @param reuse A flag that indicates whether the parent is reused.
+	 */
+	public void resolve(ReferenceID applicationID, int phase, Vector pointers, SystemID system, Vector contracts, boolean reuse) {
+		if (pointers == null || contracts == null || pointers.size() != contracts.size()) {
+			throw new IllegalArgumentException("Pointers and contracts must match.");
+		}
+		Application application;
+		synchronized (applications) {
+			application = getApplication(applicationID);
+		}
+		if (application != null) {
+			for (int i = 0; i < pointers.size(); i++) {
+				ResolveEvent event = new ResolveEvent(application, phase, (Pointer)pointers.elementAt(i), 
+					system, (Contract)contracts.elementAt(i), reuse);
+				application.scheduleEvent(event);
+			}
+		}
+	}
+
 }
@@ -161,14 +161,16 @@ public class GDAssemblerProxy extends info.pppc.base.system.Proxy implements inf
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
 	 * @param pointer see info.pppc.pcom.system.assembler.IAssembler
+	 * @param systemID see info.pppc.pcom.system.assembler.IAssembler
 	 * @return seeinfo.pppc.pcom.system.assembler.IAssembler
 	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.system.assembler.IAssembler
 	 * @see info.pppc.pcom.system.assembler.IAssembler
 	 */
-	public info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer pointer) throws info.pppc.base.system.InvocationException {
-		Object[] __args = new Object[1];
+	public info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer pointer, info.pppc.base.system.SystemID systemID) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[2];
 		__args[0] = pointer;
-		String __method = "info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer)";
+		__args[1] = systemID;
+		String __method = "info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer, info.pppc.base.system.SystemID)";
 		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
 		info.pppc.base.system.Result __result = proxyInvokeSynchronous(__invocation);
 		if (__result.hasException()) {
@@ -183,12 +185,14 @@ public class GDAssemblerProxy extends info.pppc.base.system.Proxy implements inf
 	 * Proxy method that creates and transfers a deferred synchronous invocation.
 	 *
 	 * @param pointer see info.pppc.pcom.system.assembler.IAssembler
+	 * @param systemID see info.pppc.pcom.system.assembler.IAssembler
 	 * @return A future result that delivers the return value and exceptions. * @see info.pppc.pcom.system.assembler.IAssembler
 	 */
-	public info.pppc.base.system.FutureResult retrieveDef(info.pppc.pcom.system.assembler.AssemblyPointer pointer)  {
-		Object[] __args = new Object[1];
+	public info.pppc.base.system.FutureResult retrieveDef(info.pppc.pcom.system.assembler.AssemblyPointer pointer, info.pppc.base.system.SystemID systemID)  {
+		Object[] __args = new Object[2];
 		__args[0] = pointer;
-		String __method = "info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer)";
+		__args[1] = systemID;
+		String __method = "info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer, info.pppc.base.system.SystemID)";
 		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
 		return proxyInvokeDeferred(__invocation);
 	}
@@ -517,6 +521,93 @@ public class GDAssemblerProxy extends info.pppc.base.system.Proxy implements inf
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers an invocation for the interface method.
+	 *
+	 * @param applicationID see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param phase see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param pointers see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param system see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param contracts see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param reuse see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 */
+	public void resolve(info.pppc.base.system.ReferenceID applicationID, int phase, java.util.Vector pointers, info.pppc.base.system.SystemID system, java.util.Vector contracts, boolean reuse) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[6];
+		__args[0] = applicationID;
+		__args[1] = new Integer(phase);
+		__args[2] = pointers;
+		__args[3] = system;
+		__args[4] = contracts;
+		__args[5] = new Boolean(reuse);
+		String __method = "void resolve(info.pppc.base.system.ReferenceID, int, java.util.Vector, info.pppc.base.system.SystemID, java.util.Vector, boolean)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeSynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return ;
+	}
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param applicationID see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param phase see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param pointers see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param system see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param contracts see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param reuse see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 */
+	public info.pppc.base.system.FutureResult resolveDef(info.pppc.base.system.ReferenceID applicationID, int phase, java.util.Vector pointers, info.pppc.base.system.SystemID system, java.util.Vector contracts, boolean reuse)  {
+		Object[] __args = new Object[6];
+		__args[0] = applicationID;
+		__args[1] = new Integer(phase);
+		__args[2] = pointers;
+		__args[3] = system;
+		__args[4] = contracts;
+		__args[5] = new Boolean(reuse);
+		String __method = "void resolve(info.pppc.base.system.ReferenceID, int, java.util.Vector, info.pppc.base.system.SystemID, java.util.Vector, boolean)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateSynchronous(__method, __args);
+		return proxyInvokeDeferred(__invocation);
+	}
+	/**
+	 * Proxy method that creates and transfers an asynchronous call.
+	 *
+	 * @param applicationID see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param phase see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param pointers see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param system see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param contracts see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @param reuse see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 * @see info.pppc.pcomx.assembler.gd.IGDAssembler
+	 */
+	public void resolveAsync(info.pppc.base.system.ReferenceID applicationID, int phase, java.util.Vector pointers, info.pppc.base.system.SystemID system, java.util.Vector contracts, boolean reuse) throws info.pppc.base.system.InvocationException {
+		Object[] __args = new Object[6];
+		__args[0] = applicationID;
+		__args[1] = new Integer(phase);
+		__args[2] = pointers;
+		__args[3] = system;
+		__args[4] = contracts;
+		__args[5] = new Boolean(reuse);
+		String __method = "void resolve(info.pppc.base.system.ReferenceID, int, java.util.Vector, info.pppc.base.system.SystemID, java.util.Vector, boolean)";
+		info.pppc.base.system.Invocation __invocation = proxyCreateAsynchronous(__method, __args);
+		info.pppc.base.system.Result __result = proxyInvokeAsynchronous(__invocation);
+		if (__result.hasException()) {
+			if (__result.getException() instanceof info.pppc.base.system.InvocationException) {
+				throw (info.pppc.base.system.InvocationException)__result.getException();
+			}
+			throw (RuntimeException)__result.getException();
+		}
+		return ;
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -36,8 +36,8 @@ public class GDAssemblerSkeleton extends info.pppc.base.system.Skeleton  {
 				impl.release((info.pppc.base.system.ReferenceID)args[0], ((Integer)args[1]).intValue(), (info.pppc.pcomx.assembler.gd.internal.Pointer)args[2]);
 				return new info.pppc.base.system.Result(result, null);
 			}
-			else if (method.equals("info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer)")) {
-				Object result = impl.retrieve((info.pppc.pcom.system.assembler.AssemblyPointer)args[0]);
+			else if (method.equals("info.pppc.pcom.system.assembler.Assembly retrieve(info.pppc.pcom.system.assembler.AssemblyPointer, info.pppc.base.system.SystemID)")) {
+				Object result = impl.retrieve((info.pppc.pcom.system.assembler.AssemblyPointer)args[0], (info.pppc.base.system.SystemID)args[1]);
 				return new info.pppc.base.system.Result(result, null);
 			}
 			else if (method.equals("info.pppc.base.lease.Lease prepare(info.pppc.base.system.ReferenceID, info.pppc.base.system.SystemID, java.util.Vector)")) {
@@ -67,6 +67,11 @@ public class GDAssemblerSkeleton extends info.pppc.base.system.Skeleton  {
 				impl.resolve((info.pppc.base.system.ReferenceID)args[0], ((Integer)args[1]).intValue(), (info.pppc.pcomx.assembler.gd.internal.Pointer)args[2], (info.pppc.base.system.SystemID)args[3], (info.pppc.pcom.system.contract.Contract)args[4], ((Boolean)args[5]).booleanValue());
 				return new info.pppc.base.system.Result(result, null);
 			}
+			else if (method.equals("void resolve(info.pppc.base.system.ReferenceID, int, java.util.Vector, info.pppc.base.system.SystemID, java.util.Vector, boolean)")) {
+				Object result = null;
+				impl.resolve((info.pppc.base.system.ReferenceID)args[0], ((Integer)args[1]).intValue(), (java.util.Vector)args[2], (info.pppc.base.system.SystemID)args[3], (java.util.Vector)args[4], ((Boolean)args[5]).booleanValue());
+				return new info.pppc.base.system.Result(result, null);
+			}
 			else if (method.equals("void report(info.pppc.base.system.ReferenceID, int, info.pppc.pcomx.assembler.gd.internal.Pointer, info.pppc.pcom.system.assembler.Assembly)")) {
 				Object result = null;
 				impl.report((info.pppc.base.system.ReferenceID)args[0], ((Integer)args[1]).intValue(), (info.pppc.pcomx.assembler.gd.internal.Pointer)args[2], (info.pppc.pcom.system.assembler.Assembly)args[3]);
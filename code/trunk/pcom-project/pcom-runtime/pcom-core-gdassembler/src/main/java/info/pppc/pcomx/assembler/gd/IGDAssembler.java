@@ -55,6 +55,24 @@ public interface IGDAssembler extends IAssembler {
 	 */
 	public void resolve(ReferenceID applicationID, int phase, Pointer pointer, SystemID system, Contract contract, boolean reuse) throws InvocationException;
 	
+	/**
+	 * Resolves the specified instance demand contracts for the specified pointers
+	 * in the specified application. This is used to resolve all demands of a
+	 * template that are targeted at the same system with a single call. The
+	 * pointer at some index denotes the position of the contract with the same
+	 * index. Since older assemblers do not provide this method, it must only be
+	 * called on systems that have registered the batch id of the assembler.
+	 * 
+	 * @param applicationID The id of the application.
+	 * @param phase The current phase of the configuration algorithm.
+	 * @param pointers The pointers that denote the positions in the tree.
+	 * @param system The requesting system that uses the instances.
+	 * @param contracts The instance demands that should be resolved.
+	 * @param reuse A flag that indicates whether the parent is reused.
+	 * @throws InvocationException Thrown by base if the call fails.
+	 */
+	public void resolve(ReferenceID applicationID, int phase, Vector pointers, SystemID system, Vector contracts, boolean reuse) throws InvocationException;
+	
 	/**
 	 * Releases all configured data for the specified pointer.
 	 * 
@@ -0,0 +1,62 @@
+package info.pppc.pcomx.assembler.gd;
+
+import java.util.Vector;
+
+import info.pppc.base.system.SystemID;
+import info.pppc.pcom.system.contract.Contract;
+
+/**
+ * The system selector determines the order in which the greedy assembler
+ * tries the systems that might resolve an instance demand. Since each
+ * failed attempt results in a complete remote resolve and report cycle,
+ * the selector should put the systems that are most likely to succeed
+ * first. The assembler informs the selector about the outcome of each
+ * attempt and about the latency of the remote calls. Selectors are
+ * shared by all applications of an assembler, thus, they must be thread
+ * safe.
+ *
+ * @author Mac
+ */
+public interface ISystemSelector {
+
+	/**
+	 * Orders the specified systems for the specified instance demand. The
+	 * system that should be tried first must be the first element of the
+	 * vector after the call. Systems with equal preference should retain
+	 * their relative order, since the assembler shuffles the systems
+	 * beforehand in order to distribute the load.
+	 *
+	 * @param demand The instance demand that should be resolved.
+	 * @param systems The vector of system ids that must be ordered.
+	 */
+	public void orderSystems(Contract demand, Vector systems);
+
+	/**
+	 * Called whenever the assembler received the outcome of an attempt
+	 * to resolve the specified demand on the specified system.
+	 *
+	 * @param system The system that has been used to resolve the demand.
+	 * @param demand The instance demand that should have been resolved.
+	 * @param success True if the system was able to resolve the demand,
+	 * 	false otherwise.
+	 */
+	public void reportResolve(SystemID system, Contract demand, boolean success);
+
+	/**
+	 * Called whenever the assembler has measured the round-trip time of
+	 * a remote call to the specified system.
+	 *
+	 * @param system The system that has been called.
+	 * @param latency The round-trip time in milliseconds.
+	 */
+	public void reportLatency(SystemID system, long latency);
+
+	/**
+	 * Called whenever the specified system has been removed from the
+	 * configuration of some application since it could not be contacted.
+	 *
+	 * @param system The system that has been removed.
+	 */
+	public void removeSystem(SystemID system);
+
+}
@@ -0,0 +1,378 @@
+package info.pppc.pcomx.assembler.gd;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import info.pppc.base.system.InvocationBroker;
+import info.pppc.base.system.InvocationException;
+import info.pppc.base.system.ReferenceID;
+import info.pppc.base.system.SystemID;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.container.ContainerProxy;
+import info.pppc.pcom.system.container.IContainer;
+import info.pppc.pcom.system.contract.Contract;
+
+/**
+ * The system selector is the default selector of the greedy assembler.
+ * It ranks the systems for a demand using the information that is
+ * available to the assembler. First, systems that resolved the same
+ * demand before are preferred over unknown systems which are preferred
+ * over systems that failed to resolve the demand. Second, systems with
+ * a lower observed round-trip time are preferred. Since small differences
+ * in the latency are caused by jitter, the latency is compared in steps
+ * of latency classes. Third, systems with more free resources are
+ * preferred. Since resources of different types use different units,
+ * the free amount of each resource type is set in relation to the
+ * largest free amount of that type among the candidates before the
+ * amounts are added up. The free resources are retrieved from the
+ * container of the system in the background and cached for a certain
+ * period of time. Thus, ordering never blocks on a remote call. Systems
+ * whose resources are not known yet are treated optimistically, just
+ * like systems whose latency is not known yet.
+ *
+ * @author Mac
+ */
+public class SystemSelector implements ISystemSelector {
+
+	/**
+	 * The resources entry stores the free resources of a single system.
+	 * 
+	 * @author Mac
+	 */
+	private static class Resources {
+		
+		/**
+		 * The time at which the resources have been retrieved or
+		 * at which the last retrieval has failed.
+		 */
+		private long time = 0;
+		
+		/**
+		 * The free resources that have been retrieved last or null
+		 * if the resources are not known. Hashes allocator ids to
+		 * integer arrays.
+		 */
+		private Hashtable free = null;
+		
+		/**
+		 * A flag that indicates whether a retrieval is in progress.
+		 */
+		private boolean pending = false;
+		
+	}
+	
+	/**
+	 * The maximum number of demands whose outcomes are remembered. If
+	 * the history exceeds this number, it will be cleared.
+	 */
+	private static final int HISTORY_SIZE = 256;
+
+	/**
+	 * The period in milliseconds for which the free resources of a system
+	 * are cached.
+	 */
+	private static final long RESOURCE_PERIOD = 10000;
+
+	/**
+	 * The size of a latency class in milliseconds. Systems whose latency
+	 * falls into the same class are considered to be equally fast.
+	 */
+	private static final long LATENCY_CLASS = 50;
+
+	/**
+	 * The score of a single resource type for a system that has the
+	 * largest free amount of this type among the candidates.
+	 */
+	private static final long RESOURCE_SCALE = 1000;
+
+	/**
+	 * The outcomes of previous attempts. Hashes demands to hashtables
+	 * that hash system ids to integers. The integer is increased for
+	 * each success and decreased for each failure.
+	 */
+	private Hashtable history = new Hashtable();
+
+	/**
+	 * The smoothed round-trip times of the systems in milliseconds.
+	 * Hashes system ids to longs.
+	 */
+	private Hashtable latencies = new Hashtable();
+
+	/**
+	 * The cached free resources of the systems. Hashes system ids to
+	 * resources entries.
+	 */
+	private Hashtable resources = new Hashtable();
+
+	/**
+	 * Creates a new system selector without history.
+	 */
+	public SystemSelector() {
+		super();
+	}
+
+	/**
+	 * Orders the specified systems for the specified instance demand
+	 * using a stable insertion sort.
+	 *
+	 * @param demand The instance demand that should be resolved.
+	 * @param systems The vector of system ids that must be ordered.
+	 */
+	public void orderSystems(Contract demand, Vector systems) {
+		int size = systems.size();
+		if (size < 2) return;
+		Hashtable[] free = new Hashtable[size];
+		for (int i = 0; i < size; i++) {
+			free[i] = getResources((SystemID)systems.elementAt(i));
+		}
+		Hashtable maxima = getMaxima(free);
+		long[][] keys = new long[size][];
+		for (int i = 0; i < size; i++) {
+			SystemID system = (SystemID)systems.elementAt(i);
+			keys[i] = new long[] {
+				-getHistory(system, demand),
+				getLatency(system) / LATENCY_CLASS,
+				-getScore(free[i], maxima)
+			};
+		}
+		for (int i = 1; i < size; i++) {
+			long[] key = keys[i];
+			Object system = systems.elementAt(i);
+			int j = i - 1;
+			while (j >= 0 && compare(keys[j], key) > 0) {
+				keys[j + 1] = keys[j];
+				systems.setElementAt(systems.elementAt(j), j + 1);
+				j -= 1;
+			}
+			keys[j + 1] = key;
+			systems.setElementAt(system, j + 1);
+		}
+	}
+
+	/**
+	 * Remembers the outcome of an attempt to resolve the demand.
+	 *
+	 * @param system The system that has been used to resolve the demand.
+	 * @param demand The instance demand that should have been resolved.
+	 * @param success True if the system was able to resolve the demand,
+	 * 	false otherwise.
+	 */
+	public synchronized void reportResolve(SystemID system, Contract demand, boolean success) {
+		Hashtable systems = (Hashtable)history.get(demand);
+		if (systems == null) {
+			if (history.size() >= HISTORY_SIZE) {
+				history.clear();
+			}
+			systems = new Hashtable();
+			history.put(demand, systems);
+		}
+		Integer outcome = (Integer)systems.get(system);
+		int value = (outcome == null) ? 0 : outcome.intValue();
+		systems.put(system, new Integer(success ? value + 1 : value - 1));
+	}
+
+	/**
+	 * Updates the smoothed round-trip time of the specified system.
+	 *
+	 * @param system The system that has been called.
+	 * @param latency The round-trip time in milliseconds.
+	 */
+	public synchronized void reportLatency(SystemID system, long latency) {
+		Long previous = (Long)latencies.get(system);
+		if (previous == null) {
+			latencies.put(system, new Long(latency));
+		} else {
+			// exponential smoothing with a weight of 1/4 for new values
+			latencies.put(system, new Long((previous.longValue() * 3 + latency) / 4));
+		}
+	}
+
+	/**
+	 * Removes the latency and the cached resources of the system. The
+	 * outcomes of previous attempts are retained.
+	 *
+	 * @param system The system that has been removed.
+	 */
+	public synchronized void removeSystem(SystemID system) {
+		latencies.remove(system);
+		resources.remove(system);
+	}
+
+	/**
+	 * Returns the outcome of previous attempts to resolve the demand on
+	 * the system. Positive values denote previous successes, negative
+	 * values denote previous failures.
+	 *
+	 * @param system The system whose history should be retrieved.
+	 * @param demand The demand that should be resolved.
+	 * @return The outcome of previous attempts.
+	 */
+	private synchronized long getHistory(SystemID system, Contract demand) {
+		Hashtable systems = (Hashtable)history.get(demand);
+		if (systems == null) return 0;
+		Integer outcome = (Integer)systems.get(system);
+		if (outcome == null) return 0;
+		return outcome.intValue();
+	}
+
+	/**
+	 * Returns the smoothed round-trip time of the system or zero if the
+	 * system has not been called so far.
+	 *
+	 * @param system The system whose latency should be retrieved.
+	 * @return The smoothed latency of the system in milliseconds.
+	 */
+	private synchronized long getLatency(SystemID system) {
+		Long latency = (Long)latencies.get(system);
+		if (latency == null) return 0;
+		return latency.longValue();
+	}
+
+	/**
+	 * Returns the cached free resources of the system. If the cached
+	 * value is outdated, the container of the system will be queried in
+	 * the background. If the query fails, the previous value is kept and
+	 * the query is repeated after the period expires.
+	 *
+	 * @param system The system whose resources should be retrieved.
+	 * @return The free resources of the system hashed by allocator id
+	 * 	or null if the resources are not known yet.
+	 */
+	private Hashtable getResources(final SystemID system) {
+		long now = System.currentTimeMillis();
+		Hashtable free;
+		synchronized (this) {
+			Resources cached = (Resources)resources.get(system);
+			if (cached == null) {
+				cached = new Resources();
+				resources.put(system, cached);
+			}
+			free = cached.free;
+			if (cached.pending || now - cached.time < RESOURCE_PERIOD) {
+				return free;
+			}
+			cached.pending = true;
+		}
+		InvocationBroker.getInstance().performOperation(new IOperation() {
+			public void perform(IMonitor monitor) throws Exception {
+				refreshResources(system);
+			}
+		});
+		return free;
+	}
+
+	/**
+	 * Queries the free resources of the system from its container and
+	 * updates the cached value. If the system has been removed in the
+	 * meantime, the result is dropped.
+	 * 
+	 * @param system The system whose resources should be retrieved.
+	 */
+	private void refreshResources(SystemID system) {
+		long now = System.currentTimeMillis();
+		Hashtable free = null;
+		ContainerProxy container = new ContainerProxy();
+		container.setSourceID(new ReferenceID(SystemID.SYSTEM, GDAssembler.ASSEMBLER_ID));
+		container.setTargetID(new ReferenceID(system, IContainer.CONTAINER_ID));
+		try {
+			free = container.getResources();
+			reportLatency(system, System.currentTimeMillis() - now);
+		} catch (InvocationException e) {
+			Logging.debug(getClass(), "Could not retrieve resources of " + system + ".");
+		}
+		synchronized (this) {
+			Resources cached = (Resources)resources.get(system);
+			if (cached == null) return;
+			cached.pending = false;
+			cached.time = System.currentTimeMillis();
+			if (free != null) {
+				cached.free = free;
+			}
+		}
+	}
+
+	/**
+	 * Determines the largest free amount of each resource type among the
+	 * specified resources. A resource type is denoted by the allocator id
+	 * and the index within the integer array of the allocator.
+	 * 
+	 * @param free The free resources of the candidates, entries may be
+	 * 	null if the resources of a candidate are not known.
+	 * @return A hashtable that hashes allocator ids to integer arrays
+	 * 	that contain the largest free amount of each resource type.
+	 */
+	private Hashtable getMaxima(Hashtable[] free) {
+		Hashtable maxima = new Hashtable();
+		for (int i = 0; i < free.length; i++) {
+			if (free[i] == null) continue;
+			Enumeration e = free[i].keys();
+			while (e.hasMoreElements()) {
+				Object allocator = e.nextElement();
+				int[] values = (int[])free[i].get(allocator);
+				int[] max = (int[])maxima.get(allocator);
+				if (max == null || max.length < values.length) {
+					int[] grown = new int[values.length];
+					if (max != null) {
+						System.arraycopy(max, 0, grown, 0, max.length);
+					}
+					max = grown;
+					maxima.put(allocator, max);
+				}
+				for (int j = 0; j < values.length; j++) {
+					if (values[j] > max[j]) max[j] = values[j];
+				}
+			}
+		}
+		return maxima;
+	}
+
+	/**
+	 * Computes the resource score of a system. Each resource type adds
+	 * the free amount of the system relative to the largest free amount
+	 * among the candidates. Systems whose resources are not known yet 
+	 * receive the largest possible score.
+	 * 
+	 * @param free The free resources of the system or null if they are
+	 * 	not known.
+	 * @param maxima The largest free amounts of each resource type.
+	 * @return The resource score of the system.
+	 */
+	private long getScore(Hashtable free, Hashtable maxima) {
+		long score = 0;
+		Enumeration e = maxima.keys();
+		while (e.hasMoreElements()) {
+			Object allocator = e.nextElement();
+			int[] max = (int[])maxima.get(allocator);
+			int[] values = (free == null) ? null : (int[])free.get(allocator);
+			for (int j = 0; j < max.length; j++) {
+				if (max[j] <= 0) continue;
+				if (free == null) {
+					score += RESOURCE_SCALE;
+				} else if (values != null && j < values.length && values[j] > 0) {
+					score += values[j] * RESOURCE_SCALE / max[j];
+				}
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Compares the specified keys lexicographically.
+	 *
+	 * @param key1 The first key.
+	 * @param key2 The second key.
+	 * @return A negative value if the first key is smaller, a positive
+	 * 	value if it is larger and zero if the keys are equal.
+	 */
+	private int compare(long[] key1, long[] key2) {
+		for (int i = 0; i < key1.length; i++) {
+			if (key1[i] < key2[i]) return -1;
+			if (key1[i] > key2[i]) return 1;
+		}
+		return 0;
+	}
+
+}
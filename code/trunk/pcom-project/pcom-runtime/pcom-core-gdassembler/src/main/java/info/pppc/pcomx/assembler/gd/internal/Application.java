@@ -24,10 +24,12 @@ import info.pppc.pcom.system.assembler.AssemblyPointer;
 import info.pppc.pcom.system.assembler.AssemblyState;
 import info.pppc.pcom.system.container.Container;
 import info.pppc.pcom.system.container.ContainerProxy;
+import info.pppc.pcom.system.container.ContainerState;
 import info.pppc.pcom.system.container.IContainer;
 import info.pppc.pcom.system.contract.Contract;
 import info.pppc.pcomx.assembler.gd.GDAssembler;
 import info.pppc.pcomx.assembler.gd.GDAssemblerProxy;
+import info.pppc.pcomx.assembler.gd.ISystemSelector;
 
 /**
  * The application is the data container of the GCAssembler
@@ -100,6 +102,15 @@ public class Application implements IOperation, IListener {
 	 */
 	public static final int EVENT_DEVICE_REMOVED = 64;
 	
+	/**
+	 * Signals that the statistics about the selection of systems for
+	 * instance bindings have changed. This happens whenever systems 
+	 * have been selected for a binding and whenever the outcome of an
+	 * attempt has been reported. The data object will contain the 
+	 * selection statistics, the source object will be the application.
+	 */
+	public static final int EVENT_SELECTION_CHANGED = 128;
+	
 	/**
 	 * The id of the application represented by this assembler
 	 * application.
@@ -192,6 +203,18 @@ public class Application implements IOperation, IListener {
 	 */
 	private GDAssemblerProxy assembler;
 	
+	/**
+	 * The selector that orders the systems that are tried in order to
+	 * resolve an instance binding. If the selector is null, the systems
+	 * are tried in random order.
+	 */
+	private ISystemSelector selector;
+	
+	/**
+	 * The statistics about the selection of systems for instance bindings.
+	 */
+	private SelectionStatistics statistics = new SelectionStatistics();
+	
 // variables used by the master device, they are only accessible and useful there
 	
 	/**
@@ -317,6 +340,39 @@ public class Application implements IOperation, IListener {
 		this.lease = lease;
 	}
 	
+	/**
+	 * Sets the selector that is used to order the systems that are tried
+	 * in order to resolve an instance binding. If the selector is null, 
+	 * the systems will be tried in random order. This method is only used
+	 * externally by the GDAssembler.
+	 * 
+	 * @param selector The selector used to order the systems.
+	 */
+	public void setSystemSelector(ISystemSelector selector) {
+		this.selector = selector;
+	}
+	
+	/**
+	 * Returns the selector that is used to order the systems that are 
+	 * tried in order to resolve an instance binding.
+	 * 
+	 * @return The selector used to order the systems or null if the
+	 * 	systems are tried in random order.
+	 */
+	public ISystemSelector getSystemSelector() {
+		return selector;
+	}
+	
+	/**
+	 * Returns the statistics about the selection of systems for instance
+	 * bindings.
+	 * 
+	 * @return The selection statistics of the application.
+	 */
+	public SelectionStatistics getSelectionStatistics() {
+		return statistics;
+	}
+	
 	/**
 	 * Returns the monitor that can be used to cancel the operation.
 	 * The GCAssembler uses this monitor to synchronize on the
@@ -571,6 +627,7 @@ public class Application implements IOperation, IListener {
 			binding.state = InstanceBinding.STATE_RESOLVED;
 			binding.assembly = assembly;
 			listeners.fireEvent(EVENT_BINDING_CHANGED, binding);
+			reportSelection(binding, true);
 			Enumeration bs = instance.bindings.elements();
 			boolean finished = true;
 			while (bs.hasMoreElements()) {
@@ -590,6 +647,7 @@ public class Application implements IOperation, IListener {
 			// configure the instance in some other way
 			if (request.required) {
 				// detect whether further options can be configured and configure them
+				reportSelection(binding, false);
 				binding.systems.removeElementAt(0);
 				binding.assembly = null;
 				if (binding.systems.size() > 0) {
@@ -598,7 +656,9 @@ public class Application implements IOperation, IListener {
 					listeners.fireEvent(EVENT_BINDING_CHANGED, binding);
 					try {
 						assembler.setTargetID(new ReferenceID(system, GDAssembler.ASSEMBLER_ID));
+						long start = System.currentTimeMillis();
 						assembler.resolve(id, phase, binding.pointer, SystemID.SYSTEM, binding.contract, instance.reuse);
+						reportLatency(system, System.currentTimeMillis() - start);
 					} catch (InvocationException e) {
 						sendRemove(system, e);
 					}
@@ -787,6 +847,9 @@ public class Application implements IOperation, IListener {
 		if (! systems.contains(system)) return;
 		// remove the system from the system list
 		systems.remove(system);
+		if (selector != null) {
+			selector.removeSystem(system);
+		}
 		// remove all state from the application.
 		requests.clear();
 		resources = null;
@@ -847,12 +910,14 @@ public class Application implements IOperation, IListener {
 			final Instance instance = (Instance)request.instances.elementAt(0);
 			templates: while (! instance.templates.isEmpty()) {
 				Contract template = (Contract)instance.templates.elementAt(0);
-				// try to configure all resources for the template
+				// try to configure all resources for the template, retrieve
+				// the offers for all resources with a single query
 				Contract[] resources = template.getContracts(Contract.TYPE_RESOURCE_DEMAND);
+				Hashtable offers = getTemplates(resources);
 				for (int i = 0; i < resources.length; i++) {
 					Contract resource = resources[i];
 					Pointer rpointer = new Pointer(request.pointer, false, resource.getName());
-					Assembly assembly = resolveResource(rpointer, resource, instance.reuse);
+					Assembly assembly = resolveResource(rpointer, resource, offers, instance.reuse);
 					if (assembly != null) {
 						// add the configured resource to the list of assemblies
 						instance.resources.put(resource.getName(), assembly);
@@ -876,42 +941,76 @@ public class Application implements IOperation, IListener {
 					sendReport(request, true);
 					return;
 				} else {
-					// send resolve request for required instances
+					// send resolve request for required instances, the requests
+					// that target the same system are sent with a single call
+					// if the assembler of the system supports it
 					Random random = new Random();
+					Vector targets = new Vector();
+					Hashtable batches = new Hashtable();
 					for (int i = 0; i < instances.length; i++) {
 						final Contract idemand = instances[i];
 						final Pointer ipointer = new Pointer(request.pointer, true, idemand.getName());
 						final InstanceBinding binding = new InstanceBinding(instance, ipointer, idemand);
 						AssemblyState state = (AssemblyState)states.get(request.pointer);
-						int shift = 0;
+						// shuffle the systems, keep a reused system at the front
+						// and let the selector order the remaining ones
+						Vector candidates = new Vector();
 						for (int j = 0; j < systems.size(); j++) {
 							SystemID system = (SystemID)systems.elementAt(j);
 							if (instance.reuse && state != null && system.equals(state.getInstance(idemand.getName()))) {
-								binding.systems.insertElementAt(system, 0);
-								shift = 1;
+								binding.systems.addElement(system);
 							} else {
-								if (binding.systems.size() - shift > 0) {
-									int idx = random.nextInt(binding.systems.size() - shift);
-									idx += shift;
-									binding.systems.insertElementAt(system, idx);											
-								} else {
-									binding.systems.addElement(system);
-								}
+								candidates.insertElementAt(system, random.nextInt(candidates.size() + 1));
 							}
 						}
+						if (selector != null) {
+							selector.orderSystems(idemand, candidates);
+						}
+						for (int j = 0; j < candidates.size(); j++) {
+							binding.systems.addElement(candidates.elementAt(j));
+						}
 						binding.state = InstanceBinding.STATE_RESOLVING;
 						instance.bindings.put(idemand.getName(), binding);
 						listeners.fireEvent(EVENT_BINDING_CHANGED, binding);
+						statistics.selections += 1;
 						SystemID target = (SystemID)binding.systems.elementAt(0);
+						Vector batch = (Vector)batches.get(target);
+						if (batch == null) {
+							batch = new Vector();
+							batches.put(target, batch);
+							targets.addElement(target);
+						}
+						batch.addElement(binding);
+					}
+					for (int i = 0; i < targets.size(); i++) {
+						SystemID target = (SystemID)targets.elementAt(i);
+						Vector batch = (Vector)batches.get(target);
 						assembler.setTargetID(new ReferenceID(target, GDAssembler.ASSEMBLER_ID));
 						try {
-							assembler.resolve(id, phase, ipointer, SystemID.SYSTEM, idemand, instance.reuse);
+							long start = System.currentTimeMillis();
+							if (batch.size() == 1 || ! GDAssembler.isBatchSupported(target)) {
+								for (int j = 0; j < batch.size(); j++) {
+									InstanceBinding binding = (InstanceBinding)batch.elementAt(j);
+									assembler.resolve(id, phase, binding.pointer, SystemID.SYSTEM, binding.contract, instance.reuse);
+								}
+							} else {
+								Vector pointers = new Vector();
+								Vector contracts = new Vector();
+								for (int j = 0; j < batch.size(); j++) {
+									InstanceBinding binding = (InstanceBinding)batch.elementAt(j);
+									pointers.addElement(binding.pointer);
+									contracts.addElement(binding.contract);
+								}
+								assembler.resolve(id, phase, pointers, SystemID.SYSTEM, contracts, instance.reuse);
+							}
+							reportLatency(target, System.currentTimeMillis() - start);
 						} catch (InvocationException e) {
 							sendRemove(target, e);
 							// shortcut due to a soon-to-happen restart
 							return;
 						}			
 					}
+					listeners.fireEvent(EVENT_SELECTION_CHANGED, statistics);
 					// we are done here, lets get out of here
 					return;
 				}
@@ -926,23 +1025,101 @@ public class Application implements IOperation, IListener {
 		sendReport(request, false);
 	}	
 	
+// helper methods for system selection
+	
+	/**
+	 * Records the outcome of the current attempt of the specified binding
+	 * in the selection statistics and informs the selector about it.
+	 * 
+	 * @param binding The binding whose current system has reported.
+	 * @param success True if the system resolved the binding, false if it
+	 * 	failed to resolve the binding.
+	 */
+	private void reportSelection(InstanceBinding binding, boolean success) {
+		SystemID system = (SystemID)binding.systems.elementAt(0);
+		binding.attempts += 1;
+		if (success) {
+			if (binding.attempts == 1) {
+				statistics.hits += 1;
+			}
+		} else if (binding.systems.size() > 1) {
+			statistics.retries += 1;
+		} else {
+			statistics.failures += 1;
+		}
+		if (selector != null) {
+			selector.reportResolve(system, binding.contract, success);
+		}
+		listeners.fireEvent(EVENT_SELECTION_CHANGED, statistics);
+	}
+	
+	/**
+	 * Records the round-trip time of a resolve call to the specified 
+	 * system in the selection statistics and informs the selector about
+	 * it.
+	 * 
+	 * @param system The system that has been called.
+	 * @param latency The round-trip time of the call in milliseconds.
+	 */
+	private void reportLatency(SystemID system, long latency) {
+		statistics.latency += latency;
+		statistics.calls += 1;
+		if (selector != null) {
+			selector.reportLatency(system, latency);
+		}
+	}
+	
 // helper methods for local resource resolution
 	
+	/**
+	 * Retrieves the offers of the local container for all specified
+	 * resource demands with a single query. The result hashes the 
+	 * demands to hashtables of creator ids to vectors of templates.
+	 * If the resources of the container have not been retrieved yet,
+	 * they are initialized with the resources returned by the query.
+	 * 
+	 * @param demands The resource demands to query.
+	 * @return The offers of the container for the demands or null
+	 * 	if the container cannot be contacted.
+	 */
+	private Hashtable getTemplates(Contract[] demands) {
+		if (demands.length == 0) return new Hashtable();
+		Vector query = new Vector();
+		for (int i = 0; i < demands.length; i++) {
+			query.addElement(demands[i]);
+		}
+		try {
+			ContainerState state = container.queryContainer(query, ContainerState.VERSION_UNKNOWN, SystemID.SYSTEM);
+			if (resources == null) {
+				resources = state.getResources();
+			}
+			return state.getTemplates();
+		} catch (InvocationException e) {
+			Logging.error(getClass(), "Cannot contact local container", e);
+			return null;
+		}
+	}
+	
 	/**
 	 * Tries to resolve the specified resource demand recursively and
-	 * returns an assembly if suceessful or null if unsuccessful. 
+	 * returns an assembly if suceessful or null if unsuccessful. The
+	 * offers for the children of the demand are retrieved with a 
+	 * single query per template.
 	 * 
 	 * @param pointer The pointer that denotes the position of the
 	 * 	resource within the algorithm.
 	 * @param demand The demand that needs to be resolved.
+	 * @param queried The offers of the local container that have
+	 * 	been retrieved for the demand and its siblings or null if 
+	 * 	the container could not be contacted.
 	 * @param reuse True if the parent is reused and thus, the 
 	 * 	resource might be reused to, false otherwise.
 	 * @return The assembly for the complete resource tree if the
 	 * 	resources can be reserved or null if the resource cannot
 	 * 	be reserved on this device.
 	 */
-	private Assembly resolveResource(Pointer pointer, Contract demand, boolean reuse) {
-		try {
+	private Assembly resolveResource(Pointer pointer, Contract demand, Hashtable queried, boolean reuse) {
+		if (queried != null) {
 			// initialize the creator id and element id if the resource
 			// can be reused under certain circumstances
 			ObjectID reuseID = null;
@@ -954,11 +1131,8 @@ public class Application implements IOperation, IListener {
 					elementID = state.getElementID();
 				}
 			}
-			// retrieve the offers from the local container
-			Vector demands = new Vector();
-			demands.addElement(demand);
-			Hashtable result = container.getTemplates(demands);
-			Hashtable offers = (Hashtable)result.get(demand);
+			// retrieve the offers of the local container for the demand
+			Hashtable offers = (Hashtable)queried.get(demand);
 			if (offers != null) {
 				// if there are offers, prepare a potential result assembly
 				Assembly assembly = new Assembly();
@@ -1000,12 +1174,13 @@ public class Application implements IOperation, IListener {
 						// first reserve the resource itself
 						if (reserveResources(creatorID, template)) {
 							Contract[] resources = template.getContracts(Contract.TYPE_RESOURCE_DEMAND);
+							Hashtable children = getTemplates(resources);
 							// ... then try to reserve its children
 							for (int j = 0; j < resources.length; j++) {
 								Contract rdemand = resources[j];
 								String rname = rdemand.getName();
 								Pointer rpointer = new Pointer(pointer, false, rname);
-								Assembly rassembly = resolveResource(rpointer, rdemand, rreuse);
+								Assembly rassembly = resolveResource(rpointer, rdemand, children, rreuse);
 								if (rassembly != null) {
 									// child reserved successfully, continue
 									assembly.addResource(rassembly);
@@ -1026,8 +1201,6 @@ public class Application implements IOperation, IListener {
 				// no more creators, reservation failed completely, 
 				// return failure at end of method
 			}
-		} catch (InvocationException e) {
-			Logging.error(getClass(), "Cannot contact local container", e);
 		}
 		return null;
 	}
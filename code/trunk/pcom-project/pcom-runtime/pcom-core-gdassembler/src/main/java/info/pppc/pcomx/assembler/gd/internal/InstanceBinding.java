@@ -64,6 +64,12 @@ public class InstanceBinding {
 	 */
 	protected Assembly assembly;
 	
+	/**
+	 * The number of systems whose attempt to resolve the binding
+	 * has been reported so far.
+	 */
+	protected int attempts;
+	
 	/**
 	 * Creates a new instance binding for the specified parent using the
 	 * specified pointer and the specified systems.
@@ -0,0 +1,111 @@
+package info.pppc.pcomx.assembler.gd.internal;
+
+/**
+ * The selection statistics describe the decisions that have been made
+ * by an application while selecting systems for instance demands. The
+ * statistics are passed as data object of selection events.
+ *
+ * @author Mac
+ */
+public class SelectionStatistics {
+
+	/**
+	 * The number of instance bindings for which systems have been selected.
+	 */
+	protected int selections;
+
+	/**
+	 * The number of bindings that have been resolved by the first system.
+	 */
+	protected int hits;
+
+	/**
+	 * The number of attempts that failed and caused a retry on another
+	 * system.
+	 */
+	protected int retries;
+
+	/**
+	 * The number of bindings that could not be resolved by any system.
+	 */
+	protected int failures;
+
+	/**
+	 * The sum of the round-trip times of resolve calls in milliseconds.
+	 */
+	protected long latency;
+
+	/**
+	 * The number of resolve calls whose round-trip time has been measured.
+	 */
+	protected int calls;
+
+	/**
+	 * Creates new empty statistics.
+	 */
+	public SelectionStatistics() {
+		super();
+	}
+
+	/**
+	 * Returns the number of instance bindings for which systems have been
+	 * selected.
+	 *
+	 * @return The number of selections.
+	 */
+	public int getSelections() {
+		return selections;
+	}
+
+	/**
+	 * Returns the number of bindings that have been resolved by the first
+	 * system that has been selected.
+	 *
+	 * @return The number of bindings resolved on the first try.
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of failed attempts that caused a retry on some
+	 * other system.
+	 *
+	 * @return The number of retries.
+	 */
+	public int getRetries() {
+		return retries;
+	}
+
+	/**
+	 * Returns the number of bindings that could not be resolved by any
+	 * of the systems.
+	 *
+	 * @return The number of failed bindings.
+	 */
+	public int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Returns the average round-trip time of resolve calls in milliseconds
+	 * or zero if no call has been measured.
+	 *
+	 * @return The average round-trip time of resolve calls.
+	 */
+	public long getLatency() {
+		if (calls == 0) return 0;
+		return latency / calls;
+	}
+
+	/**
+	 * Returns a human readable string representation.
+	 *
+	 * @return A string representation of the statistics.
+	 */
+	public String toString() {
+		return "SELECTIONS (" + selections + ") HITS (" + hits + ") RETRIES (" + retries
+			+ ") FAILURES (" + failures + ") LATENCY (" + getLatency() + ")";
+	}
+
+}
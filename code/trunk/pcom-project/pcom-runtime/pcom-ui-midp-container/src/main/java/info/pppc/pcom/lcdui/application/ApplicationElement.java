@@ -70,6 +70,14 @@ public class ApplicationElement extends AbstractElement implements IRefreshable,
 	 */
 	private ApplicationItem[] items = new ApplicationItem[0];
 	
+	/**
+	 * The events of the application manager that carry application descriptors.
+	 */
+	private static final int EVENT_DESCRIPTOR = ApplicationManager.EVENT_APPLICATION_ADDED 
+		| ApplicationManager.EVENT_APPLICATION_REMOVED | ApplicationManager.EVENT_APPLICATION_CHANGED 
+		| ApplicationManager.EVENT_APPLICATION_STARTED | ApplicationManager.EVENT_APPLICATION_PAUSED 
+		| ApplicationManager.EVENT_APPLICATION_STOPPED;
+	
 	/**
 	 * A reference to the application manager that is controlled by this element.
 	 */
@@ -87,7 +95,7 @@ public class ApplicationElement extends AbstractElement implements IRefreshable,
 			new RefreshAction(this),
 			new CloseAction(this) 
 		};
-		applicationManager.addApplicationListener(Event.EVENT_EVERYTHING, this);
+		applicationManager.addApplicationListener(EVENT_DESCRIPTOR, this);
 		refresh();
 	}
 	
@@ -159,7 +167,7 @@ public class ApplicationElement extends AbstractElement implements IRefreshable,
 	 * the listener from the application repository.
 	 */
 	public void dispose() {
-		applicationManager.removeApplicationListener(Event.EVENT_EVERYTHING, this);
+		applicationManager.removeApplicationListener(EVENT_DESCRIPTOR, this);
 		items = new ApplicationItem[0];
 	}
 	
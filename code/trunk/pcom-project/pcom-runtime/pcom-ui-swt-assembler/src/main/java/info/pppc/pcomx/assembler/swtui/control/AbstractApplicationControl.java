@@ -3,6 +3,7 @@ package info.pppc.pcomx.assembler.swtui.control;
 import info.pppc.base.swtui.element.AbstractElementControl;
 import info.pppc.base.swtui.element.IElementManager;
 import info.pppc.base.swtui.element.action.RemoveAction;
+import info.pppc.base.system.event.Event;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcomx.assembler.swtui.AssemblerUI;
 import info.pppc.pcomx.assembler.swtui.graph.GraphEntryFigure;
@@ -28,6 +29,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.CoolBar;
 import org.eclipse.swt.widgets.CoolItem;
 import org.eclipse.swt.widgets.Label;
@@ -43,6 +45,13 @@ import org.eclipse.swt.widgets.ToolItem;
  */
 public abstract class AbstractApplicationControl extends AbstractElementControl {
 	
+	/**
+	 * The time in milliseconds between two frames. The events that are
+	 * posted by the assembler within this time are applied together and
+	 * the graphs are layouted once per frame.
+	 */
+	protected static final int FRAME_PERIOD = 40;
+	
 	/**
 	 * The graph that displays the configuration algorithm.
 	 */
@@ -118,6 +127,69 @@ public abstract class AbstractApplicationControl extends AbstractElementControl
 	 */
 	protected boolean autoZoom = false;
 	
+	/**
+	 * The journal that stores the events posted by the assembler until
+	 * they are applied by the ui thread.
+	 */
+	private EventJournal journal = new EventJournal();
+	
+	/**
+	 * A flag that indicates whether the ui thread is applying the events
+	 * of a frame. While the flag is set, zooming is deferred until the
+	 * end of the frame.
+	 */
+	private boolean framing = false;
+	
+	/**
+	 * A flag that indicates whether zooming has been requested while the
+	 * events of a frame have been applied.
+	 */
+	private boolean zooming = false;
+	
+	/**
+	 * The runnable that applies the events of the journal and updates
+	 * the graphs. This runnable is executed by the ui thread.
+	 */
+	private Runnable frame = new Runnable() {
+		public void run() {
+			Display display = getDisplay();
+			if (display == null || display.isDisposed()) return;
+			if (assemblerCanvas == null || assemblerCanvas.isDisposed()) return;
+			Event[] events = journal.drain();
+			if (events.length == 0) return;
+			framing = true;
+			try {
+				for (int i = 0; i < events.length; i++) {
+					try {
+						applyEvent(events[i]);
+					} catch (Throwable t) {
+						Logging.error(getClass(), "Could not apply event.", t);
+					}
+				}
+			} finally {
+				framing = false;
+			}
+			assemblerGraph.updateGraph();
+			applicationGraph.updateGraph();
+			if (zooming) {
+				zooming = false;
+				zoom();
+			}
+		}
+	};
+	
+	/**
+	 * The runnable that schedules the next frame. This runnable is 
+	 * executed by the ui thread.
+	 */
+	private Runnable scheduler = new Runnable() {
+		public void run() {
+			Display display = getDisplay();
+			if (display == null || display.isDisposed()) return;
+			display.timerExec(FRAME_PERIOD, frame);
+		}
+	};
+	
 	/**
 	 * Creates a new manager for the specified application on the 
 	 * specified element manager. 
@@ -241,6 +313,7 @@ public abstract class AbstractApplicationControl extends AbstractElementControl
 		layer2.setLayoutManager(bl2);
 		// add the application graph
 		applicationGraph = new GraphEntryFigure(parent.getDisplay());
+		applicationGraph.setIncremental(true);
 		applicationGraph.addFigureListener(new FigureListener() {
 			public void figureMoved(IFigure source) {
 				zoom();
@@ -261,6 +334,7 @@ public abstract class AbstractApplicationControl extends AbstractElementControl
 		layer.setLayoutManager(bl);
 		// add the assembler graph
 		assemblerGraph = new GraphEntryFigure(parent.getDisplay());
+		assemblerGraph.setIncremental(true);
 		assemblerGraph.addFigureListener(new FigureListener() {
 			public void figureMoved(IFigure source) {
 				zoom();
@@ -309,6 +383,7 @@ public abstract class AbstractApplicationControl extends AbstractElementControl
 	 * disposes the parent control.
 	 */
 	public void disposeControl() {
+		journal.clear();
 		assemblerGraph.getUpdateManager().dispose();
 		applicationGraph.getUpdateManager().dispose();
 		super.disposeControl();
@@ -361,6 +436,40 @@ public abstract class AbstractApplicationControl extends AbstractElementControl
 		update();
 	}
 	
+	/**
+	 * Posts the specified event to the journal of the control. The
+	 * event will be applied by the ui thread with the next frame. This
+	 * method does not wait for the ui thread and thus, it can be called
+	 * by the threads of the assembler. Note that the configuration
+	 * thread might still be paused afterwards by calling the block 
+	 * method, if the user has enabled stepping.
+	 * 
+	 * @param event The event to post.
+	 * @param coalesce True if the event merely signals a change of its
+	 * 	data object and can be coalesced with a previous event of the
+	 * 	same type and the same data object.
+	 */
+	protected void post(Event event, boolean coalesce) {
+		if (journal.append(event, coalesce)) {
+			Display display = getDisplay();
+			if (display == null || display.isDisposed()) {
+				journal.clear();
+			} else {
+				display.asyncExec(scheduler);	
+			}
+		}
+	}
+	
+	/**
+	 * Called by the ui thread to apply an event that has been posted
+	 * to the journal. Implementations should modify the figures of the
+	 * graphs but they should not update the graphs, since the graphs
+	 * are updated once after all events of a frame have been applied.
+	 * 
+	 * @param event The event that should be applied.
+	 */
+	protected abstract void applyEvent(Event event);
+	
 	/**
 	 * Called whenever a configuration thread has entered
 	 * the control and wants to return to its original task.
@@ -449,6 +558,10 @@ public abstract class AbstractApplicationControl extends AbstractElementControl
 	 * Called whenever the graph structure has changed.
 	 */
 	public void zoom() {
+		if (framing) {
+			zooming = true;
+			return;
+		}
 		if (autoZoom) {
 			Dimension asSize = assemblerGraph.getPreferredSize();
 			Dimension apSize = applicationGraph.getPreferredSize();
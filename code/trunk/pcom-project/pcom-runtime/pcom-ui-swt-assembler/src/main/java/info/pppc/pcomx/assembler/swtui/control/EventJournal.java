@@ -0,0 +1,110 @@
+package info.pppc.pcomx.assembler.swtui.control;
+
+import info.pppc.base.system.event.Event;
+
+import java.util.Hashtable;
+import java.util.Vector;
+
+/**
+ * The event journal decouples the threads of an assembler from the
+ * ui thread that visualizes the assembler. The listeners of a control
+ * append the events of the assembler to the journal and return
+ * immediately. The ui thread periodically drains the journal and
+ * applies all events that have been appended since the last frame.
+ * Appending an event never waits for the ui thread, the journal is
+ * only locked for the time that is needed to add or swap the vector
+ * of events.
+ * Events that merely signal that the data object has changed can be
+ * coalesced. Since the ui reads the state of the data object when it
+ * applies the event, it is sufficient to apply the first of several
+ * such events with the same type and data object per frame.
+ * The journal keeps track of whether a frame has been scheduled. The
+ * thread that appends an event to an idle journal is responsible for
+ * scheduling the next frame.
+ *
+ * @author Mac
+ */
+public class EventJournal {
+
+	/**
+	 * The events that have been appended since the last drain.
+	 */
+	private Vector events = new Vector();
+
+	/**
+	 * The coalescable events of the current frame. This table hashes
+	 * data objects to vectors that contain the event types as integers.
+	 */
+	private Hashtable coalesced = new Hashtable();
+
+	/**
+	 * A flag that indicates whether a frame has been scheduled.
+	 */
+	private boolean scheduled = false;
+
+	/**
+	 * Creates a new empty journal.
+	 */
+	public EventJournal() {
+		super();
+	}
+
+	/**
+	 * Appends the specified event to the journal. If the event can be
+	 * coalesced and the journal contains an event with the same type
+	 * and data object, the event is dropped. The return value indicates
+	 * whether the caller must schedule a new frame.
+	 *
+	 * @param event The event to append.
+	 * @param coalesce True if the event can be coalesced with a previous
+	 * 	event of the same type with the same data object.
+	 * @return True if the journal has been idle and the caller must
+	 * 	schedule a frame, false if a frame has already been scheduled.
+	 */
+	public synchronized boolean append(Event event, boolean coalesce) {
+		Object data = event.getData();
+		if (coalesce && data != null) {
+			Integer type = new Integer(event.getType());
+			Vector types = (Vector)coalesced.get(data);
+			if (types == null) {
+				types = new Vector();
+				coalesced.put(data, types);
+			}
+			if (types.contains(type)) return false;
+			types.addElement(type);
+		}
+		events.addElement(event);
+		if (scheduled) {
+			return false;
+		} else {
+			scheduled = true;
+			return true;
+		}
+	}
+
+	/**
+	 * Removes all events from the journal and returns them in the
+	 * order in which they have been appended. Afterwards, the journal
+	 * is idle and the next append must schedule a new frame.
+	 *
+	 * @return The events that have been appended since the last drain.
+	 */
+	public synchronized Event[] drain() {
+		Event[] result = new Event[events.size()];
+		events.copyInto(result);
+		events = new Vector();
+		coalesced.clear();
+		scheduled = false;
+		return result;
+	}
+
+	/**
+	 * Removes all events from the journal without applying them.
+	 */
+	public synchronized void clear() {
+		events.removeAllElements();
+		coalesced.clear();
+		scheduled = false;
+	}
+
+}
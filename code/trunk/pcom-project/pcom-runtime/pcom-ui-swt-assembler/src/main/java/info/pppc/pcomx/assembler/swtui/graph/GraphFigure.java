@@ -23,6 +23,12 @@ import org.eclipse.swt.widgets.Display;
  * graph using his or her own figures and connections. After a modification
  * has been made, the update graph must be called. If no animation is currently
  * running, this will start an animation.
+ * By default, the graph is layouted using the directed graph layout of draw2d
+ * which positions all nodes whenever the graph changes. If the graph is a
+ * forest, the figure can be switched to an incremental mode that uses a tree
+ * layout that only positions the subtrees affected by a change. In both modes,
+ * only the nodes whose position has changed are animated and the number of 
+ * nodes moved per animation step is limited.
  * 
  * @author Mac
  */
@@ -42,6 +48,13 @@ public class GraphFigure extends Figure {
 	 */
 	protected static int ANIMATION_STEP = 10;
 	
+	/**
+	 * The maximum number of nodes that will be moved in each step. If
+	 * more nodes must be moved, the remaining nodes will be moved in
+	 * the next steps. Values must be greater than 0.
+	 */
+	protected static int ANIMATION_LIMIT = 64;
+	
 	/**
 	 * The default spacing between nodes.
 	 */
@@ -67,6 +80,29 @@ public class GraphFigure extends Figure {
 	 */
 	protected DirectedGraphLayout layout = new DirectedGraphLayout();
 	
+	/**
+	 * The tree layout that is used to layout the graph incrementally.
+	 */
+	protected TreeLayout tree = new TreeLayout(NODE_SPACING);
+	
+	/**
+	 * A flag that indicates whether the graph is layouted incrementally
+	 * if it is a forest.
+	 */
+	protected boolean incremental = false;
+	
+	/**
+	 * A flag that indicates whether nodes or edges have been added or
+	 * removed since the last update.
+	 */
+	protected boolean modified = false;
+	
+	/**
+	 * The nodes that have not reached their position in the current
+	 * layout.
+	 */
+	protected Vector moving = new Vector();
+	
 	/**
 	 * The total size of the graph figure.
 	 */
@@ -135,6 +171,8 @@ public class GraphFigure extends Figure {
 		node.width = preferred.width;
 		node.height = preferred.height;
 		node.setPadding(new Insets(NODE_SPACING));
+		tree.addNode(node);
+		modified = true;
 	}
 	
 	/**
@@ -169,6 +207,8 @@ public class GraphFigure extends Figure {
 		Node node = (Node)nodes.remove(figure);
 		if (node == null) return false;
 		graph.nodes.remove(node);
+		tree.removeNode(node);
+		modified = true;
 		remove(figure);
 		return true;
 	}
@@ -193,6 +233,8 @@ public class GraphFigure extends Figure {
 		Edge edge = new Edge(connection, source, target);
 		edges.put(connection, edge);
 		graph.edges.add(edge);
+		tree.addEdge(source, target);
+		modified = true;
 	}
 	
 	/**
@@ -207,6 +249,8 @@ public class GraphFigure extends Figure {
 		Edge edge = (Edge)edges.remove(connection);
 		if (edge == null) return false;
 		graph.edges.remove(edge);
+		tree.removeEdge(edge.source, edge.target);
+		modified = true;
 		remove(connection);
 		return true;
 	}
@@ -247,10 +291,25 @@ public class GraphFigure extends Figure {
 	 * will perform the animation between the two layouts.
 	 */
 	public void updateGraph() {
-		if (graph.nodes.size() > 0) {
-			layout.visit(graph);
+		Vector changed = new Vector();
+		Dimension gs = null;
+		if (incremental && tree.isTree()) {
+			tree.layout(changed);
+			gs = tree.getSize();
+		} else {
+			tree.reset();
+			if (modified) {
+				if (graph.nodes.size() > 0) {
+					layout.visit(graph);
+				}
+				NodeList nodes = graph.nodes;
+				for (int i = 0; i < nodes.size(); i++) {
+					changed.addElement(nodes.getNode(i));
+				}
+			}
+			gs = computeGraphSize();
 		}
-		Dimension gs = computeGraphSize();
+		modified = false;
 		// determine the width and height delta between the old and the new size
 		int widthDelta = (graphSize.width - gs.width) / 2;
 		int heightDelta = (graphSize.height - gs.height) / 2;
@@ -261,8 +320,21 @@ public class GraphFigure extends Figure {
 		moveNodes(widthDelta, heightDelta);
 		fireMoved();
 		revalidate();
+		// add the changed nodes to the nodes that must be moved
+		Hashtable scheduled = new Hashtable();
+		for (int i = 0; i < moving.size(); i++) {
+			Object node = moving.elementAt(i);
+			scheduled.put(node, node);
+		}
+		for (int i = 0; i < changed.size(); i++) {
+			Object node = changed.elementAt(i);
+			if (! scheduled.containsKey(node)) {
+				scheduled.put(node, node);
+				moving.addElement(node);	
+			}
+		}
 		// beginn the potential animation of the graph elements
-		if (animator == null) {
+		if (animator == null && ! moving.isEmpty()) {
 			animator = new Runnable() {
 				public void run() {
 					animate();
@@ -315,6 +387,30 @@ public class GraphFigure extends Figure {
 		this.step = step;
 	}
 	
+	/**
+	 * Determines whether the graph is layouted incrementally if it
+	 * is a forest.
+	 * 
+	 * @return True if the incremental layout is enabled.
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+	
+	/**
+	 * Enables or disables the incremental layout. If the incremental 
+	 * layout is enabled and the graph is a forest, only the subtrees 
+	 * that are affected by a change will be positioned. Otherwise, the 
+	 * graph will be layouted using the directed graph layout.
+	 * 
+	 * @param incremental True to enable the incremental layout.
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+		tree.reset();
+		modified = true;
+	}
+	
 	
 	/**
 	 * Recomputes the size of the graph. The size of the graph
@@ -396,49 +492,49 @@ public class GraphFigure extends Figure {
 	 * whether the animation must continue or whether it has finished. If
 	 * it has finished, it will not reschedule the animator thread. If it
 	 * has not finished, it will just reschedule the animator thread which
-	 * will then lead to another call of this method.
+	 * will then lead to another call of this method. Nodes that are not
+	 * visible before and after the movement are moved without animation.
 	 */
 	protected void animate() {
 		if (display.isDisposed()) return;
-		boolean animate = false;
-		NodeList nodes = graph.nodes;
-		for (int i = 0; i < nodes.size(); i++) {
-			Node node = nodes.getNode(i);
+		Rectangle visible = getBounds();
+		int count = Math.min(ANIMATION_LIMIT, moving.size());
+		Vector next = new Vector();
+		for (int i = count; i < moving.size(); i++) {
+			next.addElement(moving.elementAt(i));
+		}
+		for (int i = 0; i < count; i++) {
+			Node node = (Node)moving.elementAt(i);
 			Figure figure = (Figure)node.data;
-			Node target = nodes.getNode(i);
+			if (nodes.get(figure) != node) continue;
 			Rectangle source = figure.getBounds();
-			int targetX = target.x + graphOffset.width;
-			int targetY = target.y + graphOffset.height;
-			int targetW = target.width;
-			int targetH = target.height;
+			Rectangle target = new Rectangle(node.x + graphOffset.width, 
+				node.y + graphOffset.height, node.width, node.height);
+			if (source.equals(target)) continue;
+			if (! visible.intersects(source) && ! visible.intersects(target)) {
+				figure.setBounds(target);
+				continue;
+			}
 			int sourceX = source.x;
 			int sourceY = source.y;
 			int sourceW = source.width;
 			int sourceH = source.height;
-			if (sourceX != targetX) {
-				animate = true;
-				if (sourceX > targetX) sourceX -= Math.min(step, sourceX - targetX);
-				else sourceX += Math.min(step, targetX - sourceX);
-			}
-			if (sourceY != targetY) {
-				animate = true;
-				if (sourceY > targetY) sourceY -= Math.min(step, sourceY - targetY);
-				else sourceY += Math.min(step, targetY - sourceY);
-			}
-			if (sourceW != targetW) {
-				animate = true;
-				if (sourceW > targetW) sourceW -= Math.min(step, sourceW - targetW);
-				else sourceW += Math.min(step, targetW - sourceW);
-			}
-			if (sourceH != targetH) {
-				animate = true;
-				if (sourceH > targetH) sourceH -= Math.min(step, sourceH - targetH);
-				else sourceH += Math.min(step, targetH - sourceH);
+			if (sourceX > target.x) sourceX -= Math.min(step, sourceX - target.x);
+			else sourceX += Math.min(step, target.x - sourceX);
+			if (sourceY > target.y) sourceY -= Math.min(step, sourceY - target.y);
+			else sourceY += Math.min(step, target.y - sourceY);
+			if (sourceW > target.width) sourceW -= Math.min(step, sourceW - target.width);
+			else sourceW += Math.min(step, target.width - sourceW);
+			if (sourceH > target.height) sourceH -= Math.min(step, sourceH - target.height);
+			else sourceH += Math.min(step, target.height - sourceH);
+			Rectangle bounds = new Rectangle(sourceX, sourceY, sourceW, sourceH);
+			figure.setBounds(bounds);
+			if (! bounds.equals(target)) {
+				next.addElement(node);
 			}
-			figure.setBounds(new Rectangle(sourceX, sourceY, sourceW, sourceH));
 		}
-		if (animate) {
-			revalidate();	
+		moving = next;
+		if (! moving.isEmpty()) {
 			display.timerExec(speed, animator);
 		} else {
 			animator = null;
@@ -0,0 +1,393 @@
+package info.pppc.pcomx.assembler.swtui.graph;
+
+import java.util.Hashtable;
+import java.util.Vector;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.graph.Node;
+
+/**
+ * The tree layout is an incremental layout for graphs that form a forest.
+ * Each node is centered above its children and the children are placed
+ * next to each other in the order in which their edges have been added.
+ * The layout caches the width of each subtree and the position of each
+ * node. Whenever the structure changes, only the subtrees that contain
+ * a change and the subtrees that must be shifted as a result of the
+ * change are positioned again. If a change modifies the height of a
+ * rank, all nodes are positioned again.
+ * The layout maintains its own copy of the structure. Thus, nodes and
+ * edges must be added and removed through the methods of the layout.
+ * If some node has more than one incoming edge, the graph is not a
+ * forest and the layout cannot be used until the edges are removed.
+ * The layout does not detect cycles, nodes that are part of a cycle
+ * without a root are not positioned.
+ *
+ * @author Mac
+ */
+public class TreeLayout {
+
+	/**
+	 * The spacing around each node in pixels.
+	 */
+	private int spacing;
+
+	/**
+	 * The incoming edges of each node. This table hashes nodes to
+	 * vectors of source nodes. The first source is the parent of the
+	 * node in the tree.
+	 */
+	private Hashtable incoming = new Hashtable();
+
+	/**
+	 * The children of each node in the tree. This table hashes nodes
+	 * to vectors of nodes.
+	 */
+	private Hashtable children = new Hashtable();
+
+	/**
+	 * The nodes that do not have a parent in the order in which they
+	 * are placed.
+	 */
+	private Vector roots = new Vector();
+
+	/**
+	 * The cached widths of the subtrees. This table hashes nodes to
+	 * integers.
+	 */
+	private Hashtable widths = new Hashtable();
+
+	/**
+	 * The cached places of the nodes. This table hashes nodes to
+	 * integer arrays that contain the offset of the subtree of the
+	 * node and the depth of the node.
+	 */
+	private Hashtable places = new Hashtable();
+
+	/**
+	 * The heights of the ranks as integers.
+	 */
+	private Vector ranks = new Vector();
+
+	/**
+	 * The offsets of the ranks as integers.
+	 */
+	private Vector offsets = new Vector();
+
+	/**
+	 * The nodes that have been changed since the last layout.
+	 */
+	private Vector dirty = new Vector();
+
+	/**
+	 * The nodes whose subtrees contain a change during a layout.
+	 */
+	private Hashtable affected = new Hashtable();
+
+	/**
+	 * The number of nodes with more than one incoming edge.
+	 */
+	private int conflicts = 0;
+
+	/**
+	 * A flag that indicates whether all nodes must be positioned with
+	 * the next layout.
+	 */
+	private boolean invalid = true;
+
+	/**
+	 * A flag that indicates whether the height of a rank has been
+	 * exceeded during an incremental layout.
+	 */
+	private boolean overflow = false;
+
+	/**
+	 * The total size of the graph as computed by the last layout.
+	 */
+	private Dimension size = new Dimension(0, 0);
+
+	/**
+	 * Creates a new tree layout that uses the specified spacing
+	 * around each node.
+	 *
+	 * @param spacing The spacing around each node in pixels.
+	 */
+	public TreeLayout(int spacing) {
+		this.spacing = spacing;
+	}
+
+	/**
+	 * Adds the specified node as root of a new tree.
+	 *
+	 * @param node The node to add.
+	 */
+	public void addNode(Node node) {
+		if (incoming.containsKey(node)) return;
+		incoming.put(node, new Vector());
+		children.put(node, new Vector());
+		roots.addElement(node);
+		dirty.addElement(node);
+	}
+
+	/**
+	 * Removes the specified node and all edges that are connected
+	 * to the node. The children of the node become roots, if they
+	 * do not have another parent.
+	 *
+	 * @param node The node to remove.
+	 */
+	public void removeNode(Node node) {
+		Vector sources = (Vector)incoming.get(node);
+		if (sources == null) return;
+		while (! sources.isEmpty()) {
+			removeEdge((Node)sources.elementAt(0), node);
+		}
+		Vector targets = (Vector)children.get(node);
+		while (! targets.isEmpty()) {
+			removeEdge(node, (Node)targets.elementAt(0));
+		}
+		roots.removeElement(node);
+		incoming.remove(node);
+		children.remove(node);
+		widths.remove(node);
+		places.remove(node);
+		dirty.addElement(node);
+	}
+
+	/**
+	 * Adds an edge between the specified nodes. If the target has no
+	 * parent, the source becomes the parent of the target.
+	 *
+	 * @param source The source node of the edge.
+	 * @param target The target node of the edge.
+	 */
+	public void addEdge(Node source, Node target) {
+		Vector sources = (Vector)incoming.get(target);
+		if (sources == null || ! incoming.containsKey(source)) return;
+		sources.addElement(source);
+		if (sources.size() == 1) {
+			roots.removeElement(target);
+			((Vector)children.get(source)).addElement(target);
+		} else if (sources.size() == 2) {
+			conflicts += 1;
+		}
+		dirty.addElement(source);
+		dirty.addElement(target);
+	}
+
+	/**
+	 * Removes an edge between the specified nodes. If the source has
+	 * been the parent of the target, the next source becomes the parent
+	 * or the target becomes a root if there is no other source.
+	 *
+	 * @param source The source node of the edge.
+	 * @param target The target node of the edge.
+	 */
+	public void removeEdge(Node source, Node target) {
+		Vector sources = (Vector)incoming.get(target);
+		if (sources == null || ! sources.contains(source)) return;
+		boolean parent = (sources.elementAt(0) == source);
+		sources.removeElement(source);
+		if (sources.size() == 1) {
+			conflicts -= 1;
+		}
+		if (parent) {
+			((Vector)children.get(source)).removeElement(target);
+			if (sources.isEmpty()) {
+				roots.addElement(target);
+			} else {
+				Node next = (Node)sources.elementAt(0);
+				((Vector)children.get(next)).addElement(target);
+				dirty.addElement(next);
+			}
+		}
+		dirty.addElement(source);
+		dirty.addElement(target);
+	}
+
+	/**
+	 * Determines whether the graph is a forest and thus, whether it
+	 * can be layouted by this layout.
+	 *
+	 * @return True if no node has more than one incoming edge.
+	 */
+	public boolean isTree() {
+		return conflicts == 0;
+	}
+
+	/**
+	 * Forces the next layout to position all nodes. This must be called
+	 * if the positions of the nodes have been modified by some other
+	 * layout.
+	 */
+	public void reset() {
+		invalid = true;
+	}
+
+	/**
+	 * Returns the size of the graph as computed by the last layout.
+	 *
+	 * @return A copy of the size of the graph.
+	 */
+	public Dimension getSize() {
+		return new Dimension(size);
+	}
+
+	/**
+	 * Positions the nodes that are affected by the changes since the
+	 * last layout and adds all nodes whose position has changed to
+	 * the specified vector.
+	 *
+	 * @param changed The vector that receives the nodes whose position
+	 * 	has changed.
+	 */
+	public void layout(Vector changed) {
+		if (invalid) {
+			layoutAll(changed);
+		} else if (! dirty.isEmpty()) {
+			for (int i = 0; i < dirty.size(); i++) {
+				Node node = (Node)dirty.elementAt(i);
+				while (node != null && incoming.containsKey(node) && ! affected.containsKey(node)) {
+					affected.put(node, node);
+					Vector sources = (Vector)incoming.get(node);
+					node = sources.isEmpty()? null: (Node)sources.elementAt(0);
+				}
+			}
+			overflow = false;
+			placeRoots(changed);
+			if (overflow) {
+				layoutAll(changed);
+			}
+		}
+		dirty.removeAllElements();
+		affected.clear();
+	}
+
+	/**
+	 * Recomputes the ranks and positions all nodes.
+	 *
+	 * @param changed The vector that receives the nodes whose position
+	 * 	has changed.
+	 */
+	private void layoutAll(Vector changed) {
+		widths.clear();
+		places.clear();
+		ranks.removeAllElements();
+		for (int i = 0; i < roots.size(); i++) {
+			measureRanks((Node)roots.elementAt(i), 0);
+		}
+		offsets.removeAllElements();
+		int offset = 0;
+		for (int i = 0; i < ranks.size(); i++) {
+			offsets.addElement(new Integer(offset));
+			offset += ((Integer)ranks.elementAt(i)).intValue();
+		}
+		size.height = offset;
+		placeRoots(changed);
+		invalid = false;
+	}
+
+	/**
+	 * Computes the widths of the trees and places the roots next to
+	 * each other.
+	 *
+	 * @param changed The vector that receives the nodes whose position
+	 * 	has changed.
+	 */
+	private void placeRoots(Vector changed) {
+		int origin = 0;
+		for (int i = 0; i < roots.size(); i++) {
+			Node root = (Node)roots.elementAt(i);
+			int width = measure(root);
+			place(root, origin, 0, changed);
+			origin += width;
+		}
+		size.width = origin;
+	}
+
+	/**
+	 * Recursively updates the heights of the ranks with the heights
+	 * of the nodes of the specified subtree.
+	 *
+	 * @param node The root of the subtree.
+	 * @param depth The depth of the root.
+	 */
+	private void measureRanks(Node node, int depth) {
+		int height = node.height + spacing * 2;
+		if (depth == ranks.size()) {
+			ranks.addElement(new Integer(height));
+		} else if (((Integer)ranks.elementAt(depth)).intValue() < height) {
+			ranks.setElementAt(new Integer(height), depth);
+		}
+		Vector targets = (Vector)children.get(node);
+		for (int i = 0; i < targets.size(); i++) {
+			measureRanks((Node)targets.elementAt(i), depth + 1);
+		}
+	}
+
+	/**
+	 * Returns the width of the subtree with the specified root. If the
+	 * subtree is not affected by a change, the cached width is returned.
+	 *
+	 * @param node The root of the subtree.
+	 * @return The width of the subtree.
+	 */
+	private int measure(Node node) {
+		Integer cached = (Integer)widths.get(node);
+		if (cached != null && ! affected.containsKey(node)) {
+			return cached.intValue();
+		}
+		int sum = 0;
+		Vector targets = (Vector)children.get(node);
+		for (int i = 0; i < targets.size(); i++) {
+			sum += measure((Node)targets.elementAt(i));
+		}
+		int width = Math.max(node.width + spacing * 2, sum);
+		widths.put(node, new Integer(width));
+		return width;
+	}
+
+	/**
+	 * Places the subtree with the specified root at the specified
+	 * offset and depth. If the subtree has been placed at the same
+	 * offset and depth and if it is not affected by a change, the
+	 * subtree is not traversed.
+	 *
+	 * @param node The root of the subtree.
+	 * @param origin The horizontal offset of the subtree.
+	 * @param depth The depth of the root.
+	 * @param changed The vector that receives the nodes whose position
+	 * 	has changed.
+	 */
+	private void place(Node node, int origin, int depth, Vector changed) {
+		int[] place = (int[])places.get(node);
+		if (place != null && place[0] == origin && place[1] == depth
+				&& ! affected.containsKey(node)) return;
+		if (depth >= ranks.size() || ((Integer)ranks.elementAt(depth)).intValue()
+				< node.height + spacing * 2) {
+			overflow = true;
+			return;
+		}
+		places.put(node, new int[] { origin, depth });
+		int width = ((Integer)widths.get(node)).intValue();
+		int rank = ((Integer)ranks.elementAt(depth)).intValue();
+		int x = origin + (width - node.width) / 2;
+		int y = ((Integer)offsets.elementAt(depth)).intValue() + (rank - node.height) / 2;
+		if (x != node.x || y != node.y) {
+			node.x = x;
+			node.y = y;
+			changed.addElement(node);
+		}
+		Vector targets = (Vector)children.get(node);
+		int sum = 0;
+		for (int i = 0; i < targets.size(); i++) {
+			sum += ((Integer)widths.get(targets.elementAt(i))).intValue();
+		}
+		int offset = origin + (width - sum) / 2;
+		for (int i = 0; i < targets.size(); i++) {
+			Node target = (Node)targets.elementAt(i);
+			place(target, offset, depth + 1, changed);
+			offset += ((Integer)widths.get(target)).intValue();
+		}
+	}
+
+}
@@ -91,6 +91,14 @@ public class ApplicationControl extends AbstractElementControl {
 	 */
 	protected Vector adapters = new Vector();
 	
+	/**
+	 * The events of the application manager that carry application descriptors.
+	 */
+	private static final int EVENT_DESCRIPTOR = ApplicationManager.EVENT_APPLICATION_ADDED 
+		| ApplicationManager.EVENT_APPLICATION_REMOVED | ApplicationManager.EVENT_APPLICATION_CHANGED 
+		| ApplicationManager.EVENT_APPLICATION_STARTED | ApplicationManager.EVENT_APPLICATION_PAUSED 
+		| ApplicationManager.EVENT_APPLICATION_STOPPED;
+	
 	/**
 	 * A reference to the application manager that is controlled by this control.
 	 */
@@ -216,7 +224,7 @@ public class ApplicationControl extends AbstractElementControl {
 			}
 		}
 		// add the listeners to refresh the pane automatically
-		applicationManager.addApplicationListener(Event.EVENT_EVERYTHING, update);
+		applicationManager.addApplicationListener(EVENT_DESCRIPTOR, update);
 	}
 	
 	/**
@@ -250,7 +258,7 @@ public class ApplicationControl extends AbstractElementControl {
 	 */
 	public void disposeControl() {
 		// remove the listeners to update the pane
-		applicationManager.removeApplicationListener(Event.EVENT_EVERYTHING, update);
+		applicationManager.removeApplicationListener(EVENT_DESCRIPTOR, update);
 		super.disposeControl();
 		for (int i = adapters.size() - 1; i >= 0; i--) {
 			ApplicationAdapter adapter = (ApplicationAdapter)adapters.elementAt(i);
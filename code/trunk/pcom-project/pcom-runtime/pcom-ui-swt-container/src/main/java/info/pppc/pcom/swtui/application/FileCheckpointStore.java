@@ -0,0 +1,296 @@
+package info.pppc.pcom.swtui.application;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Hashtable;
+
+import info.pppc.base.system.InvocationBroker;
+import info.pppc.base.system.io.ObjectInputStream;
+import info.pppc.base.system.io.ObjectOutputStream;
+import info.pppc.base.system.operation.IMonitor;
+import info.pppc.base.system.operation.IOperation;
+import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.application.ICheckpointStore;
+import info.pppc.pcom.system.container.InstanceCheckpoint;
+
+/**
+ * The file checkpoint store is a durable checkpoint store for devices
+ * that provide a file system. It keeps one directory for each application
+ * and one file for each binding of an application. Similar to the memory
+ * checkpoint store, a file is a log that starts with a complete checkpoint
+ * followed by the differential checkpoints that have been stored since.
+ * Thus, storing a differential checkpoint only appends it to the file.
+ * Each checkpoint is prefixed with its length, so that a checkpoint that
+ * has been written partially can be detected and removed. Checkpoints
+ * are read one at a time when a complete checkpoint is loaded and the
+ * file is compacted afterwards. Files that grow beyond a certain length
+ * are compacted in the background. To use the store, it must be set at
+ * the application manager before the first application is saved.
+ *
+ * @author Mac
+ */
+public class FileCheckpointStore implements ICheckpointStore {
+
+	/**
+	 * The number of differential checkpoints that may be appended to a
+	 * file before it is compacted.
+	 */
+	private static final int COMPACT_THRESHOLD = 8;
+
+	/**
+	 * The extension of the files that contain checkpoints.
+	 */
+	private static final String EXTENSION = ".cpt";
+
+	/**
+	 * The extension of the temporary files that are written during
+	 * compaction.
+	 */
+	private static final String TEMPORARY = ".tmp";
+
+	/**
+	 * The directory that contains the directories of the applications.
+	 */
+	private File directory;
+
+	/**
+	 * The number of checkpoints that are contained in the files that
+	 * have been written by this store. Hashes file paths to integers.
+	 * This is also used to synchronize the access to the files.
+	 */
+	private Hashtable counts = new Hashtable();
+
+	/**
+	 * Creates a new file checkpoint store that stores the checkpoints
+	 * in the specified directory. If the directory does not exist, it
+	 * will be created.
+	 *
+	 * @param directory The directory used to store the checkpoints.
+	 * @throws IOException Thrown if the directory cannot be created.
+	 */
+	public FileCheckpointStore(File directory) throws IOException {
+		if (! directory.isDirectory() && ! directory.mkdirs()) {
+			throw new IOException("Could not create directory " + directory + ".");
+		}
+		this.directory = directory;
+	}
+
+	/**
+	 * Stores the specified checkpoint for the binding with the specified
+	 * name. A complete checkpoint replaces the file of the binding, a
+	 * differential checkpoint is appended to it. If there is no file,
+	 * the differential checkpoint is stored as complete checkpoint.
+	 *
+	 * @param application The name of the application.
+	 * @param name The name of the binding.
+	 * @param checkpoint The checkpoint to store.
+	 */
+	public void storeCheckpoint(String application, String name, InstanceCheckpoint checkpoint) {
+		synchronized (counts) {
+			final File file = getFile(application, name, true);
+			boolean append = ! checkpoint.isComplete() && file.exists();
+			if (append && ! counts.containsKey(file.getPath())) {
+				// remove partial checkpoints written by a previous run
+				append = (compact(file) != null);
+			}
+			if (! append && ! checkpoint.isComplete()) {
+				checkpoint = checkpoint.copy();
+				checkpoint.setComplete(true);
+			}
+			try {
+				write(file, checkpoint, append);
+			} catch (IOException e) {
+				Logging.error(getClass(), "Could not store checkpoint in " + file + ".", e);
+				return;
+			}
+			Integer count = (Integer)counts.get(file.getPath());
+			int size = (append && count != null) ? count.intValue() + 1 : 1;
+			counts.put(file.getPath(), new Integer(size));
+			if (size == COMPACT_THRESHOLD + 1) {
+				InvocationBroker.getInstance().performOperation(new IOperation() {
+					public void perform(IMonitor monitor) throws Exception {
+						synchronized (counts) {
+							compact(file);
+						}
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Returns the complete checkpoint of the binding with the specified
+	 * name or null if there is none. The checkpoints of the file are read
+	 * one at a time and applied to the complete checkpoint. If the file
+	 * contains differential checkpoints, it will be compacted.
+	 *
+	 * @param application The name of the application.
+	 * @param name The name of the binding.
+	 * @return The complete checkpoint of the binding or null.
+	 */
+	public InstanceCheckpoint loadCheckpoint(String application, String name) {
+		synchronized (counts) {
+			File file = getFile(application, name, false);
+			if (! file.exists()) return null;
+			return compact(file);
+		}
+	}
+
+	/**
+	 * Removes the files of all bindings of the specified application.
+	 *
+	 * @param application The name of the application.
+	 */
+	public void removeCheckpoints(String application) {
+		synchronized (counts) {
+			File folder = new File(directory, encode(application));
+			String[] names = folder.list();
+			if (names == null) return;
+			for (int i = 0; i < names.length; i++) {
+				File file = new File(folder, names[i]);
+				counts.remove(file.getPath());
+				if (! file.delete()) {
+					Logging.debug(getClass(), "Could not delete checkpoint " + file + ".");
+				}
+			}
+			folder.delete();
+		}
+	}
+
+	/**
+	 * Reads the checkpoints of the specified file and applies the differential
+	 * checkpoints to the complete one. If the file contains more than one
+	 * checkpoint or a checkpoint that has been written partially, it is 
+	 * replaced by a file that contains the complete one. The caller must
+	 * synchronize on the counts.
+	 *
+	 * @param file The file to compact.
+	 * @return The complete checkpoint contained in the file or null if the
+	 * 	file does not contain a checkpoint or if it cannot be read.
+	 */
+	private InstanceCheckpoint compact(File file) {
+		InstanceCheckpoint complete = null;
+		int size = 0;
+		boolean partial = false;
+		try {
+			DataInputStream input = new DataInputStream
+				(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				while (true) {
+					byte[] record = null;
+					try {
+						record = new byte[input.readInt()];
+						input.readFully(record);
+					} catch (EOFException e) {
+						partial = (record != null);
+						break;
+					}
+					InstanceCheckpoint checkpoint = new InstanceCheckpoint();
+					checkpoint.readObject(new ObjectInputStream(new ByteArrayInputStream(record)));
+					if (complete == null || checkpoint.isComplete()) {
+						checkpoint.setComplete(true);
+						complete = checkpoint;
+					} else {
+						checkpoint.apply(complete);
+					}
+					size += 1;
+				}
+			} finally {
+				input.close();
+			}
+			if (complete == null) {
+				return null;
+			} else if (size > 1 || partial) {
+				File temporary = new File(file.getPath() + TEMPORARY);
+				write(temporary, complete, false);
+				if (! file.delete() || ! temporary.renameTo(file)) {
+					throw new IOException("Could not replace " + file + ".");
+				}
+				Logging.debug(getClass(), "Compacted " + (size - 1) + " checkpoints in " + file + ".");
+			}
+			counts.put(file.getPath(), new Integer(1));
+		} catch (IOException e) {
+			Logging.error(getClass(), "Could not load checkpoint from " + file + ".", e);
+			return null;
+		}
+		return complete;
+	}
+
+	/**
+	 * Writes the specified checkpoint to the specified file. The checkpoint is
+	 * prefixed with the length of its serialized form.
+	 *
+	 * @param file The file to write to.
+	 * @param checkpoint The checkpoint to write.
+	 * @param append True to append the checkpoint to the file, false to
+	 * 	replace the contents of the file.
+	 * @throws IOException Thrown if the checkpoint cannot be written.
+	 */
+	private void write(File file, InstanceCheckpoint checkpoint, boolean append) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		checkpoint.writeObject(oos);
+		oos.close();
+		byte[] record = bos.toByteArray();
+		DataOutputStream output = new DataOutputStream(new FileOutputStream(file.getPath(), append));
+		try {
+			output.writeInt(record.length);
+			output.write(record);
+		} finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Returns the file that contains the checkpoints of the binding with
+	 * the specified name.
+	 *
+	 * @param application The name of the application.
+	 * @param name The name of the binding.
+	 * @param create True to create the directory of the application if
+	 * 	it does not exist, false otherwise.
+	 * @return The file that contains the checkpoints of the binding.
+	 */
+	private File getFile(String application, String name, boolean create) {
+		File folder = new File(directory, encode(application));
+		if (create && ! folder.isDirectory()) {
+			folder.mkdirs();
+		}
+		return new File(folder, encode(name) + EXTENSION);
+	}
+
+	/**
+	 * Encodes the specified name so that it can be used as file name.
+	 * Letters and digits are retained, all other characters are replaced
+	 * by an underscore followed by their hexadecimal code.
+	 *
+	 * @param name The name to encode.
+	 * @return The encoded name.
+	 */
+	private String encode(String name) {
+		StringBuffer buffer = new StringBuffer();
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+				buffer.append(c);
+			} else {
+				String code = Integer.toHexString(c);
+				buffer.append('_');
+				for (int j = code.length(); j < 4; j++) {
+					buffer.append('0');
+				}
+				buffer.append(code);
+			}
+		}
+		return buffer.toString();
+	}
+
+}
@@ -152,73 +152,81 @@ public class ApplicationControl extends AbstractApplicationControl implements IL
 	 * 
 	 * @param event The event that describes the actions performed.
 	 */
-	public void handleEvent(final Event event) {
+	public void handleEvent(Event event) {
 		IElementManager manager = getManager();
 		if (manager == null) return;
 		if (event.getSource() == application) {
-			manager.run(new Runnable() {
-				public void run() {
-					if (getDisplay() == null || getDisplay().isDisposed()) return;
-					switch (event.getType()) {
-						case Application.EVENT_DEVICE_RESOLVED: {
-							updateDevice((Device)event.getData());					
-						}
-						break;
-						case Application.EVENT_ITEM_ADDED: {
-							addItem((AbstractItem)event.getData());
-						}
-						break;
-						case Application.EVENT_ITEM_CONFIGURED: {
-							updateItem((AbstractItem)event.getData());
-						}
-						break;
-						case Application.EVENT_ITEM_REMOVED: {
-							removeItem((AbstractItem)event.getData());
-						}
-						break;
-						case Application.EVENT_BINDING_RESOLVED: {
-							resolveItem((AbstractBinding)event.getData());
-						}
-						break;
-						case Application.EVENT_STATE_ADDED: {
-							Object[] data = (Object[])event.getData();
-							addState((Pointer)data[0], (AssemblyState)data[1]);
-						}
-						break;
-						default:
-							// nothing to be done here		
-					}
-					assemblerGraph.updateGraph();
-					applicationGraph.updateGraph();
-				}			
-			});
+			switch (event.getType()) {
+				case Application.EVENT_DEVICE_RESOLVED:
+				case Application.EVENT_ITEM_CONFIGURED:
+				case Application.EVENT_BINDING_RESOLVED:
+					post(event, true);
+					break;
+				default:
+					post(event, false);
+			}
 			block();
 		} else if (event.getSource() == registry) {
-			getDisplay().asyncExec(new Runnable() {
-				public void run() {
-					if (getDisplay() == null || getDisplay().isDisposed()) return;
-					switch (event.getType()) {
-						case DeviceRegistry.EVENT_DEVICE_ADDED: {
-							// add the device to the panel
-							DeviceDescription description = 
-								(DeviceDescription)event.getData();
-							addDevice(description);
-						}
-						break;
-						case DeviceRegistry.EVENT_DEVICE_REMOVED: {
-							DeviceDescription description = 
-								(DeviceDescription)event.getData();
-							// invalidate the device
-							removeDevice(description);
-						}
-						break;
-						default:
-							// nothing to be done here
-					}
-					assemblerGraph.updateGraph();
-					applicationGraph.updateGraph();
+			post(event, false);
+		}
+	}
+	
+	/**
+	 * Called by the ui thread to apply an event that has been posted
+	 * by the application or the device registry.
+	 * 
+	 * @param event The event to apply.
+	 */
+	protected void applyEvent(Event event) {
+		if (event.getSource() == application) {
+			switch (event.getType()) {
+				case Application.EVENT_DEVICE_RESOLVED: {
+					updateDevice((Device)event.getData());					
+				}
+				break;
+				case Application.EVENT_ITEM_ADDED: {
+					addItem((AbstractItem)event.getData());
+				}
+				break;
+				case Application.EVENT_ITEM_CONFIGURED: {
+					updateItem((AbstractItem)event.getData());
+				}
+				break;
+				case Application.EVENT_ITEM_REMOVED: {
+					removeItem((AbstractItem)event.getData());
+				}
+				break;
+				case Application.EVENT_BINDING_RESOLVED: {
+					resolveItem((AbstractBinding)event.getData());
+				}
+				break;
+				case Application.EVENT_STATE_ADDED: {
+					Object[] data = (Object[])event.getData();
+					addState((Pointer)data[0], (AssemblyState)data[1]);
+				}
+				break;
+				default:
+					// nothing to be done here		
+			}
+		} else if (event.getSource() == registry) {
+			switch (event.getType()) {
+				case DeviceRegistry.EVENT_DEVICE_ADDED: {
+					// add the device to the panel
+					DeviceDescription description = 
+						(DeviceDescription)event.getData();
+					addDevice(description);
 				}
-			});
+				break;
+				case DeviceRegistry.EVENT_DEVICE_REMOVED: {
+					DeviceDescription description = 
+						(DeviceDescription)event.getData();
+					// invalidate the device
+					removeDevice(description);
+				}
+				break;
+				default:
+					// nothing to be done here
+			}
 		}
 	}
 	
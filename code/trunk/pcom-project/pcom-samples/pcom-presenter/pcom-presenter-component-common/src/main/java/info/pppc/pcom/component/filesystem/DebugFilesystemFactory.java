@@ -60,9 +60,13 @@ public class DebugFilesystemFactory implements info.pppc.pcom.system.model.compo
 	}
 	
 	/**
-	 * Called to start the factory. Nothing to be done here.
+	 * Called to start the factory. Declares the static provision of
+	 * the factory.
 	 */
-	public void start() { }
+	public void start() {
+		context.getTemplate().getInstance().createInterface(IFilesystem.class.getName());
+		context.getTemplate().commitTemplate();
+	}
 	
 	/**
 	 * Called to stop the factory. Nothing to be done here.
@@ -1,6 +1,7 @@
 package info.pppc.pcom.component.filesystem;
 
 import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.container.Stream;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -175,12 +176,12 @@ public class DebugFilesystemInstance implements IFilesystem, IInstance {
 	 * Returns the content of the specified file.
 	 * 
 	 * @param file The file to retrieve.
-	 * @return The content of the file as byte array.
+	 * @return The content of the file as stream.
 	 * @throws FileException Thrown if something goes wrong.
 	 */
-	public byte[] getFile(File file) throws FileException {
+	public Stream getFile(File file) throws FileException {
 		Logging.log(getClass(), "Get file called.");
-		return new byte[0];
+		return new Stream(new byte[0], true);
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package info.pppc.pcom.component.filesystem;
 
 import info.pppc.base.system.InvocationException;
+import info.pppc.pcom.system.container.Stream;
 
 import java.util.Vector;
 
@@ -34,15 +35,19 @@ public interface IFilesystem {
 	public Vector listFiles(File directory) throws FileException, InvocationException; 
 
 	/**
-	 * Returns the content of a file as a byte array.
+	 * Returns the content of a file as a stream. The content is
+	 * transfered when the stream is read. The stream is temporary,
+	 * it is released as soon as it has been read completely. If the
+	 * caller does not read the stream completely, it must release
+	 * the stream when it is no longer needed.
 	 * 
 	 * @param file The file to open.
-	 * @return The content of the file.
+	 * @return A stream that delivers the content of the file.
 	 * @throws FileException Thrown if the file does not exist or
 	 * 	if the file represents a directory.
 	 * @throws InvocationException Thrown if the policy stops rebinding.
 	 */
-	public byte[] getFile(File file) throws FileException, InvocationException;
+	public Stream getFile(File file) throws FileException, InvocationException;
 	
 	/**
 	 * Returns the parent file of the specified file or null if
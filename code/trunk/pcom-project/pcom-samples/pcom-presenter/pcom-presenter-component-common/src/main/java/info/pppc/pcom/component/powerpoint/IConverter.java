@@ -1,6 +1,7 @@
 package info.pppc.pcom.component.powerpoint;
 
 import info.pppc.base.system.InvocationException;
+import info.pppc.pcom.system.container.Stream;
 
 /**
  * This interface is used by components that can convert microsoft 
@@ -13,24 +14,24 @@ import info.pppc.base.system.InvocationException;
 public interface IConverter {
 	
 	/**
-	 * The checkpoint attribute that stores the file as sequence
-	 * of bytes. If none is open, the file is null.
+	 * The checkpoint attribute that stores the stream of the file. 
+	 * If none is open, the stream is null.
 	 */
 	public static final String CHECKPOINT_PRESENTATION = "component.powerpoint.presentation";
 	
 	/**
-	 * Opens a presentation. The byte array must contain the 
+	 * Opens a presentation. The stream must deliver the 
 	 * complete powerpoint presentation as it has been read 
-	 * from the file system. If there is already an open 
-	 * presentation, this method will close it before it opens 
-	 * the new one.
+	 * from the file system. The stream is not released by
+	 * the converter. If there is already an open presentation,
+	 * this method will close it before it opens the new one.
 	 * 
-	 * @param file The bytes that are contained in the file.
+	 * @param file The stream that delivers the file.
 	 * @throws IllegalArgumentException Thrown if the file does
 	 * 	not represent a powerpoint presentation.
 	 * @throws InvocationException Thrown by base if the call fails.
 	 */
-	public void open(byte[] file) throws IllegalArgumentException, InvocationException;
+	public void open(Stream file) throws IllegalArgumentException, InvocationException;
 
 	/**
 	 * Determines whether there is a currently opened powerpoint
@@ -67,19 +68,20 @@ public interface IConverter {
 	
 	/**
 	 * Returns a specific slide of the currently opened powerpoint
-	 * presentation converted into a byte array which represents an
+	 * presentation converted into a stream which delivers an
 	 * image that has the specified resolution, i.e. the specified 
 	 * width and height in pixels. If the resolution is not valid, 
 	 * i.e. the width or the height is smaller than or equal to
 	 * zero then the method will throw an exception. If there is no 
 	 * currently opened presentation, this method will throw an
-	 * exception. 
+	 * exception. The stream is released automatically after it
+	 * has been read completely.
 	 * 
 	 * @param slide The number of the slide to convert. Valid slide
 	 * 	ranges lie between zero and the number of slides - 1.
 	 * @param width The width of the resulting image in pixels.
 	 * @param height The height of the resulting image in pixels.
-	 * @return A byte array that contains an image with the desired
+	 * @return A stream that delivers an image with the desired
 	 * 	resolution.
 	 * @throws IllegalArgumentException Thrown if the resolution or
 	 * 	the number of the slide is illegal.
@@ -87,7 +89,7 @@ public interface IConverter {
 	 * 	opened powerpoint presentation.
 	 * @throws InvocationException Thrown by base if the call fails.
 	 */
-	public byte[] getSlide(int slide, int width, int height) 
+	public Stream getSlide(int slide, int width, int height) 
 			throws IllegalArgumentException, IllegalStateException, InvocationException;
 
 
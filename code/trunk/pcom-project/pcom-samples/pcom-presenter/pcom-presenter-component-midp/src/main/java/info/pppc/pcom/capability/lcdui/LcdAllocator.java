@@ -91,8 +91,12 @@ public class LcdAllocator implements IAllocator {
 	/**
 	 * Called to start the allocator. This will compute
 	 * the width and height of the display.
+	 * Furthermore, this declares the static provision of the
+	 * allocator.
 	 */
 	public void start() { 
+		context.getTemplate().getResource().createInterface(ILcdAccessor.class.getName());
+		context.getTemplate().commitTemplate();
 		application.run(new Runnable() {
 			public void run() {
 				height = application.getDisplayHeight();
@@ -5,6 +5,7 @@ import info.pppc.base.system.event.IListener;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.capability.lcdui.ILcdAccessor;
 import info.pppc.pcom.component.powerpoint.IPowerpoint;
+import info.pppc.pcom.system.container.Stream;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -114,7 +115,7 @@ public class DebugDisplayerInstance implements IPowerpoint, IInstance, IListener
 	 * @throws IllegalStateException Thrown if no presentation is open.
 	 * @throws IllegalArgumentException Thrown if the args are malformed.
 	 */
-	public byte[] getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
+	public Stream getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
 		Logging.log(getClass(), "Get slide called (slide, width, height).");
 		return null;
 	}
@@ -134,8 +135,8 @@ public class DebugDisplayerInstance implements IPowerpoint, IInstance, IListener
 	 * @param file The file to open.
 	 * @throws IllegalArgumentException Thrown if the presentation cannot be opened.
 	 */
-	public void open(byte[] file) throws IllegalArgumentException {
-		Logging.log(getClass(), "Open(byte) called.");
+	public void open(Stream file) throws IllegalArgumentException {
+		Logging.log(getClass(), "Open(stream) called.");
 	}
 	
 	/**
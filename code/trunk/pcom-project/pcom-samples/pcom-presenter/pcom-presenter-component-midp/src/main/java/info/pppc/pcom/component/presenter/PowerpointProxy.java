@@ -9,9 +9,43 @@ package info.pppc.pcom.component.presenter;
 public class PowerpointProxy extends info.pppc.pcom.system.container.internal.component.InstanceProxy implements info.pppc.pcom.component.powerpoint.IPowerpoint {
 	
 	/**
-	 * Default constructor to create a new object.
+	 * Default constructor to create a new object. Declares the
+	 * methods whose results are cached by the proxy and the
+	 * policies of the invocation history.
 	 */
-	public PowerpointProxy() { }
+	public PowerpointProxy() {
+		__setIdempotent("boolean isOpen()");
+		__setIdempotent("int getSlides()");
+		__addHistoryDrop("void close()", "void nextSlide()");
+		__addHistoryDrop("void close()", "void previousSlide()");
+		__addHistoryDrop("void close()", "void firstSlide()");
+		__addHistoryDrop("void close()", "void lastSlide()");
+		__addHistoryDrop("void close()", "void setSlide(int)");
+		__addHistoryDrop("void close()", "void open(info.pppc.pcom.system.container.Stream)");
+		__addHistoryDrop("void close()", "void close()");
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void nextSlide()");
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void previousSlide()");
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void firstSlide()");
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void lastSlide()");
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void setSlide(int)");
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void open(info.pppc.pcom.system.container.Stream)");
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void close()");
+		__addHistoryDrop("void firstSlide()", "void nextSlide()");
+		__addHistoryDrop("void firstSlide()", "void previousSlide()");
+		__addHistoryDrop("void firstSlide()", "void firstSlide()");
+		__addHistoryDrop("void firstSlide()", "void lastSlide()");
+		__addHistoryDrop("void firstSlide()", "void setSlide(int)");
+		__addHistoryDrop("void lastSlide()", "void nextSlide()");
+		__addHistoryDrop("void lastSlide()", "void previousSlide()");
+		__addHistoryDrop("void lastSlide()", "void firstSlide()");
+		__addHistoryDrop("void lastSlide()", "void lastSlide()");
+		__addHistoryDrop("void lastSlide()", "void setSlide(int)");
+		__addHistoryDrop("void setSlide(int)", "void nextSlide()");
+		__addHistoryDrop("void setSlide(int)", "void previousSlide()");
+		__addHistoryDrop("void setSlide(int)", "void firstSlide()");
+		__addHistoryDrop("void setSlide(int)", "void lastSlide()");
+		__addHistoryDrop("void setSlide(int)", "void setSlide(int)");
+	}
 	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
@@ -34,6 +68,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ((Boolean)__result.getValue()).booleanValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture isOpenDef() {
+		Object[] __args = new Object[0];
+		String __method = "boolean isOpen()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -58,6 +105,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IPowerpoint
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture nextSlideDef() {
+		Object[] __args = new Object[0];
+		String __method = "void nextSlide()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -83,6 +143,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ((Integer)__result.getValue()).intValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture getSlidesDef() {
+		Object[] __args = new Object[0];
+		String __method = "int getSlides()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -95,12 +168,12 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.component.powerpoint.IConverter
 	 * @see info.pppc.pcom.component.powerpoint.IConverter
 	 */
-	public byte[] getSlide(int slide, int width, int height) throws java.lang.IllegalArgumentException, java.lang.IllegalStateException, info.pppc.base.system.InvocationException {
+	public info.pppc.pcom.system.container.Stream getSlide(int slide, int width, int height) throws java.lang.IllegalArgumentException, java.lang.IllegalStateException, info.pppc.base.system.InvocationException {
 		Object[] __args = new Object[3];
 		__args[0] = new Integer(slide);
 		__args[1] = new Integer(width);
 		__args[2] = new Integer(height);
-		String __method = "byte[] getSlide(int, int, int)";
+		String __method = "info.pppc.pcom.system.container.Stream getSlide(int, int, int)";
 		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
 		info.pppc.base.system.Result __result = __invoke(__invocation);
 		if (__result.hasException()) {
@@ -115,7 +188,26 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 			}
 			throw (RuntimeException)__result.getException();
 		}
-		return (byte[])__result.getValue();
+		return (info.pppc.pcom.system.container.Stream)__result.getValue();
+	}
+	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param slide see info.pppc.pcom.component.powerpoint.IConverter
+	 * @param width see info.pppc.pcom.component.powerpoint.IConverter
+	 * @param height see info.pppc.pcom.component.powerpoint.IConverter
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture getSlideDef(int slide, int width, int height) {
+		Object[] __args = new Object[3];
+		__args[0] = new Integer(slide);
+		__args[1] = new Integer(width);
+		__args[2] = new Integer(height);
+		String __method = "info.pppc.pcom.system.container.Stream getSlide(int, int, int)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
 	}
 	
 	/**
@@ -142,6 +234,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IPowerpoint
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture previousSlideDef() {
+		Object[] __args = new Object[0];
+		String __method = "void previousSlide()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -167,6 +272,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ((Integer)__result.getValue()).intValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IPowerpoint
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture getSlideDef() {
+		Object[] __args = new Object[0];
+		String __method = "int getSlide()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -187,6 +305,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture closeDef() {
+		Object[] __args = new Object[0];
+		String __method = "void close()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -195,10 +326,10 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.component.powerpoint.IConverter
 	 * @see info.pppc.pcom.component.powerpoint.IConverter
 	 */
-	public void open(byte[] file) throws java.lang.IllegalArgumentException, info.pppc.base.system.InvocationException {
+	public void open(info.pppc.pcom.system.container.Stream file) throws java.lang.IllegalArgumentException, info.pppc.base.system.InvocationException {
 		Object[] __args = new Object[1];
 		__args[0] = file;
-		String __method = "void open(byte[])";
+		String __method = "void open(info.pppc.pcom.system.container.Stream)";
 		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
 		info.pppc.base.system.Result __result = __invoke(__invocation);
 		if (__result.hasException()) {
@@ -213,6 +344,21 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param file see info.pppc.pcom.component.powerpoint.IConverter
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture openDef(info.pppc.pcom.system.container.Stream file) {
+		Object[] __args = new Object[1];
+		__args[0] = file;
+		String __method = "void open(info.pppc.pcom.system.container.Stream)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -237,6 +383,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IPowerpoint
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture firstSlideDef() {
+		Object[] __args = new Object[0];
+		String __method = "void firstSlide()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -261,6 +420,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IPowerpoint
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture lastSlideDef() {
+		Object[] __args = new Object[0];
+		String __method = "void lastSlide()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -291,4 +463,19 @@ public class PowerpointProxy extends info.pppc.pcom.system.container.internal.co
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param slide see info.pppc.pcom.component.powerpoint.IPowerpoint
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IPowerpoint
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture setSlideDef(int slide) {
+		Object[] __args = new Object[1];
+		__args[0] = new Integer(slide);
+		String __method = "void setSlide(int)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 }
@@ -77,9 +77,13 @@ public class PresenterFactory implements IFactory {
 	}
 	
 	/**
-	 * Called to start the factory.
+	 * Called to start the factory. Declares the static provision of
+	 * the factory.
 	 */
-	public void start() { }
+	public void start() {
+		context.getTemplate().getInstance().createInterface(IPresenter.class.getName());
+		context.getTemplate().commitTemplate();
+	}
 	
 	/**
 	 * Called to stop the factory.
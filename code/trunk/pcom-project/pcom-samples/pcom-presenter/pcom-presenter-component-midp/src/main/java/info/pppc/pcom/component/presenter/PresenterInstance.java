@@ -16,6 +16,7 @@ import info.pppc.pcom.component.presenter.lcdui.FilesystemElement;
 import info.pppc.pcom.component.presenter.lcdui.FilesystemLabelProvider;
 import info.pppc.pcom.component.presenter.lcdui.PresenterElement;
 import info.pppc.pcom.component.presenter.lcdui.PresenterUI;
+import info.pppc.pcom.system.container.Stream;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -26,7 +27,6 @@ import info.pppc.pcom.system.model.contract.writer.IInstanceProvisionWriter;
 import info.pppc.pcom.system.model.contract.writer.ITypeProvisionWriter;
 import info.pppc.pcomx.contract.SimpleMapper;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import javax.microedition.lcdui.Image;
@@ -119,6 +119,14 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 	 */
 	private byte[] presentation = null;
 	
+	/**
+	 * The stream that has been used to open the current presentation
+	 * or null if the presentation is closed. The stream is kept until
+	 * the presentation is closed, since the history of the powerpoint
+	 * binding might replay the open call.
+	 */
+	private Stream source = null;
+	
 	/**
 	 * A flag that indicates whether the component instance is
 	 * started.
@@ -244,8 +252,30 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 		}
 		context.getStatus().removeStatusListener(Event.EVENT_EVERYTHING, this);
 		factory.removeInstanceListener(PresenterFactory.EVENT_INSTANCE_CHANGE, this);
+		// the presentation remains available for checkpoints
+		if (source != null) {
+			source.release();
+			source = null;
+		}
 	}
 	
+	/**
+	 * Sets the current presentation and creates the stream that is used
+	 * to open it. The stream of the previous presentation is released.
+	 * 
+	 * @param presentation The contents of the presentation or null if 
+	 * 	the presentation is closed.
+	 */
+	private void setPresentation(byte[] presentation) {
+		if (source != null) {
+			source.release();
+			source = null;
+		}
+		this.presentation = presentation;
+		if (presentation != null) {
+			source = new Stream(presentation, false);
+		}
+	}
 	
 	/**
 	 * Called to show the next slide of the current presentation.
@@ -261,10 +291,10 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						powerpoint.nextSlide();
 					} catch (InvocationException e) {
 						Logging.error(getClass(), "Remote exception in next slide.", e);
-						presentation = null;
+						setPresentation(null);
 					} catch (IllegalStateException e) {
 						Logging.error(getClass(), "Illegal state exception in next slide.", e);
-						presentation = null;
+						setPresentation(null);
 					}
 					monitor.step(1);
 					refresh(monitor, true);
@@ -294,7 +324,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						Logging.error(getClass(), "Illegal state exception in close.", e);
 					}
 					restorer.createCheckpoint();
-					presentation = null;
+					setPresentation(null);
 					monitor.step(1);
 					refresh(monitor, true);
 					monitor.done();
@@ -319,10 +349,10 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						powerpoint.previousSlide();
 					} catch (InvocationException e) {
 						Logging.error(getClass(), "Remote exception in previous slide.", e);
-						presentation = null;
+						setPresentation(null);
 					} catch (IllegalStateException e) {
 						Logging.error(getClass(), "Illegal state exception in previous slide.", e);
-						presentation = null;
+						setPresentation(null);
 					}
 					monitor.step(1);
 					refresh(monitor, true);
@@ -371,11 +401,24 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 									monitor.step(1);
 									File file = (File)dialog.getSelection();
 									try {
-										byte[] contents = filesystem.getFile(file);
-										Logging.debug(getClass(), "File retrieved: " + contents.length);
+										Stream contents = filesystem.getFile(file);
+										Logging.debug(getClass(), "File retrieved: " + contents.getLength());
+										byte[] bytes;
+										try {
+											bytes = contents.getBytes();
+										} finally {
+											contents.release();
+										}
 										monitor.step(1);
-										powerpoint.open(contents);
-										presentation = contents;				
+										setPresentation(bytes);
+										try {
+											powerpoint.open(source);
+										} catch (InvocationException e) {
+											setPresentation(null);
+											throw e;
+										}
+									} catch (IOException e) {
+										Logging.error(getClass(), "IO exception while reading file.", e);
 									} catch (FileException e) {
 										Logging.error(getClass(), "File exception while opening file.", e);
 									} catch (InvocationException e) {
@@ -450,12 +493,12 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 				worked -= 1;
 				int width = control.getSlideWidth();
 				int height = control.getSlideHeight();
-				byte[] bytes = powerpoint.getSlide(slide, width, height);
+				Stream stream = powerpoint.getSlide(slide, width, height);
 				monitor.step(1);
 				worked -= 1; 
-				if (bytes != null) {
+				if (stream != null) {
 					try {
-						Image image = Image.createImage(new ByteArrayInputStream(bytes));
+						Image image = Image.createImage(stream.getInputStream());
 						control.setSlide(image);	
 					} catch (IOException e) {
 						Logging.error(getClass(), "Could not convert slide.", e);
@@ -468,15 +511,15 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 				worked -= 1;
 			} catch (InvocationException e) {
 				Logging.error(getClass(), "Remote exception in get slide.", e);
-				presentation = null;
+				setPresentation(null);
 				refresh(monitor, false);
 			} catch (IllegalStateException e) {
 				Logging.error(getClass(), "Illegal state exception in get slide.", e);
-				presentation = null;
+				setPresentation(null);
 				refresh(monitor, false);
 			} catch (IllegalArgumentException e) {
 				Logging.error(getClass(), "Illegal argument exception in get slide.", e);
-				presentation = null;
+				setPresentation(null);
 				refresh(monitor, false);
 			}
 		} else {
@@ -507,7 +550,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 							try {
 								monitor.step(1);
 								if (presentation != null) {
-									powerpoint.open(presentation);
+									powerpoint.open(source);
 									monitor.step(1);
 									powerpoint.setSlide(slide);
 									monitor.step(1);
@@ -517,7 +560,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 								}						
 							} catch (InvocationException e) {
 								Logging.error(getClass(), "Could not restore state.", e);
-								presentation = null;
+								setPresentation(null);
 							}
 							refresh(monitor, true);
 							monitor.done();
@@ -558,7 +601,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 	 * @param checkpoint The checkpoint to load.
 	 */
 	public void loadCheckpoint(IInstanceCheckpoint checkpoint) {
-		this.presentation = (byte[])checkpoint.getObject(CHECKPOINT_PRESENTATION);
+		setPresentation((byte[])checkpoint.getObject(CHECKPOINT_PRESENTATION));
 		this.slide = checkpoint.getInteger(CHECKPOINT_PRESENTATION);
 		// refresh the control
 		manager.run(new Runnable() {
@@ -94,8 +94,12 @@ public class COMAllocator implements IAllocator, IOperation, ICOMAccessor {
 	 * Called to start the allocator. This will start
 	 * a new thread that loads the com bridge dll and
 	 * waits for future dispatch calls.
+	 * Furthermore, this declares the static provision of the
+	 * allocator.
 	 */
 	public void start() {
+		context.getTemplate().getResource().createInterface(ICOMAccessor.class.getName());
+		context.getTemplate().commitTemplate();
 		monitor = new NullMonitor();
 		context.performOperation(this, monitor);
 	}
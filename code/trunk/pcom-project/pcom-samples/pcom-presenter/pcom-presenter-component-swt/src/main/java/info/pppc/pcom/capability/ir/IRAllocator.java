@@ -171,8 +171,12 @@ public class IRAllocator implements IAllocator, IOperation {
 	/**
 	 * Called to start the allocator. If the allocator has a port
 	 * description, this will start the send/receive operation.
+	 * Furthermore, this declares the static provision of the
+	 * allocator.
 	 */
 	public void start() {
+		context.getTemplate().getResource().createInterface(IIRAccessor.class.getName());
+		context.getTemplate().commitTemplate();
 		if (port != null) {
 			monitor = new NullMonitor();
 			context.performOperation(this, monitor);			
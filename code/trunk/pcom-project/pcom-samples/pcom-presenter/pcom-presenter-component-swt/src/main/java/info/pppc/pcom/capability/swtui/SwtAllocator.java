@@ -94,8 +94,12 @@ public class SwtAllocator implements IAllocator {
 	/**
 	 * Called to start the allocator. This will compute
 	 * the width and height of the display.
+	 * Furthermore, this declares the static provision of the
+	 * allocator.
 	 */
 	public void start() { 
+		context.getTemplate().getResource().createInterface(ISwtAccessor.class.getName());
+		context.getTemplate().commitTemplate();
 		application.run(new Runnable() {
 			public void run() {
 				Display display = Display.getCurrent();
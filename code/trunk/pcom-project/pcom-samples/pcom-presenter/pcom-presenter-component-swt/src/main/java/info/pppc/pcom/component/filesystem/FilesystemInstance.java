@@ -1,6 +1,8 @@
 package info.pppc.pcom.component.filesystem;
 
 import info.pppc.base.system.util.Logging;
+import info.pppc.pcom.system.container.Stream;
+import info.pppc.pcom.system.container.io.ChunkVector;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -118,24 +120,34 @@ public class FilesystemInstance implements IFilesystem, IInstance {
 	 * Returns the content of the specified file.
 	 * 
 	 * @param file The file to retrieve.
-	 * @return The content of the file as byte array.
+	 * @return The content of the file as stream.
 	 * @throws FileException Thrown if something goes wrong.
 	 */
-	public byte[] getFile(File file) throws FileException {
+	public Stream getFile(File file) throws FileException {
 		try {
 			java.io.File f = new java.io.File(file.getPath());
 			long longLength = f.length();
 			if (longLength > Integer.MAX_VALUE) throw new IOException("Illegal file length.");
 			int length = (int)longLength;
-			byte[] result = new byte[length];
-			int position = 0;
-			int read = 0;
+			// read the file in chunks that can be transfered without copying
+			ChunkVector content = new ChunkVector();
 			FileInputStream fis = new FileInputStream(f);
-			while ((length > 0) && ((read = fis.read(result, position, length)) != -1)) {
-				length -= read;
-				position += read;
+			try {
+				while (length > 0) {
+					byte[] chunk = new byte[Math.min(length, Stream.CHUNK_SIZE)];
+					int position = 0;
+					int read = 0;
+					while ((position < chunk.length) && ((read = fis.read(chunk, position, chunk.length - position)) != -1)) {
+						position += read;
+					}
+					if (position != chunk.length) throw new IOException("Unexpected end of file.");
+					content.append(chunk);
+					length -= chunk.length;
+				}
+			} finally {
+				fis.close();
 			}
-			return result;
+			return new Stream(content, true);
 		} catch (Exception e) {
 			Logging.error(getClass(), "Retrieving content failed.", e);
 			throw new FileException(e.getMessage());
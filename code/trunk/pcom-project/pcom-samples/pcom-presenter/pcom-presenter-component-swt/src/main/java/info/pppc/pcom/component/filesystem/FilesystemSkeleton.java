@@ -8,39 +8,72 @@ package info.pppc.pcom.component.filesystem;
  */
 public class FilesystemSkeleton extends info.pppc.pcom.system.container.internal.component.InstanceSkeleton {
 	
+	/**
+	 * The indices of the methods dispatched by the skeleton hashed by signature.
+	 */
+	private static final java.util.Hashtable INDICES = new java.util.Hashtable();
+	
+	static {
+		INDICES.put("info.pppc.pcom.component.filesystem.File getParent(info.pppc.pcom.component.filesystem.File)", new Integer(0));
+		INDICES.put("java.util.Vector listRoots()", new Integer(1));
+		INDICES.put("info.pppc.pcom.system.container.Stream getFile(info.pppc.pcom.component.filesystem.File)", new Integer(2));
+		INDICES.put("java.util.Vector listFiles(info.pppc.pcom.component.filesystem.File)", new Integer(3));
+	}
+	
 	/**
 	 * Default constructor to create a new object.
 	 */
 	public FilesystemSkeleton() { }
 	
+	/**
+	 * Returns the index of the method with the specified signature.
+	 *
+	 * @param method The signature of the method.
+	 * @return The index of the method or INDEX_UNKNOWN if the signature is unknown.
+	 */
+	protected int getIndex(String method) {
+		Integer index = (Integer)INDICES.get(method);
+		if (index == null) {
+			return INDEX_UNKNOWN;
+		}
+		return index.intValue();
+	}
+	
 	/**
 	 * Dispatch method that dispatches incoming invocations to the skeleton's implementation.
 	 *
-	 * @param method The signature of the method to call.
+	 * @param index The index of the method to call.
 	 * @param args The parameters of the method call.
-	 * @return The result of the method call.
+	 * @param invocation The invocation that receives the result of the method call.
 	 */
-	protected info.pppc.base.system.Result dispatch(String method, Object[] args) {
+	protected void dispatch(int index, Object[] args, info.pppc.base.system.Invocation invocation) {
 		info.pppc.pcom.component.filesystem.FilesystemInstance impl = (info.pppc.pcom.component.filesystem.FilesystemInstance)getTarget();
 		try {
-			if (method.equals("info.pppc.pcom.component.filesystem.File getParent(info.pppc.pcom.component.filesystem.File)")) {
-				Object result = impl.getParent((info.pppc.pcom.component.filesystem.File)args[0]);
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("java.util.Vector listRoots()")) {
-				Object result = impl.listRoots();
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("byte[] getFile(info.pppc.pcom.component.filesystem.File)")) {
-				Object result = impl.getFile((info.pppc.pcom.component.filesystem.File)args[0]);
-				return new info.pppc.base.system.Result(result, null);
+			switch (index) {
+				case 0: {
+					invocation.setResult(impl.getParent((info.pppc.pcom.component.filesystem.File)args[0]));
+					break;
+				}
+				case 1: {
+					invocation.setResult(impl.listRoots());
+					break;
+				}
+				case 2: {
+					invocation.setResult(impl.getFile((info.pppc.pcom.component.filesystem.File)args[0]));
+					break;
+				}
+				case 3: {
+					invocation.setResult(impl.listFiles((info.pppc.pcom.component.filesystem.File)args[0]));
+					break;
+				}
+				default: {
+					invocation.setResult(null);
+					invocation.setException(new info.pppc.base.system.InvocationException("Illegal signature."));
+				}
 			}
-			else if (method.equals("java.util.Vector listFiles(info.pppc.pcom.component.filesystem.File)")) {
-				Object result = impl.listFiles((info.pppc.pcom.component.filesystem.File)args[0]);
-				return new info.pppc.base.system.Result(result, null);
-			}return new info.pppc.base.system.Result(null, new info.pppc.base.system.InvocationException("Illegal signature."));
 		} catch (Throwable t) {
-			return new info.pppc.base.system.Result(null, t);
+			invocation.setResult(null);
+			invocation.setException(t);
 		}
 	}
 	
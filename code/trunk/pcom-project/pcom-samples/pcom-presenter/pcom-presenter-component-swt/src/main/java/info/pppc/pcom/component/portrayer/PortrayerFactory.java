@@ -64,9 +64,13 @@ public class PortrayerFactory implements IFactory {
 	}
 	
 	/**
-	 * Called to start the factory. Nothing to be done here.
+	 * Called to start the factory. Declares the static provision of
+	 * the factory.
 	 */
-	public void start() { }
+	public void start() {
+		context.getTemplate().getInstance().createInterface(IPortrayer.class.getName());
+		context.getTemplate().commitTemplate();
+	}
 	
 	/**
 	 * Called to stop the factory. Nothing to be done here.
@@ -8,37 +8,69 @@ package info.pppc.pcom.component.portrayer;
  */
 public class PortrayerSkeleton extends info.pppc.pcom.system.container.internal.component.InstanceSkeleton {
 	
+	/**
+	 * The indices of the methods dispatched by the skeleton hashed by signature.
+	 */
+	private static final java.util.Hashtable INDICES = new java.util.Hashtable();
+	
+	static {
+		INDICES.put("boolean isVisible()", new Integer(0));
+		INDICES.put("void hidePicture()", new Integer(1));
+		INDICES.put("void showPicture(byte[])", new Integer(2));
+	}
+	
 	/**
 	 * Default constructor to create a new object.
 	 */
 	public PortrayerSkeleton() { }
 	
+	/**
+	 * Returns the index of the method with the specified signature.
+	 *
+	 * @param method The signature of the method.
+	 * @return The index of the method or INDEX_UNKNOWN if the signature is unknown.
+	 */
+	protected int getIndex(String method) {
+		Integer index = (Integer)INDICES.get(method);
+		if (index == null) {
+			return INDEX_UNKNOWN;
+		}
+		return index.intValue();
+	}
+	
 	/**
 	 * Dispatch method that dispatches incoming invocations to the skeleton's implementation.
 	 *
-	 * @param method The signature of the method to call.
+	 * @param index The index of the method to call.
 	 * @param args The parameters of the method call.
-	 * @return The result of the method call.
+	 * @param invocation The invocation that receives the result of the method call.
 	 */
-	protected info.pppc.base.system.Result dispatch(String method, Object[] args) {
+	protected void dispatch(int index, Object[] args, info.pppc.base.system.Invocation invocation) {
 		info.pppc.pcom.component.portrayer.PortrayerInstance impl = (info.pppc.pcom.component.portrayer.PortrayerInstance)getTarget();
 		try {
-			if (method.equals("boolean isVisible()")) {
-				Object result = new Boolean(impl.isVisible());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void hidePicture()")) {
-				Object result = null;
-				impl.hidePicture();
-				return new info.pppc.base.system.Result(result, null);
+			switch (index) {
+				case 0: {
+					invocation.setResult(new Boolean(impl.isVisible()));
+					break;
+				}
+				case 1: {
+					impl.hidePicture();
+					invocation.setResult(null);
+					break;
+				}
+				case 2: {
+					impl.showPicture((byte[])args[0]);
+					invocation.setResult(null);
+					break;
+				}
+				default: {
+					invocation.setResult(null);
+					invocation.setException(new info.pppc.base.system.InvocationException("Illegal signature."));
+				}
 			}
-			else if (method.equals("void showPicture(byte[])")) {
-				Object result = null;
-				impl.showPicture((byte[])args[0]);
-				return new info.pppc.base.system.Result(result, null);
-			}return new info.pppc.base.system.Result(null, new info.pppc.base.system.InvocationException("Illegal signature."));
 		} catch (Throwable t) {
-			return new info.pppc.base.system.Result(null, t);
+			invocation.setResult(null);
+			invocation.setException(t);
 		}
 	}
 	
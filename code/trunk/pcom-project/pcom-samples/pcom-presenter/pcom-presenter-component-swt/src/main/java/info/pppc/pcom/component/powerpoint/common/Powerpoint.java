@@ -4,10 +4,13 @@ package info.pppc.pcom.component.powerpoint.common;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.capability.com.COMException;
 import info.pppc.pcom.capability.com.ICOMAccessor;
+import info.pppc.pcom.system.container.Stream;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Provides common elements for all presenters.
@@ -67,23 +70,40 @@ public class Powerpoint {
 	}
 	
 	/**
-	 * Opens a presentation and initializes the local variable.
+	 * Opens a presentation and initializes the local variable. The 
+	 * stream is copied to a temporary file before the presentation 
+	 * is opened, so that the com thread is not blocked while the 
+	 * stream is transfered.
 	 * 
-	 * @param file The presentation as byte array.
+	 * @param file The stream that delivers the presentation.
 	 * @param activate True to activate the powerpoint presentation, false
 	 * 	otherwise.
 	 * @throws IllegalArgumentException Thrown if the call fails.
 	 */
-	public void open(final byte[] file, final boolean activate) throws IllegalArgumentException {
+	public void open(Stream file, final boolean activate) throws IllegalArgumentException {
 		System.out.println("open");
+		final File tfile;
+		try {
+			tfile = File.createTempFile("PRESENTATION", ".pptx");
+			FileOutputStream out = new FileOutputStream(tfile);
+			try {
+				InputStream in = file.getInputStream();
+				byte[] buffer = new byte[Stream.CHUNK_SIZE];
+				int read = 0;
+				while ((read = in.read(buffer)) != -1) {
+					out.write(buffer, 0, read);
+				}
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			Logging.error(getClass(), "Could not read presentation.", e);
+			throw new IllegalArgumentException("Open failed: " + e.getMessage());
+		}
 		PowerpointCommand command = new PowerpointCommand() {
 			public void run() throws Throwable {
 				if (isOpen()) close();
 				Presentations pres = getApplication().get_Presentations();
-				File tfile = File.createTempFile("PRESENTATION", ".pptx");
-				FileOutputStream out = new FileOutputStream(tfile);
-				out.write(file);					
-				out.close();
 				presentation = pres.Open(tfile.getAbsolutePath());
 				if (activate) {
 					activate();
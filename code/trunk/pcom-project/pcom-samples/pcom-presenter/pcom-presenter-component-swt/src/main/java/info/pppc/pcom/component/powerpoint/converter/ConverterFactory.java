@@ -57,9 +57,13 @@ public class ConverterFactory implements IFactory {
 	}
 	
 	/**
-	 * Called to start the factory. Nothing to be done.
+	 * Called to start the factory. Declares the static provision of
+	 * the factory.
 	 */
-	public void start() { }
+	public void start() {
+		context.getTemplate().getInstance().createInterface(IConverter.class.getName());
+		context.getTemplate().commitTemplate();
+	}
 	
 	/**
 	 * Called to stop the factory. Nothing to be done.
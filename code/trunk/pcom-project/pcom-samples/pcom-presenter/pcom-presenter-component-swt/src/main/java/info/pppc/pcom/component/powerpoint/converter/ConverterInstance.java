@@ -3,6 +3,7 @@ package info.pppc.pcom.component.powerpoint.converter;
 import info.pppc.pcom.capability.com.ICOMAccessor;
 import info.pppc.pcom.component.powerpoint.IConverter;
 import info.pppc.pcom.component.powerpoint.common.Powerpoint;
+import info.pppc.pcom.system.container.Stream;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -33,7 +34,7 @@ public class ConverterInstance implements IConverter, IInstance {
 	/**
 	 * The presentation that is currently opened, or null if none.
 	 */
-	protected byte[] presentation;
+	protected Stream presentation;
 	
 	/**
 	 * Creates a new instance using the specified factory.
@@ -110,12 +111,12 @@ public class ConverterInstance implements IConverter, IInstance {
 	 * @param slide The slide number.
 	 * @param width The resulting width.
 	 * @param height The resulting height.
-	 * @return The converted slide as jpeg.
+	 * @return A temporary stream with the converted slide as jpeg.
 	 * @throws IllegalStateException Thrown if no presentation is open.
 	 * @throws IllegalArgumentException Thrown if the args are malformed.
 	 */
-	public byte[] getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
-		return powerpoint.getSlide(slide, width, height);
+	public Stream getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
+		return new Stream(powerpoint.getSlide(slide, width, height), true);
 	}
 	
 	/**
@@ -132,7 +133,7 @@ public class ConverterInstance implements IConverter, IInstance {
 	 * @param file The file to open.
 	 * @throws IllegalArgumentException Thrown if the presentation cannot be opened.
 	 */
-	public void open(byte[] file) throws IllegalArgumentException {
+	public void open(Stream file) throws IllegalArgumentException {
 		presentation = file;
 		powerpoint.open(file, false);
 	}
@@ -153,7 +154,7 @@ public class ConverterInstance implements IConverter, IInstance {
 	 * @param checkpoint The checkpoint to load.
 	 */
 	public void loadCheckpoint(IInstanceCheckpoint checkpoint) {
-		byte[] presentation = (byte[])checkpoint.getObject(CHECKPOINT_PRESENTATION);
+		Stream presentation = (Stream)checkpoint.getObject(CHECKPOINT_PRESENTATION);
 		if (presentation == null) close();
 		else open(presentation);
 	}
@@ -8,45 +8,79 @@ package info.pppc.pcom.component.powerpoint.converter;
  */
 public class ConverterSkeleton extends info.pppc.pcom.system.container.internal.component.InstanceSkeleton {
 	
+	/**
+	 * The indices of the methods dispatched by the skeleton hashed by signature.
+	 */
+	private static final java.util.Hashtable INDICES = new java.util.Hashtable();
+	
+	static {
+		INDICES.put("boolean isOpen()", new Integer(0));
+		INDICES.put("int getSlides()", new Integer(1));
+		INDICES.put("info.pppc.pcom.system.container.Stream getSlide(int, int, int)", new Integer(2));
+		INDICES.put("void close()", new Integer(3));
+		INDICES.put("void open(info.pppc.pcom.system.container.Stream)", new Integer(4));
+	}
+	
 	/**
 	 * Default constructor to create a new object.
 	 */
 	public ConverterSkeleton() { }
 	
+	/**
+	 * Returns the index of the method with the specified signature.
+	 *
+	 * @param method The signature of the method.
+	 * @return The index of the method or INDEX_UNKNOWN if the signature is unknown.
+	 */
+	protected int getIndex(String method) {
+		Integer index = (Integer)INDICES.get(method);
+		if (index == null) {
+			return INDEX_UNKNOWN;
+		}
+		return index.intValue();
+	}
+	
 	/**
 	 * Dispatch method that dispatches incoming invocations to the skeleton's implementation.
 	 *
-	 * @param method The signature of the method to call.
+	 * @param index The index of the method to call.
 	 * @param args The parameters of the method call.
-	 * @return The result of the method call.
+	 * @param invocation The invocation that receives the result of the method call.
 	 */
-	protected info.pppc.base.system.Result dispatch(String method, Object[] args) {
+	protected void dispatch(int index, Object[] args, info.pppc.base.system.Invocation invocation) {
 		info.pppc.pcom.component.powerpoint.converter.ConverterInstance impl = (info.pppc.pcom.component.powerpoint.converter.ConverterInstance)getTarget();
 		try {
-			if (method.equals("boolean isOpen()")) {
-				Object result = new Boolean(impl.isOpen());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("int getSlides()")) {
-				Object result = new Integer(impl.getSlides());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("byte[] getSlide(int, int, int)")) {
-				Object result = impl.getSlide(((Integer)args[0]).intValue(), ((Integer)args[1]).intValue(), ((Integer)args[2]).intValue());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void close()")) {
-				Object result = null;
-				impl.close();
-				return new info.pppc.base.system.Result(result, null);
+			switch (index) {
+				case 0: {
+					invocation.setResult(new Boolean(impl.isOpen()));
+					break;
+				}
+				case 1: {
+					invocation.setResult(new Integer(impl.getSlides()));
+					break;
+				}
+				case 2: {
+					invocation.setResult(impl.getSlide(((Integer)args[0]).intValue(), ((Integer)args[1]).intValue(), ((Integer)args[2]).intValue()));
+					break;
+				}
+				case 3: {
+					impl.close();
+					invocation.setResult(null);
+					break;
+				}
+				case 4: {
+					impl.open((info.pppc.pcom.system.container.Stream)args[0]);
+					invocation.setResult(null);
+					break;
+				}
+				default: {
+					invocation.setResult(null);
+					invocation.setException(new info.pppc.base.system.InvocationException("Illegal signature."));
+				}
 			}
-			else if (method.equals("void open(byte[])")) {
-				Object result = null;
-				impl.open((byte[])args[0]);
-				return new info.pppc.base.system.Result(result, null);
-			}return new info.pppc.base.system.Result(null, new info.pppc.base.system.InvocationException("Illegal signature."));
 		} catch (Throwable t) {
-			return new info.pppc.base.system.Result(null, t);
+			invocation.setResult(null);
+			invocation.setException(t);
 		}
 	}
 	
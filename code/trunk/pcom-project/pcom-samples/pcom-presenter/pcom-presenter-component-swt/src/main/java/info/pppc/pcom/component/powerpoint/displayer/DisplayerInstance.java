@@ -7,6 +7,7 @@ import info.pppc.pcom.capability.ir.IIRAccessor;
 import info.pppc.pcom.capability.swtui.ISwtAccessor;
 import info.pppc.pcom.component.powerpoint.IPowerpoint;
 import info.pppc.pcom.component.powerpoint.common.Powerpoint;
+import info.pppc.pcom.system.container.Stream;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -42,7 +43,7 @@ public class DisplayerInstance implements IPowerpoint, IInstance, IListener {
 	/**
 	 * The presentation that is currently opened.
 	 */
-	protected byte[] presentation;
+	protected Stream presentation;
 	
 	/**
 	 * Creates a new instance using the specified factory.
@@ -128,12 +129,12 @@ public class DisplayerInstance implements IPowerpoint, IInstance, IListener {
 	 * @param slide The slide number.
 	 * @param width The resulting width.
 	 * @param height The resulting height.
-	 * @return The converted slide as jpeg.
+	 * @return A temporary stream with the converted slide as jpeg.
 	 * @throws IllegalStateException Thrown if no presentation is open.
 	 * @throws IllegalArgumentException Thrown if the args are malformed.
 	 */
-	public byte[] getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
-		return powerpoint.getSlide(slide, width, height);
+	public Stream getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
+		return new Stream(powerpoint.getSlide(slide, width, height), true);
 	}
 	
 	/**
@@ -152,7 +153,7 @@ public class DisplayerInstance implements IPowerpoint, IInstance, IListener {
 	 * @param file The file to open.
 	 * @throws IllegalArgumentException Thrown if the presentation cannot be opened.
 	 */
-	public void open(byte[] file) throws IllegalArgumentException {
+	public void open(Stream file) throws IllegalArgumentException {
 		this.presentation = file;
 		powerpoint.open(file, true);
 	}
@@ -250,7 +251,7 @@ public class DisplayerInstance implements IPowerpoint, IInstance, IListener {
 	 * @param checkpoint The checkpoint to load.
 	 */
 	public void loadCheckpoint(IInstanceCheckpoint checkpoint) {
-		presentation = (byte[])checkpoint.getObject(CHECKPOINT_PRESENTATION);
+		presentation = (Stream)checkpoint.getObject(CHECKPOINT_PRESENTATION);
 		int currentSlide = checkpoint.getInteger(CHECKPOINT_SLIDE);
 		if (presentation != null) {
 			open(presentation);
@@ -9,9 +9,17 @@ package info.pppc.pcom.component.powerpoint.forwarder;
 public class ConverterProxy extends info.pppc.pcom.system.container.internal.component.InstanceProxy implements info.pppc.pcom.component.powerpoint.IConverter {
 	
 	/**
-	 * Default constructor to create a new object.
+	 * Default constructor to create a new object. Declares the
+	 * methods whose results are cached by the proxy and the
+	 * policies of the invocation history.
 	 */
-	public ConverterProxy() { }
+	public ConverterProxy() {
+		__setIdempotent("boolean isOpen()");
+		__setIdempotent("int getSlides()");
+		__addHistoryDrop("void close()", "void open(info.pppc.pcom.system.container.Stream)");
+		__setHistoryPolicy("void open(info.pppc.pcom.system.container.Stream)", info.pppc.pcom.system.model.component.IInstanceHistory.POLICY_KEEP_LAST);
+		__addHistoryDrop("void open(info.pppc.pcom.system.container.Stream)", "void close()");
+	}
 	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
@@ -34,6 +42,19 @@ public class ConverterProxy extends info.pppc.pcom.system.container.internal.com
 		return ((Boolean)__result.getValue()).booleanValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture isOpenDef() {
+		Object[] __args = new Object[0];
+		String __method = "boolean isOpen()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -59,6 +80,19 @@ public class ConverterProxy extends info.pppc.pcom.system.container.internal.com
 		return ((Integer)__result.getValue()).intValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture getSlidesDef() {
+		Object[] __args = new Object[0];
+		String __method = "int getSlides()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -71,12 +105,12 @@ public class ConverterProxy extends info.pppc.pcom.system.container.internal.com
 	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.component.powerpoint.IConverter
 	 * @see info.pppc.pcom.component.powerpoint.IConverter
 	 */
-	public byte[] getSlide(int slide, int width, int height) throws java.lang.IllegalArgumentException, java.lang.IllegalStateException, info.pppc.base.system.InvocationException {
+	public info.pppc.pcom.system.container.Stream getSlide(int slide, int width, int height) throws java.lang.IllegalArgumentException, java.lang.IllegalStateException, info.pppc.base.system.InvocationException {
 		Object[] __args = new Object[3];
 		__args[0] = new Integer(slide);
 		__args[1] = new Integer(width);
 		__args[2] = new Integer(height);
-		String __method = "byte[] getSlide(int, int, int)";
+		String __method = "info.pppc.pcom.system.container.Stream getSlide(int, int, int)";
 		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
 		info.pppc.base.system.Result __result = __invoke(__invocation);
 		if (__result.hasException()) {
@@ -91,7 +125,26 @@ public class ConverterProxy extends info.pppc.pcom.system.container.internal.com
 			}
 			throw (RuntimeException)__result.getException();
 		}
-		return (byte[])__result.getValue();
+		return (info.pppc.pcom.system.container.Stream)__result.getValue();
+	}
+	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param slide see info.pppc.pcom.component.powerpoint.IConverter
+	 * @param width see info.pppc.pcom.component.powerpoint.IConverter
+	 * @param height see info.pppc.pcom.component.powerpoint.IConverter
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture getSlideDef(int slide, int width, int height) {
+		Object[] __args = new Object[3];
+		__args[0] = new Integer(slide);
+		__args[1] = new Integer(width);
+		__args[2] = new Integer(height);
+		String __method = "info.pppc.pcom.system.container.Stream getSlide(int, int, int)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
 	}
 	
 	/**
@@ -114,6 +167,19 @@ public class ConverterProxy extends info.pppc.pcom.system.container.internal.com
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture closeDef() {
+		Object[] __args = new Object[0];
+		String __method = "void close()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -122,10 +188,10 @@ public class ConverterProxy extends info.pppc.pcom.system.container.internal.com
 	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.component.powerpoint.IConverter
 	 * @see info.pppc.pcom.component.powerpoint.IConverter
 	 */
-	public void open(byte[] file) throws java.lang.IllegalArgumentException, info.pppc.base.system.InvocationException {
+	public void open(info.pppc.pcom.system.container.Stream file) throws java.lang.IllegalArgumentException, info.pppc.base.system.InvocationException {
 		Object[] __args = new Object[1];
 		__args[0] = file;
-		String __method = "void open(byte[])";
+		String __method = "void open(info.pppc.pcom.system.container.Stream)";
 		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
 		info.pppc.base.system.Result __result = __invoke(__invocation);
 		if (__result.hasException()) {
@@ -140,4 +206,19 @@ public class ConverterProxy extends info.pppc.pcom.system.container.internal.com
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param file see info.pppc.pcom.component.powerpoint.IConverter
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.powerpoint.IConverter
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture openDef(info.pppc.pcom.system.container.Stream file) {
+		Object[] __args = new Object[1];
+		__args[0] = file;
+		String __method = "void open(info.pppc.pcom.system.container.Stream)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 }
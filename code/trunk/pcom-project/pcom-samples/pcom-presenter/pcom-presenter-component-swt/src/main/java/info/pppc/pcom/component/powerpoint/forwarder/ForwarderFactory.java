@@ -61,9 +61,13 @@ public class ForwarderFactory implements IFactory {
 	}
 	
 	/**
-	 * Called to start the factory. Nothing to be done.
+	 * Called to start the factory. Declares the static provision of
+	 * the factory.
 	 */
-	public void start() { }
+	public void start() {
+		context.getTemplate().getInstance().createInterface(IPowerpoint.class.getName());
+		context.getTemplate().commitTemplate();
+	}
 	
 	/**
 	 * Called to stop the factory. Nothing to be done.
@@ -6,6 +6,8 @@ import info.pppc.base.system.event.IListener;
 import info.pppc.base.system.util.Logging;
 import info.pppc.pcom.component.portrayer.IPortrayer;
 import info.pppc.pcom.component.powerpoint.IPowerpoint;
+import info.pppc.pcom.system.container.Stream;
+import info.pppc.pcom.system.container.internal.component.InstanceFuture;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -16,6 +18,8 @@ import info.pppc.pcom.system.model.contract.writer.IInstanceProvisionWriter;
 import info.pppc.pcom.system.model.contract.writer.ITypeProvisionWriter;
 import info.pppc.pcomx.contract.SimpleMapper;
 
+import java.io.IOException;
+
 /**
  * This class file has been generated. It can be freely modified.
  * It will not be regenerated unless it is removed.
@@ -67,7 +71,7 @@ public class ForwarderInstance implements IPowerpoint, IInstance, IListener {
 	/**
 	 * The current active presentation or null if there is none.
 	 */
-	private byte[] presentation;
+	private Stream presentation;
 	
 	/**
 	 * The current slide of the show
@@ -174,11 +178,11 @@ public class ForwarderInstance implements IPowerpoint, IInstance, IListener {
 	 * @param slide The slide number.
 	 * @param width The resulting width.
 	 * @param height The resulting height.
-	 * @return The converted slide as jpeg.
+	 * @return A temporary stream with the converted slide as jpeg.
 	 * @throws IllegalStateException Thrown if no presentation is open.
 	 * @throws IllegalArgumentException Thrown if the args are malformed.
 	 */
-	public byte[] getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
+	public Stream getSlide(int slide, int width, int height) throws IllegalArgumentException, IllegalStateException {
 		try {
 			return converter.getSlide(slide, width, height);	
 		} catch (InvocationException e) {
@@ -210,7 +214,7 @@ public class ForwarderInstance implements IPowerpoint, IInstance, IListener {
 	 * @param file The file to open.
 	 * @throws IllegalArgumentException Thrown if the presentation cannot be opened.
 	 */
-	public void open(byte[] file) throws IllegalArgumentException {
+	public void open(Stream file) throws IllegalArgumentException {
 		try {
 			converter.open(file);
 			currentSlide = 1;
@@ -267,9 +271,15 @@ public class ForwarderInstance implements IPowerpoint, IInstance, IListener {
 	 */
 	public void nextSlide() throws IllegalStateException {
 		try {
-			if (!(currentSlide < converter.getSlides())) return;
+			// request the number of slides and the next slide at once
+			InstanceFuture slides = converter.getSlidesDef();
+			InstanceFuture picture = converter.getSlideDef(currentSlide + 1, width, height);
+			if (!(currentSlide < ((Integer)getValue(slides)).intValue())) {
+				discard(picture);
+				return;
+			}
 			currentSlide++;
-			update();
+			show((Stream)getValue(picture));
 		} catch (InvocationException e) {
 			Logging.error(getClass(), "Could not deliver invocation.", e);
 		}
@@ -299,9 +309,22 @@ public class ForwarderInstance implements IPowerpoint, IInstance, IListener {
 	 */
 	public void setSlide(int slide) throws IllegalArgumentException, IllegalStateException {
 		try {
-			if (!(slide <= converter.getSlides())) throw new IllegalArgumentException("Invalid Slide number.");
+			// request the number of slides and the slide at once
+			InstanceFuture slides = converter.getSlidesDef();
+			InstanceFuture picture = null;
+			if (slide > 0) {
+				picture = converter.getSlideDef(slide, width, height);
+			}
+			if (!(slide <= ((Integer)getValue(slides)).intValue())) {
+				discard(picture);
+				throw new IllegalArgumentException("Invalid Slide number.");
+			}
 			currentSlide = slide;
-			update();			
+			if (picture != null) {
+				show((Stream)getValue(picture));
+			} else {
+				update();
+			}
 		} catch (InvocationException e) {
 			Logging.error(getClass(), "Could not deliver invocation.", e);
 		}
@@ -313,15 +336,64 @@ public class ForwarderInstance implements IPowerpoint, IInstance, IListener {
 	 * @throws InvocationException Thrown if the components cannot be reached.
 	 */
 	private void update() throws InvocationException {
-		portrayerRestorer.getHistory().clear();
 		if (currentSlide > 0) {
-			byte[] picture = converter.getSlide(currentSlide, width, height);
-			portrayer.showPicture(picture);	
+			show(converter.getSlide(currentSlide, width, height));
 		} else {
+			portrayerRestorer.getHistory().clear();
 			portrayer.hidePicture();	
 		}
 	}
 	
+	/**
+	 * Outputs the specified slide on the portrayer.
+	 * 
+	 * @param picture The stream that contains the converted slide.
+	 * @throws InvocationException Thrown if the portrayer cannot be reached.
+	 */
+	private void show(Stream picture) throws InvocationException {
+		portrayerRestorer.getHistory().clear();
+		try {
+			portrayer.showPicture(picture.getBytes());
+		} catch (IOException e) {
+			Logging.error(getClass(), "Could not read slide.", e);
+			portrayer.hidePicture();
+		}
+	}
+	
+	/**
+	 * Waits for the specified future and returns its value. If the 
+	 * invocation has resulted in an exception, the exception is thrown.
+	 * 
+	 * @param future The future of a deferred invocation.
+	 * @return The return value of the invocation.
+	 * @throws InvocationException Thrown if the component cannot be reached.
+	 */
+	private Object getValue(InstanceFuture future) throws InvocationException {
+		Throwable t = future.getException();
+		if (t == null) {
+			return future.getValue();
+		} else if (t instanceof InvocationException) {
+			throw (InvocationException)t;
+		} else if (t instanceof RuntimeException) {
+			throw (RuntimeException)t;
+		} else {
+			throw new InvocationException("Unexpected exception: " + t.getMessage());
+		}
+	}
+	
+	/**
+	 * Waits for the specified future of a slide that is not shown and 
+	 * releases the slide, if it has been converted.
+	 * 
+	 * @param picture The future of the slide or null if there is none.
+	 */
+	private void discard(InstanceFuture picture) {
+		if (picture != null && ! picture.hasException()) {
+			Stream stream = (Stream)picture.getValue();
+			if (stream != null) stream.release();
+		}
+	}
+	
 	/**
 	 * Called whenever the status changes and the mapping must be performed.
 	 * This will map the provision of the portrayer to the corresponding 
@@ -349,7 +421,7 @@ public class ForwarderInstance implements IPowerpoint, IInstance, IListener {
 	 * @param checkpoint The checkpoint to load.
 	 */
 	public void loadCheckpoint(IInstanceCheckpoint checkpoint) {
-		presentation = (byte[])checkpoint.getObject(CHECKPOINT_PRESENTATION);
+		presentation = (Stream)checkpoint.getObject(CHECKPOINT_PRESENTATION);
 		currentSlide = checkpoint.getInteger(CHECKPOINT_SLIDE);
 		try {
 			if (presentation == null) {
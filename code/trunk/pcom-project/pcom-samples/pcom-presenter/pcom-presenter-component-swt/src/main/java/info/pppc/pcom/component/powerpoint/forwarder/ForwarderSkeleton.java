@@ -8,74 +8,114 @@ package info.pppc.pcom.component.powerpoint.forwarder;
  */
 public class ForwarderSkeleton extends info.pppc.pcom.system.container.internal.component.InstanceSkeleton {
 	
+	/**
+	 * The indices of the methods dispatched by the skeleton hashed by signature.
+	 */
+	private static final java.util.Hashtable INDICES = new java.util.Hashtable();
+	
+	static {
+		INDICES.put("boolean isOpen()", new Integer(0));
+		INDICES.put("void nextSlide()", new Integer(1));
+		INDICES.put("int getSlides()", new Integer(2));
+		INDICES.put("info.pppc.pcom.system.container.Stream getSlide(int, int, int)", new Integer(3));
+		INDICES.put("void previousSlide()", new Integer(4));
+		INDICES.put("int getSlide()", new Integer(5));
+		INDICES.put("void close()", new Integer(6));
+		INDICES.put("void open(info.pppc.pcom.system.container.Stream)", new Integer(7));
+		INDICES.put("void firstSlide()", new Integer(8));
+		INDICES.put("void lastSlide()", new Integer(9));
+		INDICES.put("void setSlide(int)", new Integer(10));
+	}
+	
 	/**
 	 * Default constructor to create a new object.
 	 */
 	public ForwarderSkeleton() { }
 	
+	/**
+	 * Returns the index of the method with the specified signature.
+	 *
+	 * @param method The signature of the method.
+	 * @return The index of the method or INDEX_UNKNOWN if the signature is unknown.
+	 */
+	protected int getIndex(String method) {
+		Integer index = (Integer)INDICES.get(method);
+		if (index == null) {
+			return INDEX_UNKNOWN;
+		}
+		return index.intValue();
+	}
+	
 	/**
 	 * Dispatch method that dispatches incoming invocations to the skeleton's implementation.
 	 *
-	 * @param method The signature of the method to call.
+	 * @param index The index of the method to call.
 	 * @param args The parameters of the method call.
-	 * @return The result of the method call.
+	 * @param invocation The invocation that receives the result of the method call.
 	 */
-	protected info.pppc.base.system.Result dispatch(String method, Object[] args) {
+	protected void dispatch(int index, Object[] args, info.pppc.base.system.Invocation invocation) {
 		info.pppc.pcom.component.powerpoint.forwarder.ForwarderInstance impl = (info.pppc.pcom.component.powerpoint.forwarder.ForwarderInstance)getTarget();
 		try {
-			if (method.equals("boolean isOpen()")) {
-				Object result = new Boolean(impl.isOpen());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void nextSlide()")) {
-				Object result = null;
-				impl.nextSlide();
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("int getSlides()")) {
-				Object result = new Integer(impl.getSlides());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("byte[] getSlide(int, int, int)")) {
-				Object result = impl.getSlide(((Integer)args[0]).intValue(), ((Integer)args[1]).intValue(), ((Integer)args[2]).intValue());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void previousSlide()")) {
-				Object result = null;
-				impl.previousSlide();
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("int getSlide()")) {
-				Object result = new Integer(impl.getSlide());
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void close()")) {
-				Object result = null;
-				impl.close();
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void open(byte[])")) {
-				Object result = null;
-				impl.open((byte[])args[0]);
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void firstSlide()")) {
-				Object result = null;
-				impl.firstSlide();
-				return new info.pppc.base.system.Result(result, null);
-			}
-			else if (method.equals("void lastSlide()")) {
-				Object result = null;
-				impl.lastSlide();
-				return new info.pppc.base.system.Result(result, null);
+			switch (index) {
+				case 0: {
+					invocation.setResult(new Boolean(impl.isOpen()));
+					break;
+				}
+				case 1: {
+					impl.nextSlide();
+					invocation.setResult(null);
+					break;
+				}
+				case 2: {
+					invocation.setResult(new Integer(impl.getSlides()));
+					break;
+				}
+				case 3: {
+					invocation.setResult(impl.getSlide(((Integer)args[0]).intValue(), ((Integer)args[1]).intValue(), ((Integer)args[2]).intValue()));
+					break;
+				}
+				case 4: {
+					impl.previousSlide();
+					invocation.setResult(null);
+					break;
+				}
+				case 5: {
+					invocation.setResult(new Integer(impl.getSlide()));
+					break;
+				}
+				case 6: {
+					impl.close();
+					invocation.setResult(null);
+					break;
+				}
+				case 7: {
+					impl.open((info.pppc.pcom.system.container.Stream)args[0]);
+					invocation.setResult(null);
+					break;
+				}
+				case 8: {
+					impl.firstSlide();
+					invocation.setResult(null);
+					break;
+				}
+				case 9: {
+					impl.lastSlide();
+					invocation.setResult(null);
+					break;
+				}
+				case 10: {
+					impl.setSlide(((Integer)args[0]).intValue());
+					invocation.setResult(null);
+					break;
+				}
+				default: {
+					invocation.setResult(null);
+					invocation.setException(new info.pppc.base.system.InvocationException("Illegal signature."));
+				}
 			}
-			else if (method.equals("void setSlide(int)")) {
-				Object result = null;
-				impl.setSlide(((Integer)args[0]).intValue());
-				return new info.pppc.base.system.Result(result, null);
-			}return new info.pppc.base.system.Result(null, new info.pppc.base.system.InvocationException("Illegal signature."));
 		} catch (Throwable t) {
-			return new info.pppc.base.system.Result(null, t);
+			invocation.setResult(null);
+			invocation.setException(t);
 		}
 	}
 	
@@ -9,9 +9,15 @@ package info.pppc.pcom.component.powerpoint.forwarder;
 public class PortrayerProxy extends info.pppc.pcom.system.container.internal.component.InstanceProxy implements info.pppc.pcom.component.portrayer.IPortrayer {
 	
 	/**
-	 * Default constructor to create a new object.
+	 * Default constructor to create a new object. Declares the
+	 * policies of the invocation history.
 	 */
-	public PortrayerProxy() { }
+	public PortrayerProxy() {
+		__setHistoryPolicy("void hidePicture()", info.pppc.pcom.system.model.component.IInstanceHistory.POLICY_KEEP_LAST);
+		__addHistoryDrop("void hidePicture()", "void showPicture(byte[])");
+		__setHistoryPolicy("void showPicture(byte[])", info.pppc.pcom.system.model.component.IInstanceHistory.POLICY_KEEP_LAST);
+		__addHistoryDrop("void showPicture(byte[])", "void hidePicture()");
+	}
 	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
@@ -34,6 +40,19 @@ public class PortrayerProxy extends info.pppc.pcom.system.container.internal.com
 		return ((Boolean)__result.getValue()).booleanValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.portrayer.IPortrayer
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture isVisibleDef() {
+		Object[] __args = new Object[0];
+		String __method = "boolean isVisible()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -54,6 +73,19 @@ public class PortrayerProxy extends info.pppc.pcom.system.container.internal.com
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.portrayer.IPortrayer
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture hidePictureDef() {
+		Object[] __args = new Object[0];
+		String __method = "void hidePicture()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -76,4 +108,19 @@ public class PortrayerProxy extends info.pppc.pcom.system.container.internal.com
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param picture see info.pppc.pcom.component.portrayer.IPortrayer
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.portrayer.IPortrayer
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture showPictureDef(byte[] picture) {
+		Object[] __args = new Object[1];
+		__args[0] = picture;
+		String __method = "void showPicture(byte[])";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 }
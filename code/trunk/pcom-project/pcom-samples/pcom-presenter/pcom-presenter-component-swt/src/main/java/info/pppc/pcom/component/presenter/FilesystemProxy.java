@@ -9,9 +9,14 @@ package info.pppc.pcom.component.presenter;
 public class FilesystemProxy extends info.pppc.pcom.system.container.internal.component.InstanceProxy implements info.pppc.pcom.component.filesystem.IFilesystem {
 	
 	/**
-	 * Default constructor to create a new object.
+	 * Default constructor to create a new object. Declares the
+	 * methods whose results are cached by the proxy.
 	 */
-	public FilesystemProxy() { }
+	public FilesystemProxy() {
+		__setIdempotent("info.pppc.pcom.component.filesystem.File getParent(info.pppc.pcom.component.filesystem.File)");
+		__setIdempotent("java.util.Vector listRoots()");
+		__setIdempotent("java.util.Vector listFiles(info.pppc.pcom.component.filesystem.File)");
+	}
 	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
@@ -40,6 +45,21 @@ public class FilesystemProxy extends info.pppc.pcom.system.container.internal.co
 		return (info.pppc.pcom.component.filesystem.File)__result.getValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param file see info.pppc.pcom.component.filesystem.IFilesystem
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.filesystem.IFilesystem
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture getParentDef(info.pppc.pcom.component.filesystem.File file) {
+		Object[] __args = new Object[1];
+		__args[0] = file;
+		String __method = "info.pppc.pcom.component.filesystem.File getParent(info.pppc.pcom.component.filesystem.File)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -61,6 +81,19 @@ public class FilesystemProxy extends info.pppc.pcom.system.container.internal.co
 		return (java.util.Vector)__result.getValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.filesystem.IFilesystem
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture listRootsDef() {
+		Object[] __args = new Object[0];
+		String __method = "java.util.Vector listRoots()";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 	/**
 	 * Proxy method that creates and transfers an invocation for the interface method.
 	 *
@@ -70,10 +103,10 @@ public class FilesystemProxy extends info.pppc.pcom.system.container.internal.co
 	 * @throws info.pppc.base.system.InvocationException see info.pppc.pcom.component.filesystem.IFilesystem
 	 * @see info.pppc.pcom.component.filesystem.IFilesystem
 	 */
-	public byte[] getFile(info.pppc.pcom.component.filesystem.File file) throws info.pppc.pcom.component.filesystem.FileException, info.pppc.base.system.InvocationException {
+	public info.pppc.pcom.system.container.Stream getFile(info.pppc.pcom.component.filesystem.File file) throws info.pppc.pcom.component.filesystem.FileException, info.pppc.base.system.InvocationException {
 		Object[] __args = new Object[1];
 		__args[0] = file;
-		String __method = "byte[] getFile(info.pppc.pcom.component.filesystem.File)";
+		String __method = "info.pppc.pcom.system.container.Stream getFile(info.pppc.pcom.component.filesystem.File)";
 		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
 		info.pppc.base.system.Result __result = __invoke(__invocation);
 		if (__result.hasException()) {
@@ -85,7 +118,22 @@ public class FilesystemProxy extends info.pppc.pcom.system.container.internal.co
 			}
 			throw (RuntimeException)__result.getException();
 		}
-		return (byte[])__result.getValue();
+		return (info.pppc.pcom.system.container.Stream)__result.getValue();
+	}
+	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param file see info.pppc.pcom.component.filesystem.IFilesystem
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.filesystem.IFilesystem
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture getFileDef(info.pppc.pcom.component.filesystem.File file) {
+		Object[] __args = new Object[1];
+		__args[0] = file;
+		String __method = "info.pppc.pcom.system.container.Stream getFile(info.pppc.pcom.component.filesystem.File)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
 	}
 	
 	/**
@@ -115,4 +163,19 @@ public class FilesystemProxy extends info.pppc.pcom.system.container.internal.co
 		return (java.util.Vector)__result.getValue();
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param directory see info.pppc.pcom.component.filesystem.IFilesystem
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.component.filesystem.IFilesystem
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture listFilesDef(info.pppc.pcom.component.filesystem.File directory) {
+		Object[] __args = new Object[1];
+		__args[0] = directory;
+		String __method = "java.util.Vector listFiles(info.pppc.pcom.component.filesystem.File)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 }
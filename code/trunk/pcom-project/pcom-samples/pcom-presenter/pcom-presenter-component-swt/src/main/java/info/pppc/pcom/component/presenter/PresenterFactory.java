@@ -98,12 +98,14 @@ public class PresenterFactory implements IFactory, IListener {
 	}
 	
 	/**
-	 * Called to start the factory.
+	 * Called to start the factory. Declares the static provision and
+	 * the resource demands of the factory.
 	 */
 	public void start() {
 		context.getTemplate().createResource("IR");
 		IResourceDemandWriter irdemand = context.getTemplate().getResource("IR");
 		irdemand.createInterface(IIRAccessor.class.getName());
+		context.getTemplate().getInstance().createInterface(IPresenter.class.getName());
 		context.getTemplate().commitTemplate();
 		handleEvent(null);
 		context.getStatus().addStatusListener(Event.EVENT_EVERYTHING, this);
@@ -13,6 +13,7 @@ import info.pppc.pcom.component.presenter.swtui.FilesystemDialog;
 import info.pppc.pcom.component.presenter.swtui.FilesystemLabelProvider;
 import info.pppc.pcom.component.presenter.swtui.PresenterControl;
 import info.pppc.pcom.component.presenter.swtui.PresenterUI;
+import info.pppc.pcom.system.container.Stream;
 import info.pppc.pcom.system.model.component.IInstance;
 import info.pppc.pcom.system.model.component.IInstanceCheckpoint;
 import info.pppc.pcom.system.model.component.IInstanceContext;
@@ -27,7 +28,7 @@ import info.pppc.pcom.system.model.contract.writer.IInstanceProvisionWriter;
 import info.pppc.pcom.system.model.contract.writer.ITypeProvisionWriter;
 import info.pppc.pcomx.contract.SimpleMapper;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -118,6 +119,14 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 	 */
 	private byte[] presentation = null;
 	
+	/**
+	 * The stream that has been used to open the current presentation
+	 * or null if the presentation is closed. The stream is kept until
+	 * the presentation is closed, since the history of the powerpoint
+	 * binding might replay the open call.
+	 */
+	private Stream source = null;
+	
 	/**
 	 * Flag that indicates whether the presenter is running.
 	 */
@@ -233,8 +242,30 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 		}
 		context.getStatus().removeStatusListener(Event.EVENT_EVERYTHING, this);
 		factory.removeInstanceListener(PresenterFactory.EVENT_INSTANCE_CHANGE, this);
+		// the presentation remains available for checkpoints
+		if (source != null) {
+			source.release();
+			source = null;
+		}
 	}
 	
+	/**
+	 * Sets the current presentation and creates the stream that is used
+	 * to open it. The stream of the previous presentation is released.
+	 * 
+	 * @param presentation The contents of the presentation or null if 
+	 * 	the presentation is closed.
+	 */
+	private void setPresentation(byte[] presentation) {
+		if (source != null) {
+			source.release();
+			source = null;
+		}
+		this.presentation = presentation;
+		if (presentation != null) {
+			source = new Stream(presentation, false);
+		}
+	}
 	
 	/**
 	 * Called to show the next slide of the current presentation.
@@ -249,10 +280,10 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						powerpoint.nextSlide();
 					} catch (InvocationException e) {
 						Logging.error(getClass(), "Remote exception in next slide.", e);
-						presentation = null;
+						setPresentation(null);
 					} catch (IllegalStateException e) {
 						Logging.error(getClass(), "Illegal state exception in next slide.", e);
-						presentation = null;
+						setPresentation(null);
 					}
 					monitor.worked(1);
 					refresh(monitor, true);
@@ -283,7 +314,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						Logging.error(getClass(), "Illegal state exception in close.", e);
 					}
 					restorer.createCheckpoint();
-					presentation = null;
+					setPresentation(null);
 					monitor.worked(1);
 					refresh(monitor, true);
 					monitor.done();
@@ -309,10 +340,10 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						powerpoint.previousSlide();
 					} catch (InvocationException e) {
 						Logging.error(getClass(), "Remote exception in previous slide.", e);
-						presentation = null;
+						setPresentation(null);
 					} catch (IllegalStateException e) {
 						Logging.error(getClass(), "Illegal state exception in previous slide.", e);
-						presentation = null;
+						setPresentation(null);
 					}
 					monitor.worked(1);
 					refresh(monitor, true);
@@ -365,10 +396,23 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						monitor.worked(1);
 						File file = (File)dialog.getSelection();
 						try {
-							byte[] contents = filesystem.getFile(file);
+							Stream contents = filesystem.getFile(file);
+							byte[] bytes;
+							try {
+								bytes = contents.getBytes();
+							} finally {
+								contents.release();
+							}
 							monitor.worked(1);
-							powerpoint.open(contents);
-							presentation = contents;				
+							setPresentation(bytes);
+							try {
+								powerpoint.open(source);
+							} catch (InvocationException e) {
+								setPresentation(null);
+								throw e;
+							}
+						} catch (IOException e) {
+							Logging.error(getClass(), "IO exception while reading file.", e);
 						} catch (FileException e) {
 							Logging.error(getClass(), "File exception while opening file.", e);
 						} catch (InvocationException e) {
@@ -438,12 +482,12 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 				worked -= 1;
 				int width = control.getSlideWidth();
 				int height = control.getSlideHeight();
-				byte[] bytes = powerpoint.getSlide(slide, width, height);
+				Stream stream = powerpoint.getSlide(slide, width, height);
 				monitor.worked(1);
 				worked -= 1; 
-				if (bytes != null) {
+				if (stream != null) {
 					Image image = new Image
-						(control.getDisplay(), new ByteArrayInputStream(bytes)); 	
+						(control.getDisplay(), stream.getInputStream()); 	
 					control.setSlide(image);
 				} else {
 					Logging.debug(getClass(), "Get slide returned null.");
@@ -453,15 +497,15 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 				worked -= 1;
 			} catch (InvocationException e) {
 				Logging.error(getClass(), "Remote exception in get slide.", e);
-				presentation = null;
+				setPresentation(null);
 				refresh(monitor, false);
 			} catch (IllegalStateException e) {
 				Logging.error(getClass(), "Illegal state exception in get slide.", e);
-				presentation = null;
+				setPresentation(null);
 				refresh(monitor, false);
 			} catch (IllegalArgumentException e) {
 				Logging.error(getClass(), "Illegal argument exception in get slide.", e);
-				presentation = null;
+				setPresentation(null);
 				refresh(monitor, false);
 			}
 		} else {
@@ -489,7 +533,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 					try {
 						monitor.worked(1);
 						if (presentation != null) {
-							powerpoint.open(presentation);
+							powerpoint.open(source);
 							monitor.worked(1);
 							powerpoint.setSlide(slide);
 							monitor.worked(1);
@@ -499,7 +543,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 						}						
 					} catch (InvocationException e) {
 						Logging.error(getClass(), "Could not restore state.", e);
-						presentation = null;
+						setPresentation(null);
 					}
 					refresh(monitor, true);
 					monitor.done();
@@ -563,7 +607,7 @@ public class PresenterInstance implements IPresenter, IInstance, IListener {
 	 * @param checkpoint The checkpoint to load.
 	 */
 	public void loadCheckpoint(IInstanceCheckpoint checkpoint) {
-		this.presentation = (byte[])checkpoint.getObject(CHECKPOINT_PRESENTATION);
+		setPresentation((byte[])checkpoint.getObject(CHECKPOINT_PRESENTATION));
 		this.slide = checkpoint.getInteger(CHECKPOINT_SLIDE);
 		// refresh the control
 		manager.run(new Runnable() {
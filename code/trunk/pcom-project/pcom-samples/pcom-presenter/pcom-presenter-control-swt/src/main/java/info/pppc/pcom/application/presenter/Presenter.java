@@ -22,6 +22,7 @@ import info.pppc.pcom.capability.swtui.SwtAllocator;
 import info.pppc.pcom.component.presenter.IPresenter;
 import info.pppc.pcom.component.presenter.PresenterFactory;
 import info.pppc.pcom.swtui.PcomUI;
+import info.pppc.pcom.swtui.application.FileCheckpointStore;
 import info.pppc.pcom.system.application.ApplicationDescriptor;
 import info.pppc.pcom.system.application.ApplicationManager;
 import info.pppc.pcom.system.container.Container;
@@ -32,6 +33,7 @@ import info.pppc.pcomx.assembler.gd.GDAssembler;
 import info.pppc.pcomx.container.FixedContainerStrategy;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Vector;
@@ -77,6 +79,11 @@ public class Presenter {
 		container.setStrategy(strategy);
 		// start the application manager
 		ApplicationManager manager = ApplicationManager.getInstance();
+		try {
+			manager.setCheckpointStore(new FileCheckpointStore(new File("checkpoints")));
+		} catch (IOException e) {
+			Logging.error(Presenter.class, "Could not create checkpoint store.", e);
+		}
 		// install factories and capabilities
 		IRAllocator ir = new IRAllocator((short)1);
 		container.addAllocator(ir);
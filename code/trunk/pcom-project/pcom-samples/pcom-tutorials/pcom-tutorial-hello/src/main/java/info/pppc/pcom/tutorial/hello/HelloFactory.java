@@ -52,9 +52,12 @@ public class HelloFactory implements IFactory {
 	}
 
 	/**
-	 * Called to start the factory.
+	 * Called to start the factory. Declares the static provision of
+	 * the factory.
 	 */
 	public void start() {
+		context.getTemplate().getInstance().createInterface(IHello.class.getName());
+		context.getTemplate().commitTemplate();
 		// update contract to reflect required resources
 		Logging.debug(getClass(), "Factory started.");
 	}
@@ -110,9 +110,12 @@ public class TreeAllocator implements IAllocator {
 	}
 
 	/**
-	 * Called to start the allocator.
+	 * Called to start the allocator. Declares the static provision of
+	 * the allocator.
 	 */
 	public void start() {
+		context.getTemplate().getResource().createInterface(ITree.class.getName());
+		context.getTemplate().commitTemplate();
 		Logging.debug(getClass(), "Allocator started.");
 	}
 
@@ -76,9 +76,12 @@ public class TreeFactory implements IFactory {
 	}
 
 	/**
-	 * Called to start the factory.
+	 * Called to start the factory. Declares the static provision of
+	 * the factory.
 	 */
 	public void start() {
+		context.getTemplate().getInstance().createInterface(ITree.class.getName());
+		context.getTemplate().commitTemplate();
 		// update contract to reflect required resources
 		Logging.debug(getClass(), "Factory started.");
 		if (resources) {
@@ -35,4 +35,19 @@ public class TreeProxy extends info.pppc.pcom.system.container.internal.componen
 		return ;
 	}
 	
+	/**
+	 * Proxy method that creates and transfers a deferred synchronous invocation.
+	 *
+	 * @param s see info.pppc.tutorial.pcom.tree.ITree
+	 * @return A future result that delivers the return value and exceptions.
+	 * @see info.pppc.pcom.tutorial.tree.ITree
+	 */
+	public info.pppc.pcom.system.container.internal.component.InstanceFuture printlnDef(java.lang.String s) {
+		Object[] __args = new Object[1];
+		__args[0] = s;
+		String __method = "void println(java.lang.String)";
+		info.pppc.base.system.Invocation __invocation = __create(__method, __args);
+		return __invokeDeferred(__invocation);
+	}
+	
 }
@@ -69,6 +69,11 @@ public class Generator {
 	 */
 	private static final String NODE_INTERFACE = "interface";
 	
+	/**
+	 * The name of the event nodes.
+	 */
+	private static final String NODE_EVENT = "event";
+	
 	/**
 	 * The name of stateful nodes.
 	 */
@@ -84,6 +89,42 @@ public class Generator {
 	 */
 	private static final String NODE_PROXY = "proxy";
 	
+	/**
+	 * The name of nodes that denote idempotent methods of a proxy.
+	 */
+	private static final String NODE_IDEMPOTENT = "idempotent";
+	
+	/**
+	 * The name of nodes that denote the history policies of a proxy.
+	 */
+	private static final String NODE_HISTORY_POLICY = "history-policy";
+	
+	/**
+	 * The name of nodes that denote a method within a history policy.
+	 */
+	private static final String NODE_METHOD = "method";
+	
+	/**
+	 * The name of nodes that denote the policy within a history policy.
+	 */
+	private static final String NODE_POLICY = "policy";
+	
+	/**
+	 * The name of nodes that denote dropped methods within a history policy.
+	 */
+	private static final String NODE_DROP = "drop";
+	
+	/**
+	 * The value used as content for policy nodes that keep the last entry.
+	 */
+	private static final String VALUE_KEEP_LAST = "keepLast";
+	
+	/**
+	 * The value used as content for policy nodes that keep the last
+	 * entry for each argument.
+	 */
+	private static final String VALUE_KEEP_LAST_ARGUMENT = "keepLastArgument";
+	
 	/**
 	 * The value used as content for boolean nodes that denote true.
 	 */
@@ -216,6 +257,31 @@ public class Generator {
 				IType itype = project.findType(XMLUtility.getContent(iface));
 				model.addInterface(itype);
 			}
+			Vector idempotents = XMLUtility.getChildren(child, NODE_IDEMPOTENT);
+			for (int j = 0; j < idempotents.size(); j++) {
+				Node idempotent = (Node)idempotents.get(j);
+				model.addIdempotent(XMLUtility.getContent(idempotent));
+			}
+			Vector histories = XMLUtility.getChildren(child, NODE_HISTORY_POLICY);
+			for (int j = 0; j < histories.size(); j++) {
+				Node history = (Node)histories.get(j);
+				String method = XMLUtility.getContent(XMLUtility.getChild(history, NODE_METHOD));
+				Node policy = XMLUtility.getChild(history, NODE_POLICY);
+				if (policy != null) {
+					String value = XMLUtility.getContent(policy);
+					if (value.equals(VALUE_KEEP_LAST)) {
+						model.setHistoryPolicy(method, ProxyModel.POLICY_KEEP_LAST);
+					} else if (value.equals(VALUE_KEEP_LAST_ARGUMENT)) {
+						model.setHistoryPolicy(method, ProxyModel.POLICY_KEEP_LAST_ARGUMENT);
+					} else {
+						model.setHistoryPolicy(method, ProxyModel.POLICY_KEEP_ALL);
+					}
+				}
+				Vector dropped = XMLUtility.getContents(history, NODE_DROP);
+				for (int k = 0; k < dropped.size(); k++) {
+					model.addHistoryDrop(method, (String)dropped.elementAt(k));
+				}
+			}
 			proxies.add(model);			
 		}
 		return (ProxyModel[])proxies.toArray(new ProxyModel[0]);
@@ -268,6 +334,17 @@ public class Generator {
 			Node pname = XMLUtility.getChild(demand, NODE_NAME);
 			model.addProxy(XMLUtility.getContent(pname), XMLUtility.getContent(proxy));
 		}
+		Node provision = XMLUtility.getChild(deployment, NODE_INSTANCE_PROVISION);
+		if (provision != null) {
+			Vector ifaces = XMLUtility.getContents(provision, NODE_INTERFACE);
+			for (int i = 0; i < ifaces.size(); i++) {
+				model.addInterface((String)ifaces.elementAt(i));
+			}
+			Vector events = XMLUtility.getContents(provision, NODE_EVENT);
+			for (int i = 0; i < events.size(); i++) {
+				model.addEvent((String)events.elementAt(i));
+			}
+		}
 		return model;
 	}
 	
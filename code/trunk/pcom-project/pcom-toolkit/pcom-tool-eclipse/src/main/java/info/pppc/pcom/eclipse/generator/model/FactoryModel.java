@@ -2,12 +2,15 @@ package info.pppc.pcom.eclipse.generator.model;
 
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.Vector;
 
 /**
  * The factory model is used to generate factories. Factories
  * need to know the types of instances that they create and
  * they need to know the types of the proxies that will be
  * retrieved at runtime as well as the class name of the skeletons.
+ * Furthermore, they need to know the interfaces and events that
+ * are advertised in their static provision.
  * 
  * @author Mac
  */
@@ -33,6 +36,16 @@ public class FactoryModel extends Model {
 	 */
 	private Hashtable proxies = new Hashtable();
 	
+	/**
+	 * The class names of the interfaces of the static provision.
+	 */
+	private Vector interfaces = new Vector();
+	
+	/**
+	 * The class names of the events of the static provision.
+	 */
+	private Vector events = new Vector();
+	
 	/**
 	 * Creates a new factory model with the specified
 	 * class name.
@@ -130,6 +143,50 @@ public class FactoryModel extends Model {
 		}
 		return result;
 	}
+	
+	/**
+	 * Adds the interface with the specified class name to the
+	 * static provision of the factory.
+	 * 
+	 * @param classname The class name of the interface.
+	 */
+	public void addInterface(String classname) {
+		interfaces.addElement(classname);
+	}
+	
+	/**
+	 * Returns the class names of the interfaces contained in the
+	 * static provision of the factory.
+	 * 
+	 * @return The class names of the provided interfaces.
+	 */
+	public String[] getInterfaces() {
+		String[] result = new String[interfaces.size()];
+		interfaces.copyInto(result);
+		return result;
+	}
+	
+	/**
+	 * Adds the event with the specified class name to the static
+	 * provision of the factory.
+	 * 
+	 * @param classname The class name of the event.
+	 */
+	public void addEvent(String classname) {
+		events.addElement(classname);
+	}
+	
+	/**
+	 * Returns the class names of the events contained in the 
+	 * static provision of the factory.
+	 * 
+	 * @return The class names of the provided events.
+	 */
+	public String[] getEvents() {
+		String[] result = new String[events.size()];
+		events.copyInto(result);
+		return result;
+	}
 
 	/**
 	 * Returns the human readable name of the component.
@@ -1,5 +1,7 @@
 package info.pppc.pcom.eclipse.generator.model;
 
+import java.util.Hashtable;
+import java.util.Vector;
 
 /**
  * The proxy is a data structure that contains the information
@@ -9,6 +11,39 @@ package info.pppc.pcom.eclipse.generator.model;
  */
 public class ProxyModel extends TypeModel {
 	
+	/**
+	 * The history policy that keeps all invocations of a method.
+	 */
+	public static final int POLICY_KEEP_ALL = 0;
+	
+	/**
+	 * The history policy that keeps the last invocation of a method.
+	 */
+	public static final int POLICY_KEEP_LAST = 1;
+	
+	/**
+	 * The history policy that keeps the last invocation of a method
+	 * for each value of the first argument.
+	 */
+	public static final int POLICY_KEEP_LAST_ARGUMENT = 2;
+	
+	/**
+	 * The names of the methods whose results are cached by the proxy.
+	 */
+	private Vector idempotents = new Vector();
+	
+	/**
+	 * The history policies of the methods. Hashes method names to
+	 * integers that denote the policy.
+	 */
+	private Hashtable policies = new Hashtable();
+	
+	/**
+	 * The methods whose history entries are dropped by other methods.
+	 * Hashes method names to vectors of the dropped method names.
+	 */
+	private Hashtable drops = new Hashtable();
+	
 	/**
 	 * Creates a new proxy with the specified class name.
 	 * 
@@ -18,4 +53,98 @@ public class ProxyModel extends TypeModel {
 		super(classname);
 	}
 	
+	/**
+	 * Declares the methods with the specified name as idempotent.
+	 * The generated proxy will cache the results of these methods.
+	 * 
+	 * @param name The name of the idempotent methods.
+	 */
+	public void addIdempotent(String name) {
+		if (name != null && ! idempotents.contains(name)) {
+			idempotents.add(name);
+		}
+	}
+	
+	/**
+	 * Determines whether the methods with the specified name have
+	 * been declared as idempotent.
+	 * 
+	 * @param name The name of the methods.
+	 * @return True if the methods are idempotent, false otherwise.
+	 */
+	public boolean isIdempotent(String name) {
+		return idempotents.contains(name);
+	}
+	
+	/**
+	 * Sets the history policy of the methods with the specified name.
+	 * 
+	 * @param name The name of the methods.
+	 * @param policy The policy, one of the policy constants.
+	 */
+	public void setHistoryPolicy(String name, int policy) {
+		if (name == null) return;
+		if (policy == POLICY_KEEP_ALL) {
+			policies.remove(name);
+		} else {
+			policies.put(name, new Integer(policy));
+		}
+	}
+	
+	/**
+	 * Returns the history policy of the methods with the specified name.
+	 * 
+	 * @param name The name of the methods.
+	 * @return The policy of the methods, one of the policy constants.
+	 */
+	public int getHistoryPolicy(String name) {
+		Integer policy = (Integer)policies.get(name);
+		if (policy == null) return POLICY_KEEP_ALL;
+		return policy.intValue();
+	}
+	
+	/**
+	 * Declares that the history entries of the methods with the dropped
+	 * name are removed when a method with the specified name is invoked.
+	 * 
+	 * @param name The name of the methods that drop the entries.
+	 * @param dropped The name of the methods whose entries are dropped.
+	 */
+	public void addHistoryDrop(String name, String dropped) {
+		if (name == null || dropped == null) return;
+		Vector dropping = (Vector)drops.get(name);
+		if (dropping == null) {
+			dropping = new Vector();
+			drops.put(name, dropping);
+		}
+		if (! dropping.contains(dropped)) {
+			dropping.add(dropped);
+		}
+	}
+	
+	/**
+	 * Returns the names of the methods whose history entries are dropped
+	 * when a method with the specified name is invoked.
+	 * 
+	 * @param name The name of the methods that drop the entries.
+	 * @return The names of the methods whose entries are dropped.
+	 */
+	public String[] getHistoryDrops(String name) {
+		Vector dropping = (Vector)drops.get(name);
+		if (dropping == null) return new String[0];
+		return (String[])dropping.toArray(new String[0]);
+	}
+	
+	/**
+	 * Determines whether a history policy or a drop has been declared
+	 * for the methods with the specified name.
+	 * 
+	 * @param name The name of the methods.
+	 * @return True if the history of the methods is compacted, false
+	 * 	otherwise.
+	 */
+	public boolean hasHistory(String name) {
+		return policies.containsKey(name) || drops.containsKey(name);
+	}
+	
 }
@@ -149,9 +149,23 @@ public class FactoryTemplate extends AbstractTemplate {
 		out.println();
 		// write start and stop methods
 		out.println("/**");
-		out.println(" * Called to start the factory.");
+		out.println(" * Called to start the factory. Declares the static provision");
+		out.println(" * of the factory.");
 		out.println(" */");		
 		out.println("public void start() {");
+		String[] ifaces = getModel().getInterfaces();
+		for (int i = 0; i < ifaces.length; i++) {
+			out.print("context.getTemplate().getInstance().createInterface(\"");
+			out.print(ifaces[i]);
+			out.println("\");");
+		}
+		String[] events = getModel().getEvents();
+		for (int i = 0; i < events.length; i++) {
+			out.print("context.getTemplate().getInstance().createEvent(\"");
+			out.print(events[i]);
+			out.println("\");");
+		}
+		out.println("context.getTemplate().commitTemplate();");
 		out.println("// TODO: implement");
 		out.println("}");
 		out.println();
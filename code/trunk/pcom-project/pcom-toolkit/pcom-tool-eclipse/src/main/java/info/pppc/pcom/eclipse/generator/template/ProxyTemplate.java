@@ -27,6 +27,24 @@ public class ProxyTemplate extends AbstractTemplate {
 	 */
 	public static final String CLASS_PROXY = Plugin.getDefault().getResourceString("info.pppc.pcom.eclipse.class.proxyimpl");
 	
+	/**
+	 * The pcom future class that is returned by deferred methods.
+	 */
+	public static final String CLASS_FUTURE = Plugin.getDefault().getResourceString("info.pppc.pcom.eclipse.class.future");
+	
+	/**
+	 * The pcom history interface that defines the history policies.
+	 */
+	public static final String CLASS_HISTORY = Plugin.getDefault().getResourceString("info.pppc.pcom.eclipse.class.history");
+	
+	/**
+	 * The names of the policy constants of the history interface,
+	 * indexed by the policy constants of the proxy model.
+	 */
+	private static final String[] POLICIES = {
+		"POLICY_KEEP_ALL", "POLICY_KEEP_LAST", "POLICY_KEEP_LAST_ARGUMENT"
+	};
+	
 	/**
 	 * The methods that must be implemented by the proxy.
 	 */
@@ -94,16 +112,89 @@ public class ProxyTemplate extends AbstractTemplate {
 	 */
 	protected void writeBody() throws JavaModelException {
 		// write constructor
-		writeDefaultConstructor();
+		writeConstructor();
 		// write method proxies
 		if (methods != null) {
 			for (int i = 0; i < methods.length; i++) {
 				out.println();
 				writeMethod(methods[i]);
+				out.println();
+				writeDeferredMethod(methods[i]);
 			}		
 		}
 	}
 
+	/**
+	 * Writes the constructor of the proxy. The constructor declares the
+	 * idempotent methods and the history policies of the proxy. If there 
+	 * are no such declarations, the default constructor is written.
+	 * 
+	 * @throws JavaModelException Thrown by eclipse if the operation fails.
+	 */
+	protected void writeConstructor() throws JavaModelException {
+		ProxyModel model = getModel();
+		boolean idempotent = false;
+		boolean history = false;
+		if (methods != null) {
+			for (int i = 0; i < methods.length; i++) {
+				String name = methods[i].getElementName();
+				idempotent |= model.isIdempotent(name);
+				history |= model.hasHistory(name);
+			}
+		}
+		if (! idempotent && ! history) {
+			writeDefaultConstructor();
+			return;
+		}
+		out.println("/**");
+		out.println(" * Default constructor to create a new object. Declares the");
+		if (idempotent && history) {
+			out.println(" * methods whose results are cached by the proxy and the");
+			out.println(" * policies of the invocation history.");
+		} else if (idempotent) {
+			out.println(" * methods whose results are cached by the proxy.");
+		} else {
+			out.println(" * policies of the invocation history.");
+		}
+		out.println(" */");
+		out.println("public " + getClassName() + "() {");
+		for (int i = 0; i < methods.length; i++) {
+			if (model.isIdempotent(methods[i].getElementName())) {
+				out.println("__setIdempotent(\"" + getSignature(methods[i]) + "\");");
+			}
+		}
+		for (int i = 0; i < methods.length; i++) {
+			String name = methods[i].getElementName();
+			int policy = model.getHistoryPolicy(name);
+			if (policy != ProxyModel.POLICY_KEEP_ALL) {
+				out.println("__setHistoryPolicy(\"" + getSignature(methods[i]) + "\", " 
+					+ CLASS_HISTORY + "." + POLICIES[policy] + ");");
+			}
+			String[] drops = model.getHistoryDrops(name);
+			for (int j = 0; j < drops.length; j++) {
+				for (int k = 0; k < methods.length; k++) {
+					if (methods[k].getElementName().equals(drops[j])) {
+						out.println("__addHistoryDrop(\"" + getSignature(methods[i]) + "\", \"" 
+							+ getSignature(methods[k]) + "\");");
+					}
+				}
+			}
+		}
+		out.println("}");
+	}
+	
+	/**
+	 * Returns the signature of the specified method as used by the
+	 * invocations of the proxy.
+	 * 
+	 * @param method The method whose signature should be returned.
+	 * @return The signature of the method.
+	 * @throws JavaModelException Thrown by eclipse if the operation fails.
+	 */
+	protected String getSignature(IMethod method) throws JavaModelException {
+		return JavaUtility.generateMethodSignature(method, "", false, true);
+	}
+
 	/**
 	 * Writes a single synchronous method call for the specified method.
 	 * 
@@ -174,6 +265,50 @@ public class ProxyTemplate extends AbstractTemplate {
 		out.println("}");
 	}
 	
+	/**
+	 * Writes a single deferred synchronous method call for the specified
+	 * method. The generated method has the name of the interface method
+	 * with the appendix Def. It returns a future as soon as the invocation
+	 * has been handed to the broker.
+	 * 
+	 * @param method The method generated.
+	 * @throws JavaModelException Thrown by eclipse if the operation fails.
+	 */
+	public void writeDeferredMethod(IMethod method) throws JavaModelException {
+		// generate javadoc comment that meets compiler checks
+		out.println("/**");
+		out.println(" * Proxy method that creates and transfers a deferred synchronous invocation.");
+		out.println(" *");
+		for (int i = 0; i < method.getParameterNames().length; i++) {
+			out.print(" * @param ");
+			out.print(method.getParameterNames()[i]);
+			out.print(" see ");
+			out.println(method.getDeclaringType().getFullyQualifiedName());
+		}
+		out.println(" * @return A future result that delivers the return value and exceptions.");
+		out.println(" * @see " + method.getDeclaringType().getFullyQualifiedName());
+		out.println(" */");
+		IType interfaceType = method.getDeclaringType();
+		// generate method header
+		String signature = JavaUtility.generateMethodSignature(method, "Def", true, false);
+		out.println(Flags.toString(method.getFlags()) + " " + CLASS_FUTURE + " " + signature + " {");
+		// generate method body
+		String[] parNames = method.getParameterNames();
+		String[] parTypes = method.getParameterTypes();
+		out.println("Object[] __args = new Object[" + parNames.length + "];");
+		for(int i = 0; i < parNames.length; i++){
+			out.print("__args["+ i + "] = ");
+			String qualified = JavaUtility.getQualifiedType(interfaceType, parTypes[i]);
+			out.print(JavaUtility.boxVariable(qualified, parNames[i]));
+			out.println(";");
+		}
+		out.println("String __method = \"" + JavaUtility.generateMethodSignature(method, "", false, true) + "\";");
+		out.println(CLASS_INVOCATION + " __invocation = __create(__method, __args);");
+		out.println("return __invokeDeferred(__invocation);");
+		// generate method footer
+		out.println("}");
+	}
+	
 	/**
 	 * Writes the proxy using the model that has been
 	 * passed to the template during the last initialization.
@@ -80,23 +80,75 @@ public class SkeletonTemplate extends AbstractTemplate {
 	}
 	
 	/**
-	 * Writes the body of the skeleton. This will create the dispatch 
-	 * method and the corresponding helper methods to initalize the 
-	 * component instance.
+	 * Writes the body of the skeleton. This will create the index table,
+	 * the dispatch method and the corresponding helper methods to 
+	 * initalize the component instance.
 	 * 
 	 * @throws JavaModelException Thrown by eclipse if the operation fails.
 	 */
 	protected void writeBody() throws JavaModelException {
+		// write index table
+		writeIndices();
+		out.println();
 		// write default constructor
 		writeDefaultConstructor();
 		out.println();
+		// write index method
+		writeIndexMethod();
+		out.println();
 		// write dispatch method
 		writeDispatchMethod();
 	}	
 	
+	/**
+	 * Creates the table that hashes the signatures of all application
+	 * methods to their indices. The index of a method is its position
+	 * in the array of methods.
+	 * 
+	 * @throws JavaModelException Thrown by eclipse if the operation fails.
+	 */
+	protected void writeIndices() throws JavaModelException {
+		out.println("/**");
+		out.println(" * The indices of the methods dispatched by the skeleton hashed by signature.");
+		out.println(" */");
+		out.println("private static final java.util.Hashtable INDICES = new java.util.Hashtable();");
+		out.println();
+		out.println("static {");
+		if (methods != null) {
+			for (int i = 0; i < methods.length; i++) {
+				String signature = JavaUtility.generateMethodSignature(methods[i], "", false, true);
+				out.println("INDICES.put(\"" + signature + "\", new Integer(" + i + "));");
+			}
+		}
+		out.println("}");
+	}
+	
+	/**
+	 * Creates the method that resolves the index of a method using the
+	 * table of indices.
+	 * 
+	 * @throws JavaModelException Thrown by eclipse if the operation fails.
+	 */
+	protected void writeIndexMethod() throws JavaModelException {
+		out.println("/**");
+		out.println(" * Returns the index of the method with the specified signature.");
+		out.println(" *");
+		out.println(" * @param method The signature of the method.");
+		out.println(" * @return The index of the method or INDEX_UNKNOWN if the signature is unknown.");
+		out.println(" */");
+		out.println("protected int getIndex(String method) {");
+		out.println("Integer index = (Integer)INDICES.get(method);");
+		out.println("if (index == null) {");
+		out.println("return INDEX_UNKNOWN;");
+		out.println("}");
+		out.println("return index.intValue();");
+		out.println("}");
+	}
+	
 	/**
 	 * Creates the dispatch method for all application methods that need
-	 * to be supported.
+	 * to be supported. The dispatch method switches over the index of 
+	 * the method and writes the result into the invocation.
 	 * 
 	 * @throws JavaModelException Thrown by eclipse if the operation fails.
 	 */
@@ -104,60 +156,55 @@ public class SkeletonTemplate extends AbstractTemplate {
 		out.println("/**");
 		out.println(" * Dispatch method that dispatches incoming invocations to the skeleton's implementation.");
 		out.println(" *");
-		out.println(" * @param method The signature of the method to call.");
+		out.println(" * @param index The index of the method to call.");
 		out.println(" * @param args The parameters of the method call.");
-		out.println(" * @return The result of the method call.");
+		out.println(" * @param invocation The invocation that receives the result of the method call.");
 		out.println(" */");
 		String cinterface = getModel().getTarget(); 
 		// create method signature
-		out.println("protected " + CLASS_RESULT + 
-			" dispatch(String method, Object[] args) {");
+		out.println("protected void dispatch(int index, Object[] args, " 
+			+ CLASS_INVOCATION + " invocation) {");
 		// create method body
-		out.println(cinterface + " impl = (" + cinterface + ")getTarget();");
+		if (methods != null && methods.length > 0) {
+			out.println(cinterface + " impl = (" + cinterface + ")getTarget();");
+		}
 		// try for application exceptions
 		out.println("try {");
+		out.println("switch (index) {");
 		if (methods != null) {
 			for (int i = 0; i < methods.length; i++) {
-				writeDispatchMethod(methods[i], i == 0, i != methods.length - 1);
+				writeDispatchMethod(methods[i], i);
 			}
 		}
 		// return unknown signature
-		out.print("return new " + CLASS_RESULT + "(null, new ");
+		out.println("default: {");
+		out.println("invocation.setResult(null);");
+		out.print("invocation.setException(new ");
 		out.println(CLASS_EXCEPTION + "(\"Illegal signature.\"));");
+		out.println("}");
+		out.println("}");
 		// try catch block for application exceptions.
 		out.println("} catch (Throwable t) {");
-		out.println("return new " + CLASS_RESULT + "(null, t);");
+		out.println("invocation.setResult(null);");
+		out.println("invocation.setException(t);");
 		out.println("}");
 		// create method footer
 		out.println("}");		
 	}
 	
 	/**
-	 * Writes a fragment of the dispatch method that will dispatch the
+	 * Writes a case of the dispatch method that will dispatch the
 	 * specified method.
 	 * 
 	 * @param method The method to dispatch.
-	 * @param first A flag that indicates whether this is the first 
-	 * 	method to generate.
-	 * @param last A flag that indicates whether this is the last 
-	 * 	method to generate.
+	 * @param index The index of the method.
 	 * @throws JavaModelException Thrown by eclipse if the operation
 	 * 	fails.
 	 */
-	protected void writeDispatchMethod(IMethod method, boolean first, 
-			boolean last) throws JavaModelException{
+	protected void writeDispatchMethod(IMethod method, int index) throws JavaModelException{
 		IType interfaceType = method.getDeclaringType();
-		String signature = JavaUtility.generateMethodSignature(method, "", false, true);
 		String returnType = JavaUtility.getQualifiedType(interfaceType, method.getReturnType());
-		if (! first) {
-			out.print("else ");
-		}
-		out.println("if (method.equals(\"" + signature + "\")) {");
-		if (returnType.equals("V")) {
-			out.println("Object result = null;");	
-		} else {
-			out.print("Object result = ");
-		}
+		out.println("case " + index + ": {");
 		// create method call
 		String methodName = method.getElementName();
 		String[] paramNames = method.getParameterNames();
@@ -170,12 +217,14 @@ public class SkeletonTemplate extends AbstractTemplate {
 				callName += ", ";
 		}
 		callName+=")";
-		out.println(JavaUtility.boxVariable(returnType, callName) + ";");		
-		out.println("return new " + CLASS_RESULT + "(result, null);");
-		out.print("}");
-		if (last) {
-			out.println();
+		if (returnType.equals("V")) {
+			out.println(callName + ";");
+			out.println("invocation.setResult(null);");
+		} else {
+			out.println("invocation.setResult(" + JavaUtility.boxVariable(returnType, callName) + ");");
 		}
+		out.println("break;");
+		out.println("}");
 	}
 	
 	/**